@@ -0,0 +1,70 @@
+package com.junit.assignment.benchmarks;
+
+import com.junit.assignment.scraping.HtmlTableParser;
+import com.junit.assignment.scraping.StockRow;
+import com.junit.assignment.support.FixtureServer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turning the raw text of all 400 x 11 cells into what the report and history use: trimmed text
+ * (what getText().trim() gives), whitespace-collapsed text (what the extraction script does) and
+ * typed {@link StockRow}s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CellNormalizationBenchmark {
+
+    private List<List<String>> rawRows;
+    private List<List<String>> cleanRows;
+
+    @Setup
+    public void setup() {
+        String html = new String(FixtureServer.resource("/fixtures/dse_latest_share_price.html"), StandardCharsets.UTF_8);
+        rawRows = new ArrayList<>();
+        cleanRows = new ArrayList<>();
+        for (StockRow row : HtmlTableParser.parse(html).getRows()) {
+            List<String> raw = new ArrayList<>();
+            for (String cell : row.cells()) {
+                // Cells as they sit in the markup, e.g. "\n LANKALIFE</a>"
+                raw.add("\n " + cell + "  \n");
+            }
+            rawRows.add(raw);
+            cleanRows.add(row.cells());
+        }
+    }
+
+    @Benchmark
+    public void trim(Blackhole blackhole) {
+        for (List<String> row : rawRows) {
+            for (String cell : row) {
+                blackhole.consume(cell.trim());
+            }
+        }
+    }
+
+    @Benchmark
+    public void collapseWhitespace(Blackhole blackhole) {
+        for (List<String> row : rawRows) {
+            for (String cell : row) {
+                blackhole.consume(cell.replaceAll("\\s+", " ").trim());
+            }
+        }
+    }
+
+    @Benchmark
+    public void toStockRows(Blackhole blackhole) {
+        for (List<String> cells : cleanRows) {
+            blackhole.consume(StockRow.fromCells(cells));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.junit.assignment.benchmarks;
+
+import com.junit.assignment.metrics.Metrics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a {@link Metrics.Span} around a trivial operation: not measuring at all, measuring
+ * switched off (the default) and recording into the registries. JFR events are not part of it;
+ * run with {@code -jvmArgsAppend -XX:StartFlightRecording} to see their cost too.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+
+    private long value = 42;
+
+    @State(Scope.Benchmark)
+    public static class Enabled {
+        @Setup
+        public void enable() {
+            Metrics.setEnabled(true);
+        }
+
+        @TearDown
+        public void disable() {
+            Metrics.setEnabled(false);
+        }
+    }
+
+    @Benchmark
+    public long baseline() {
+        Blackhole.consumeCPU(10);
+        return value;
+    }
+
+    @Benchmark
+    public long disabled() {
+        try (Metrics.Span span = Metrics.span(Metrics.Kind.COMMAND, "WebElement.getText")) {
+            Blackhole.consumeCPU(10);
+            return value;
+        }
+    }
+
+    @Benchmark
+    public long enabled(Enabled enabled) {
+        try (Metrics.Span span = Metrics.span(Metrics.Kind.COMMAND, "WebElement.getText")) {
+            Blackhole.consumeCPU(10);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.junit.assignment.benchmarks;
+
+import com.junit.assignment.scraping.CellDecoder;
+import com.junit.assignment.scraping.CodeDictionary;
+import com.junit.assignment.scraping.HtmlTableParser;
+import com.junit.assignment.scraping.StockRow;
+import com.junit.assignment.scraping.StockRowDecoder;
+import com.junit.assignment.scraping.StockRowPool;
+import com.junit.assignment.support.FixtureServer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Numeric cells of the captured page parsed the old way (replace(",", "") then parseDouble)
+ * against {@link CellDecoder}, and the whole page decoded into {@link StockRow}s against
+ * {@link StockRowDecoder} filling a reused pool. Run with -prof gc to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumericParsingBenchmark {
+
+    private String html;
+    private List<String> cells;
+    private StockRowDecoder decoder;
+
+    @Setup
+    public void setup() {
+        html = new String(FixtureServer.resource("/fixtures/dse_latest_share_price.html"), StandardCharsets.UTF_8);
+        cells = new ArrayList<>();
+        for (StockRow row : HtmlTableParser.parse(html).getRows()) {
+            cells.addAll(row.cells().subList(2, row.cells().size()));
+        }
+        decoder = new StockRowDecoder(new StockRowPool(), new CodeDictionary());
+    }
+
+    @Benchmark
+    public double parseDoubleWithReplace() {
+        double sum = 0;
+        for (String cell : cells) {
+            String text = cell.trim();
+            if (!text.isEmpty() && !text.equals("--")) {
+                sum += Double.parseDouble(text.replace(",", ""));
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double cellDecoder() {
+        double sum = 0;
+        for (String cell : cells) {
+            double value = CellDecoder.parseDecimal(cell);
+            if (!Double.isNaN(value)) {
+                sum += value;
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public void pageToStockRows(Blackhole blackhole) {
+        blackhole.consume(HtmlTableParser.parse(html).getRows());
+    }
+
+    @Benchmark
+    public int pageIntoPool() throws IOException {
+        return decoder.decode(new StringReader(html));
+    }
+}
@@ -0,0 +1,79 @@
+package com.junit.assignment.benchmarks;
+
+import com.junit.assignment.forms.KeywordMatcher;
+import com.junit.assignment.forms.OutcomeDetector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The HTML side of deciding whether a submission worked, on a page the size of the Drupal
+ * practice form (about 150 KB): the old check (lowercase the source, five {@code contains},
+ * and split it into lines for the debug excerpt when nothing matched) against one
+ * {@link KeywordMatcher} pass. "confirmation" puts a thank-you message where Drupal shows it,
+ * after the header and menus; "none" is a page without any keyword, the worst case for both.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OutcomeDetectionBenchmark {
+
+    @Param({"confirmation", "none"})
+    public String page;
+
+    private String html;
+
+    @Setup
+    public void setup() {
+        StringBuilder builder = new StringBuilder("<!DOCTYPE html>\n<html lang=\"en\"><head><title>Practice webform learners</title>\n");
+        for (int i = 0; i < 120; i++) {
+            builder.append("<link rel=\"stylesheet\" media=\"all\" href=\"/sites/default/files/css/css_").append(i)
+                    .append(".css?t=1\">\n");
+        }
+        builder.append("</head>\n<body class=\"path-node page-node-type-page\">\n<nav class=\"menu--main\"><ul>\n");
+        for (int i = 0; i < 600; i++) {
+            builder.append("  <li class=\"menu-item menu-item--expanded\"><a href=\"/technology-guides/topic-").append(i)
+                    .append("\" data-drupal-link-system-path=\"node/").append(1000 + i).append("\">Guide ").append(i)
+                    .append("</a></li>\n");
+        }
+        builder.append("</ul></nav>\n<main role=\"main\">\n");
+        if (page.equals("confirmation")) {
+            builder.append("<div class=\"messages messages--status\" role=\"contentinfo\">New submission added to "
+                    + "Practice webform learners. Thank you, John Doe</div>\n");
+        }
+        for (int i = 0; i < 300; i++) {
+            builder.append("<p class=\"text-formatted field--name-body\">Paragraph ").append(i)
+                    .append(" of learning content about using a computer, the internet and devices.</p>\n");
+        }
+        html = builder.append("</main></body></html>\n").toString();
+    }
+
+    @Benchmark
+    public boolean lowercaseContains() {
+        String pageSource = html.toLowerCase();
+        boolean found = pageSource.contains("thank") || pageSource.contains("success")
+                || pageSource.contains("submitted") || pageSource.contains("received")
+                || pageSource.contains("confirmation");
+        if (!found) {
+            String[] lines = pageSource.split("\n");
+            for (int i = 0; i < Math.min(50, lines.length); i++) {
+                if (lines[i].contains("message") || lines[i].contains("success")
+                        || lines[i].contains("thank") || lines[i].contains("error")) {
+                    return false;
+                }
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public boolean keywordMatcher() {
+        if (OutcomeDetector.scan(html) != null) {
+            return true;
+        }
+        return OutcomeDetector.excerpts(html, 20, 80).isEmpty();
+    }
+}
@@ -0,0 +1,93 @@
+package com.junit.assignment.benchmarks;
+
+import com.junit.assignment.scraping.FileReportSink;
+import com.junit.assignment.scraping.HtmlTableParser;
+import com.junit.assignment.scraping.ScrapeReport;
+import com.junit.assignment.scraping.ScrapedTable;
+import com.junit.assignment.scraping.StockRow;
+import com.junit.assignment.support.FixtureServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The text report TableScrapingTest writes, streamed through a {@link FileReportSink}, against
+ * the earlier approach of collecting it in a StringBuilder and saving it with a PrintWriter at
+ * the end. The console echo is left out since its cost depends on where stdout goes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportBenchmark {
+
+    private ScrapedTable table;
+    private Path file;
+
+    @Setup
+    public void setup() throws IOException {
+        String html = new String(FixtureServer.resource("/fixtures/dse_latest_share_price.html"), StandardCharsets.UTF_8);
+        table = HtmlTableParser.parse(html);
+        file = Files.createTempFile("stock_prices", ".txt");
+        // Both paths must produce the same file, or the comparison is meaningless
+        buildThenSave();
+        String built = Files.readString(file);
+        streamToFile();
+        if (!built.equals(Files.readString(file))) {
+            throw new IllegalStateException("buildThenSave and streamToFile write different reports");
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long buildThenSave() throws IOException {
+        StringBuilder content = new StringBuilder();
+        content.append("=".repeat(80)).append("\n");
+        content.append("DSE Stock Price Data - Scraped on: 2024-01-01 10:00:00\n");
+        content.append("=".repeat(80)).append("\n\n");
+        List<String> headers = table.getHeaders();
+        content.append("--- TABLE HEADERS ---\n");
+        for (int i = 0; i < headers.size(); i++) {
+            content.append(String.format("Column %d: %s", i + 1, headers.get(i))).append("\n");
+        }
+        content.append("\n");
+        content.append("--- TABLE DATA ---\n");
+        content.append("Total rows: ").append(table.getRows().size()).append("\n\n");
+        int rowNumber = 0;
+        for (StockRow row : table.getRows()) {
+            content.append(String.format("\nRow %d:", ++rowNumber)).append("\n");
+            List<String> cells = row.cells();
+            for (int i = 0; i < cells.size(); i++) {
+                content.append(String.format("  Cell %d: %s", i + 1, cells.get(i))).append("\n");
+            }
+        }
+        content.append("\n").append("=".repeat(80)).append("\n");
+        content.append("Total data rows scraped: ").append(rowNumber).append("\n");
+        try (PrintWriter writer = new PrintWriter(new FileWriter(file.toFile(), StandardCharsets.UTF_8))) {
+            writer.print(content);
+        }
+        return content.length();
+    }
+
+    @Benchmark
+    public long streamToFile() throws IOException {
+        try (ScrapeReport report = new ScrapeReport(null, FileReportSink.open(file))) {
+            report.header("2024-01-01 10:00:00");
+            report.table(table);
+            return report.length();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.junit.assignment.benchmarks;
+
+import com.junit.assignment.scraping.HtmlTableParser;
+import com.junit.assignment.scraping.ScrapedTable;
+import com.junit.assignment.support.FixtureServer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row extraction from the captured DSE page: building the full table versus streaming rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TableExtractionBenchmark {
+
+    private String html;
+
+    @Setup
+    public void setup() {
+        html = new String(FixtureServer.resource("/fixtures/dse_latest_share_price.html"), StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public ScrapedTable parseTable() {
+        return HtmlTableParser.parse(html);
+    }
+
+    @Benchmark
+    public void streamRows(Blackhole blackhole) throws IOException {
+        HtmlTableParser.stream(new StringReader(html), new HtmlTableParser.RowListener() {
+            @Override
+            public void onHeaders(List<String> headers) {
+                blackhole.consume(headers);
+            }
+
+            @Override
+            public void onRow(List<String> cells) {
+                blackhole.consume(cells);
+            }
+        });
+    }
+}
@@ -0,0 +1,52 @@
+package com.junit.assignment.changes;
+
+import com.junit.assignment.scraping.StockRow;
+
+import java.time.Instant;
+
+/**
+ * One thing that changed for a trading code between two consecutive snapshots. A row whose
+ * price and volume both moved produces two changes, price first. {@code previous} is null for
+ * {@link Type#LISTED} and {@code current} is null for {@link Type#DELISTED}.
+ */
+public record PriceChange(Type type, String tradingCode, long cycle, Instant at, StockRow previous, StockRow current) {
+
+    public enum Type {
+        // In this snapshot but not the one before, including every row of the first snapshot
+        LISTED,
+        DELISTED,
+        PRICE_UP,
+        PRICE_DOWN,
+        // Shares traded since the last snapshot; a negative delta means the day's count was reset
+        VOLUME
+    }
+
+    // LTP movement; NaN for listings and delistings
+    public double ltpDelta() {
+        if (previous == null || current == null) {
+            return Double.NaN;
+        }
+        return current.ltp() - previous.ltp();
+    }
+
+    // Volume movement; 0 for listings and delistings
+    public long volumeDelta() {
+        if (previous == null || current == null) {
+            return 0;
+        }
+        return current.volume() - previous.volume();
+    }
+
+    @Override
+    public String toString() {
+        switch (type) {
+            case PRICE_UP:
+            case PRICE_DOWN:
+                return String.format("#%d %s %s %.1f -> %.1f", cycle, type, tradingCode, previous.ltp(), current.ltp());
+            case VOLUME:
+                return String.format("#%d %s %s %+d", cycle, type, tradingCode, volumeDelta());
+            default:
+                return "#" + cycle + " " + type + " " + tradingCode;
+        }
+    }
+}
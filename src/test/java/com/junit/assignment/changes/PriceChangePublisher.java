@@ -0,0 +1,202 @@
+package com.junit.assignment.changes;
+
+import com.junit.assignment.polling.PollingScraper;
+import com.junit.assignment.scraping.StockRow;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Turns snapshots into a stream of {@link PriceChange}s for any number of
+ * {@link Flow.Subscriber}s. Plug it into a poller with {@code PollingScraper.builder().sink(publisher)}
+ * or call {@link #publish} directly.
+ *
+ * <p>Each subscriber has a buffer of {@code bufferCapacity} changes (rounded up to a power of
+ * two). When a subscriber's buffer is full, publishing waits for it to catch up, so a briefly slow
+ * subscriber slows the poller the way a slow sink does. {@code maxWait} bounds the waiting for the
+ * whole snapshot, not for each change: once it has passed, a subscriber that is still behind loses
+ * the rest of the snapshot's changes, which are counted in {@link Stats#getDropped()}, rather than
+ * holding up every other subscriber and the poller for {@code maxWait} per change.
+ */
+public class PriceChangePublisher implements Flow.Publisher<PriceChange>, PollingScraper.SnapshotSink, AutoCloseable {
+
+    private static final AtomicInteger PUBLISHER_IDS = new AtomicInteger();
+
+    private final SnapshotDiffer differ = new SnapshotDiffer();
+    private final SubmissionPublisher<PriceChange> publisher;
+    private final ExecutorService ownedExecutor;
+    private final long maxWaitNanos;
+    // End of the current publish's waiting budget; guarded by publish's lock
+    private long deadline;
+
+    private final AtomicLong snapshots = new AtomicLong();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private PriceChangePublisher(Builder builder) {
+        Executor executor = builder.executor;
+        if (executor == null) {
+            int id = PUBLISHER_IDS.incrementAndGet();
+            AtomicInteger threads = new AtomicInteger();
+            ownedExecutor = Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "price-changes-" + id + "-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor = ownedExecutor;
+        } else {
+            ownedExecutor = null;
+        }
+        this.publisher = new SubmissionPublisher<>(executor, builder.bufferCapacity);
+        this.maxWaitNanos = builder.maxWait.toNanos();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super PriceChange> subscriber) {
+        publisher.subscribe(subscriber);
+    }
+
+    // The first snapshot lists every row, so a subscriber can build the full table from the stream
+    public synchronized int publish(Instant at, List<StockRow> rows) {
+        snapshots.incrementAndGet();
+        deadline = System.nanoTime() + maxWaitNanos;
+        return differ.diff(at, rows, this::offer);
+    }
+
+    // Takes rows as the starting point without publishing them, e.g. the last run's prices
+    public synchronized void seed(List<StockRow> rows) {
+        differ.seed(rows);
+    }
+
+    @Override
+    public void accept(PollingScraper.Snapshot snapshot) {
+        publish(snapshot.fetchedAt(), snapshot.rows());
+    }
+
+    public int subscriberCount() {
+        return publisher.getNumberOfSubscribers();
+    }
+
+    public Stats stats() {
+        return new Stats(snapshots.get(), published.get(), dropped.get(), publisher.getNumberOfSubscribers(),
+                publisher.estimateMaximumLag());
+    }
+
+    // Delivers what is buffered, then completes every subscriber
+    @Override
+    public void close() {
+        publisher.close();
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    public void closeExceptionally(Throwable error) {
+        publisher.closeExceptionally(error);
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    private void offer(PriceChange change) {
+        published.incrementAndGet();
+        long remaining = Math.max(0, deadline - System.nanoTime());
+        publisher.offer(change, remaining, TimeUnit.NANOSECONDS, (subscriber, item) -> {
+            dropped.incrementAndGet();
+            return false;
+        });
+    }
+
+    public static final class Builder {
+        private int bufferCapacity = 1024;
+        private Duration maxWait = Duration.ofMillis(500);
+        private Executor executor;
+
+        private Builder() {
+        }
+
+        // Per subscriber; a full-table reshuffle of 400 codes is up to 800 changes
+        public Builder bufferCapacity(int bufferCapacity) {
+            this.bufferCapacity = bufferCapacity;
+            return this;
+        }
+
+        public Builder maxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+            return this;
+        }
+
+        // Runs subscriber callbacks; by default a daemon pool owned and shut down by the publisher
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public PriceChangePublisher build() {
+            if (bufferCapacity < 1) {
+                throw new IllegalArgumentException("Buffer capacity must be at least 1 but was " + bufferCapacity);
+            }
+            if (maxWait.isNegative()) {
+                throw new IllegalArgumentException("Max wait must not be negative but was " + maxWait);
+            }
+            return new PriceChangePublisher(this);
+        }
+    }
+
+    public static final class Stats {
+        private final long snapshots;
+        private final long published;
+        private final long dropped;
+        private final int subscribers;
+        private final int maxLag;
+
+        Stats(long snapshots, long published, long dropped, int subscribers, int maxLag) {
+            this.snapshots = snapshots;
+            this.published = published;
+            this.dropped = dropped;
+            this.subscribers = subscribers;
+            this.maxLag = maxLag;
+        }
+
+        public long getSnapshots() {
+            return snapshots;
+        }
+
+        public long getPublished() {
+            return published;
+        }
+
+        // Changes lost by subscribers still behind after a snapshot's maxWait, summed over subscribers
+        public long getDropped() {
+            return dropped;
+        }
+
+        public int getSubscribers() {
+            return subscribers;
+        }
+
+        // Changes buffered but not yet consumed by the slowest subscriber
+        public int getMaxLag() {
+            return maxLag;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("snapshots=%d, changes=%d, dropped=%d, subscribers=%d, max lag=%d",
+                    snapshots, published, dropped, subscribers, maxLag);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.junit.assignment.changes;
+
+import com.junit.assignment.scraping.StockRow;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Compares each snapshot with the one before it, keyed by trading code, and reports what changed
+ * as {@link PriceChange}s. The last row of every code lives in one long-lived map whose slots are
+ * updated in place and stamped with the cycle that last saw them; codes whose stamp is stale after
+ * a snapshot were delisted. A cycle allocates nothing for unchanged rows, only the changes it
+ * reports, where rebuilding a map of the new snapshot would allocate an entry per row every poll.
+ *
+ * <p>Changes come out in table order, each row's price before its volume, followed by the
+ * delistings. Only the LTP and the volume are compared, each against the last row where it was
+ * known: a missing value (NaN or {@link StockRow#MISSING}) produces no event and does not replace
+ * it, so a price that comes back after a gap is compared with the price before the gap. Not
+ * thread-safe: one poller feeds it.
+ */
+public final class SnapshotDiffer {
+
+    // DSE lists about 400 codes; sized so a full table never rehashes
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Map<String, Slot> slots = new LinkedHashMap<>(INITIAL_CAPACITY);
+    private long cycle;
+
+    // Takes rows as the baseline without reporting them as listed
+    public void seed(Iterable<StockRow> rows) {
+        cycle++;
+        for (StockRow row : rows) {
+            Slot slot = slots.get(row.tradingCode());
+            if (slot == null) {
+                slots.put(row.tradingCode(), new Slot(row, cycle));
+            } else {
+                slot.update(row, cycle);
+            }
+        }
+        slots.values().removeIf(slot -> slot.seen != cycle);
+    }
+
+    // Reports the changes since the previous snapshot to out; returns how many there were
+    public int diff(Instant at, List<StockRow> rows, Consumer<? super PriceChange> out) {
+        long now = ++cycle;
+        int changes = 0;
+        int seen = 0;
+        for (int i = 0, n = rows.size(); i < n; i++) {
+            StockRow row = rows.get(i);
+            String code = row.tradingCode();
+            Slot slot = slots.get(code);
+            if (slot == null) {
+                slots.put(code, new Slot(row, now));
+                out.accept(new PriceChange(PriceChange.Type.LISTED, code, now, at, null, row));
+                changes++;
+                seen++;
+                continue;
+            }
+            if (slot.seen == now) {
+                // The same code twice in one table: the first row wins
+                continue;
+            }
+            StockRow priced = slot.priced;
+            StockRow traded = slot.traded;
+            slot.update(row, now);
+            seen++;
+            if (priced != null && slot.priced == row && priced.ltp() != row.ltp()) {
+                PriceChange.Type type = row.ltp() > priced.ltp() ? PriceChange.Type.PRICE_UP : PriceChange.Type.PRICE_DOWN;
+                out.accept(new PriceChange(type, code, now, at, priced, row));
+                changes++;
+            }
+            if (traded != null && slot.traded == row && traded.volume() != row.volume()) {
+                out.accept(new PriceChange(PriceChange.Type.VOLUME, code, now, at, traded, row));
+                changes++;
+            }
+        }
+        // Only walk the map when some code was not in this snapshot
+        if (slots.size() > seen) {
+            for (Iterator<Map.Entry<String, Slot>> it = slots.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<String, Slot> entry = it.next();
+                if (entry.getValue().seen != now) {
+                    it.remove();
+                    out.accept(new PriceChange(PriceChange.Type.DELISTED, entry.getKey(), now, at, entry.getValue().row, null));
+                    changes++;
+                }
+            }
+        }
+        return changes;
+    }
+
+    // Codes currently known
+    public int size() {
+        return slots.size();
+    }
+
+    // Snapshots seen so far, including seeds
+    public long cycle() {
+        return cycle;
+    }
+
+    private static final class Slot {
+        private StockRow row;
+        // Last rows with a known LTP and volume; null until the field has been seen
+        private StockRow priced;
+        private StockRow traded;
+        private long seen;
+
+        private Slot(StockRow row, long seen) {
+            update(row, seen);
+        }
+
+        private void update(StockRow row, long seen) {
+            this.row = row;
+            this.seen = seen;
+            if (!Double.isNaN(row.ltp())) {
+                priced = row;
+            }
+            if (row.volume() != StockRow.MISSING) {
+                traded = row;
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.junit.assignment.driver;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A Chromium-based browser installed on this machine. {@code -Ddriver.binary} names one
+ * explicitly; otherwise Brave is preferred, then Chrome, then Chromium, at the usual install
+ * locations for the OS. Without any, ChromeDriver falls back to its own lookup.
+ */
+public record BrowserBinary(Path path, Kind kind) {
+
+    public static final String BINARY_PROPERTY = "driver.binary";
+
+    public enum Kind {
+        BRAVE,
+        CHROME,
+        CHROMIUM
+    }
+
+    private static final List<String> MAC = List.of(
+            "/Applications/Brave Browser.app/Contents/MacOS/Brave Browser",
+            "/Applications/Google Chrome.app/Contents/MacOS/Google Chrome",
+            "/Applications/Chromium.app/Contents/MacOS/Chromium");
+    private static final List<String> LINUX = List.of(
+            "/usr/bin/brave-browser", "/usr/bin/brave", "/opt/brave.com/brave/brave", "/snap/bin/brave",
+            "/usr/bin/google-chrome-stable", "/usr/bin/google-chrome", "/opt/google/chrome/chrome",
+            "/usr/bin/chromium", "/usr/bin/chromium-browser", "/snap/bin/chromium");
+    private static final List<String> WINDOWS = List.of(
+            "C:\\Program Files\\BraveSoftware\\Brave-Browser\\Application\\brave.exe",
+            "C:\\Program Files\\Google\\Chrome\\Application\\chrome.exe",
+            "C:\\Program Files (x86)\\Google\\Chrome\\Application\\chrome.exe");
+
+    private static final Pattern MAJOR_VERSION = Pattern.compile("(\\d+)\\.\\d+");
+
+    public static Optional<BrowserBinary> detect() {
+        return detect(System.getProperty("os.name", ""), System.getProperty(BINARY_PROPERTY), Files::isExecutable);
+    }
+
+    public static Optional<BrowserBinary> detect(String osName, String override, Predicate<Path> executable) {
+        if (override != null && !override.isBlank()) {
+            Path path = Path.of(override);
+            if (!executable.test(path)) {
+                throw new IllegalArgumentException(BINARY_PROPERTY + " is not an executable: " + override);
+            }
+            return Optional.of(new BrowserBinary(path, kindOf(path)));
+        }
+        String os = osName.toLowerCase();
+        List<String> candidates = os.contains("mac") ? MAC : os.contains("win") ? WINDOWS : LINUX;
+        for (String candidate : candidates) {
+            Path path = Path.of(candidate);
+            if (executable.test(path)) {
+                return Optional.of(new BrowserBinary(path, kindOf(path)));
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Chromium major version from "<binary> --version", e.g. "Brave Browser 140.1.82.166" -> 140
+    public Optional<String> majorVersion() {
+        try {
+            Process process = new ProcessBuilder(path.toString(), "--version").redirectErrorStream(true).start();
+            String output;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                output = reader.readLine();
+            }
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+            return parseMajorVersion(output);
+        } catch (IOException e) {
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    public static Optional<String> parseMajorVersion(String versionOutput) {
+        if (versionOutput == null) {
+            return Optional.empty();
+        }
+        Matcher matcher = MAJOR_VERSION.matcher(versionOutput);
+        return matcher.find() ? Optional.of(matcher.group(1)) : Optional.empty();
+    }
+
+    private static Kind kindOf(Path path) {
+        String name = path.toString().toLowerCase();
+        return name.contains("brave") ? Kind.BRAVE : name.contains("chromium") ? Kind.CHROMIUM : Kind.CHROME;
+    }
+}
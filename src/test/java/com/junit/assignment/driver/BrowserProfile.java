@@ -0,0 +1,262 @@
+package com.junit.assignment.driver;
+
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * How a browser session is launched: headless or not, window size, page-load strategy and
+ * which requests are blocked. Blocking is done twice over: images are switched off in the
+ * content settings, and font, media and tracker URLs are refused by the network stack through
+ * the CDP {@code Network.setBlockedURLs} command (see {@link DriverFactory}), so nothing we
+ * never read is downloaded or decoded.
+ *
+ * <p>Named profiles:
+ * <ul>
+ *   <li>{@code full}: what a person would see; 1920x1080, waits for every subresource, blocks
+ *       nothing. The default.</li>
+ *   <li>{@code scraping}: 1024x768, {@code eager} loading (done at DOMContentLoaded), images,
+ *       fonts, media and trackers blocked.</li>
+ *   <li>{@code forms}: like {@code scraping} with a 1280x900 window, so the whole form lays out
+ *       without scrolling sideways.</li>
+ * </ul>
+ * {@code -Ddriver.headless} overrides the headless setting of every profile.
+ */
+public final class BrowserProfile {
+
+    public static final String PROFILE_PROPERTY = "driver.profile";
+    public static final String HEADLESS_PROPERTY = "driver.headless";
+
+    // Matched by Chrome against the full URL; '*' is the only wildcard
+    static final List<String> FONT_PATTERNS = List.of(
+            "*.woff*", "*.ttf*", "*.otf*", "*.eot*", "*fonts.googleapis.com/*", "*fonts.gstatic.com/*", "*use.typekit.net/*");
+    static final List<String> MEDIA_PATTERNS = List.of("*.mp4*", "*.webm*", "*.m3u8*", "*.mp3*", "*.ogg*");
+    static final List<String> IMAGE_PATTERNS = List.of(
+            "*.png*", "*.jpg*", "*.jpeg*", "*.gif*", "*.webp*", "*.avif*", "*.svg*", "*.ico*");
+    static final List<String> TRACKER_PATTERNS = List.of(
+            "*google-analytics.com/*", "*googletagmanager.com/*", "*/analytics.js*", "*/gtag/js*", "*/gtm.js*",
+            "*doubleclick.net/*", "*googlesyndication.com/*", "*googleadservices.com/*", "*adservice.google.*",
+            "*facebook.net/*", "*hotjar.com/*", "*clarity.ms/*", "*scorecardresearch.com/*", "*quantserve.com/*",
+            "*adnxs.com/*", "*amazon-adsystem.com/*", "*taboola.com/*", "*outbrain.com/*", "*criteo.*");
+
+    public static final BrowserProfile FULL = builder("full")
+            .windowSize(1920, 1080)
+            .pageLoadStrategy(PageLoadStrategy.NORMAL)
+            .build();
+    public static final BrowserProfile SCRAPING = builder("scraping")
+            .windowSize(1024, 768)
+            .pageLoadStrategy(PageLoadStrategy.EAGER)
+            .blockImages(true)
+            .blockFonts(true)
+            .blockMedia(true)
+            .blockTrackers(true)
+            .build();
+    public static final BrowserProfile FORMS = SCRAPING.toBuilder("forms")
+            .windowSize(1280, 900)
+            .build();
+
+    private static final Map<String, BrowserProfile> NAMED = Map.of(
+            FULL.name, FULL, SCRAPING.name, SCRAPING, FORMS.name, FORMS);
+
+    private final String name;
+    private final boolean headless;
+    private final int width;
+    private final int height;
+    private final PageLoadStrategy pageLoadStrategy;
+    private final boolean blockImages;
+    private final boolean blockFonts;
+    private final boolean blockMedia;
+    private final boolean blockTrackers;
+    private final List<String> extraBlockedUrls;
+
+    private BrowserProfile(Builder builder) {
+        this.name = builder.name;
+        this.headless = builder.headless;
+        this.width = builder.width;
+        this.height = builder.height;
+        this.pageLoadStrategy = builder.pageLoadStrategy;
+        this.blockImages = builder.blockImages;
+        this.blockFonts = builder.blockFonts;
+        this.blockMedia = builder.blockMedia;
+        this.blockTrackers = builder.blockTrackers;
+        this.extraBlockedUrls = List.copyOf(builder.extraBlockedUrls);
+    }
+
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    public Builder toBuilder(String name) {
+        Builder builder = new Builder(name);
+        builder.headless = headless;
+        builder.width = width;
+        builder.height = height;
+        builder.pageLoadStrategy = pageLoadStrategy;
+        builder.blockImages = blockImages;
+        builder.blockFonts = blockFonts;
+        builder.blockMedia = blockMedia;
+        builder.blockTrackers = blockTrackers;
+        builder.extraBlockedUrls.addAll(extraBlockedUrls);
+        return builder;
+    }
+
+    public static BrowserProfile named(String name) {
+        BrowserProfile profile = NAMED.get(name.trim().toLowerCase());
+        if (profile == null) {
+            throw new IllegalArgumentException("Unknown browser profile '" + name + "', expected one of " + NAMED.keySet());
+        }
+        return profile;
+    }
+
+    public static BrowserProfile forTestClass(Class<?> testClass) {
+        return forTestClass(testClass, System.getProperties());
+    }
+
+    // -Ddriver.profile, else @UseBrowserProfile, else full; -Ddriver.headless applies on top
+    public static BrowserProfile forTestClass(Class<?> testClass, Properties properties) {
+        String name = properties.getProperty(PROFILE_PROPERTY);
+        if (name == null && testClass != null) {
+            UseBrowserProfile annotation = testClass.getAnnotation(UseBrowserProfile.class);
+            name = annotation == null ? null : annotation.value();
+        }
+        BrowserProfile profile = name == null ? FULL : named(name);
+        String headless = properties.getProperty(HEADLESS_PROPERTY);
+        return headless == null ? profile : profile.withHeadless(Boolean.parseBoolean(headless));
+    }
+
+    public BrowserProfile withHeadless(boolean headless) {
+        return headless == this.headless ? this : toBuilder(name).headless(headless).build();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public PageLoadStrategy pageLoadStrategy() {
+        return pageLoadStrategy;
+    }
+
+    // URL patterns for Network.setBlockedURLs; empty when nothing is blocked
+    public List<String> blockedUrlPatterns() {
+        List<String> patterns = new ArrayList<>();
+        if (blockImages) {
+            // Content settings already stop <img>; this catches favicons and CSS backgrounds in flight
+            patterns.addAll(IMAGE_PATTERNS);
+        }
+        if (blockFonts) {
+            patterns.addAll(FONT_PATTERNS);
+        }
+        if (blockMedia) {
+            patterns.addAll(MEDIA_PATTERNS);
+        }
+        if (blockTrackers) {
+            patterns.addAll(TRACKER_PATTERNS);
+        }
+        patterns.addAll(extraBlockedUrls);
+        return patterns;
+    }
+
+    // Everything but the binary and the proxy, which depend on the machine and the run
+    public ChromeOptions toChromeOptions() {
+        ChromeOptions options = new ChromeOptions();
+        if (headless) {
+            options.addArguments("--headless=new");
+            options.addArguments("--window-size=" + width + "," + height);
+        } else if (width == FULL.width && height == FULL.height) {
+            options.addArguments("--start-maximized");
+        } else {
+            options.addArguments("--window-size=" + width + "," + height);
+        }
+        options.addArguments("--disable-blink-features=AutomationControlled");
+        options.addArguments("--remote-allow-origins=*");
+        options.setPageLoadStrategy(pageLoadStrategy);
+        if (blockImages) {
+            Map<String, Object> prefs = new LinkedHashMap<>();
+            prefs.put("profile.managed_default_content_settings.images", 2);
+            options.setExperimentalOption("prefs", prefs);
+            options.addArguments("--blink-settings=imagesEnabled=false");
+        }
+        return options;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (%s, %dx%d, %s load, blocking %d URL patterns%s)", name, headless ? "headless" : "headed",
+                width, height, pageLoadStrategy.toString().toLowerCase(), blockedUrlPatterns().size(),
+                blockImages ? " and images" : "");
+    }
+
+    public static final class Builder {
+        private final String name;
+        private boolean headless = true;
+        private int width = 1920;
+        private int height = 1080;
+        private PageLoadStrategy pageLoadStrategy = PageLoadStrategy.NORMAL;
+        private boolean blockImages;
+        private boolean blockFonts;
+        private boolean blockMedia;
+        private boolean blockTrackers;
+        private final List<String> extraBlockedUrls = new ArrayList<>();
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        public Builder headless(boolean headless) {
+            this.headless = headless;
+            return this;
+        }
+
+        public Builder windowSize(int width, int height) {
+            if (width < 1 || height < 1) {
+                throw new IllegalArgumentException("Window size must be positive but was " + width + "x" + height);
+            }
+            this.width = width;
+            this.height = height;
+            return this;
+        }
+
+        public Builder pageLoadStrategy(PageLoadStrategy pageLoadStrategy) {
+            this.pageLoadStrategy = pageLoadStrategy;
+            return this;
+        }
+
+        public Builder blockImages(boolean blockImages) {
+            this.blockImages = blockImages;
+            return this;
+        }
+
+        public Builder blockFonts(boolean blockFonts) {
+            this.blockFonts = blockFonts;
+            return this;
+        }
+
+        public Builder blockMedia(boolean blockMedia) {
+            this.blockMedia = blockMedia;
+            return this;
+        }
+
+        public Builder blockTrackers(boolean blockTrackers) {
+            this.blockTrackers = blockTrackers;
+            return this;
+        }
+
+        public Builder blockUrls(String... patterns) {
+            extraBlockedUrls.addAll(List.of(patterns));
+            return this;
+        }
+
+        public BrowserProfile build() {
+            return new BrowserProfile(this);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.junit.assignment.driver;
+
+import com.junit.assignment.http.CachingProxy;
+import com.junit.assignment.http.ResponseCache;
+import com.junit.assignment.metrics.Metrics;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.Proxy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Creates the Chrome/Brave sessions both test classes used to build by hand in {@code setup()}.
+ *
+ * <p>With {@code -Ddriver.proxy.cache=true} every session goes through one local
+ * {@link CachingProxy}, so plain-HTTP pages are revalidated from {@code build/http-cache}
+ * instead of downloaded again.
+ *
+ * <p>The browser comes from {@link BrowserBinary#detect()} and everything else from a
+ * {@link BrowserProfile}; the no-argument overloads use {@link BrowserProfile#FULL}.
+ */
+public final class DriverFactory {
+
+    // Used for Brave when "--version" cannot be read
+    private static final String BRAVE_VERSION = "140";
+
+    private static final String PROXY_CACHE_DIR = "build/http-cache";
+
+    private static volatile boolean driverBinaryReady;
+    private static CachingProxy proxy;
+
+    private DriverFactory() {
+    }
+
+    public static WebDriver createDriver() {
+        return createDriver(BrowserProfile.forTestClass(null));
+    }
+
+    public static WebDriver createDriver(boolean headless) {
+        return createDriver(BrowserProfile.FULL.withHeadless(headless));
+    }
+
+    public static WebDriver createDriver(BrowserProfile profile) {
+        Optional<BrowserBinary> binary = BrowserBinary.detect();
+        setupDriverBinary(binary);
+
+        ChromeOptions options = profile.toChromeOptions();
+        binary.ifPresent(found -> options.setBinary(found.path().toString()));
+        if (Boolean.getBoolean("driver.proxy.cache")) {
+            String address = cachingProxy().address();
+            options.setProxy(new Proxy().setHttpProxy(address).setSslProxy(address));
+        }
+        String kind = binary.map(found -> found.kind().name().toLowerCase()).orElse("chrome");
+        ChromeDriver driver;
+        try (Metrics.Span span = Metrics.span(Metrics.Kind.DRIVER_START, kind + "/" + profile.name())) {
+            driver = new ChromeDriver(options);
+            blockUrls(driver, profile.blockedUrlPatterns());
+        }
+        // Times every command and page load when metrics or a JFR recording are on
+        return Metrics.instrument(driver);
+    }
+
+    // Refused in the network stack before any request is sent, for every page of the session
+    private static void blockUrls(ChromeDriver driver, List<String> patterns) {
+        if (patterns.isEmpty()) {
+            return;
+        }
+        try {
+            driver.executeCdpCommand("Network.enable", Map.of());
+            driver.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", patterns));
+        } catch (WebDriverException e) {
+            driver.quit();
+            throw e;
+        }
+    }
+
+    // Started on first use and shared by all sessions; stopped with the JVM
+    public static synchronized CachingProxy cachingProxy() {
+        if (proxy == null) {
+            try {
+                proxy = CachingProxy.start(ResponseCache.open(Path.of(PROXY_CACHE_DIR)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start the caching proxy", e);
+            }
+            CachingProxy started = proxy;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    started.close();
+                } catch (IOException e) {
+                    // JVM is exiting anyway
+                }
+            }, "caching-proxy-shutdown"));
+        }
+        return proxy;
+    }
+
+    // WebDriverManager resolves (and possibly downloads) chromedriver; once per JVM is enough
+    // Brave reports its own version, so match chromedriver to the Chromium major it is built on
+    private static synchronized void setupDriverBinary(Optional<BrowserBinary> binary) {
+        if (driverBinaryReady) {
+            return;
+        }
+        WebDriverManager manager = WebDriverManager.chromedriver();
+        if (binary.isPresent()) {
+            Optional<String> major = binary.get().majorVersion();
+            if (binary.get().kind() == BrowserBinary.Kind.BRAVE) {
+                manager.browserVersion(major.orElse(BRAVE_VERSION));
+            } else {
+                major.ifPresent(manager::browserVersion);
+            }
+        }
+        manager.setup();
+        driverBinaryReady = true;
+    }
+}
@@ -0,0 +1,290 @@
+package com.junit.assignment.driver;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of browser sessions. Sessions are reset (cookies, storage, about:blank) when
+ * released and health-checked when acquired; a session that fails either is quit and replaced.
+ * Pools built over one {@link SessionBudget} share its limit.
+ */
+public class DriverPool implements AutoCloseable {
+
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}";
+    private static final long POLL_SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final int maxSize;
+    private final SessionBudget budget;
+    private final Supplier<WebDriver> factory;
+    private final Duration acquireTimeout;
+    private final BlockingDeque<WebDriver> idle = new LinkedBlockingDeque<>();
+    private final List<WebDriver> all = new ArrayList<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private volatile boolean closed;
+
+    private final AtomicLong acquires = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong recycled = new AtomicLong();
+    private final AtomicLong acquireNanos = new AtomicLong();
+    private final AtomicLong maxAcquireNanos = new AtomicLong();
+
+    public DriverPool(int maxSize, Supplier<WebDriver> factory, Duration acquireTimeout) {
+        this(new SessionBudget(maxSize), factory, acquireTimeout);
+    }
+
+    public DriverPool(SessionBudget budget, Supplier<WebDriver> factory, Duration acquireTimeout) {
+        this.maxSize = budget.sessions();
+        this.budget = budget;
+        this.factory = factory;
+        this.acquireTimeout = acquireTimeout;
+        budget.register(this);
+    }
+
+    // Starts sessions ahead of time so the first tests do not pay for browser startup
+    public void warmUp(int sessions) {
+        for (int i = 0; i < Math.min(sessions, maxSize); i++) {
+            if (!tryReserveSlot()) {
+                return;
+            }
+            idle.offerLast(create());
+        }
+    }
+
+    public WebDriver acquire() {
+        long start = System.nanoTime();
+        long deadline = start + acquireTimeout.toNanos();
+        WebDriver driver;
+        boolean hit;
+        try {
+            while (true) {
+                if (closed) {
+                    throw new IllegalStateException("WebDriver pool is closed");
+                }
+                driver = idle.pollFirst();
+                if (driver != null) {
+                    if (isHealthy(driver)) {
+                        hit = true;
+                        break;
+                    }
+                    recycled.incrementAndGet();
+                    discard(driver);
+                    continue;
+                }
+                if (tryReserveSlot()) {
+                    driver = create();
+                    hit = false;
+                    break;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new IllegalStateException("No WebDriver session became available within " + acquireTimeout);
+                }
+                // Wake up regularly: a discarded session frees a slot without putting anything in the queue
+                driver = idle.pollFirst(Math.min(remaining, POLL_SLICE_NANOS), TimeUnit.NANOSECONDS);
+                if (driver != null) {
+                    // Hand it back to the top of the loop for the health check
+                    idle.offerFirst(driver);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a WebDriver session", e);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        acquires.incrementAndGet();
+        if (hit) {
+            hits.incrementAndGet();
+        }
+        acquireNanos.addAndGet(elapsed);
+        maxAcquireNanos.accumulateAndGet(elapsed, Math::max);
+        return driver;
+    }
+
+    public void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        if (closed || !reset(driver)) {
+            if (!closed) {
+                recycled.incrementAndGet();
+            }
+            discard(driver);
+            return;
+        }
+        idle.offerFirst(driver);
+    }
+
+    public Stats stats() {
+        return new Stats(size.get(), acquires.get(), hits.get(), recycled.get(), acquireNanos.get(), maxAcquireNanos.get());
+    }
+
+    // Quits the least recently used idle session so another pool on the same budget can start one
+    boolean evictIdle() {
+        WebDriver driver = idle.pollLast();
+        if (driver == null) {
+            return false;
+        }
+        discard(driver);
+        return true;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        budget.unregister(this);
+        List<WebDriver> sessions;
+        synchronized (all) {
+            sessions = new ArrayList<>(all);
+            all.clear();
+        }
+        idle.clear();
+        for (WebDriver driver : sessions) {
+            quitQuietly(driver);
+        }
+        budget.release(size.getAndSet(0));
+    }
+
+    private boolean tryReserveSlot() {
+        int current;
+        do {
+            current = size.get();
+            if (current >= maxSize) {
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+        if (!budget.tryReserve(this)) {
+            size.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private WebDriver create() {
+        try {
+            WebDriver driver = factory.get();
+            synchronized (all) {
+                all.add(driver);
+            }
+            return driver;
+        } catch (RuntimeException e) {
+            size.decrementAndGet();
+            budget.release(1);
+            throw e;
+        }
+    }
+
+    private void discard(WebDriver driver) {
+        boolean owned;
+        synchronized (all) {
+            owned = all.remove(driver);
+        }
+        if (owned) {
+            size.decrementAndGet();
+            budget.release(1);
+        }
+        quitQuietly(driver);
+    }
+
+    private static boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private static boolean reset(WebDriver driver) {
+        try {
+            // Storage is per origin, so clear it before leaving the page
+            if (driver instanceof JavascriptExecutor) {
+                ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+            }
+            if (driver instanceof HasCdp) {
+                // deleteAllCookies() only covers the current domain
+                ((HasCdp) driver).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            } else {
+                driver.manage().deleteAllCookies();
+            }
+            driver.get("about:blank");
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            // already gone
+        }
+    }
+
+    public static final class Stats {
+        private final int sessions;
+        private final long acquires;
+        private final long hits;
+        private final long recycled;
+        private final long acquireNanos;
+        private final long maxAcquireNanos;
+
+        Stats(int sessions, long acquires, long hits, long recycled, long acquireNanos, long maxAcquireNanos) {
+            this.sessions = sessions;
+            this.acquires = acquires;
+            this.hits = hits;
+            this.recycled = recycled;
+            this.acquireNanos = acquireNanos;
+            this.maxAcquireNanos = maxAcquireNanos;
+        }
+
+        public int getSessions() {
+            return sessions;
+        }
+
+        public long getAcquires() {
+            return acquires;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getRecycled() {
+            return recycled;
+        }
+
+        public double getHitRate() {
+            return acquires == 0 ? 0.0 : (double) hits / acquires;
+        }
+
+        public double getAverageAcquireMillis() {
+            return acquires == 0 ? 0.0 : acquireNanos / 1_000_000.0 / acquires;
+        }
+
+        public double getMaxAcquireMillis() {
+            return maxAcquireNanos / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("sessions=%d, acquires=%d, hit rate=%.1f%%, avg acquire=%.1f ms, max acquire=%.1f ms, recycled=%d",
+                    sessions, acquires, getHitRate() * 100, getAverageAcquireMillis(), getMaxAcquireMillis(), recycled);
+        }
+    }
+}
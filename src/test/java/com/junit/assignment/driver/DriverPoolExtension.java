@@ -0,0 +1,120 @@
+package com.junit.assignment.driver;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.model.Label;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shares one {@link DriverPool} across all test classes of a run and injects sessions into
+ * test and lifecycle methods. A {@link WebDriver} parameter leases a session for the current
+ * test (the same one in {@code @BeforeEach}, the test and {@code @AfterEach}) and returns it to
+ * the pool afterwards; a {@link DriverPool} parameter lets a test acquire sessions lazily.
+ * Leased sessions are also bound to the worker thread through {@link DriverSession}.
+ *
+ * <p>There is one pool per {@link BrowserProfile}, chosen for each test class with
+ * {@link UseBrowserProfile}, so a scraping class never gets a session started for forms. All
+ * pools draw on one {@link SessionBudget}, so together they never run more browsers than the
+ * memory budget allows; an idle session of one profile is quit when another profile needs room.
+ *
+ * <p>Configured with {@code -Ddriver.pool.size} (sessions across all profiles, default: the
+ * parallelism chosen by {@link MemoryAwareParallelism}), {@code -Ddriver.pool.warm}
+ * (sessions started up front, default 0 so browser-free runs never start one) and
+ * {@code -Ddriver.headless} (default true).
+ */
+public class DriverPoolExtension implements ParameterResolver, BeforeEachCallback, AfterEachCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(DriverPoolExtension.class);
+
+    // Stable worker names for the Allure timeline instead of ForkJoinPool thread names
+    private static final AtomicInteger WORKER_IDS = new AtomicInteger();
+    private static final ThreadLocal<String> WORKER_NAME = ThreadLocal.withInitial(() -> "worker-" + WORKER_IDS.incrementAndGet());
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        Class<?> type = parameterContext.getParameter().getType();
+        return type == WebDriver.class || type == DriverPool.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        DriverPool pool = pool(extensionContext);
+        if (parameterContext.getParameter().getType() == DriverPool.class) {
+            return pool;
+        }
+        return extensionContext.getStore(NAMESPACE)
+                .getOrComputeIfAbsent(Lease.class, key -> new Lease(pool), Lease.class)
+                .driver;
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        String worker = WORKER_NAME.get();
+        Allure.getLifecycle().updateTestCase(result -> {
+            result.getLabels().removeIf(label -> "thread".equals(label.getName()));
+            result.getLabels().add(new Label().setName("thread").setValue(worker));
+        });
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        // The lease itself is returned when the test's store is closed, right after this callback
+        if (context.getStore(NAMESPACE).get(Lease.class) != null) {
+            Allure.addAttachment("WebDriver pool", "text/plain", pool(context).stats().toString());
+        }
+    }
+
+    public static DriverPool pool(ExtensionContext context) {
+        BrowserProfile profile = BrowserProfile.forTestClass(context.getTestClass().orElse(null));
+        ExtensionContext.Store store = context.getRoot().getStore(NAMESPACE);
+        SessionBudget budget = store.getOrComputeIfAbsent(SessionBudget.class,
+                key -> new SessionBudget(Integer.getInteger("driver.pool.size", MemoryAwareParallelism.fromConfiguration(
+                        name -> context.getConfigurationParameter(MemoryAwareParallelism.CONFIG_PREFIX + name)))),
+                SessionBudget.class);
+        return store.getOrComputeIfAbsent(SharedPool.class.getName() + "/" + profile.name(),
+                        key -> new SharedPool(profile, budget), SharedPool.class)
+                .pool;
+    }
+
+    // Closed by JUnit when the root context closes, i.e. after the last test class of the run
+    private static final class SharedPool implements ExtensionContext.Store.CloseableResource {
+        private final BrowserProfile profile;
+        private final DriverPool pool;
+
+        private SharedPool(BrowserProfile profile, SessionBudget budget) {
+            this.profile = profile;
+            pool = new DriverPool(budget, () -> DriverFactory.createDriver(profile), Duration.ofMinutes(2));
+            pool.warmUp(Integer.getInteger("driver.pool.warm", 0));
+        }
+
+        @Override
+        public void close() {
+            System.out.println("WebDriver pool (" + profile + "): " + pool.stats());
+            pool.close();
+        }
+    }
+
+    private static final class Lease implements ExtensionContext.Store.CloseableResource {
+        private final DriverPool pool;
+        private final WebDriver driver;
+
+        private Lease(DriverPool pool) {
+            this.pool = pool;
+            this.driver = pool.acquire();
+            DriverSession.bind(driver);
+        }
+
+        @Override
+        public void close() {
+            DriverSession.unbind();
+            pool.release(driver);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.junit.assignment.driver;
+
+import com.junit.assignment.metrics.InstrumentedWait;
+import com.junit.assignment.wait.AdaptiveWait;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+
+/**
+ * Thread-confined browser session. With parallel execution every JUnit worker thread runs its
+ * own test, so the driver and its wait are bound to the thread instead of living in fields
+ * that several tests could touch.
+ */
+public final class DriverSession {
+
+    public static final Duration DEFAULT_WAIT = Duration.ofSeconds(15);
+
+    private static final ThreadLocal<DriverSession> CURRENT = new ThreadLocal<>();
+
+    private final WebDriver driver;
+    private final WebDriverWait wait;
+    private final AdaptiveWait adaptiveWait;
+
+    private DriverSession(WebDriver driver) {
+        this.driver = driver;
+        this.wait = new InstrumentedWait(driver, DEFAULT_WAIT);
+        this.adaptiveWait = new AdaptiveWait(driver);
+    }
+
+    public static void bind(WebDriver driver) {
+        DriverSession current = CURRENT.get();
+        if (current != null) {
+            if (current.driver != driver) {
+                throw new IllegalStateException("Thread " + Thread.currentThread().getName() + " already has a driver bound");
+            }
+            return;
+        }
+        CURRENT.set(new DriverSession(driver));
+    }
+
+    // Returns the driver that was bound, or null if there was none
+    public static WebDriver unbind() {
+        DriverSession session = CURRENT.get();
+        CURRENT.remove();
+        return session == null ? null : session.driver;
+    }
+
+    public static boolean isBound() {
+        return CURRENT.get() != null;
+    }
+
+    public static WebDriver driver() {
+        return current().driver;
+    }
+
+    public static WebDriverWait driverWait() {
+        return current().wait;
+    }
+
+    // Records every wait of the current test; see AdaptiveWait#recorder()
+    public static AdaptiveWait adaptiveWait() {
+        return current().adaptiveWait;
+    }
+
+    private static DriverSession current() {
+        DriverSession session = CURRENT.get();
+        if (session == null) {
+            throw new IllegalStateException("No driver bound to thread " + Thread.currentThread().getName());
+        }
+        return session;
+    }
+}
@@ -0,0 +1,99 @@
+package com.junit.assignment.driver;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * JUnit parallelism that never runs more browser tests at once than the machine can hold:
+ * the smaller of the core count and free memory divided by the budget of one browser session.
+ *
+ * <p>{@code driver.parallel.max} caps the result and {@code driver.session.memory.mb}
+ * (default 512) sets the per-session budget. Both can be system properties under those names or
+ * entries in {@code junit-platform.properties} under {@value #CONFIG_PREFIX}, the prefix JUnit
+ * strips before handing parameters to a custom strategy (e.g.
+ * {@code junit.jupiter.execution.parallel.config.driver.parallel.max=4}); a system property wins.
+ */
+public class MemoryAwareParallelism implements ParallelExecutionConfigurationStrategy {
+
+    public static final String MAX_PROPERTY = "driver.parallel.max";
+    public static final String SESSION_MEMORY_PROPERTY = "driver.session.memory.mb";
+    public static final String CONFIG_PREFIX = "junit.jupiter.execution.parallel.config.";
+
+    private static final long DEFAULT_SESSION_MEMORY_MB = 512;
+    private static final int KEEP_ALIVE_SECONDS = 30;
+
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters configurationParameters) {
+        // JUnit passes a view that already has CONFIG_PREFIX in front of every key
+        int parallelism = fromConfiguration(configurationParameters::get);
+        System.out.println("Parallel test execution: " + parallelism + " worker(s)");
+        return new Configuration(parallelism);
+    }
+
+    // Used by the driver pool so it is sized like the worker pool unless configured otherwise;
+    // the lookup takes the short key and resolves it as a junit-platform.properties entry
+    public static int fromConfiguration(Function<String, Optional<String>> parameters) {
+        int max = setting(MAX_PROPERTY, parameters).map(Integer::parseInt).orElse(Integer.MAX_VALUE);
+        long sessionMb = setting(SESSION_MEMORY_PROPERTY, parameters).map(Long::parseLong).orElse(DEFAULT_SESSION_MEMORY_MB);
+        return compute(Runtime.getRuntime().availableProcessors(), freeMemoryMb(), sessionMb, max);
+    }
+
+    public static int compute(int cores, long freeMemoryMb, long sessionMemoryMb, int max) {
+        long byMemory = sessionMemoryMb <= 0 ? cores : freeMemoryMb / sessionMemoryMb;
+        long parallelism = Math.min(Math.min(cores, byMemory), max);
+        return (int) Math.max(1, parallelism);
+    }
+
+    private static Optional<String> setting(String key, Function<String, Optional<String>> parameters) {
+        Optional<String> property = Optional.ofNullable(System.getProperty(key));
+        return property.isPresent() ? property : parameters.apply(key);
+    }
+
+    private static long freeMemoryMb() {
+        OperatingSystemMXBean bean = ManagementFactory.getOperatingSystemMXBean();
+        if (bean instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) bean).getFreeMemorySize() / (1024 * 1024);
+        }
+        return Long.MAX_VALUE;
+    }
+
+    private static final class Configuration implements ParallelExecutionConfiguration {
+        private final int parallelism;
+
+        private Configuration(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        @Override
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        @Override
+        public int getMinimumRunnable() {
+            return parallelism;
+        }
+
+        @Override
+        public int getMaxPoolSize() {
+            // Head-room for threads blocked in join, as the built-in strategies allow
+            return parallelism + 256;
+        }
+
+        @Override
+        public int getCorePoolSize() {
+            return parallelism;
+        }
+
+        @Override
+        public int getKeepAliveSeconds() {
+            return KEEP_ALIVE_SECONDS;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.junit.assignment.driver;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Session limit shared by several {@link DriverPool}s, so pools for different profiles together
+ * never start more browsers than the budget allows. When it is spent, an idle session of another
+ * pool is quit to make room instead of making the caller wait for a release that may never come.
+ */
+public class SessionBudget {
+
+    private final int sessions;
+    private final Semaphore permits;
+    private final List<DriverPool> pools = new CopyOnWriteArrayList<>();
+
+    public SessionBudget(int sessions) {
+        if (sessions < 1) {
+            throw new IllegalArgumentException("Session budget must be at least 1 but was " + sessions);
+        }
+        this.sessions = sessions;
+        this.permits = new Semaphore(sessions);
+    }
+
+    public int sessions() {
+        return sessions;
+    }
+
+    void register(DriverPool pool) {
+        pools.add(pool);
+    }
+
+    void unregister(DriverPool pool) {
+        pools.remove(pool);
+    }
+
+    boolean tryReserve(DriverPool requester) {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        for (DriverPool pool : pools) {
+            // Another thread may take the freed permit first, so keep trying the next pool
+            if (pool != requester && pool.evictIdle() && permits.tryAcquire()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void release(int count) {
+        if (count > 0) {
+            permits.release(count);
+        }
+    }
+}
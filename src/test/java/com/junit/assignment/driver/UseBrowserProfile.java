@@ -0,0 +1,20 @@
+package com.junit.assignment.driver;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Browser profile for the sessions {@link DriverPoolExtension} leases to a test class, by
+ * {@link BrowserProfile} name, e.g. {@code @UseBrowserProfile("scraping")}. Unannotated classes
+ * get {@code full}; {@code -Ddriver.profile} overrides both.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface UseBrowserProfile {
+
+    String value();
+}
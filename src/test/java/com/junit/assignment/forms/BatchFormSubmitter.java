@@ -0,0 +1,303 @@
+package com.junit.assignment.forms;
+
+import com.junit.assignment.driver.DriverPool;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes a dataset through a web form with several browser sessions at once. Each worker leases
+ * one session from the {@link DriverPool}, opens the form once and then takes records from a
+ * shared counter until none are left, so a slow record never holds up the others.
+ *
+ * <p>A record costs one script call instead of a clear/sendKeys/scroll round trip per field.
+ * The script sets every mapped field through the native value setter (so frameworks listening
+ * for input/change events see it), checks the browser's own validation and then:
+ * <ul>
+ *   <li>{@link Mode#FETCH} (default): posts the form's data from the page with {@code fetch},
+ *       parses the response for the success or error message and returns it. The page is never
+ *       reloaded, so the next record reuses it directly. Form tokens (Drupal's form_build_id)
+ *       are sent along as they are; file inputs are not supported.</li>
+ *   <li>{@link Mode#NAVIGATE}: clicks the submit button like a user, waits for the outcome
+ *       with {@link OutcomeDetector} and opens the form again for the next record.</li>
+ * </ul>
+ */
+public final class BatchFormSubmitter {
+
+    public enum Mode {
+        FETCH,
+        NAVIGATE
+    }
+
+    /**
+     * Outcome of one record. {@code message} is the page's success or error text, or why the
+     * record could not be submitted at all.
+     */
+    public record Result(FormRecord record, boolean success, String message, double millis) {
+    }
+
+    public static final Duration DEFAULT_OUTCOME_TIMEOUT = Duration.ofSeconds(15);
+
+    // Sets the fields (arguments[0]: selector -> value) and validates; defines fill() for the scripts below
+    private static final String FILL_FUNCTION =
+            "var fill = function (fields, submitSelector) {\n" +
+            "  var form = null, missing = [];\n" +
+            "  for (var selector in fields) {\n" +
+            "    var el = document.querySelector(selector);\n" +
+            "    if (!el) { missing.push(selector); continue; }\n" +
+            "    form = form || el.form;\n" +
+            "    var value = fields[selector];\n" +
+            "    if (el.type === 'checkbox' || el.type === 'radio') {\n" +
+            "      el.checked = /^(true|yes|on|1)$/i.test(value);\n" +
+            "    } else {\n" +
+            "      var proto = el.tagName === 'TEXTAREA' ? HTMLTextAreaElement.prototype\n" +
+            "        : el.tagName === 'SELECT' ? HTMLSelectElement.prototype : HTMLInputElement.prototype;\n" +
+            "      Object.getOwnPropertyDescriptor(proto, 'value').set.call(el, value);\n" +
+            "    }\n" +
+            "    el.dispatchEvent(new Event('input', {bubbles: true}));\n" +
+            "    el.dispatchEvent(new Event('change', {bubbles: true}));\n" +
+            "  }\n" +
+            "  var button = document.querySelector(submitSelector);\n" +
+            "  form = form || (button && button.form);\n" +
+            "  if (missing.length) { return {status: 'error', message: 'Fields not found: ' + missing.join(', ')}; }\n" +
+            "  if (!form || !button) { return {status: 'error', message: 'Form or submit button not found'}; }\n" +
+            "  var invalid = form.querySelector(':invalid');\n" +
+            "  if (invalid) {\n" +
+            "    return {status: 'invalid', message: (invalid.name || invalid.id) + ': ' + invalid.validationMessage};\n" +
+            "  }\n" +
+            "  return {status: 'filled', form: form, button: button};\n" +
+            "};\n";
+
+    static final String FETCH_SCRIPT = FILL_FUNCTION +
+            "var done = arguments[arguments.length - 1], successSelector = arguments[2], errorSelector = arguments[3];\n" +
+            "var filled = fill(arguments[0], arguments[1]);\n" +
+            "if (filled.status !== 'filled') { done(filled); return; }\n" +
+            "var data = new URLSearchParams(new FormData(filled.form));\n" +
+            "if (filled.button.name) { data.append(filled.button.name, filled.button.value); }\n" +
+            "fetch(filled.form.action, {method: 'POST', body: data, credentials: 'same-origin'})\n" +
+            "  .then(function (response) {\n" +
+            "    return response.text().then(function (html) {\n" +
+            "      var page = new DOMParser().parseFromString(html, 'text/html');\n" +
+            "      var error = page.querySelector(errorSelector), success = page.querySelector(successSelector);\n" +
+            "      if (error || !success) {\n" +
+            "        done({status: 'error', message: error ? error.textContent.trim() : 'HTTP ' + response.status + ', no message'});\n" +
+            "      } else {\n" +
+            "        done({status: 'success', message: success.textContent.trim()});\n" +
+            "      }\n" +
+            "    });\n" +
+            "  })\n" +
+            "  .catch(function (e) { done({status: 'error', message: String(e)}); });";
+
+    static final String CLICK_SCRIPT = FILL_FUNCTION +
+            "var filled = fill(arguments[0], arguments[1]);\n" +
+            "if (filled.status !== 'filled') { return filled; }\n" +
+            "filled.button.click();\n" +
+            "return {status: 'submitted'};";
+
+    private final DriverPool pool;
+    private final URI form;
+    private final FieldMapping mapping;
+    private final int workers;
+    private final Mode mode;
+    private final Duration outcomeTimeout;
+    private final OutcomeDetector detector;
+
+    public BatchFormSubmitter(DriverPool pool, URI form, FieldMapping mapping, int workers) {
+        this(pool, form, mapping, workers, Mode.FETCH, DEFAULT_OUTCOME_TIMEOUT);
+    }
+
+    public BatchFormSubmitter(DriverPool pool, URI form, FieldMapping mapping, int workers, Mode mode,
+                              Duration outcomeTimeout) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Need at least one worker but got " + workers);
+        }
+        this.pool = pool;
+        this.form = form;
+        this.mapping = mapping;
+        this.detector = OutcomeDetector.of(mapping);
+        this.workers = workers;
+        this.mode = mode;
+        this.outcomeTimeout = outcomeTimeout;
+    }
+
+    // Blocks until every record has a result; results come back in dataset order
+    public Report submit(List<FormRecord> records) throws InterruptedException {
+        Result[] results = new Result[records.size()];
+        AtomicInteger next = new AtomicInteger();
+        int threads = Math.max(1, Math.min(workers, records.size()));
+        AtomicInteger ids = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "form-worker-" + ids.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(worker(records, results, next)));
+            }
+            for (Future<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Form worker failed", e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return new Report(Arrays.asList(results), System.nanoTime() - start, threads, mode);
+    }
+
+    private Callable<Void> worker(List<FormRecord> records, Result[] results, AtomicInteger next) {
+        return () -> {
+            WebDriver driver = null;
+            try {
+                int index;
+                while ((index = next.getAndIncrement()) < records.size()) {
+                    FormRecord record = records.get(index);
+                    long start = System.nanoTime();
+                    try {
+                        if (driver == null) {
+                            driver = pool.acquire();
+                            driver.get(form.toString());
+                        }
+                        results[index] = submitOne(driver, record, start);
+                    } catch (WebDriverException e) {
+                        // Session crashed or the page is unusable: give the session back (the pool
+                        // recycles dead ones) and carry on with a fresh one
+                        results[index] = result(record, false, "WebDriver error: " + firstLine(e.getMessage()), start);
+                        pool.release(driver);
+                        driver = null;
+                    }
+                }
+            } finally {
+                if (driver != null) {
+                    pool.release(driver);
+                }
+            }
+            return null;
+        };
+    }
+
+    private Result submitOne(WebDriver driver, FormRecord record, long start) {
+        Map<String, String> values = mapping.values(record);
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        if (mode == Mode.FETCH) {
+            Object outcome = js.executeAsyncScript(FETCH_SCRIPT, values, mapping.submitSelector(),
+                    mapping.successSelector(), mapping.errorSelector());
+            return outcome(record, outcome, start);
+        }
+
+        Object clicked = js.executeScript(CLICK_SCRIPT, values, mapping.submitSelector());
+        if (!(clicked instanceof Map) || !"submitted".equals(((Map<?, ?>) clicked).get("status"))) {
+            // Nothing was sent, so the form is still there for the next record
+            return outcome(record, clicked, start);
+        }
+        OutcomeDetector.Outcome outcome = detector.await(driver, form.toString(), outcomeTimeout);
+        driver.get(form.toString());
+        String message = outcome.signal() == OutcomeDetector.Signal.TIMEOUT
+                ? "No outcome after " + outcomeTimeout.toMillis() + " ms"
+                : outcome.message().isEmpty() ? outcome.signal().toString() : outcome.message();
+        return result(record, outcome.succeeded(), message, start);
+    }
+
+    private static Result outcome(FormRecord record, Object outcome, long start) {
+        if (!(outcome instanceof Map)) {
+            return result(record, false, "Unexpected script result: " + outcome, start);
+        }
+        Map<?, ?> values = (Map<?, ?>) outcome;
+        Object message = values.get("message");
+        return result(record, "success".equals(values.get("status")), message == null ? "" : message.toString(), start);
+    }
+
+    private static Result result(FormRecord record, boolean success, String message, long start) {
+        return new Result(record, success, message, (System.nanoTime() - start) / 1_000_000.0);
+    }
+
+    private static String firstLine(String message) {
+        if (message == null) {
+            return "";
+        }
+        int newline = message.indexOf('\n');
+        return newline < 0 ? message : message.substring(0, newline);
+    }
+
+    public static final class Report {
+        private final List<Result> results;
+        private final long elapsedNanos;
+        private final int workers;
+        private final Mode mode;
+
+        Report(List<Result> results, long elapsedNanos, int workers, Mode mode) {
+            this.results = results;
+            this.elapsedNanos = elapsedNanos;
+            this.workers = workers;
+            this.mode = mode;
+        }
+
+        public List<Result> getResults() {
+            return results;
+        }
+
+        public List<Result> getFailures() {
+            List<Result> failures = new ArrayList<>();
+            for (Result result : results) {
+                if (!result.success()) {
+                    failures.add(result);
+                }
+            }
+            return failures;
+        }
+
+        public int getRecords() {
+            return results.size();
+        }
+
+        public int getSucceeded() {
+            return results.size() - getFailures().size();
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public double getElapsedMillis() {
+            return elapsedNanos / 1_000_000.0;
+        }
+
+        public double getRecordsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : results.size() * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        public double getAverageMillis() {
+            double total = 0;
+            for (Result result : results) {
+                total += result.millis();
+            }
+            return results.isEmpty() ? 0.0 : total / results.size();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d records (%d ok, %d failed) by %d workers in %s mode: %.1f s, %.1f records/s, "
+                            + "%.1f ms per record",
+                    getRecords(), getSucceeded(), getRecords() - getSucceeded(), workers, mode,
+                    getElapsedMillis() / 1000, getRecordsPerSecond(), getAverageMillis());
+        }
+    }
+}
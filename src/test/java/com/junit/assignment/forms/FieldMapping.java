@@ -0,0 +1,79 @@
+package com.junit.assignment.forms;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Which dataset column goes into which form field (by CSS selector), plus the selectors that
+ * identify the submit button and the success and error messages of the resulting page.
+ * Checkboxes and radio buttons are ticked for {@code true}, {@code yes}, {@code on} or {@code 1}.
+ */
+public final class FieldMapping {
+
+    private final Map<String, String> fields = new LinkedHashMap<>();
+    private String submit = "[type='submit']";
+    private String success = ".messages--status";
+    private String error = ".messages--error";
+
+    // The Digital Unite practice webform used by WebFormTest, and its local stand-in
+    public static FieldMapping practiceWebform() {
+        return new FieldMapping()
+                .field("name", "#edit-name")
+                .field("number", "#edit-number")
+                .field("date", "#edit-date")
+                .field("email", "input[type='email']")
+                .field("about", "#edit-tell-us-a-bit-about-yourself-")
+                .field("completed", "input[type='checkbox']")
+                .submit("#edit-submit")
+                .success(".messages--status, .alert-success, .success-message")
+                .error(".messages--error, .alert-danger");
+    }
+
+    public FieldMapping field(String column, String selector) {
+        fields.put(column, selector);
+        return this;
+    }
+
+    public FieldMapping submit(String selector) {
+        this.submit = selector;
+        return this;
+    }
+
+    public FieldMapping success(String selector) {
+        this.success = selector;
+        return this;
+    }
+
+    public FieldMapping error(String selector) {
+        this.error = selector;
+        return this;
+    }
+
+    public Map<String, String> fields() {
+        return Collections.unmodifiableMap(fields);
+    }
+
+    public String submitSelector() {
+        return submit;
+    }
+
+    public String successSelector() {
+        return success;
+    }
+
+    public String errorSelector() {
+        return error;
+    }
+
+    // Selector to value for the mapped columns the record has, in mapping order
+    public Map<String, String> values(FormRecord record) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            if (record.values().containsKey(field.getKey())) {
+                values.put(field.getValue(), record.get(field.getKey()));
+            }
+        }
+        return values;
+    }
+}
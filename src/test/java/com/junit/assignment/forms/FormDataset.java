@@ -0,0 +1,139 @@
+package com.junit.assignment.forms;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads the records to submit from CSV (header row, RFC 4180 quoting, quoted fields may span
+ * lines) or JSON (an array of flat objects). Values are kept as strings; JSON numbers and
+ * booleans are converted with {@code String.valueOf}.
+ */
+public final class FormDataset {
+
+    private FormDataset() {
+    }
+
+    // Format chosen by extension: .json, anything else is CSV
+    public static List<FormRecord> read(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json")
+                    ? readJson(reader) : readCsv(reader);
+        }
+    }
+
+    public static List<FormRecord> readJson(Reader reader) {
+        List<Map<String, Object>> objects = new Json().toType(reader, Json.LIST_OF_MAPS_TYPE);
+        List<FormRecord> records = new ArrayList<>(objects.size());
+        for (Map<String, Object> object : objects) {
+            Map<String, String> values = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> entry : object.entrySet()) {
+                if (entry.getValue() != null) {
+                    values.put(entry.getKey(), String.valueOf(entry.getValue()));
+                }
+            }
+            records.add(new FormRecord(records.size() + 1, values));
+        }
+        return records;
+    }
+
+    public static List<FormRecord> readCsv(Reader reader) throws IOException {
+        List<FormRecord> records = new ArrayList<>();
+        List<String> header = null;
+        List<String> row;
+        CsvReader csv = new CsvReader(reader);
+        while ((row = csv.next()) != null) {
+            if (row.size() == 1 && row.get(0).isEmpty()) {
+                continue;
+            }
+            if (header == null) {
+                header = row;
+                continue;
+            }
+            if (row.size() > header.size()) {
+                throw new IOException("Record " + (records.size() + 1) + " has " + row.size()
+                        + " values but the header has " + header.size() + " columns");
+            }
+            Map<String, String> values = new LinkedHashMap<>();
+            for (int i = 0; i < row.size(); i++) {
+                values.put(header.get(i), row.get(i));
+            }
+            records.add(new FormRecord(records.size() + 1, values));
+        }
+        return records;
+    }
+
+    private static final class CsvReader {
+        private final Reader reader;
+        private int pending = -2;
+
+        private CsvReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        // Next row, or null at the end of the input
+        List<String> next() throws IOException {
+            int c = read();
+            if (c < 0) {
+                return null;
+            }
+            List<String> row = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c < 0) {
+                        throw new IOException("Unterminated quoted value");
+                    }
+                    if (c == '"') {
+                        int following = read();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = following;
+                            continue;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    row.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n' || c < 0) {
+                    if (c == '\r') {
+                        int following = read();
+                        if (following != '\n') {
+                            pending = following;
+                        }
+                    }
+                    row.add(field.toString());
+                    return row;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+
+        private int read() throws IOException {
+            if (pending != -2) {
+                int c = pending;
+                pending = -2;
+                return c;
+            }
+            return reader.read();
+        }
+    }
+}
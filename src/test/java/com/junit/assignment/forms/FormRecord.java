@@ -0,0 +1,21 @@
+package com.junit.assignment.forms;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One row of a form dataset: column name to value, in dataset order. {@code number} is the
+ * 1-based position in the dataset, so failures can be traced back to the input file.
+ */
+public record FormRecord(int number, Map<String, String> values) {
+
+    public FormRecord {
+        values = Collections.unmodifiableMap(new LinkedHashMap<>(values));
+    }
+
+    // Empty string for a column the record does not have
+    public String get(String column) {
+        return values.getOrDefault(column, "");
+    }
+}
@@ -0,0 +1,193 @@
+package com.junit.assignment.forms;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Case-insensitive Aho-Corasick matcher: finds any of a fixed set of keywords in one pass over
+ * the text, without lowercasing or otherwise copying it. The automaton is compiled to a dense
+ * transition table over the characters that occur in the keywords, so each input character
+ * costs two array loads and no case conversion. Immutable and safe to share between threads.
+ */
+public final class KeywordMatcher {
+
+    /** A keyword and the index of its first character in the text. */
+    public record Match(String keyword, int start) {
+    }
+
+    // Column 0 stands for every character that occurs in no keyword; ASCII letters of both
+    // cases share a column
+    private final byte[] asciiColumn = new byte[128];
+    private final Map<Character, Integer> otherColumns = new HashMap<>();
+    private final int columns;
+    // Row-major transitions, values are row offsets (state * columns). A negative value ~offset
+    // means the target state ends a keyword, itself or through a suffix
+    private final int[] transitions;
+    // Keyword index ending at each state, following dictionary suffix links; -1 for none
+    private final int[] output;
+    private final int[] outputLink;
+    private final String[] keywords;
+
+    private KeywordMatcher(String[] keywords) {
+        this.keywords = keywords;
+        int columnCount = 1;
+        for (String keyword : keywords) {
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = fold(keyword.charAt(i));
+                if (column(c) == 0) {
+                    if (columnCount > Byte.MAX_VALUE) {
+                        throw new IllegalArgumentException("Keywords use more than 127 distinct characters");
+                    }
+                    if (c < 128) {
+                        asciiColumn[c] = (byte) columnCount;
+                        asciiColumn[Character.toUpperCase(c)] = (byte) columnCount;
+                    } else {
+                        otherColumns.put(c, columnCount);
+                    }
+                    columnCount++;
+                }
+            }
+        }
+        columns = columnCount;
+
+        // Trie
+        List<int[]> trie = new ArrayList<>();
+        List<Integer> ends = new ArrayList<>();
+        trie.add(new int[columns]);
+        ends.add(-1);
+        for (int k = 0; k < keywords.length; k++) {
+            int state = 0;
+            for (int i = 0; i < keywords[k].length(); i++) {
+                int column = column(fold(keywords[k].charAt(i)));
+                if (trie.get(state)[column] <= 0) {
+                    trie.get(state)[column] = trie.size();
+                    trie.add(new int[columns]);
+                    ends.add(-1);
+                }
+                state = trie.get(state)[column];
+            }
+            if (ends.get(state) < 0) {
+                ends.set(state, k);
+            }
+        }
+
+        // Breadth-first: failure links turn the trie into a complete automaton
+        int states = trie.size();
+        int[] next = new int[states * columns];
+        output = new int[states];
+        outputLink = new int[states];
+        int[] failure = new int[states];
+        for (int s = 0; s < states; s++) {
+            output[s] = ends.get(s);
+            outputLink[s] = -1;
+        }
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < columns; c++) {
+            int child = trie.get(0)[c];
+            if (child > 0) {
+                next[c] = child;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int fail = failure[state];
+            outputLink[state] = output[fail] >= 0 ? fail : outputLink[fail];
+            for (int c = 0; c < columns; c++) {
+                int child = trie.get(state)[c];
+                if (child > 0) {
+                    failure[child] = next[fail * columns + c];
+                    next[state * columns + c] = child;
+                    queue.add(child);
+                } else {
+                    next[state * columns + c] = next[fail * columns + c];
+                }
+            }
+        }
+        transitions = new int[next.length];
+        for (int i = 0; i < next.length; i++) {
+            int target = next[i];
+            boolean endsKeyword = output[target] >= 0 || outputLink[target] >= 0;
+            transitions[i] = endsKeyword ? ~(target * columns) : target * columns;
+        }
+    }
+
+    public static KeywordMatcher of(String... keywords) {
+        if (keywords.length == 0) {
+            throw new IllegalArgumentException("At least one keyword is required");
+        }
+        for (String keyword : keywords) {
+            if (keyword.isEmpty()) {
+                throw new IllegalArgumentException("Keywords must not be empty");
+            }
+        }
+        return new KeywordMatcher(keywords.clone());
+    }
+
+    public List<String> keywords() {
+        return List.of(keywords);
+    }
+
+    // The match that ends first, or null; stops scanning as soon as one is found
+    public Match first(CharSequence text) {
+        int row = 0;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            row = transitions[row + (c < 128 ? asciiColumn[c] : column(fold(c)))];
+            if (row < 0) {
+                row = ~row;
+                int state = row / columns;
+                String keyword = keywords[output[output[state] >= 0 ? state : outputLink[state]]];
+                return new Match(keyword, i - keyword.length() + 1);
+            }
+        }
+        return null;
+    }
+
+    public boolean containsAny(CharSequence text) {
+        return first(text) != null;
+    }
+
+    // Every occurrence, overlapping ones included, in order of where they end
+    public List<Match> findAll(CharSequence text, int limit) {
+        List<Match> matches = new ArrayList<>();
+        int row = 0;
+        for (int i = 0, length = text.length(); i < length && matches.size() < limit; i++) {
+            char c = text.charAt(i);
+            row = transitions[row + (c < 128 ? asciiColumn[c] : column(fold(c)))];
+            if (row < 0) {
+                row = ~row;
+                int state = row / columns;
+                for (int hit = output[state] >= 0 ? state : outputLink[state]; hit >= 0 && matches.size() < limit;
+                     hit = outputLink[hit]) {
+                    String keyword = keywords[output[hit]];
+                    matches.add(new Match(keyword, i - keyword.length() + 1));
+                }
+            }
+        }
+        return matches;
+    }
+
+    private int column(char c) {
+        if (c < 128) {
+            return asciiColumn[c];
+        }
+        if (otherColumns.isEmpty()) {
+            // Usual case: ASCII keywords, so no boxing per non-ASCII character of the text
+            return 0;
+        }
+        Integer column = otherColumns.get(c);
+        return column == null ? 0 : column;
+    }
+
+    private static char fold(char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + 32) : c;
+        }
+        return Character.toLowerCase(c);
+    }
+}
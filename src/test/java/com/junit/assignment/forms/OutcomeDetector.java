@@ -0,0 +1,192 @@
+package com.junit.assignment.forms;
+
+import com.junit.assignment.metrics.Metrics;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Waits for the outcome of a form submission inside the browser. One async script checks the
+ * page and then watches it with a MutationObserver, returning as soon as the first signal
+ * shows up: an error or success message, a URL change or the submit button going away. If
+ * the submission navigates, the script dies with the old document and the next one picks up
+ * the new page straight away, so there are no fixed sleeps and no polling of the page source.
+ *
+ * <p>When none of that happens, {@link #scan(CharSequence)} is the fallback over the HTML: one
+ * {@link KeywordMatcher} pass instead of lowercasing the source and calling {@code contains}
+ * once per keyword.
+ */
+public final class OutcomeDetector {
+
+    public static final KeywordMatcher SUCCESS_KEYWORDS =
+            KeywordMatcher.of("thank", "success", "submitted", "received", "confirmation");
+    public static final KeywordMatcher DEBUG_KEYWORDS = KeywordMatcher.of("message", "success", "thank", "error");
+
+    // Async scripts are cut off by the driver's script timeout (30 s by default), so wait in slices
+    private static final long SLICE_MILLIS = 10_000;
+    private static final long RETRY_MILLIS = 25;
+
+    public enum Signal {
+        SUCCESS_MESSAGE,
+        ERROR_MESSAGE,
+        URL_CHANGED,
+        SUBMIT_REMOVED,
+        TIMEOUT
+    }
+
+    /**
+     * What ended the wait. {@code message} is the text of the success or error message, empty
+     * for the other signals.
+     */
+    public record Outcome(Signal signal, String message, String url, double millis) {
+
+        // A message, a redirect or the form going away all mean the submission went through
+        public boolean succeeded() {
+            return signal == Signal.SUCCESS_MESSAGE || signal == Signal.URL_CHANGED || signal == Signal.SUBMIT_REMOVED;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s after %.1f ms%s", signal, millis, message.isEmpty() ? "" : ": " + message);
+        }
+    }
+
+    // arguments: URL before submitting, success, error and submit selectors, wait budget in ms
+    static final String WATCH_SCRIPT =
+            "var before = arguments[0], successSelector = arguments[1], errorSelector = arguments[2];\n" +
+            "var submitSelector = arguments[3], budget = arguments[4], done = arguments[arguments.length - 1];\n" +
+            "var check = function () {\n" +
+            "  var error = errorSelector && document.querySelector(errorSelector);\n" +
+            "  if (error) { return {signal: 'ERROR_MESSAGE', message: error.textContent.trim()}; }\n" +
+            "  var success = document.querySelector(successSelector);\n" +
+            "  if (success) { return {signal: 'SUCCESS_MESSAGE', message: success.textContent.trim()}; }\n" +
+            "  if (location.href !== before) { return {signal: 'URL_CHANGED', message: ''}; }\n" +
+            "  if (document.readyState !== 'loading' && !document.querySelector(submitSelector)) {\n" +
+            "    return {signal: 'SUBMIT_REMOVED', message: ''};\n" +
+            "  }\n" +
+            "  return null;\n" +
+            "};\n" +
+            "var observer, poll, timer, finished = false;\n" +
+            "var finish = function (result) {\n" +
+            "  if (finished) { return; }\n" +
+            "  finished = true;\n" +
+            "  if (observer) { observer.disconnect(); }\n" +
+            "  clearInterval(poll); clearTimeout(timer);\n" +
+            "  result.url = location.href;\n" +
+            "  done(result);\n" +
+            "};\n" +
+            "var now = check();\n" +
+            "if (now) { finish(now); return; }\n" +
+            "observer = new MutationObserver(function () { var r = check(); if (r) { finish(r); } });\n" +
+            "observer.observe(document.documentElement, {childList: true, subtree: true, characterData: true});\n" +
+            // history.pushState() changes the URL without touching the DOM
+            "poll = setInterval(function () { var r = check(); if (r) { finish(r); } }, 100);\n" +
+            "timer = setTimeout(function () { finish({signal: 'TIMEOUT', message: ''}); }, budget);";
+
+    private final String successSelector;
+    private final String errorSelector;
+    private final String submitSelector;
+
+    public OutcomeDetector(String successSelector, String errorSelector, String submitSelector) {
+        this.successSelector = successSelector;
+        this.errorSelector = errorSelector;
+        this.submitSelector = submitSelector;
+    }
+
+    public static OutcomeDetector of(FieldMapping mapping) {
+        return new OutcomeDetector(mapping.successSelector(), mapping.errorSelector(), mapping.submitSelector());
+    }
+
+    /**
+     * Blocks until the page after a submit shows an outcome or the timeout runs out
+     * ({@link Signal#TIMEOUT}). {@code urlBefore} is the URL the form was submitted from.
+     */
+    public Outcome await(WebDriver driver, String urlBefore, Duration timeout) {
+        try (Metrics.Span span = Metrics.span(Metrics.Kind.WAIT, "submission outcome")) {
+            JavascriptExecutor js = (JavascriptExecutor) driver;
+            long start = System.nanoTime();
+            long deadline = start + timeout.toNanos();
+            while (true) {
+                long remainingNanos = deadline - System.nanoTime();
+                if (remainingNanos <= 0) {
+                    return new Outcome(Signal.TIMEOUT, "", urlBefore, millisSince(start));
+                }
+                long remainingMillis = (remainingNanos + 999_999) / 1_000_000;
+                try {
+                    Object result = js.executeAsyncScript(WATCH_SCRIPT, urlBefore, successSelector,
+                            errorSelector == null ? "" : errorSelector, submitSelector, Math.min(remainingMillis, SLICE_MILLIS));
+                    Outcome outcome = toOutcome(result, urlBefore, start);
+                    if (outcome == null) {
+                        sleep(Math.min(RETRY_MILLIS, remainingMillis));
+                    } else if (outcome.signal() != Signal.TIMEOUT) {
+                        return outcome;
+                    }
+                } catch (WebDriverException e) {
+                    // The document unloaded mid-wait (the submit navigated) or the next one is
+                    // not ready yet: look at whatever is loaded now
+                    sleep(Math.min(RETRY_MILLIS, remainingMillis));
+                }
+            }
+        }
+    }
+
+    /** Success keyword in the HTML, or null: one pass, no lowercased copy of the source. */
+    public static KeywordMatcher.Match scan(CharSequence html) {
+        return SUCCESS_KEYWORDS.first(html);
+    }
+
+    // Up to limit snippets of the source around the debugging keywords, for a failed submission
+    public static String excerpts(CharSequence html, int limit, int radius) {
+        StringBuilder excerpts = new StringBuilder();
+        int shownUntil = -1;
+        for (KeywordMatcher.Match match : DEBUG_KEYWORDS.findAll(html, limit)) {
+            if (match.start() < shownUntil) {
+                // Already inside the previous excerpt
+                continue;
+            }
+            int from = Math.max(Math.max(0, match.start() - radius), shownUntil);
+            int to = Math.min(html.length(), match.start() + match.keyword().length() + radius);
+            excerpts.append(match.start()).append(": ");
+            for (int i = from; i < to; i++) {
+                char c = html.charAt(i);
+                excerpts.append(Character.isWhitespace(c) ? ' ' : c);
+            }
+            excerpts.append('\n');
+            shownUntil = to;
+        }
+        return excerpts.toString();
+    }
+
+    private static Outcome toOutcome(Object result, String urlBefore, long start) {
+        if (!(result instanceof Map)) {
+            return null;
+        }
+        Map<?, ?> values = (Map<?, ?>) result;
+        Signal signal;
+        try {
+            signal = Signal.valueOf(String.valueOf(values.get("signal")));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        Object message = values.get("message");
+        Object url = values.get("url");
+        return new Outcome(signal, message == null ? "" : message.toString(), url == null ? urlBefore : url.toString(),
+                millisSince(start));
+    }
+
+    private static double millisSince(long start) {
+        return (System.nanoTime() - start) / 1_000_000.0;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(Math.max(0, millis));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the submission outcome", e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.junit.assignment.http;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * GET through a {@link ResponseCache}. A cached URI is requested with {@code If-None-Match} and
+ * {@code If-Modified-Since}. On a 304 the body comes from disk. On a 200 the body is hashed, so
+ * callers can skip parsing it when it did not change, even if the server sends no validators.
+ * Only 200 responses without {@code Cache-Control: no-store} are stored.
+ */
+public final class CachingFetcher {
+
+    public enum Outcome {
+        // Downloaded, nothing cached or the content changed
+        MISS,
+        // Downloaded, but identical to the cached copy
+        UNCHANGED,
+        // 304 Not Modified, body served from the cache
+        REVALIDATED,
+        // Not a 200, passed through and not stored
+        UNCACHEABLE
+    }
+
+    /**
+     * What a fetch produced. {@code body} is the full response body also for revalidated
+     * responses, {@code headers} are those of the response actually received (the 304 when
+     * revalidated) and {@code contentHash} is null for uncacheable responses.
+     */
+    public record Response(URI uri, int status, String contentType, HttpHeaders headers, byte[] body,
+                           String contentHash, Outcome outcome) {
+
+        // Same content as the previous fetch of this URI
+        public boolean isUnchanged() {
+            return outcome == Outcome.REVALIDATED || outcome == Outcome.UNCHANGED;
+        }
+    }
+
+    private final HttpClient client;
+    private final ResponseCache cache;
+
+    public CachingFetcher(HttpClient client, ResponseCache cache) {
+        this.client = client;
+        this.cache = cache;
+    }
+
+    public ResponseCache cache() {
+        return cache;
+    }
+
+    // The request must be a GET; validators are added to a copy of it
+    public Response fetch(HttpRequest request) throws IOException, InterruptedException {
+        if (!"GET".equals(request.method())) {
+            throw new IllegalArgumentException("Only GET responses are cached, not " + request.method());
+        }
+        URI uri = request.uri();
+        ResponseCache.Entry entry = cache.get(uri);
+        HttpRequest.Builder conditional = HttpRequest.newBuilder(request, (name, value) -> true);
+        if (entry != null && entry.etag() != null) {
+            conditional.setHeader("If-None-Match", entry.etag());
+        }
+        if (entry != null && entry.lastModified() != null) {
+            conditional.setHeader("If-Modified-Since", entry.lastModified());
+        }
+        HttpResponse<byte[]> response = client.send(conditional.build(), HttpResponse.BodyHandlers.ofByteArray());
+
+        if (response.statusCode() == 304 && entry != null) {
+            byte[] body = cache.read(entry);
+            if (body != null) {
+                cache.recordHit(entry);
+                return new Response(uri, 200, entry.contentType(), response.headers(), body, entry.contentHash(),
+                        Outcome.REVALIDATED);
+            }
+            // The cached body was lost or corrupt, so the 304 is of no use; ask again unconditionally
+            return fetch(request);
+        }
+
+        HttpHeaders headers = response.headers();
+        String contentType = headers.firstValue("Content-Type").orElse(null);
+        if (response.statusCode() != 200) {
+            return new Response(uri, response.statusCode(), contentType, headers, response.body(), null, Outcome.UNCACHEABLE);
+        }
+        byte[] body = response.body();
+        String hash = ResponseCache.sha256(body);
+        boolean sameContent = entry != null && entry.contentHash().equals(hash);
+        cache.recordMiss(sameContent);
+
+        String etag = headers.firstValue("ETag").orElse(null);
+        String lastModified = headers.firstValue("Last-Modified").orElse(null);
+        boolean noStore = headers.firstValue("Cache-Control").orElse("").toLowerCase(Locale.ROOT).contains("no-store");
+        if (noStore) {
+            cache.remove(uri);
+        } else if (!sameContent || !Objects.equals(etag, entry.etag()) || !Objects.equals(lastModified, entry.lastModified())) {
+            cache.put(uri, body, etag, lastModified, contentType);
+        }
+        return new Response(uri, 200, contentType, headers, body, hash, sameContent ? Outcome.UNCHANGED : Outcome.MISS);
+    }
+}
@@ -0,0 +1,286 @@
+package com.junit.assignment.http;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local forward proxy that lets the browser share the {@link ResponseCache}. Point Chrome at it
+ * through {@code ChromeOptions} proxy settings (see DriverFactory).
+ *
+ * <p>Plain-HTTP GETs go through a {@link CachingFetcher}, so repeated page loads are revalidated
+ * instead of downloaded. HTTPS arrives as {@code CONNECT} and is tunnelled unchanged: the proxy
+ * cannot see inside TLS, so those bytes are never cached. Other methods are forwarded as they
+ * are. One request per connection, one virtual thread per connection. Responses are cached by
+ * URI only; {@code Vary} and cookies are not considered.
+ */
+public final class CachingProxy implements AutoCloseable {
+
+    private static final int MAX_HEAD_BYTES = 64 * 1024;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    // Hop-by-hop headers, headers HttpClient sets itself, and the browser's own validators. Accept-Encoding
+    // is dropped so bodies arrive and are cached as identity: a 304 replayed with a cached body carries
+    // no Content-Encoding, so a compressed body would reach the browser undecoded
+    private static final Set<String> SKIPPED_REQUEST_HEADERS = Set.of("connection", "proxy-connection", "keep-alive",
+            "te", "trailer", "transfer-encoding", "upgrade", "proxy-authorization", "host", "content-length", "expect",
+            "if-none-match", "if-modified-since", "accept-encoding");
+    private static final Set<String> SKIPPED_RESPONSE_HEADERS = Set.of("connection", "keep-alive", "transfer-encoding",
+            "content-length", "content-type", ":status");
+
+    private final ServerSocket server;
+    private final HttpClient client;
+    private final CachingFetcher fetcher;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong tunnels = new AtomicLong();
+    private final AtomicLong tunnelledBytes = new AtomicLong();
+    private volatile boolean closed;
+
+    private CachingProxy(ServerSocket server, HttpClient client, ResponseCache cache) {
+        this.server = server;
+        this.client = client;
+        this.fetcher = new CachingFetcher(client, cache);
+    }
+
+    public static CachingProxy start(ResponseCache cache) throws IOException {
+        // Redirects go back to the browser, which follows them itself
+        return start(HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(TIMEOUT)
+                .build(), cache);
+    }
+
+    public static CachingProxy start(HttpClient client, ResponseCache cache) throws IOException {
+        ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        CachingProxy proxy = new CachingProxy(server, client, cache);
+        proxy.executor.submit(proxy::acceptLoop);
+        return proxy;
+    }
+
+    public int port() {
+        return server.getLocalPort();
+    }
+
+    // host:port, as proxy settings expect it
+    public String address() {
+        return server.getInetAddress().getHostAddress() + ":" + port();
+    }
+
+    public ResponseCache cache() {
+        return fetcher.cache();
+    }
+
+    public long tunnels() {
+        return tunnels.get();
+    }
+
+    public long tunnelledBytes() {
+        return tunnelledBytes.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        server.close();
+        executor.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket socket = server.accept();
+                executor.submit(() -> handle(socket));
+            } catch (IOException e) {
+                if (!closed) {
+                    System.err.println("Caching proxy stopped accepting: " + e.getMessage());
+                }
+                return;
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket) {
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            String head = readHead(in);
+            if (head == null) {
+                return;
+            }
+            String[] lines = head.split("\r\n");
+            String[] requestLine = lines[0].split(" ");
+            if (requestLine.length < 3) {
+                respond(socket.getOutputStream(), 400, "text/plain", Map.of(), "Bad request line".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            String method = requestLine[0].toUpperCase(Locale.ROOT);
+            if (method.equals("CONNECT")) {
+                tunnel(socket, in, requestLine[1]);
+            } else {
+                forward(socket, in, method, requestLine[1], lines);
+            }
+        } catch (IOException e) {
+            // browser or upstream went away; nothing to report back
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void forward(Socket socket, InputStream in, String method, String target, String[] lines)
+            throws IOException, InterruptedException {
+        OutputStream out = socket.getOutputStream();
+        URI uri = URI.create(target);
+        if (!uri.isAbsolute() || !"http".equalsIgnoreCase(uri.getScheme())) {
+            respond(out, 400, "text/plain", Map.of(), ("Not a proxy request: " + target).getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(TIMEOUT);
+        long contentLength = 0;
+        for (int i = 1; i < lines.length; i++) {
+            int colon = lines[i].indexOf(':');
+            if (colon <= 0) {
+                continue;
+            }
+            String name = lines[i].substring(0, colon).trim();
+            String value = lines[i].substring(colon + 1).trim();
+            if (name.equalsIgnoreCase("content-length")) {
+                contentLength = Long.parseLong(value);
+            }
+            if (!SKIPPED_REQUEST_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                request.header(name, value);
+            }
+        }
+
+        if (method.equals("GET")) {
+            CachingFetcher.Response response = fetcher.fetch(request.GET().build());
+            Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            headers.putAll(response.headers().map());
+            headers.put("X-Cache", List.of(response.outcome().name()));
+            respond(out, response.status(), response.contentType(), headers, response.body());
+            return;
+        }
+        byte[] body = in.readNBytes((int) contentLength);
+        HttpResponse<byte[]> response = client.send(
+                request.method(method, HttpRequest.BodyPublishers.ofByteArray(body)).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        HttpHeaders headers = response.headers();
+        respond(out, response.statusCode(), headers.firstValue("Content-Type").orElse(null), headers.map(), response.body());
+    }
+
+    private void tunnel(Socket socket, InputStream in, String target) throws IOException, InterruptedException {
+        int colon = target.lastIndexOf(':');
+        String host = colon > 0 ? target.substring(0, colon) : target;
+        int port = colon > 0 ? Integer.parseInt(target.substring(colon + 1)) : 443;
+        try (Socket upstream = new Socket()) {
+            upstream.connect(new InetSocketAddress(host, port), (int) TIMEOUT.toMillis());
+            OutputStream out = socket.getOutputStream();
+            out.write("HTTP/1.1 200 Connection Established\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1));
+            out.flush();
+            tunnels.incrementAndGet();
+            Future<Void> downstream = executor.submit(() -> pump(upstream.getInputStream(), out, socket));
+            pump(in, upstream.getOutputStream(), upstream);
+            // Both sockets close on return, so let the server finish answering first
+            downstream.get();
+        } catch (ExecutionException e) {
+            // the server side of the tunnel failed; closing the sockets ends it
+        }
+    }
+
+    // Copies until EOF, then half-closes the other side so its pump ends too
+    private Void pump(InputStream from, OutputStream to, Socket toSocket) throws IOException {
+        byte[] buffer = new byte[16 * 1024];
+        try {
+            int read;
+            while ((read = from.read(buffer)) >= 0) {
+                to.write(buffer, 0, read);
+                to.flush();
+                tunnelledBytes.addAndGet(read);
+            }
+        } catch (SocketException e) {
+            // the other pump closed the sockets
+        } finally {
+            if (!toSocket.isClosed() && !toSocket.isOutputShutdown()) {
+                try {
+                    toSocket.shutdownOutput();
+                } catch (SocketException e) {
+                    // already gone
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void respond(OutputStream out, int status, String contentType, Map<String, List<String>> headers,
+                                byte[] body) throws IOException {
+        StringBuilder head = new StringBuilder("HTTP/1.1 ").append(status).append(' ').append(reason(status)).append("\r\n");
+        if (contentType != null) {
+            head.append("Content-Type: ").append(contentType).append("\r\n");
+        }
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (SKIPPED_RESPONSE_HEADERS.contains(header.getKey().toLowerCase(Locale.ROOT))) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                head.append(header.getKey()).append(": ").append(value).append("\r\n");
+            }
+        }
+        head.append("Content-Length: ").append(body.length).append("\r\n");
+        head.append("Connection: close\r\n\r\n");
+        out.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+        out.write(body);
+        out.flush();
+    }
+
+    private static String reason(int status) {
+        switch (status) {
+            case 200: return "OK";
+            case 301: return "Moved Permanently";
+            case 302: return "Found";
+            case 304: return "Not Modified";
+            case 400: return "Bad Request";
+            case 404: return "Not Found";
+            default: return status < 400 ? "OK" : "Error";
+        }
+    }
+
+    // Request line and headers up to the blank line, or null if the connection closed first
+    private static String readHead(InputStream in) throws IOException {
+        ByteArrayOutputStream head = new ByteArrayOutputStream();
+        int matched = 0;
+        while (matched < 4) {
+            int b = in.read();
+            if (b < 0) {
+                return null;
+            }
+            head.write(b);
+            matched = (b == '\r' && (matched == 0 || matched == 2)) || (b == '\n' && (matched == 1 || matched == 3))
+                    ? matched + 1 : (b == '\r' ? 1 : 0);
+            if (head.size() > MAX_HEAD_BYTES) {
+                throw new IOException("Request head larger than " + MAX_HEAD_BYTES + " bytes");
+            }
+        }
+        return head.toString(StandardCharsets.ISO_8859_1);
+    }
+}
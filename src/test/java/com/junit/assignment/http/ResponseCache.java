@@ -0,0 +1,374 @@
+package com.junit.assignment.http;
+
+import com.junit.assignment.metrics.Metrics;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * On-disk store of GET responses, keyed by URI, with the validators (ETag, Last-Modified) needed
+ * to revalidate them and a SHA-256 of the body. Each entry is a {@code <key>.body} file plus a
+ * {@code <key>.meta} properties file.
+ *
+ * <p>Total body size is bounded. Least recently used entries are evicted first, and the order
+ * survives restarts through the body files' modification times. A body whose hash no longer
+ * matches is dropped on read, and opening the cache deletes bodies without metadata and temp
+ * files left by an interrupted write, so one process should own the directory. The counters
+ * behind {@link #stats()} are updated by {@link CachingFetcher}.
+ */
+public final class ResponseCache {
+
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private final Path directory;
+    private final long maxBytes;
+    // Access order: iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private long hits;
+    private long misses;
+    private long unchanged;
+    private long bytesSaved;
+    private long evictions;
+
+    /**
+     * One cached response. {@code etag} and {@code lastModified} are null when the server did
+     * not send them.
+     */
+    public record Entry(String key, URI uri, String etag, String lastModified, String contentType,
+                        String contentHash, long size) {
+
+        public boolean hasValidators() {
+            return etag != null || lastModified != null;
+        }
+    }
+
+    private ResponseCache(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    public static ResponseCache open(Path directory) throws IOException {
+        return open(directory, DEFAULT_MAX_BYTES);
+    }
+
+    public static ResponseCache open(Path directory, long maxBytes) throws IOException {
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("Cache size must be positive but was " + maxBytes);
+        }
+        Files.createDirectories(directory);
+        ResponseCache cache = new ResponseCache(directory, maxBytes);
+        cache.load();
+        return cache;
+    }
+
+    // Marks the entry as recently used; null if the URI is not cached
+    public synchronized Entry get(URI uri) {
+        Entry entry = entries.get(key(uri));
+        if (entry != null) {
+            touch(entry);
+        }
+        return entry;
+    }
+
+    // Body of the entry, or null if it is missing or corrupt (the entry is then dropped)
+    public synchronized byte[] read(Entry entry) {
+        try {
+            byte[] body = Files.readAllBytes(bodyFile(entry.key()));
+            if (body.length == entry.size() && sha256(body).equals(entry.contentHash())) {
+                return body;
+            }
+        } catch (IOException e) {
+            // treated like a corrupt entry
+        }
+        remove(entry.key());
+        return null;
+    }
+
+    public synchronized Entry put(URI uri, byte[] body, String etag, String lastModified, String contentType)
+            throws IOException {
+        String key = key(uri);
+        remove(key);
+        Entry entry = new Entry(key, uri, etag, lastModified, contentType, sha256(body), body.length);
+        if (entry.size() > maxBytes) {
+            return entry;
+        }
+        // Body first, then the metadata that makes it visible to load()
+        writeAtomically(bodyFile(key), body);
+        writeAtomically(metaFile(key), toProperties(entry));
+        entries.put(key, entry);
+        totalBytes += entry.size();
+        evict();
+        return entry;
+    }
+
+    public synchronized void remove(URI uri) {
+        remove(key(uri));
+    }
+
+    public synchronized boolean contains(URI uri) {
+        return entries.containsKey(key(uri));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    public long maxBytes() {
+        return maxBytes;
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, unchanged, bytesSaved, evictions, entries.size(), totalBytes);
+    }
+
+    // Server answered 304: the cached body was used instead of downloading it again
+    synchronized void recordHit(Entry entry) {
+        hits++;
+        bytesSaved += entry.size();
+    }
+
+    // Body was downloaded; sameContent when it hashed the same as the cached copy
+    synchronized void recordMiss(boolean sameContent) {
+        misses++;
+        if (sameContent) {
+            unchanged++;
+        }
+    }
+
+    static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String key(URI uri) {
+        return sha256(uri.toString().getBytes(StandardCharsets.UTF_8)).substring(0, 32);
+    }
+
+    private void load() throws IOException {
+        List<Entry> loaded = new ArrayList<>();
+        List<FileTime> accessed = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.meta")) {
+            for (Path meta : files) {
+                Entry entry = fromProperties(meta);
+                Path body = entry == null ? null : bodyFile(entry.key());
+                if (body == null || !Files.isRegularFile(body) || Files.size(body) != entry.size()) {
+                    // Torn write or leftover from an eviction; drop it
+                    Files.deleteIfExists(meta);
+                    if (entry != null) {
+                        Files.deleteIfExists(body);
+                    }
+                    continue;
+                }
+                loaded.add(entry);
+                accessed.add(Files.getLastModifiedTime(body));
+            }
+        }
+        // Bodies whose metadata never made it to disk and temp files of interrupted writes would
+        // otherwise sit in the directory forever without counting against maxBytes
+        Set<String> keys = new HashSet<>();
+        for (Entry entry : loaded) {
+            keys.add(entry.key());
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.{body,tmp}")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp") || !keys.contains(name.substring(0, name.length() - ".body".length()))) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < loaded.size(); i++) {
+            order.add(i);
+        }
+        order.sort((a, b) -> accessed.get(a).compareTo(accessed.get(b)));
+        for (int i : order) {
+            Entry entry = loaded.get(i);
+            entries.put(entry.key(), entry);
+            totalBytes += entry.size();
+        }
+        evict();
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            Entry entry = iterator.next().getValue();
+            iterator.remove();
+            totalBytes -= entry.size();
+            evictions++;
+            deleteFiles(entry.key());
+        }
+    }
+
+    private void remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            totalBytes -= entry.size();
+            deleteFiles(key);
+        }
+    }
+
+    private void touch(Entry entry) {
+        try {
+            Files.setLastModifiedTime(bodyFile(entry.key()), FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // only affects eviction order after a restart
+        }
+    }
+
+    private void deleteFiles(String key) {
+        try {
+            Files.deleteIfExists(metaFile(key));
+            Files.deleteIfExists(bodyFile(key));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete cache entry " + key, e);
+        }
+    }
+
+    private Path bodyFile(String key) {
+        return directory.resolve(key + ".body");
+    }
+
+    private Path metaFile(String key) {
+        return directory.resolve(key + ".meta");
+    }
+
+    private static void writeAtomically(Path file, byte[] content) throws IOException {
+        try (Metrics.Span span = Metrics.span(Metrics.Kind.FILE_WRITE, "response cache").bytes(content.length)) {
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(temp, content);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    private static byte[] toProperties(Entry entry) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("uri", entry.uri().toString());
+        properties.setProperty("hash", entry.contentHash());
+        properties.setProperty("size", Long.toString(entry.size()));
+        if (entry.etag() != null) {
+            properties.setProperty("etag", entry.etag());
+        }
+        if (entry.lastModified() != null) {
+            properties.setProperty("lastModified", entry.lastModified());
+        }
+        if (entry.contentType() != null) {
+            properties.setProperty("contentType", entry.contentType());
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = bytes) {
+            properties.store(out, null);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Entry fromProperties(Path meta) {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(meta)) {
+            properties.load(in);
+            URI uri = URI.create(properties.getProperty("uri"));
+            String key = meta.getFileName().toString().replace(".meta", "");
+            if (!key.equals(key(uri))) {
+                return null;
+            }
+            return new Entry(key, uri, properties.getProperty("etag"), properties.getProperty("lastModified"),
+                    properties.getProperty("contentType"), properties.getProperty("hash"),
+                    Long.parseLong(properties.getProperty("size")));
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    public static final class Stats {
+        private final long hits;
+        private final long misses;
+        private final long unchanged;
+        private final long bytesSaved;
+        private final long evictions;
+        private final int entries;
+        private final long bytes;
+
+        Stats(long hits, long misses, long unchanged, long bytesSaved, long evictions, int entries, long bytes) {
+            this.hits = hits;
+            this.misses = misses;
+            this.unchanged = unchanged;
+            this.bytesSaved = bytesSaved;
+            this.evictions = evictions;
+            this.entries = entries;
+            this.bytes = bytes;
+        }
+
+        // Revalidated with a 304, body served from disk
+        public long getHits() {
+            return hits;
+        }
+
+        // Body downloaded
+        public long getMisses() {
+            return misses;
+        }
+
+        // Misses whose body hashed the same as the cached copy (server sent no validators)
+        public long getUnchanged() {
+            return unchanged;
+        }
+
+        public long getBytesSaved() {
+            return bytesSaved;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public int getEntries() {
+            return entries;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public double getHitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d, misses=%d (unchanged %d), hit rate=%.0f%%, bytes saved=%d, "
+                            + "entries=%d (%d bytes), evictions=%d",
+                    hits, misses, unchanged, getHitRate() * 100, bytesSaved, entries, bytes, evictions);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.junit.assignment.locators;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * How to find one form field: CSS selectors tried in order, then keywords matched against the
+ * placeholder, name, id, aria-label and label text of every visible-type input, textarea and
+ * select. Optional fields are looked up but never waited for.
+ */
+public final class FieldLocator {
+
+    private final String name;
+    private final List<String> selectors = new ArrayList<>();
+    private final List<String> keywords = new ArrayList<>();
+    private boolean optional;
+
+    private FieldLocator(String name) {
+        this.name = name;
+    }
+
+    public static FieldLocator named(String name) {
+        return new FieldLocator(name);
+    }
+
+    public FieldLocator css(String... selectors) {
+        this.selectors.addAll(List.of(selectors));
+        return this;
+    }
+
+    // Matched case-insensitively as substrings
+    public FieldLocator keywords(String... keywords) {
+        for (String keyword : keywords) {
+            this.keywords.add(keyword.toLowerCase());
+        }
+        return this;
+    }
+
+    public FieldLocator optional() {
+        this.optional = true;
+        return this;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public List<String> selectors() {
+        return List.copyOf(selectors);
+    }
+
+    public List<String> keywords() {
+        return List.copyOf(keywords);
+    }
+
+    public boolean isOptional() {
+        return optional;
+    }
+
+    // Script argument form of this locator
+    Map<String, Object> toScriptArgument() {
+        Map<String, Object> argument = new LinkedHashMap<>();
+        argument.put("name", name);
+        argument.put("selectors", selectors);
+        argument.put("keywords", keywords);
+        return argument;
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + selectors + (keywords.isEmpty() ? "" : " ~" + keywords) + (optional ? " (optional)" : "");
+    }
+}
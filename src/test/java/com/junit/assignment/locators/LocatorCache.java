@@ -0,0 +1,109 @@
+package com.junit.assignment.locators;
+
+import com.junit.assignment.metrics.Metrics;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Which selector found each field, per page fingerprint. Kept in a properties file
+ * ({@code <fingerprint>/<field>=<selector>}) so the next run goes straight to the element. A
+ * cache without a file only lives as long as the process.
+ */
+public final class LocatorCache {
+
+    private final Path file;
+    private final Map<String, Map<String, String>> pages = new HashMap<>();
+    private boolean dirty;
+
+    private LocatorCache(Path file) {
+        this.file = file;
+    }
+
+    public static LocatorCache inMemory() {
+        return new LocatorCache(null);
+    }
+
+    // An unreadable file starts an empty cache; it is rewritten on the next save()
+    public static LocatorCache open(Path file) {
+        LocatorCache cache = new LocatorCache(file);
+        if (Files.isRegularFile(file)) {
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(file)) {
+                properties.load(in);
+            } catch (IOException | IllegalArgumentException e) {
+                properties.clear();
+            }
+            for (String key : properties.stringPropertyNames()) {
+                int slash = key.indexOf('/');
+                if (slash > 0) {
+                    cache.pages.computeIfAbsent(key.substring(0, slash), k -> new HashMap<>())
+                            .put(key.substring(slash + 1), properties.getProperty(key));
+                }
+            }
+        }
+        return cache;
+    }
+
+    public synchronized String lookup(String fingerprint, String field) {
+        Map<String, String> page = pages.get(fingerprint);
+        return page == null ? null : page.get(field);
+    }
+
+    public synchronized void remember(String fingerprint, String field, String selector) {
+        String previous = pages.computeIfAbsent(fingerprint, k -> new HashMap<>()).put(field, selector);
+        dirty |= !selector.equals(previous);
+    }
+
+    public synchronized void forget(String fingerprint, String field) {
+        Map<String, String> page = pages.get(fingerprint);
+        if (page != null && page.remove(field) != null) {
+            dirty = true;
+            if (page.isEmpty()) {
+                pages.remove(fingerprint);
+            }
+        }
+    }
+
+    // Copy of every learned selector, fingerprint -> field -> selector
+    public synchronized Map<String, Map<String, String>> snapshot() {
+        Map<String, Map<String, String>> copy = new HashMap<>();
+        pages.forEach((fingerprint, page) -> copy.put(fingerprint, new HashMap<>(page)));
+        return copy;
+    }
+
+    public synchronized int size() {
+        return pages.values().stream().mapToInt(Map::size).sum();
+    }
+
+    // Writes the file (temp file, then an atomic rename) if anything changed since the last save
+    public synchronized void save() throws IOException {
+        if (file == null || !dirty) {
+            return;
+        }
+        Properties properties = new Properties();
+        pages.forEach((fingerprint, page) -> page.forEach((field, selector) ->
+                properties.setProperty(fingerprint + '/' + field, selector)));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = bytes) {
+            properties.store(out, "Locator cache: <page fingerprint>/<field>=<selector>");
+        }
+        try (Metrics.Span span = Metrics.span(Metrics.Kind.FILE_WRITE, "locator cache").bytes(bytes.size())) {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(temp, bytes.toByteArray());
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        dirty = false;
+    }
+}
@@ -0,0 +1,288 @@
+package com.junit.assignment.locators;
+
+import com.junit.assignment.wait.AdaptiveWait;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Finds a set of form fields in one {@code executeScript} round trip per attempt instead of a
+ * {@code findElement} (and a full wait on a miss) per candidate selector and a
+ * {@code getAttribute} per input when scanning for a fallback.
+ *
+ * <p>The script also fingerprints the page from its host, path and the tag, id, name and type
+ * of every form control. The selector that found each field is remembered under that
+ * fingerprint in a {@link LocatorCache}; the next time the same page structure shows up the
+ * remembered selector is tried first, and a stale one is replaced by whatever the candidates
+ * find.
+ */
+public final class LocatorResolver {
+
+    public static final String CACHE_FILE_PROPERTY = "driver.locator.cache";
+    public static final String DEFAULT_CACHE_FILE = "scraped-data/locator-cache.properties";
+
+    private static LocatorResolver shared;
+
+    // arguments: field locators, learned selectors (fingerprint -> field -> selector)
+    static final String RESOLVE_SCRIPT =
+            "var fields = arguments[0], learned = arguments[1] || {};\n" +
+            "var hash = function (s) {\n" +
+            "  var h1 = 0xdeadbeef, h2 = 0x41c6ce57;\n" +
+            "  for (var i = 0; i < s.length; i++) {\n" +
+            "    var c = s.charCodeAt(i);\n" +
+            "    h1 = Math.imul(h1 ^ c, 2654435761); h2 = Math.imul(h2 ^ c, 1597334677);\n" +
+            "  }\n" +
+            "  h1 = Math.imul(h1 ^ (h1 >>> 16), 2246822507) ^ Math.imul(h2 ^ (h2 >>> 13), 3266489909);\n" +
+            "  h2 = Math.imul(h2 ^ (h2 >>> 16), 2246822507) ^ Math.imul(h1 ^ (h1 >>> 13), 3266489909);\n" +
+            "  return ('0000000' + (h2 >>> 0).toString(16)).slice(-8) + ('0000000' + (h1 >>> 0).toString(16)).slice(-8);\n" +
+            "};\n" +
+            "var controls = document.querySelectorAll('input, textarea, select, button');\n" +
+            "var shape = [location.host + location.pathname];\n" +
+            "for (var i = 0; i < controls.length; i++) {\n" +
+            "  var c = controls[i];\n" +
+            "  shape.push(c.tagName + '#' + c.id + '[' + (c.getAttribute('name') || '') + '][' + (c.getAttribute('type') || '') + ']');\n" +
+            "}\n" +
+            "var fingerprint = hash(shape.join('|'));\n" +
+            "var known = learned[fingerprint] || {};\n" +
+            "var first = function (selector) {\n" +
+            "  var list;\n" +
+            "  try { list = document.querySelectorAll(selector); } catch (e) { return null; }\n" +
+            "  for (var i = 0; i < list.length; i++) {\n" +
+            "    if (list[i].type !== 'hidden') { return list[i]; }\n" +
+            "  }\n" +
+            "  return null;\n" +
+            "};\n" +
+            "var describe = function (el) {\n" +
+            "  var text = [el.getAttribute('placeholder'), el.getAttribute('name'), el.id, el.getAttribute('aria-label')];\n" +
+            "  if (el.id) {\n" +
+            "    var label = document.querySelector('label[for=\"' + CSS.escape(el.id) + '\"]');\n" +
+            "    if (label) { text.push(label.textContent); }\n" +
+            "  }\n" +
+            "  var wrapping = el.closest('label');\n" +
+            "  if (wrapping) { text.push(wrapping.textContent); }\n" +
+            "  return text.join(' ').toLowerCase();\n" +
+            "};\n" +
+            "var byKeyword = function (keywords) {\n" +
+            "  var list = document.querySelectorAll('input:not([type=hidden]), textarea, select');\n" +
+            "  for (var i = 0; i < list.length; i++) {\n" +
+            "    var text = describe(list[i]);\n" +
+            "    for (var k = 0; k < keywords.length; k++) {\n" +
+            "      if (text.indexOf(keywords[k]) >= 0) { return list[i]; }\n" +
+            "    }\n" +
+            "  }\n" +
+            "  return null;\n" +
+            "};\n" +
+            "var exact = function (el, fallback) {\n" +
+            "  var selector = null;\n" +
+            "  if (el.id) { selector = '#' + CSS.escape(el.id); }\n" +
+            "  else if (el.getAttribute('name')) {\n" +
+            "    selector = el.tagName.toLowerCase() + '[name=\"' + el.getAttribute('name').replace(/[\"\\\\]/g, '\\\\$&') + '\"]';\n" +
+            "  }\n" +
+            "  return selector && first(selector) === el ? selector : fallback;\n" +
+            "};\n" +
+            "var found = {};\n" +
+            "for (var f = 0; f < fields.length; f++) {\n" +
+            "  var field = fields[f], el = null, selector = null, cached = false;\n" +
+            "  if (known[field.name]) {\n" +
+            "    el = first(known[field.name]);\n" +
+            "    if (el) { selector = known[field.name]; cached = true; }\n" +
+            "  }\n" +
+            "  for (var s = 0; !el && s < field.selectors.length; s++) {\n" +
+            "    el = first(field.selectors[s]);\n" +
+            "    if (el) { selector = exact(el, field.selectors[s]); }\n" +
+            "  }\n" +
+            "  if (!el && field.keywords.length) {\n" +
+            "    el = byKeyword(field.keywords);\n" +
+            "    if (el) { selector = exact(el, null); }\n" +
+            "  }\n" +
+            "  if (el) { found[field.name] = {element: el, selector: selector, cached: cached}; }\n" +
+            "}\n" +
+            "return {fingerprint: fingerprint, found: found};";
+
+    private final LocatorCache cache;
+
+    public LocatorResolver(LocatorCache cache) {
+        this.cache = cache;
+    }
+
+    // Process-wide resolver backed by -Ddriver.locator.cache (default scraped-data/locator-cache.properties)
+    public static synchronized LocatorResolver shared() {
+        if (shared == null) {
+            shared = new LocatorResolver(LocatorCache.open(
+                    Path.of(System.getProperty(CACHE_FILE_PROPERTY, DEFAULT_CACHE_FILE))));
+        }
+        return shared;
+    }
+
+    public LocatorCache cache() {
+        return cache;
+    }
+
+    /**
+     * Result of one resolution: the elements by field name (missing fields are absent), the
+     * selector that found each one and which of those came from the cache.
+     */
+    public static final class Resolution {
+
+        private final String fingerprint;
+        private final Map<String, WebElement> elements;
+        private final Map<String, String> selectors;
+        private final Set<String> cached;
+        private final Set<String> missing;
+        private final int scriptCalls;
+        private final long elapsedNanos;
+
+        Resolution(String fingerprint, Map<String, WebElement> elements, Map<String, String> selectors,
+                   Set<String> cached, Set<String> missing, int scriptCalls, long elapsedNanos) {
+            this.fingerprint = fingerprint;
+            this.elements = Collections.unmodifiableMap(elements);
+            this.selectors = Collections.unmodifiableMap(selectors);
+            this.cached = Collections.unmodifiableSet(cached);
+            this.missing = Collections.unmodifiableSet(missing);
+            this.scriptCalls = scriptCalls;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        // null if the field was not found
+        public WebElement element(String field) {
+            return elements.get(field);
+        }
+
+        public Map<String, WebElement> getElements() {
+            return elements;
+        }
+
+        public Map<String, String> getSelectors() {
+            return selectors;
+        }
+
+        public Set<String> getCached() {
+            return cached;
+        }
+
+        public Set<String> getMissing() {
+            return missing;
+        }
+
+        public int getScriptCalls() {
+            return scriptCalls;
+        }
+
+        public double getElapsedMillis() {
+            return elapsedNanos / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("page %s: %d found (%d from cache), %d missing %s, %d script call(s) in %.1f ms",
+                    fingerprint, elements.size(), cached.size(), missing.size(), missing, scriptCalls, getElapsedMillis());
+        }
+    }
+
+    public Resolution resolve(WebDriver driver, List<FieldLocator> fields) {
+        return resolve(driver, fields, Duration.ZERO);
+    }
+
+    /**
+     * Looks every field up at once, polling until all required fields are present or the
+     * timeout runs out; missing fields are reported, not thrown. Winning selectors are
+     * remembered and the cache saved when anything new was learned.
+     */
+    public Resolution resolve(WebDriver driver, List<FieldLocator> fields, Duration timeout) {
+        long start = System.nanoTime();
+        List<Map<String, Object>> arguments = new ArrayList<>(fields.size());
+        for (FieldLocator field : fields) {
+            arguments.add(field.toScriptArgument());
+        }
+        Map<String, Map<String, String>> learned = cache.snapshot();
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        Object[] last = new Object[1];
+        int[] calls = new int[1];
+        Function<WebDriver, Boolean> attempt = page -> {
+            calls[0]++;
+            last[0] = js.executeScript(RESOLVE_SCRIPT, arguments, learned);
+            return requiredFound(fields, found(last[0]));
+        };
+        boolean complete;
+        try {
+            complete = attempt.apply(driver);
+        } catch (WebDriverException e) {
+            // e.g. the page is still navigating; the polling below retries
+            if (timeout.isZero() || timeout.isNegative()) {
+                throw e;
+            }
+            complete = false;
+        }
+        if (!complete && !timeout.isZero() && !timeout.isNegative()) {
+            new AdaptiveWait(driver).untilOrTimeout("locate " + fields.size() + " fields", attempt, timeout);
+        }
+        return record(fields, last[0], calls[0], System.nanoTime() - start);
+    }
+
+    private Resolution record(List<FieldLocator> fields, Object result, int calls, long elapsedNanos) {
+        String fingerprint = result instanceof Map ? String.valueOf(((Map<?, ?>) result).get("fingerprint")) : "unknown";
+        Map<?, ?> found = found(result);
+        Map<String, WebElement> elements = new LinkedHashMap<>();
+        Map<String, String> selectors = new LinkedHashMap<>();
+        Set<String> cached = new LinkedHashSet<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (FieldLocator field : fields) {
+            Object hit = found.get(field.name());
+            if (!(hit instanceof Map) || !(((Map<?, ?>) hit).get("element") instanceof WebElement)) {
+                missing.add(field.name());
+                continue;
+            }
+            Map<?, ?> match = (Map<?, ?>) hit;
+            elements.put(field.name(), (WebElement) match.get("element"));
+            Object selector = match.get("selector");
+            if (Boolean.TRUE.equals(match.get("cached"))) {
+                cached.add(field.name());
+            }
+            if (selector != null) {
+                selectors.put(field.name(), selector.toString());
+                cache.remember(fingerprint, field.name(), selector.toString());
+            } else {
+                // Found by keyword but no stable selector to come back to
+                cache.forget(fingerprint, field.name());
+            }
+        }
+        try {
+            cache.save();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not save locator cache", e);
+        }
+        return new Resolution(fingerprint, elements, selectors, cached, missing, calls, elapsedNanos);
+    }
+
+    private static Map<?, ?> found(Object result) {
+        Object found = result instanceof Map ? ((Map<?, ?>) result).get("found") : null;
+        return found instanceof Map ? (Map<?, ?>) found : Map.of();
+    }
+
+    private static boolean requiredFound(List<FieldLocator> fields, Map<?, ?> found) {
+        for (FieldLocator field : fields) {
+            if (!field.isOptional() && !found.containsKey(field.name())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,89 @@
+package com.junit.assignment.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of durations in nanoseconds with log-linear buckets: values below 64 are
+ * exact, larger ones fall into one of 32 buckets per power of two, so a percentile is off by at
+ * most 1/64 (about 1.6%) of its value. Fixed size, no allocation per record.
+ */
+public final class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int EXACT = SUB_BUCKETS * 2;
+    private static final int BUCKETS = EXACT + (63 - (SUB_BUCKET_BITS + 1)) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(index(value));
+        count.increment();
+        total.add(value);
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            // another thread raised the maximum; retry against it
+        }
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long totalNanos() {
+        return total.sum();
+    }
+
+    public long maxNanos() {
+        return max.get();
+    }
+
+    // Value below which the given fraction (0..1] of the recorded durations fall; 0 when empty
+    public long percentile(double fraction) {
+        if (fraction <= 0 || fraction > 1) {
+            throw new IllegalArgumentException("Percentile must be in (0, 1] but was " + fraction);
+        }
+        long recorded = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            recorded += counts.get(i);
+        }
+        if (recorded == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(fraction * recorded);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(midpoint(i), maxNanos());
+            }
+        }
+        return maxNanos();
+    }
+
+    static int index(long value) {
+        if (value < EXACT) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift) - SUB_BUCKETS;
+        return EXACT + (magnitude - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + sub;
+    }
+
+    static long midpoint(int index) {
+        if (index < EXACT) {
+            return index;
+        }
+        int magnitude = (index - EXACT) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+        int shift = magnitude - SUB_BUCKET_BITS;
+        long lower = (long) (SUB_BUCKETS + (index - EXACT) % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) / 2;
+    }
+}
@@ -0,0 +1,61 @@
+package com.junit.assignment.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder events emitted by {@link Metrics.Span}. They cost a field check when no
+ * recording is running; with one running they show up in JDK Mission Control under
+ * "Web Scraping" next to the JVM's own events.
+ */
+public final class HotPathEvents {
+
+    private HotPathEvents() {
+    }
+
+    @Category("Web Scraping")
+    @StackTrace(false)
+    public abstract static class Base extends Event {
+        @Label("Name")
+        String name;
+
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+    }
+
+    @Name("com.junit.assignment.WebDriverCommand")
+    @Label("WebDriver Command")
+    @Description("One call into the WebDriver API, e.g. findElement or getText")
+    public static final class Command extends Base {
+    }
+
+    @Name("com.junit.assignment.PageLoad")
+    @Label("Page Load")
+    @Description("Navigation through WebDriver.get or WebDriver.Navigation")
+    public static final class PageLoad extends Base {
+    }
+
+    @Name("com.junit.assignment.Wait")
+    @Label("Wait")
+    @Description("Explicit or adaptive wait for a page condition")
+    public static final class Wait extends Base {
+    }
+
+    @Name("com.junit.assignment.FileWrite")
+    @Label("File Write")
+    @Description("Report, history, snapshot or cache data written to disk")
+    public static final class FileWrite extends Base {
+    }
+
+    @Name("com.junit.assignment.DriverStart")
+    @Label("Driver Start")
+    @Description("Launch of a browser session")
+    public static final class DriverStart extends Base {
+    }
+}
@@ -0,0 +1,37 @@
+package com.junit.assignment.metrics;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.decorators.Decorated;
+import org.openqa.selenium.support.decorators.WebDriverDecorator;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+
+/**
+ * Times every call on the driver and on the elements, navigation and other objects it hands
+ * out. Navigations count as {@link Metrics.Kind#PAGE_LOAD}, everything else as
+ * {@link Metrics.Kind#COMMAND} named after the interface and method, e.g. {@code WebElement.getText}.
+ */
+final class InstrumentedDriver extends WebDriverDecorator<WebDriver> {
+
+    private static final Set<String> NAVIGATION = Set.of("to", "back", "forward", "refresh");
+
+    @Override
+    public Object call(Decorated<?> target, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return super.call(target, method, args);
+        }
+        try (Metrics.Span span = Metrics.span(kind(target, method),
+                method.getDeclaringClass().getSimpleName() + '.' + method.getName())) {
+            return super.call(target, method, args);
+        }
+    }
+
+    private static Metrics.Kind kind(Decorated<?> target, Method method) {
+        Object original = target.getOriginal();
+        boolean navigation = original instanceof WebDriver
+                ? method.getName().equals("get")
+                : original instanceof WebDriver.Navigation && NAVIGATION.contains(method.getName());
+        return navigation ? Metrics.Kind.PAGE_LOAD : Metrics.Kind.COMMAND;
+    }
+}
@@ -0,0 +1,38 @@
+package com.junit.assignment.metrics;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * {@link WebDriverWait} whose {@code until} calls are timed as {@link Metrics.Kind#WAIT}, named
+ * after the condition without its locator, e.g. {@code element to be clickable}.
+ */
+public class InstrumentedWait extends WebDriverWait {
+
+    public InstrumentedWait(WebDriver driver, Duration timeout) {
+        super(driver, timeout);
+    }
+
+    @Override
+    public <V> V until(Function<? super WebDriver, V> isTrue) {
+        if (!Metrics.isActive()) {
+            return super.until(isTrue);
+        }
+        try (Metrics.Span span = Metrics.span(Metrics.Kind.WAIT, conditionName(isTrue))) {
+            return super.until(isTrue);
+        }
+    }
+
+    // ExpectedConditions describe themselves as "<condition>: <locator>"; lambdas have no useful name
+    static String conditionName(Object condition) {
+        String description = String.valueOf(condition);
+        if (description.contains("$$Lambda")) {
+            return "WebDriverWait.until";
+        }
+        int colon = description.indexOf(':');
+        return colon > 0 ? description.substring(0, colon) : description;
+    }
+}
@@ -0,0 +1,174 @@
+package com.junit.assignment.metrics;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.openqa.selenium.WebDriver;
+
+import java.util.function.Supplier;
+
+/**
+ * Timing of the hot paths of a run: WebDriver commands, page loads, waits, file writes and
+ * browser start-up. Code under measurement opens a {@link Span}:
+ *
+ * <pre>{@code
+ * try (Metrics.Span span = Metrics.span(Metrics.Kind.FILE_WRITE, "price history")) {
+ *     ...
+ * }
+ * }</pre>
+ *
+ * <p>A span becomes a {@link HotPathEvents JFR event} while a Flight Recorder recording is
+ * running, and a sample in the run-wide and per-test {@link MetricsRegistry} when
+ * {@code -Dmetrics.enabled=true}. With neither, {@link #span} returns a shared no-op span
+ * after two field reads, so the instrumentation can stay in place.
+ */
+public final class Metrics {
+
+    public enum Kind {
+        COMMAND(HotPathEvents.Command::new),
+        PAGE_LOAD(HotPathEvents.PageLoad::new),
+        WAIT(HotPathEvents.Wait::new),
+        FILE_WRITE(HotPathEvents.FileWrite::new),
+        DRIVER_START(HotPathEvents.DriverStart::new);
+
+        private final Supplier<HotPathEvents.Base> event;
+
+        Kind(Supplier<HotPathEvents.Base> event) {
+            this.event = event;
+        }
+    }
+
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+    private static final ThreadLocal<MetricsRegistry> CURRENT_TEST = new ThreadLocal<>();
+
+    private static volatile boolean enabled = Boolean.getBoolean("metrics.enabled");
+    private static volatile boolean recording;
+
+    static {
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            @Override
+            public void recorderInitialized(FlightRecorder recorder) {
+                recording = isRecording(recorder);
+            }
+
+            @Override
+            public void recordingStateChanged(Recording changed) {
+                recording = isRecording(FlightRecorder.getFlightRecorder());
+            }
+        });
+    }
+
+    private Metrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    // Registries only; JFR events follow the recordings regardless
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    // Whether a span opened now would be measured at all
+    public static boolean isActive() {
+        return enabled || recording;
+    }
+
+    public static Span span(Kind kind, String name) {
+        if (!enabled && !recording) {
+            return Span.NOOP;
+        }
+        return new Span(kind, name);
+    }
+
+    // Run-wide registry, fed from every thread
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    // Spans closed on this thread also go to the registry until unbind(); see MetricsExtension
+    public static void bind(MetricsRegistry registry) {
+        CURRENT_TEST.set(registry);
+    }
+
+    public static MetricsRegistry unbind() {
+        MetricsRegistry registry = CURRENT_TEST.get();
+        CURRENT_TEST.remove();
+        return registry;
+    }
+
+    // Wraps the driver so every command is timed; returns it unchanged when nothing would be recorded.
+    // The wrapper only implements the driver's interfaces, so it cannot be cast back to e.g. ChromeDriver
+    public static WebDriver instrument(WebDriver driver) {
+        return isActive() ? new InstrumentedDriver().decorate(driver) : driver;
+    }
+
+    private static boolean isRecording(FlightRecorder recorder) {
+        for (Recording recording : recorder.getRecordings()) {
+            if (recording.getState() == RecordingState.RUNNING) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * One timed operation. Close it exactly once, normally through try-with-resources.
+     */
+    public static final class Span implements AutoCloseable {
+
+        static final Span NOOP = new Span();
+
+        private final Kind kind;
+        private final String name;
+        private final HotPathEvents.Base event;
+        private final long start;
+        private long bytes;
+
+        private Span() {
+            this.kind = null;
+            this.name = null;
+            this.event = null;
+            this.start = 0;
+        }
+
+        private Span(Kind kind, String name) {
+            this.kind = kind;
+            this.name = name;
+            this.event = kind.event.get();
+            event.begin();
+            this.start = System.nanoTime();
+        }
+
+        // Amount of data the operation moved, for file writes
+        public Span bytes(long amount) {
+            if (event != null) {
+                this.bytes = amount;
+            }
+            return this;
+        }
+
+        @Override
+        public void close() {
+            if (event == null) {
+                return;
+            }
+            long nanos = System.nanoTime() - start;
+            event.end();
+            if (event.shouldCommit()) {
+                event.name = name;
+                event.bytes = bytes;
+                event.commit();
+            }
+            if (enabled) {
+                GLOBAL.record(kind, name, nanos);
+                MetricsRegistry test = CURRENT_TEST.get();
+                if (test != null) {
+                    test.record(kind, name, nanos);
+                }
+            }
+        }
+    }
+}
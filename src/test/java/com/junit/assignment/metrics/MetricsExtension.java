@@ -0,0 +1,44 @@
+package com.junit.assignment.metrics;
+
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Collects the timings of each test in its own {@link MetricsRegistry} and attaches them to
+ * the Allure result as "Timings" (count, total, p50/p95/p99 and max per command, page load,
+ * wait and file write). The run-wide registry is printed once after the last test.
+ * Does nothing unless {@code -Dmetrics.enabled=true}.
+ */
+public class MetricsExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(MetricsExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        if (!Metrics.isEnabled()) {
+            return;
+        }
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(RunSummary.class, key -> new RunSummary(), RunSummary.class);
+        Metrics.bind(new MetricsRegistry());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        MetricsRegistry registry = Metrics.unbind();
+        if (registry != null && !registry.isEmpty()) {
+            Allure.addAttachment("Timings", "text/plain", registry.summary());
+        }
+    }
+
+    // Closed by JUnit when the root context closes, i.e. after the last test class of the run
+    private static final class RunSummary implements ExtensionContext.Store.CloseableResource {
+        @Override
+        public void close() {
+            if (!Metrics.global().isEmpty()) {
+                System.out.println("Timings of the run:\n" + Metrics.global().summary());
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.junit.assignment.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Timers keyed by kind and name, in the spirit of a Micrometer registry but without tags,
+ * meters other than timers or any export. {@link Metrics} keeps one for the whole run and one
+ * per test.
+ */
+public final class MetricsRegistry {
+
+    // One map per kind, so a lookup needs no composite key
+    private final Map<Metrics.Kind, ConcurrentMap<String, Timer>> timers = new EnumMap<>(Metrics.Kind.class);
+
+    public MetricsRegistry() {
+        for (Metrics.Kind kind : Metrics.Kind.values()) {
+            timers.put(kind, new ConcurrentHashMap<>());
+        }
+    }
+
+    public Timer timer(Metrics.Kind kind, String name) {
+        ConcurrentMap<String, Timer> byName = timers.get(kind);
+        Timer timer = byName.get(name);
+        if (timer == null) {
+            timer = byName.computeIfAbsent(name, key -> new Timer(kind, key));
+        }
+        return timer;
+    }
+
+    public void record(Metrics.Kind kind, String name, long nanos) {
+        timer(kind, name).histogram.record(nanos);
+    }
+
+    public boolean isEmpty() {
+        for (ConcurrentMap<String, Timer> byName : timers.values()) {
+            if (!byName.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Grouped by kind, most total time first within a kind
+    public List<Timer> timers() {
+        List<Timer> sorted = new ArrayList<>();
+        for (ConcurrentMap<String, Timer> byName : timers.values()) {
+            sorted.addAll(byName.values());
+        }
+        sorted.sort(Comparator.comparing(Timer::getKind)
+                .thenComparing(Comparator.comparingDouble(Timer::getTotalMillis).reversed()));
+        return sorted;
+    }
+
+    public String summary() {
+        StringBuilder summary = new StringBuilder(String.format("%-11s %-40s %7s %10s %9s %9s %9s %9s%n",
+                "kind", "name", "count", "total ms", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (Timer timer : timers()) {
+            summary.append(String.format("%-11s %-40s %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    timer.kind.name().toLowerCase(Locale.ROOT), timer.name, timer.getCount(), timer.getTotalMillis(),
+                    timer.getPercentileMillis(0.50), timer.getPercentileMillis(0.95),
+                    timer.getPercentileMillis(0.99), timer.getMaxMillis()));
+        }
+        return summary.toString();
+    }
+
+    public static final class Timer {
+        private final Metrics.Kind kind;
+        private final String name;
+        private final Histogram histogram = new Histogram();
+
+        Timer(Metrics.Kind kind, String name) {
+            this.kind = kind;
+            this.name = name;
+        }
+
+        public Metrics.Kind getKind() {
+            return kind;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return histogram.count();
+        }
+
+        public double getTotalMillis() {
+            return histogram.totalNanos() / 1_000_000.0;
+        }
+
+        public double getMaxMillis() {
+            return histogram.maxNanos() / 1_000_000.0;
+        }
+
+        public double getPercentileMillis(double fraction) {
+            return histogram.percentile(fraction) / 1_000_000.0;
+        }
+
+        public Histogram histogram() {
+            return histogram;
+        }
+    }
+}
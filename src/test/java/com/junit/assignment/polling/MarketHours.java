@@ -0,0 +1,49 @@
+package com.junit.assignment.polling;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Trading session during which the poller fetches; outside it cycles are skipped without a request.
+ */
+public final class MarketHours {
+
+    // DSE trades Sunday to Thursday, 10:00-14:30 Dhaka time
+    public static final MarketHours DSE = new MarketHours(ZoneId.of("Asia/Dhaka"), LocalTime.of(10, 0),
+            LocalTime.of(14, 30), EnumSet.of(DayOfWeek.SUNDAY, DayOfWeek.MONDAY, DayOfWeek.TUESDAY,
+            DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY));
+
+    public static final MarketHours ALWAYS = new MarketHours(ZoneId.of("UTC"), LocalTime.MIN, LocalTime.MAX,
+            EnumSet.allOf(DayOfWeek.class));
+
+    private final ZoneId zone;
+    private final LocalTime open;
+    private final LocalTime close;
+    private final Set<DayOfWeek> days;
+
+    public MarketHours(ZoneId zone, LocalTime open, LocalTime close, Set<DayOfWeek> days) {
+        if (!open.isBefore(close)) {
+            throw new IllegalArgumentException("Market must open before it closes: " + open + " - " + close);
+        }
+        this.zone = zone;
+        this.open = open;
+        this.close = close;
+        this.days = EnumSet.copyOf(days);
+    }
+
+    public boolean isOpen(Clock clock) {
+        ZonedDateTime now = ZonedDateTime.now(clock.withZone(zone));
+        LocalTime time = now.toLocalTime();
+        return days.contains(now.getDayOfWeek()) && !time.isBefore(open) && !time.isAfter(close);
+    }
+
+    @Override
+    public String toString() {
+        return days + " " + open + "-" + close + " " + zone;
+    }
+}
@@ -0,0 +1,369 @@
+package com.junit.assignment.polling;
+
+import com.junit.assignment.scraping.HttpTableScraper;
+import com.junit.assignment.scraping.ScrapedTable;
+import com.junit.assignment.scraping.StockRow;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Polls the DSE table on a fixed schedule and hands each snapshot to a sink.
+ *
+ * <p>Cycles are aligned to a grid of {@code interval} from the start time, each shifted by a
+ * random jitter. Only one fetch is in flight at a time: a fetch that runs past one or more grid
+ * slots skips them instead of firing a burst of catch-up requests. Fetch starts are never closer
+ * than {@code minRequestSpacing}. Snapshots go through a bounded queue to a separate sink
+ * thread; when the queue is full the poller blocks, so a slow sink slows polling down instead of
+ * letting snapshots pile up in memory.
+ */
+public class PollingScraper implements AutoCloseable {
+
+    @FunctionalInterface
+    public interface TableSource {
+        ScrapedTable fetch() throws IOException, InterruptedException;
+    }
+
+    @FunctionalInterface
+    public interface SnapshotSink {
+        void accept(Snapshot snapshot) throws Exception;
+    }
+
+    public record Snapshot(long cycle, Instant fetchedAt, Duration fetchTime, List<String> headers,
+                           List<StockRow> rows) {
+    }
+
+    private final TableSource source;
+    private final SnapshotSink sink;
+    private final Clock clock;
+    private final MarketHours marketHours;
+    private final long intervalNanos;
+    private final long jitterNanos;
+    private final long minSpacingNanos;
+    private final BlockingQueue<Snapshot> queue;
+    private final ScheduledExecutorService scheduler;
+    private final Thread sinkThread;
+
+    private volatile boolean running;
+    private long origin;
+    private long lastFetchStart;
+    private volatile Exception lastError;
+
+    private final AtomicLong fetches = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong overrunSkips = new AtomicLong();
+    private final AtomicLong closedSkips = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong sinkFailures = new AtomicLong();
+    private final AtomicLong backpressureNanos = new AtomicLong();
+
+    private PollingScraper(Builder builder) {
+        this.source = builder.source;
+        this.sink = builder.sink;
+        this.clock = builder.clock;
+        this.marketHours = builder.marketHours;
+        this.intervalNanos = builder.interval.toNanos();
+        this.jitterNanos = builder.jitter.toNanos();
+        this.minSpacingNanos = builder.minRequestSpacing.toNanos();
+        this.queue = new ArrayBlockingQueue<>(builder.queueCapacity);
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "dse-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // stop() drops the next pending cycle instead of waiting for it to come due
+        scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.scheduler = scheduler;
+        this.sinkThread = new Thread(this::drain, "dse-poller-sink");
+        this.sinkThread.setDaemon(true);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public synchronized PollingScraper start() {
+        if (running) {
+            throw new IllegalStateException("Poller already started");
+        }
+        running = true;
+        origin = System.nanoTime();
+        sinkThread.start();
+        scheduler.execute(() -> runCycle(0));
+        return this;
+    }
+
+    // Stops polling, lets a fetch in flight and the queued snapshots finish within the timeout
+    public void stop(Duration timeout) throws InterruptedException {
+        running = false;
+        scheduler.shutdown();
+        if (!scheduler.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            scheduler.shutdownNow();
+        }
+        sinkThread.join(Math.max(1, timeout.toMillis()));
+        if (sinkThread.isAlive()) {
+            sinkThread.interrupt();
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        stop(Duration.ofSeconds(5));
+    }
+
+    public Stats stats() {
+        return new Stats(fetches.get(), failures.get(), overrunSkips.get(), closedSkips.get(), rateLimited.get(),
+                delivered.get(), sinkFailures.get(), queue.size(), backpressureNanos.get());
+    }
+
+    public Exception lastError() {
+        return lastError;
+    }
+
+    private void runCycle(long slot) {
+        if (!running) {
+            return;
+        }
+        if (!marketHours.isOpen(clock)) {
+            closedSkips.incrementAndGet();
+            scheduleAfter(slot);
+            return;
+        }
+        long now = System.nanoTime();
+        long earliest = lastFetchStart + minSpacingNanos;
+        if (fetches.get() > 0 && now < earliest) {
+            rateLimited.incrementAndGet();
+            schedule(slot, earliest - now);
+            return;
+        }
+
+        lastFetchStart = now;
+        fetches.incrementAndGet();
+        try {
+            ScrapedTable table = source.fetch();
+            Snapshot snapshot = new Snapshot(slot, clock.instant(), Duration.ofNanos(System.nanoTime() - now),
+                    table.getHeaders(), table.getRows());
+            if (!queue.offer(snapshot)) {
+                // Sink is behind: wait for room instead of buffering without bound
+                long blocked = System.nanoTime();
+                queue.put(snapshot);
+                backpressureNanos.addAndGet(System.nanoTime() - blocked);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            lastError = e;
+        }
+        scheduleAfter(slot);
+    }
+
+    private void scheduleAfter(long slot) {
+        if (!running) {
+            return;
+        }
+        long now = System.nanoTime();
+        long next = slot + 1;
+        long due = origin + next * intervalNanos;
+        if (due <= now) {
+            // The fetch (or the sink) overran one or more slots: drop them, resume on the grid
+            long current = (now - origin) / intervalNanos + 1;
+            overrunSkips.addAndGet(current - next);
+            next = current;
+            due = origin + next * intervalNanos;
+        }
+        if (jitterNanos > 0) {
+            due += ThreadLocalRandom.current().nextLong(jitterNanos);
+        }
+        schedule(next, due - now);
+    }
+
+    private void schedule(long slot, long delayNanos) {
+        try {
+            scheduler.schedule(() -> runCycle(slot), delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // stopped while this cycle was running
+        }
+    }
+
+    private void drain() {
+        try {
+            while (running || !queue.isEmpty()) {
+                Snapshot snapshot = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (snapshot == null) {
+                    continue;
+                }
+                try {
+                    sink.accept(snapshot);
+                    delivered.incrementAndGet();
+                } catch (InterruptedException e) {
+                    throw e;
+                } catch (Exception e) {
+                    sinkFailures.incrementAndGet();
+                    lastError = e;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static final class Builder {
+        private TableSource source;
+        private SnapshotSink sink = snapshot -> { };
+        private Clock clock = Clock.systemUTC();
+        private MarketHours marketHours = MarketHours.ALWAYS;
+        private Duration interval = Duration.ofSeconds(60);
+        private Duration jitter = Duration.ZERO;
+        private Duration minRequestSpacing = Duration.ZERO;
+        private int queueCapacity = 16;
+
+        private Builder() {
+        }
+
+        public Builder source(TableSource source) {
+            this.source = source;
+            return this;
+        }
+
+        // Polls the URI over HTTP with one HttpTableScraper (and so one HttpClient) for every cycle
+        public Builder uri(URI uri) {
+            HttpTableScraper scraper = new HttpTableScraper();
+            return source(() -> scraper.scrape(uri));
+        }
+
+        public Builder sink(SnapshotSink sink) {
+            this.sink = sink;
+            return this;
+        }
+
+        public Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public Builder marketHours(MarketHours marketHours) {
+            this.marketHours = marketHours;
+            return this;
+        }
+
+        public Builder interval(Duration interval) {
+            this.interval = interval;
+            return this;
+        }
+
+        public Builder jitter(Duration jitter) {
+            this.jitter = jitter;
+            return this;
+        }
+
+        public Builder minRequestSpacing(Duration minRequestSpacing) {
+            this.minRequestSpacing = minRequestSpacing;
+            return this;
+        }
+
+        public Builder queueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        public PollingScraper build() {
+            if (source == null) {
+                throw new IllegalStateException("A source or URI is required");
+            }
+            if (interval.isNegative() || interval.isZero()) {
+                throw new IllegalArgumentException("Interval must be positive but was " + interval);
+            }
+            if (jitter.isNegative() || jitter.compareTo(interval) >= 0) {
+                throw new IllegalArgumentException("Jitter must be in [0, interval) but was " + jitter);
+            }
+            if (queueCapacity < 1) {
+                throw new IllegalArgumentException("Queue capacity must be at least 1 but was " + queueCapacity);
+            }
+            return new PollingScraper(this);
+        }
+    }
+
+    public static final class Stats {
+        private final long fetches;
+        private final long failures;
+        private final long overrunSkips;
+        private final long closedSkips;
+        private final long rateLimited;
+        private final long delivered;
+        private final long sinkFailures;
+        private final int queued;
+        private final long backpressureNanos;
+
+        Stats(long fetches, long failures, long overrunSkips, long closedSkips, long rateLimited, long delivered,
+              long sinkFailures, int queued, long backpressureNanos) {
+            this.fetches = fetches;
+            this.failures = failures;
+            this.overrunSkips = overrunSkips;
+            this.closedSkips = closedSkips;
+            this.rateLimited = rateLimited;
+            this.delivered = delivered;
+            this.sinkFailures = sinkFailures;
+            this.queued = queued;
+            this.backpressureNanos = backpressureNanos;
+        }
+
+        public long getFetches() {
+            return fetches;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        public long getOverrunSkips() {
+            return overrunSkips;
+        }
+
+        public long getClosedSkips() {
+            return closedSkips;
+        }
+
+        public long getRateLimited() {
+            return rateLimited;
+        }
+
+        public long getDelivered() {
+            return delivered;
+        }
+
+        public long getSinkFailures() {
+            return sinkFailures;
+        }
+
+        public int getQueued() {
+            return queued;
+        }
+
+        public double getBackpressureMillis() {
+            return backpressureNanos / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("fetches=%d, failures=%d, delivered=%d, queued=%d, skipped overrun=%d, skipped closed=%d, "
+                            + "rate limited=%d, sink failures=%d, backpressure=%.1f ms",
+                    fetches, failures, delivered, queued, overrunSkips, closedSkips, rateLimited, sinkFailures,
+                    getBackpressureMillis());
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.junit.assignment.scraping;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Console sink that takes printing off the scraping thread. Lines go into a bounded ring buffer
+ * and a writer thread prints whatever has accumulated with one {@code print} and one flush,
+ * instead of a synchronized, flushed {@code println} per line. When the buffer is full the
+ * producer blocks, so nothing is dropped and memory stays bounded. Text above the configured
+ * {@link Verbosity} is discarded before it is queued; errors go to stderr.
+ */
+public final class AsyncConsoleSink implements ReportSink {
+
+    public static final int DEFAULT_CAPACITY = 4096;
+    private static final int MAX_BATCH = 512;
+
+    private final PrintStream out;
+    private final PrintStream err;
+    private final Verbosity verbosity;
+    private final BlockingQueue<Line> queue;
+    private final Thread writer;
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong blockedNanos = new AtomicLong();
+    // Writers hold the read lock from the closed check to the enqueue, close() takes the write lock,
+    // so no line is queued after the writer thread has seen closed and an empty queue
+    private final ReadWriteLock state = new ReentrantReadWriteLock();
+    private long printed;
+    private long batches;
+    private volatile boolean closed;
+
+    public AsyncConsoleSink(PrintStream out, PrintStream err, Verbosity verbosity) {
+        this(out, err, verbosity, DEFAULT_CAPACITY);
+    }
+
+    public AsyncConsoleSink(PrintStream out, PrintStream err, Verbosity verbosity, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1 but was " + capacity);
+        }
+        this.out = out;
+        this.err = err;
+        this.verbosity = verbosity;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writer = new Thread(this::drain, "report-console");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public static AsyncConsoleSink system(Verbosity verbosity) {
+        return new AsyncConsoleSink(System.out, System.err, verbosity);
+    }
+
+    @Override
+    public boolean accepts(Verbosity level) {
+        return verbosity.includes(level);
+    }
+
+    @Override
+    public void write(Verbosity level, CharSequence text) throws IOException {
+        if (!accepts(level)) {
+            return;
+        }
+        Line line = new Line(level, text.toString());
+        state.readLock().lock();
+        try {
+            if (closed) {
+                throw new IOException("Console sink is closed");
+            }
+            if (!queue.offer(line)) {
+                // Backpressure: wait for the writer rather than growing or dropping
+                long start = System.nanoTime();
+                try {
+                    queue.put(line);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for the console");
+                } finally {
+                    blockedNanos.addAndGet(System.nanoTime() - start);
+                }
+            }
+            submitted.incrementAndGet();
+        } finally {
+            state.readLock().unlock();
+        }
+    }
+
+    // Waits until everything written so far has been printed
+    @Override
+    public void flush() throws IOException {
+        long target = submitted.get();
+        synchronized (this) {
+            while (printed < target && writer.isAlive()) {
+                try {
+                    wait(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while flushing the console");
+                }
+            }
+        }
+    }
+
+    // Prints what is still queued and stops the writer thread
+    @Override
+    public void close() throws IOException {
+        state.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            state.writeLock().unlock();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while closing the console");
+        }
+    }
+
+    public synchronized long linesPrinted() {
+        return printed;
+    }
+
+    // Fewer batches than lines means prints were coalesced
+    public synchronized long batches() {
+        return batches;
+    }
+
+    public long blockedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(blockedNanos.get());
+    }
+
+    private void drain() {
+        List<Line> batch = new ArrayList<>(MAX_BATCH);
+        StringBuilder text = new StringBuilder();
+        try {
+            while (!closed || !queue.isEmpty()) {
+                Line first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                print(batch, text);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void print(List<Line> batch, StringBuilder text) {
+        text.setLength(0);
+        for (Line line : batch) {
+            if (line.level() == Verbosity.ERRORS) {
+                if (text.length() > 0) {
+                    out.print(text);
+                    text.setLength(0);
+                }
+                err.print(line.text());
+            } else {
+                text.append(line.text());
+            }
+        }
+        if (text.length() > 0) {
+            out.print(text);
+        }
+        out.flush();
+        synchronized (this) {
+            printed += batch.size();
+            batches++;
+            notifyAll();
+        }
+    }
+
+    private record Line(Verbosity level, String text) {
+    }
+}
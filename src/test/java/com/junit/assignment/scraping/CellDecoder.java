@@ -0,0 +1,132 @@
+package com.junit.assignment.scraping;
+
+/**
+ * Parses DSE cell text such as "1,234.50", "-73.7", "3,416,062" or "--" straight from the
+ * characters, without the {@code replace(",", "")} copy and {@code String} that
+ * {@code Double.parseDouble} needs. Results are identical to
+ * {@code Double.parseDouble(text.replace(",", ""))}: with a mantissa below 2^53 and at most 22
+ * decimals the value is an exact double divided by an exact power of ten, which is correctly
+ * rounded. Anything else (exponents, more than about 15 digits) takes the old path.
+ */
+public final class CellDecoder {
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    // Largest mantissa that is still exact as a double
+    private static final long MAX_EXACT = 1L << 53;
+
+    private CellDecoder() {
+    }
+
+    public static double parseDecimal(CharSequence text) {
+        return text == null ? Double.NaN : parseDecimal(text, 0, text.length());
+    }
+
+    // NaN for empty, "--" or unparseable text
+    public static double parseDecimal(CharSequence text, int start, int end) {
+        while (start < end && Character.isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        if (start == end || isDashes(text, start, end)) {
+            return Double.NaN;
+        }
+        int i = start;
+        boolean negative = false;
+        char first = text.charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int decimals = 0;
+        int digits = 0;
+        boolean point = false;
+        for (; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (mantissa >= MAX_EXACT / 10) {
+                    return slowDecimal(text, start, end);
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (point) {
+                    decimals++;
+                }
+            } else if (c == ',' && !point) {
+                // thousands separator
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                return slowDecimal(text, start, end);
+            }
+        }
+        if (digits == 0) {
+            return Double.NaN;
+        }
+        if (decimals >= POWERS_OF_TEN.length) {
+            return slowDecimal(text, start, end);
+        }
+        double value = decimals == 0 ? mantissa : mantissa / POWERS_OF_TEN[decimals];
+        return negative ? -value : value;
+    }
+
+    public static long parseCount(CharSequence text) {
+        return text == null ? StockRow.MISSING : parseCount(text, 0, text.length());
+    }
+
+    // StockRow.MISSING for empty, "--" or anything that is not a whole number
+    public static long parseCount(CharSequence text, int start, int end) {
+        while (start < end && Character.isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        if (start == end) {
+            return StockRow.MISSING;
+        }
+        int i = start;
+        boolean negative = false;
+        char first = text.charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+        }
+        long value = 0;
+        int digits = 0;
+        for (; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (value > (Long.MAX_VALUE - (c - '0')) / 10) {
+                    return StockRow.MISSING;
+                }
+                value = value * 10 + (c - '0');
+                digits++;
+            } else if (c != ',') {
+                return StockRow.MISSING;
+            }
+        }
+        if (digits == 0) {
+            return StockRow.MISSING;
+        }
+        return negative ? -value : value;
+    }
+
+    private static boolean isDashes(CharSequence text, int start, int end) {
+        return end - start == 2 && text.charAt(start) == '-' && text.charAt(start + 1) == '-';
+    }
+
+    // Rare inputs the fast path does not cover; allocates like the old code did
+    private static double slowDecimal(CharSequence text, int start, int end) {
+        try {
+            return Double.parseDouble(text.subSequence(start, end).toString().replace(",", ""));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+}
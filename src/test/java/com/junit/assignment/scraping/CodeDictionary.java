@@ -0,0 +1,77 @@
+package com.junit.assignment.scraping;
+
+/**
+ * Canonical {@code String} per trading code, looked up straight from cell characters. The DSE
+ * list has a few hundred codes that repeat every poll, so after the first scrape a lookup
+ * allocates nothing. Open addressing over parallel arrays; not thread-safe.
+ */
+public final class CodeDictionary {
+
+    private String[] codes = new String[1024];
+    private int[] hashes = new int[1024];
+    private int size;
+
+    public String intern(CharSequence text) {
+        return intern(text, 0, text.length());
+    }
+
+    public String intern(CharSequence text, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + text.charAt(i);
+        }
+        int mask = codes.length - 1;
+        int slot = mix(hash) & mask;
+        while (codes[slot] != null) {
+            if (hashes[slot] == hash && matches(codes[slot], text, start, end)) {
+                return codes[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        String code = text.subSequence(start, end).toString();
+        codes[slot] = code;
+        hashes[slot] = hash;
+        if (++size * 2 > codes.length) {
+            grow();
+        }
+        return code;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void grow() {
+        String[] oldCodes = codes;
+        int[] oldHashes = hashes;
+        codes = new String[oldCodes.length * 2];
+        hashes = new int[oldCodes.length * 2];
+        int mask = codes.length - 1;
+        for (int i = 0; i < oldCodes.length; i++) {
+            if (oldCodes[i] != null) {
+                int slot = mix(oldHashes[i]) & mask;
+                while (codes[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                codes[slot] = oldCodes[i];
+                hashes[slot] = oldHashes[i];
+            }
+        }
+    }
+
+    private static boolean matches(String code, CharSequence text, int start, int end) {
+        if (code.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < code.length(); i++) {
+            if (code.charAt(i) != text.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,146 @@
+package com.junit.assignment.scraping;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Fetches and parses many table pages at once, one virtual thread per page.
+ *
+ * <p>Each page runs the blocking {@link HttpTableScraper} flow on its own virtual thread, so a
+ * hundred slow responses cost a hundred parked virtual threads rather than a hundred platform
+ * threads. A semaphore per host caps how many requests (and so connections) are open against
+ * one server. Results are merged into one snapshot keyed by trading code.
+ */
+public class ConcurrentTableFetcher {
+
+    public static final int DEFAULT_PER_HOST_LIMIT = 6;
+
+    public record PageResult(URI uri, ScrapedTable table, Exception error, Duration elapsed) {
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+
+    /**
+     * Rows of all pages merged by trading code. When a code is listed on several pages the
+     * row from the earliest page in request order wins; differing values are counted as conflicts.
+     */
+    public static final class MergedSnapshot {
+        private final List<PageResult> pages;
+        private final Map<String, StockRow> rows;
+        private final int conflicts;
+
+        MergedSnapshot(List<PageResult> pages, Map<String, StockRow> rows, int conflicts) {
+            this.pages = Collections.unmodifiableList(pages);
+            this.rows = Collections.unmodifiableMap(rows);
+            this.conflicts = conflicts;
+        }
+
+        public List<PageResult> getPages() {
+            return pages;
+        }
+
+        public Map<String, StockRow> getRows() {
+            return rows;
+        }
+
+        public int getConflicts() {
+            return conflicts;
+        }
+
+        public List<PageResult> getFailures() {
+            List<PageResult> failures = new ArrayList<>();
+            for (PageResult page : pages) {
+                if (!page.isSuccess()) {
+                    failures.add(page);
+                }
+            }
+            return failures;
+        }
+    }
+
+    private final HttpTableScraper scraper;
+    private final int perHostLimit;
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    public ConcurrentTableFetcher() {
+        this(new HttpTableScraper(), DEFAULT_PER_HOST_LIMIT);
+    }
+
+    public ConcurrentTableFetcher(HttpTableScraper scraper, int perHostLimit) {
+        if (perHostLimit < 1) {
+            throw new IllegalArgumentException("Per-host limit must be at least 1 but was " + perHostLimit);
+        }
+        this.scraper = scraper;
+        this.perHostLimit = perHostLimit;
+    }
+
+    public MergedSnapshot fetchAll(Collection<URI> uris) throws InterruptedException {
+        List<PageResult> pages = new ArrayList<>(uris.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<PageResult>> futures = new ArrayList<>(uris.size());
+            for (URI uri : uris) {
+                futures.add(executor.submit(() -> fetch(uri)));
+            }
+            for (Future<PageResult> future : futures) {
+                try {
+                    pages.add(future.get());
+                } catch (ExecutionException e) {
+                    // fetch() reports its own failures; this is a bug, not a bad page
+                    throw new IllegalStateException("Page task failed", e.getCause());
+                }
+            }
+        }
+        return merge(pages);
+    }
+
+    public PageResult fetch(URI uri) throws InterruptedException {
+        Semaphore permits = hostPermits.computeIfAbsent(hostOf(uri), host -> new Semaphore(perHostLimit));
+        permits.acquire();
+        long start = System.nanoTime();
+        try {
+            ScrapedTable table = scraper.scrape(uri);
+            return new PageResult(uri, table, null, Duration.ofNanos(System.nanoTime() - start));
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            return new PageResult(uri, null, e, Duration.ofNanos(System.nanoTime() - start));
+        } finally {
+            permits.release();
+        }
+    }
+
+    static MergedSnapshot merge(List<PageResult> pages) {
+        Map<String, StockRow> rows = new LinkedHashMap<>();
+        int conflicts = 0;
+        for (PageResult page : pages) {
+            if (!page.isSuccess()) {
+                continue;
+            }
+            for (StockRow row : page.table().getRows()) {
+                StockRow existing = rows.putIfAbsent(row.tradingCode(), row);
+                if (existing != null && !existing.sameValues(row)) {
+                    conflicts++;
+                }
+            }
+        }
+        return new MergedSnapshot(pages, rows, conflicts);
+    }
+
+    private static String hostOf(URI uri) {
+        return uri.getHost() + ":" + uri.getPort();
+    }
+}
@@ -0,0 +1,114 @@
+package com.junit.assignment.scraping;
+
+import com.junit.assignment.metrics.Metrics;
+import com.junit.assignment.storage.SnapshotCompression;
+import com.junit.assignment.storage.SnapshotFileWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Report file written as the report is produced. Text passes through a fixed-size buffer
+ * into a {@link FileChannel}, so memory use does not grow with the table the way collecting
+ * the whole report in a {@code StringBuilder} first did. Every level is written.
+ *
+ * <p>{@link #open} writes the file in place, so it can be read while the report grows.
+ * {@link #atomic} writes through a {@link SnapshotFileWriter} instead: the previous report stays
+ * intact until {@link #close()} swaps in the complete new one, optionally compressed, and
+ * {@link #abort()} discards the new one.
+ */
+public final class FileReportSink implements ReportSink {
+
+    public static final int DEFAULT_BUFFER_CHARS = 64 * 1024;
+
+    private final Path file;
+    private final BufferedWriter writer;
+    // Exactly one of these is set
+    private final FileChannel channel;
+    private final SnapshotFileWriter snapshot;
+
+    private FileReportSink(Path file, FileChannel channel, int bufferChars) {
+        this.file = file;
+        this.channel = channel;
+        this.snapshot = null;
+        this.writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), -1), bufferChars);
+    }
+
+    private FileReportSink(SnapshotFileWriter snapshot, int bufferChars) {
+        this.file = snapshot.target();
+        this.channel = null;
+        this.snapshot = snapshot;
+        this.writer = new BufferedWriter(new OutputStreamWriter(snapshot.stream(), StandardCharsets.UTF_8), bufferChars);
+    }
+
+    // Creates or truncates the file
+    public static FileReportSink open(Path file) throws IOException {
+        return open(file, DEFAULT_BUFFER_CHARS);
+    }
+
+    public static FileReportSink open(Path file, int bufferChars) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        return new FileReportSink(file, channel, bufferChars);
+    }
+
+    // Replaces the file on close; the compression's extension is not added to the name
+    public static FileReportSink atomic(Path file, SnapshotCompression compression) throws IOException {
+        return new FileReportSink(SnapshotFileWriter.create(file, compression), DEFAULT_BUFFER_CHARS);
+    }
+
+    @Override
+    public void write(Verbosity level, CharSequence text) throws IOException {
+        writer.append(text);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        try (Metrics.Span span = Metrics.span(Metrics.Kind.FILE_WRITE, "report flush")) {
+            writer.flush();
+        }
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    // Bytes on disk so far, after flushing (compressed, and in the temp file, for atomic sinks)
+    public long size() throws IOException {
+        writer.flush();
+        return channel != null ? channel.size() : snapshot.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (snapshot != null) {
+            // The snapshot records its own FILE_WRITE span for the fsync and rename
+            try (SnapshotFileWriter pending = snapshot) {
+                writer.close();
+                pending.commit();
+            }
+            return;
+        }
+        try (Metrics.Span span = Metrics.span(Metrics.Kind.FILE_WRITE, "report close")) {
+            writer.flush();
+            span.bytes(channel.size());
+            writer.close();
+        }
+    }
+
+    // Atomic sinks delete the temp file and keep the previous report; in-place ones just close
+    @Override
+    public void abort() throws IOException {
+        if (snapshot == null) {
+            close();
+            return;
+        }
+        snapshot.close();
+    }
+}
@@ -0,0 +1,310 @@
+package com.junit.assignment.scraping;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Extracts the data table from raw HTML on top of {@link HtmlTokenizer}, using the same rules as
+ * the WebDriver flow: the first top-level table with more than one row wins, otherwise the first
+ * table. Header cells come from {@code thead} (or a leading {@code th}-only row), data rows are
+ * rows with {@code td} cells. Once the table is chosen its rows are streamed to the listener.
+ *
+ * <p>A {@link CellListener} receives each data cell as a {@link CharSequence} backed by a reused
+ * buffer, so typed decoders can read rows without creating a {@code String} per cell.
+ */
+public final class HtmlTableParser implements HtmlTokenizer.Handler {
+
+    public interface RowListener {
+        void onHeaders(List<String> headers);
+
+        void onRow(List<String> cells);
+    }
+
+    public interface CellListener {
+        void onHeaders(List<String> headers);
+
+        // Column counts td cells only; text is only valid during the call
+        void onCell(int column, CharSequence text);
+
+        void onRowEnd();
+    }
+
+    private final CellListener listener;
+    private HtmlTokenizer tokenizer;
+
+    private int tableDepth;
+    private boolean inThead;
+    private boolean locked;
+    private boolean done;
+    private int rowsInTable;
+    private int rowsDispatched;
+    private List<Row> buffered = new ArrayList<>();
+    private List<Row> fallback;
+
+    private Row currentRow;
+    private final StringBuilder currentCell = new StringBuilder();
+    private boolean inCell;
+    private boolean currentCellIsHeader;
+
+    private HtmlTableParser(CellListener listener) {
+        this.listener = listener;
+    }
+
+    public static ScrapedTable parse(String html) {
+        try {
+            return parse(new StringReader(html));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static ScrapedTable parse(Reader reader) throws IOException {
+        ScrapedTable.Builder builder = ScrapedTable.builder();
+        stream(reader, builder);
+        return builder.build();
+    }
+
+    public static void stream(Reader reader, RowListener listener) throws IOException {
+        stream(reader, new RowAdapter(listener));
+    }
+
+    public static void stream(Reader reader, CellListener listener) throws IOException {
+        HtmlTableParser parser = new HtmlTableParser(listener);
+        parser.tokenizer = new HtmlTokenizer(reader, parser);
+        parser.tokenizer.run();
+        parser.finish();
+    }
+
+    @Override
+    public void startTag(String name) {
+        if (done) {
+            return;
+        }
+        switch (name) {
+            case "table":
+                tableDepth++;
+                if (tableDepth == 1) {
+                    rowsInTable = 0;
+                    buffered = new ArrayList<>();
+                }
+                break;
+            case "thead":
+                if (tableDepth == 1) {
+                    inThead = true;
+                }
+                break;
+            case "tbody":
+            case "tfoot":
+                if (tableDepth == 1) {
+                    inThead = false;
+                }
+                break;
+            case "tr":
+                if (tableDepth == 1) {
+                    endRow();
+                    currentRow = new Row(inThead);
+                }
+                break;
+            case "td":
+            case "th":
+                if (tableDepth == 1 && currentRow != null) {
+                    endCell();
+                    currentCell.setLength(0);
+                    inCell = true;
+                    currentCellIsHeader = name.equals("th");
+                }
+                break;
+            case "br":
+                appendWhitespace();
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void endTag(String name) {
+        if (done) {
+            return;
+        }
+        switch (name) {
+            case "table":
+                if (tableDepth == 1) {
+                    endRow();
+                    endTable();
+                }
+                tableDepth = Math.max(0, tableDepth - 1);
+                break;
+            case "thead":
+                if (tableDepth == 1) {
+                    endRow();
+                    inThead = false;
+                }
+                break;
+            case "tr":
+                if (tableDepth == 1) {
+                    endRow();
+                }
+                break;
+            case "td":
+            case "th":
+                if (tableDepth == 1) {
+                    endCell();
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void text(char[] buffer, int start, int length) {
+        if (done || !inCell) {
+            return;
+        }
+        // Collapse whitespace runs the way getText() does
+        for (int i = start; i < start + length; i++) {
+            char c = buffer[i];
+            if (Character.isWhitespace(c)) {
+                appendWhitespace();
+            } else {
+                currentCell.append(c);
+            }
+        }
+    }
+
+    private void appendWhitespace() {
+        if (inCell && currentCell.length() > 0
+                && currentCell.charAt(currentCell.length() - 1) != ' ') {
+            currentCell.append(' ');
+        }
+    }
+
+    private void endCell() {
+        if (!inCell) {
+            return;
+        }
+        inCell = false;
+        int length = currentCell.length();
+        if (length > 0 && currentCell.charAt(length - 1) == ' ') {
+            currentCell.setLength(length - 1);
+        }
+        if (locked && !currentCellIsHeader) {
+            // Table already chosen: hand the buffer over without copying it
+            listener.onCell(currentRow.dataCount++, currentCell);
+        } else {
+            currentRow.add(currentCell.toString(), currentCellIsHeader);
+        }
+    }
+
+    private void endRow() {
+        endCell();
+        if (currentRow == null) {
+            return;
+        }
+        Row row = currentRow;
+        currentRow = null;
+        rowsInTable++;
+        if (locked) {
+            endStreamedRow(row);
+            return;
+        }
+        buffered.add(row);
+        if (rowsInTable > 1) {
+            // This is the first table with more than one row: flush what we held back and stream the rest
+            locked = true;
+            for (Row held : buffered) {
+                dispatch(held);
+            }
+            buffered = null;
+        }
+    }
+
+    private void endTable() {
+        if (locked) {
+            done = true;
+            tokenizer.stop();
+        } else if (fallback == null) {
+            fallback = buffered;
+        }
+        buffered = new ArrayList<>();
+    }
+
+    private void finish() {
+        endRow();
+        if (!locked && fallback == null && tableDepth > 0) {
+            // Document ended inside an unclosed table
+            fallback = buffered;
+        }
+        if (!locked && fallback != null) {
+            locked = true;
+            for (Row held : fallback) {
+                dispatch(held);
+            }
+        }
+    }
+
+    // A row held back before the table was chosen
+    private void dispatch(Row row) {
+        for (int i = 0; i < row.dataCells.size(); i++) {
+            listener.onCell(i, row.dataCells.get(i));
+        }
+        row.dataCount = row.dataCells.size();
+        endStreamedRow(row);
+    }
+
+    private void endStreamedRow(Row row) {
+        if (row.dataCount > 0) {
+            listener.onRowEnd();
+        } else if (!row.headerCells.isEmpty() && (row.inThead || rowsDispatched == 0)) {
+            listener.onHeaders(row.headerCells);
+        }
+        rowsDispatched++;
+    }
+
+    private static final class Row {
+        private final boolean inThead;
+        private final List<String> headerCells = new ArrayList<>();
+        private final List<String> dataCells = new ArrayList<>();
+        private int dataCount;
+
+        private Row(boolean inThead) {
+            this.inThead = inThead;
+        }
+
+        private void add(String text, boolean header) {
+            (header ? headerCells : dataCells).add(text);
+        }
+    }
+
+    // Collects each row's cells as strings for a RowListener
+    private static final class RowAdapter implements CellListener {
+        private final RowListener listener;
+        private List<String> cells = new ArrayList<>();
+
+        private RowAdapter(RowListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void onHeaders(List<String> headers) {
+            listener.onHeaders(headers);
+        }
+
+        @Override
+        public void onCell(int column, CharSequence text) {
+            cells.add(text.toString());
+        }
+
+        @Override
+        public void onRowEnd() {
+            List<String> row = cells;
+            cells = new ArrayList<>();
+            listener.onRow(row);
+        }
+    }
+}
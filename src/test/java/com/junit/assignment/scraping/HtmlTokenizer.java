@@ -0,0 +1,268 @@
+package com.junit.assignment.scraping;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Locale;
+
+/**
+ * Minimal streaming (SAX-style) HTML tokenizer. Reads characters from a {@link Reader}
+ * and reports start tags, end tags and decoded text without building a DOM.
+ */
+public final class HtmlTokenizer {
+
+    public interface Handler {
+        void startTag(String name);
+
+        void endTag(String name);
+
+        void text(char[] buffer, int start, int length);
+    }
+
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+    private final Handler handler;
+    private final char[] readBuffer = new char[READ_BUFFER_SIZE];
+    private int readPosition;
+    private int readLimit;
+    private int pushedBack = -1;
+
+    private char[] text = new char[256];
+    private int textLength;
+    private final StringBuilder name = new StringBuilder(16);
+    private boolean stopped;
+
+    public HtmlTokenizer(Reader reader, Handler handler) {
+        this.reader = reader;
+        this.handler = handler;
+    }
+
+    public static void tokenize(Reader reader, Handler handler) throws IOException {
+        new HtmlTokenizer(reader, handler).run();
+    }
+
+    // Lets a handler end tokenizing early, e.g. once the table it wants has been closed
+    public void stop() {
+        stopped = true;
+    }
+
+    public void run() throws IOException {
+        int c;
+        while (!stopped && (c = read()) != -1) {
+            if (c == '<') {
+                readMarkup();
+            } else if (c == '&') {
+                readEntity();
+            } else {
+                appendText((char) c);
+            }
+        }
+        flushText();
+    }
+
+    private void readMarkup() throws IOException {
+        int c = read();
+        if (c == '!') {
+            int next = read();
+            if (next == '-' && peekIs('-')) {
+                read();
+                skipComment();
+            } else {
+                skipUntil('>');
+            }
+        } else if (c == '?') {
+            skipUntil('>');
+        } else if (c == '/') {
+            String tag = readName(read());
+            skipTagRest();
+            if (!tag.isEmpty()) {
+                flushText();
+                handler.endTag(tag);
+            }
+        } else if (isLetter(c)) {
+            String tag = readName(c);
+            boolean selfClosing = skipTagRest();
+            flushText();
+            handler.startTag(tag);
+            if (!selfClosing && (tag.equals("script") || tag.equals("style"))) {
+                // Raw text elements: their content may legally contain '<' and '&'
+                skipRawText(tag);
+                handler.endTag(tag);
+            }
+        } else {
+            // A lone '<' in text, e.g. "1 < 2"
+            appendText('<');
+            unread(c);
+        }
+    }
+
+    private String readName(int first) throws IOException {
+        name.setLength(0);
+        int c = first;
+        while (c != -1 && (isLetter(c) || Character.isDigit(c) || c == '-' || c == ':')) {
+            name.append((char) c);
+            c = read();
+        }
+        unread(c);
+        return name.toString().toLowerCase(Locale.ROOT);
+    }
+
+    // Skips attributes up to the closing '>' and reports whether the tag was self-closing
+    private boolean skipTagRest() throws IOException {
+        int quote = 0;
+        int last = 0;
+        int c;
+        while ((c = read()) != -1) {
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '>') {
+                return last == '/';
+            } else if (!Character.isWhitespace(c)) {
+                last = c;
+            }
+        }
+        return false;
+    }
+
+    private void skipComment() throws IOException {
+        int dashes = 0;
+        int c;
+        while ((c = read()) != -1) {
+            if (c == '>' && dashes >= 2) {
+                return;
+            }
+            dashes = c == '-' ? dashes + 1 : 0;
+        }
+    }
+
+    private void skipUntil(char end) throws IOException {
+        int c;
+        while ((c = read()) != -1 && c != end) {
+            // skip
+        }
+    }
+
+    private void skipRawText(String tag) throws IOException {
+        // Looks for "</tag" case-insensitively, then skips to the closing '>'
+        int matched = 0;
+        int c;
+        while ((c = read()) != -1) {
+            if (matched == 0) {
+                matched = c == '<' ? 1 : 0;
+            } else if (matched == 1) {
+                matched = c == '/' ? 2 : (c == '<' ? 1 : 0);
+            } else if (Character.toLowerCase((char) c) == tag.charAt(matched - 2)) {
+                matched++;
+                if (matched - 2 == tag.length()) {
+                    skipUntil('>');
+                    return;
+                }
+            } else {
+                matched = c == '<' ? 1 : 0;
+            }
+        }
+    }
+
+    private void readEntity() throws IOException {
+        name.setLength(0);
+        int c = read();
+        while (c != -1 && name.length() < 10 && (Character.isLetterOrDigit(c) || c == '#')) {
+            name.append((char) c);
+            c = read();
+        }
+        int decoded = c == ';' ? decodeEntity(name) : -1;
+        if (decoded >= 0) {
+            appendText((char) decoded);
+            return;
+        }
+        appendText('&');
+        for (int i = 0; i < name.length(); i++) {
+            appendText(name.charAt(i));
+        }
+        unread(c);
+    }
+
+    private static int decodeEntity(CharSequence entity) {
+        String value = entity.toString();
+        switch (value) {
+            case "amp":
+                return '&';
+            case "lt":
+                return '<';
+            case "gt":
+                return '>';
+            case "quot":
+                return '"';
+            case "apos":
+                return '\'';
+            case "nbsp":
+                // getText() reports non-breaking spaces as plain spaces
+                return ' ';
+            default:
+                break;
+        }
+        if (value.length() > 1 && value.charAt(0) == '#') {
+            try {
+                boolean hex = value.charAt(1) == 'x' || value.charAt(1) == 'X';
+                int codePoint = hex ? Integer.parseInt(value.substring(2), 16) : Integer.parseInt(value.substring(1));
+                return codePoint <= Character.MAX_VALUE ? codePoint : -1;
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private void appendText(char c) {
+        if (textLength == text.length) {
+            char[] grown = new char[text.length * 2];
+            System.arraycopy(text, 0, grown, 0, textLength);
+            text = grown;
+        }
+        text[textLength++] = c;
+    }
+
+    private void flushText() {
+        if (textLength > 0) {
+            handler.text(text, 0, textLength);
+            textLength = 0;
+        }
+    }
+
+    private boolean peekIs(char expected) throws IOException {
+        int c = read();
+        unread(c);
+        return c == expected;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -1) {
+            int c = pushedBack;
+            pushedBack = -1;
+            return c;
+        }
+        if (readPosition == readLimit) {
+            readLimit = reader.read(readBuffer, 0, readBuffer.length);
+            readPosition = 0;
+            if (readLimit <= 0) {
+                readLimit = 0;
+                return -1;
+            }
+        }
+        return readBuffer[readPosition++];
+    }
+
+    private void unread(int c) {
+        if (c != -1) {
+            pushedBack = c;
+        }
+    }
+
+    private static boolean isLetter(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+}
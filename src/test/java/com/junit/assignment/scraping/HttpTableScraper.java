@@ -0,0 +1,166 @@
+package com.junit.assignment.scraping;
+
+import com.junit.assignment.http.CachingFetcher;
+import com.junit.assignment.http.ResponseCache;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Browser-free scrape mode: fetches the page with {@link HttpClient} and feeds the response body
+ * straight into {@link HtmlTableParser}, so rows are emitted while the page is still downloading.
+ *
+ * <p>With a {@link ResponseCache} the page is fetched conditionally and read in full instead.
+ * When the content hashes the same as the last page parsed for that URI, {@link #scrape} returns
+ * that table again without parsing.
+ */
+public class HttpTableScraper {
+
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(15);
+
+    // Some sites reject the default Java user agent
+    private static final String USER_AGENT = "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 "
+            + "(KHTML, like Gecko) Chrome/140.0 Safari/537.36";
+
+    private final HttpClient client;
+    private final Duration timeout;
+    private final CachingFetcher fetcher;
+    // Last table parsed per URI with the hash of the body it came from
+    private final Map<URI, Parsed> parsed = new ConcurrentHashMap<>();
+    private final AtomicLong parsesSkipped = new AtomicLong();
+
+    private record Parsed(String contentHash, ScrapedTable table) {
+    }
+
+    public HttpTableScraper() {
+        this(defaultClient(), DEFAULT_TIMEOUT);
+    }
+
+    public HttpTableScraper(ResponseCache cache) {
+        this(defaultClient(), DEFAULT_TIMEOUT, cache);
+    }
+
+    public HttpTableScraper(HttpClient client, Duration timeout) {
+        this(client, timeout, null);
+    }
+
+    // A null cache fetches every page in full, streaming it into the parser
+    public HttpTableScraper(HttpClient client, Duration timeout, ResponseCache cache) {
+        this.client = client;
+        this.timeout = timeout;
+        this.fetcher = cache == null ? null : new CachingFetcher(client, cache);
+    }
+
+    private static HttpClient defaultClient() {
+        return HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(DEFAULT_TIMEOUT)
+                .build();
+    }
+
+    public ScrapedTable scrape(URI uri) throws IOException, InterruptedException {
+        if (fetcher != null) {
+            CachingFetcher.Response response = fetchCached(uri);
+            Parsed last = parsed.get(uri);
+            if (last != null && last.contentHash().equals(response.contentHash())) {
+                parsesSkipped.incrementAndGet();
+                return last.table();
+            }
+            ScrapedTable.Builder builder = ScrapedTable.builder();
+            parse(response, builder);
+            ScrapedTable table = builder.build();
+            parsed.put(uri, new Parsed(response.contentHash(), table));
+            return table;
+        }
+        ScrapedTable.Builder builder = ScrapedTable.builder();
+        stream(uri, builder);
+        return builder.build();
+    }
+
+    public void stream(URI uri, HtmlTableParser.RowListener listener) throws IOException, InterruptedException {
+        if (fetcher != null) {
+            parse(fetchCached(uri), listener);
+            return;
+        }
+        HttpRequest request = request(uri);
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        // Closing the body early (parser stops after the table) releases the connection
+        try (InputStream body = response.body();
+             Reader reader = new InputStreamReader(body, charsetOf(response))) {
+            if (response.statusCode() / 100 != 2) {
+                throw new IOException("Unexpected HTTP status " + response.statusCode() + " for " + uri);
+            }
+            HtmlTableParser.stream(reader, listener);
+        }
+    }
+
+    // Null without a cache
+    public ResponseCache.Stats cacheStats() {
+        return fetcher == null ? null : fetcher.cache().stats();
+    }
+
+    // Scrapes answered with the previously parsed table because the page had not changed
+    public long parsesSkipped() {
+        return parsesSkipped.get();
+    }
+
+    private HttpRequest request(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("User-Agent", USER_AGENT)
+                .header("Accept", "text/html")
+                .GET()
+                .build();
+    }
+
+    private CachingFetcher.Response fetchCached(URI uri) throws IOException, InterruptedException {
+        CachingFetcher.Response response = fetcher.fetch(request(uri));
+        if (response.status() / 100 != 2) {
+            throw new IOException("Unexpected HTTP status " + response.status() + " for " + uri);
+        }
+        return response;
+    }
+
+    private static void parse(CachingFetcher.Response response, HtmlTableParser.RowListener listener) throws IOException {
+        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(response.body()), charsetOf(response.contentType()))) {
+            HtmlTableParser.stream(reader, listener);
+        }
+    }
+
+    static Charset charsetOf(HttpResponse<?> response) {
+        return charsetOf(response.headers().firstValue("Content-Type").orElse(""));
+    }
+
+    static Charset charsetOf(String contentType) {
+        if (contentType == null) {
+            return StandardCharsets.UTF_8;
+        }
+        int index = contentType.toLowerCase(Locale.ROOT).indexOf("charset=");
+        if (index >= 0) {
+            String name = contentType.substring(index + "charset=".length()).replace("\"", "").trim();
+            int end = name.indexOf(';');
+            try {
+                return Charset.forName(end >= 0 ? name.substring(0, end).trim() : name);
+            } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+                // fall through to the default
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+}
@@ -0,0 +1,106 @@
+package com.junit.assignment.scraping;
+
+/**
+ * Reusable counterpart of {@link StockRow} filled in place by {@link StockRowDecoder}. Instances
+ * belong to a {@link StockRowPool} and are overwritten by the next decode, so copy with
+ * {@link #toStockRow()} anything that has to outlive it.
+ */
+public final class MutableStockRow {
+
+    int index;
+    String tradingCode;
+    double ltp;
+    double high;
+    double low;
+    double closep;
+    double ycp;
+    double change;
+    long trade;
+    double value;
+    long volume;
+
+    MutableStockRow() {
+        reset();
+    }
+
+    void reset() {
+        index = (int) StockRow.MISSING;
+        tradingCode = "";
+        ltp = Double.NaN;
+        high = Double.NaN;
+        low = Double.NaN;
+        closep = Double.NaN;
+        ycp = Double.NaN;
+        change = Double.NaN;
+        trade = StockRow.MISSING;
+        value = Double.NaN;
+        volume = StockRow.MISSING;
+    }
+
+    public int index() {
+        return index;
+    }
+
+    public String tradingCode() {
+        return tradingCode;
+    }
+
+    public double ltp() {
+        return ltp;
+    }
+
+    public double high() {
+        return high;
+    }
+
+    public double low() {
+        return low;
+    }
+
+    public double closep() {
+        return closep;
+    }
+
+    public double ycp() {
+        return ycp;
+    }
+
+    public double change() {
+        return change;
+    }
+
+    public long trade() {
+        return trade;
+    }
+
+    public double value() {
+        return value;
+    }
+
+    public long volume() {
+        return volume;
+    }
+
+    public StockRow toStockRow() {
+        return StockRow.of(index, tradingCode, ltp, high, low, closep, ycp, change, trade, value, volume);
+    }
+
+    // Same comparison as StockRow#sameValues, without building a StockRow
+    public boolean sameValues(StockRow other) {
+        return tradingCode.equals(other.tradingCode())
+                && Double.compare(ltp, other.ltp()) == 0
+                && Double.compare(high, other.high()) == 0
+                && Double.compare(low, other.low()) == 0
+                && Double.compare(closep, other.closep()) == 0
+                && Double.compare(ycp, other.ycp()) == 0
+                && Double.compare(change, other.change()) == 0
+                && trade == other.trade()
+                && Double.compare(value, other.value()) == 0
+                && volume == other.volume();
+    }
+
+    @Override
+    public String toString() {
+        return "MutableStockRow[" + index + ", " + tradingCode + ", ltp=" + ltp + ", volume=" + volume + "]";
+    }
+}
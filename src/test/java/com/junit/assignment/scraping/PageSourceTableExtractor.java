@@ -0,0 +1,14 @@
+package com.junit.assignment.scraping;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Fetches the page source once and parses the table locally.
+ */
+public class PageSourceTableExtractor implements TableExtractor {
+
+    @Override
+    public ScrapedTable extract(WebDriver driver) {
+        return HtmlTableParser.parse(driver.getPageSource());
+    }
+}
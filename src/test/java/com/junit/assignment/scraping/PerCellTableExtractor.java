@@ -0,0 +1,54 @@
+package com.junit.assignment.scraping;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The original element-by-element loop: one remote call per row lookup and per cell
+ * {@code getText()}. Kept as the baseline for the extraction benchmark.
+ */
+public class PerCellTableExtractor implements TableExtractor {
+
+    @Override
+    public ScrapedTable extract(WebDriver driver) {
+        ScrapedTable.Builder builder = ScrapedTable.builder();
+        WebElement table = findTable(driver);
+        if (table == null) {
+            return builder.build();
+        }
+
+        List<WebElement> headers = table.findElements(By.cssSelector("thead tr th, tr:first-child th"));
+        List<String> headerTexts = new ArrayList<>();
+        for (WebElement header : headers) {
+            headerTexts.add(header.getText().trim());
+        }
+        builder.onHeaders(headerTexts);
+
+        for (WebElement row : table.findElements(By.tagName("tr"))) {
+            List<WebElement> cells = row.findElements(By.tagName("td"));
+            if (cells.isEmpty()) {
+                continue;
+            }
+            List<String> cellTexts = new ArrayList<>(cells.size());
+            for (WebElement cell : cells) {
+                cellTexts.add(cell.getText().trim());
+            }
+            builder.onRow(cellTexts);
+        }
+        return builder.build();
+    }
+
+    private static WebElement findTable(WebDriver driver) {
+        List<WebElement> tables = driver.findElements(By.tagName("table"));
+        for (WebElement table : tables) {
+            if (table.findElements(By.tagName("tr")).size() > 1) {
+                return table;
+            }
+        }
+        return tables.isEmpty() ? null : tables.get(0);
+    }
+}
@@ -0,0 +1,26 @@
+package com.junit.assignment.scraping;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Destination for the text {@link ScrapeReport} produces. Text is written as it is produced
+ * instead of collected first, so a sink decides how much of it is kept in memory.
+ */
+public interface ReportSink extends Closeable {
+
+    // Writes text verbatim; it carries its own line breaks
+    void write(Verbosity level, CharSequence text) throws IOException;
+
+    // Whether text at this level is written at all, so callers can skip formatting it
+    default boolean accepts(Verbosity level) {
+        return true;
+    }
+
+    void flush() throws IOException;
+
+    // Ends the sink without keeping what was written where it can; the default just closes
+    default void abort() throws IOException {
+        close();
+    }
+}
@@ -0,0 +1,160 @@
+package com.junit.assignment.scraping;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Text report written to {@code scraped-data/stock_prices.txt}: a timestamp header, the table
+ * headers and every cell of every row. Each piece goes to the file sink as it is produced and
+ * to the console sink at the console's {@link Verbosity}; either sink may be null.
+ */
+public class ScrapeReport implements Closeable {
+
+    private static final String RULE = "=".repeat(80);
+    private static final String NEWLINE = System.lineSeparator();
+
+    private final ReportSink console;
+    private final ReportSink file;
+    private long length;
+
+    public ScrapeReport(ReportSink console, ReportSink file) {
+        this.console = console;
+        this.file = file;
+    }
+
+    // Returns the header so callers can tell whether anything was added after it
+    public String header(String timestamp) throws IOException {
+        String header = RULE + "\n" +
+                "DSE Stock Price Data - Scraped on: " + timestamp + "\n" +
+                RULE + "\n\n";
+        record(header);
+        echo(Verbosity.SUMMARY, header);
+        return header;
+    }
+
+    // Writes headers, every row and the totals; returns the number of rows written
+    public int table(ScrapedTable table) throws IOException {
+        List<String> headers = table.getHeaders();
+        if (!headers.isEmpty()) {
+            echo(Verbosity.SUMMARY, "\n--- TABLE HEADERS ---");
+            record("--- TABLE HEADERS ---\n");
+
+            for (int i = 0; i < headers.size(); i++) {
+                String headerLine = String.format("Column %d: %s", i + 1, headers.get(i));
+                echo(Verbosity.SUMMARY, headerLine);
+                record(headerLine + "\n");
+            }
+            record("\n");
+        }
+
+        List<StockRow> rows = table.getRows();
+        echo(Verbosity.SUMMARY, "\n--- TABLE DATA ---");
+        echo(Verbosity.SUMMARY, "Total rows found: " + rows.size());
+        record("--- TABLE DATA ---\n");
+        record("Total rows: " + rows.size() + "\n\n");
+
+        boolean echoCells = accepts(Verbosity.CELLS);
+        boolean echoRows = !echoCells && accepts(Verbosity.ROWS);
+        int rowNumber = 0;
+        for (StockRow row : rows) {
+            rowNumber++;
+            // Concatenation rather than String.format: this runs once per row and cell
+            String rowHeader = "\nRow " + rowNumber + ":";
+            record(rowHeader + "\n");
+            if (echoCells) {
+                echo(Verbosity.CELLS, rowHeader);
+            } else if (echoRows) {
+                echo(Verbosity.ROWS, rowHeader + " " + String.join(" | ", row.cells()));
+            }
+
+            List<String> cells = row.cells();
+            for (int i = 0; i < cells.size(); i++) {
+                String cellLine = "  Cell " + (i + 1) + ": " + cells.get(i);
+                record(cellLine + "\n");
+                if (echoCells) {
+                    echo(Verbosity.CELLS, cellLine);
+                }
+            }
+        }
+
+        echo(Verbosity.SUMMARY, "\n" + RULE);
+        echo(Verbosity.SUMMARY, "Total data rows scraped: " + rowNumber);
+        record("\n" + RULE + "\n");
+        record("Total data rows scraped: " + rowNumber + "\n");
+        return rowNumber;
+    }
+
+    public void message(String message) throws IOException {
+        echo(Verbosity.SUMMARY, message);
+        record(message + "\n");
+    }
+
+    // Progress line for the console only; not part of the saved report
+    public void note(String message) throws IOException {
+        echo(Verbosity.SUMMARY, message);
+    }
+
+    // Errors go to stderr but are kept in the file
+    public void error(String message) throws IOException {
+        echo(Verbosity.ERRORS, message);
+        record("\n" + message + "\n");
+    }
+
+    // Characters written to the report file so far
+    public long length() {
+        return length;
+    }
+
+    public void flush() throws IOException {
+        if (file != null) {
+            file.flush();
+        }
+        if (console != null) {
+            console.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (file != null) {
+                file.close();
+            }
+        } finally {
+            if (console != null) {
+                console.close();
+            }
+        }
+    }
+
+    // Closes without keeping the file, e.g. so a failed scrape does not replace the last good report
+    public void abort() throws IOException {
+        try {
+            if (file != null) {
+                file.abort();
+            }
+        } finally {
+            if (console != null) {
+                console.close();
+            }
+        }
+    }
+
+    private boolean accepts(Verbosity level) {
+        return console != null && console.accepts(level);
+    }
+
+    private void record(String text) throws IOException {
+        length += text.length();
+        if (file != null) {
+            file.write(Verbosity.CELLS, text);
+        }
+    }
+
+    private void echo(Verbosity level, String line) throws IOException {
+        if (accepts(level)) {
+            console.write(level, line + NEWLINE);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.junit.assignment.scraping;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Header texts plus typed data rows of one scraped table.
+ */
+public final class ScrapedTable {
+
+    private final List<String> headers;
+    private final List<StockRow> rows;
+
+    public ScrapedTable(List<String> headers, List<StockRow> rows) {
+        this.headers = List.copyOf(headers);
+        this.rows = List.copyOf(rows);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public List<String> getHeaders() {
+        return headers;
+    }
+
+    public List<StockRow> getRows() {
+        return rows;
+    }
+
+    public boolean isEmpty() {
+        return headers.isEmpty() && rows.isEmpty();
+    }
+
+    // Collects streamed headers and rows, e.g. from HtmlTableParser
+    public static final class Builder implements HtmlTableParser.RowListener {
+        private final List<String> headers = new ArrayList<>();
+        private final List<StockRow> rows = new ArrayList<>();
+
+        @Override
+        public void onHeaders(List<String> headerCells) {
+            headers.addAll(headerCells);
+        }
+
+        @Override
+        public void onRow(List<String> cells) {
+            rows.add(StockRow.fromCells(cells));
+        }
+
+        public ScrapedTable build() {
+            return new ScrapedTable(headers, rows);
+        }
+    }
+}
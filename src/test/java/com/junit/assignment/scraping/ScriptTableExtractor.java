@@ -0,0 +1,75 @@
+package com.junit.assignment.scraping;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads headers and every cell of the table in a single {@code executeScript} round trip
+ * instead of one {@code findElements}/{@code getText()} call per cell.
+ */
+public class ScriptTableExtractor implements TableExtractor {
+
+    // Same selection rules as HtmlTableParser so both strategies return identical tables: only
+    // top-level tables are candidates and only their own rows count, in document order
+    static final String EXTRACT_SCRIPT =
+            "var ROWS = ':scope > thead > tr, :scope > tbody > tr, :scope > tfoot > tr, :scope > tr';\n" +
+            "var tables = document.getElementsByTagName('table');\n" +
+            "var table = null, tableRows = null;\n" +
+            "for (var i = 0; i < tables.length; i++) {\n" +
+            "  if (tables[i].parentNode.closest('table')) { continue; }\n" +
+            "  var candidate = tables[i].querySelectorAll(ROWS);\n" +
+            "  if (candidate.length > 1) { table = tables[i]; tableRows = candidate; break; }\n" +
+            "  if (!table) { table = tables[i]; tableRows = candidate; }\n" +
+            "}\n" +
+            "if (!table) { return null; }\n" +
+            "var text = function (el) {\n" +
+            "  return (el.innerText || el.textContent || '').replace(/\\s+/g, ' ').trim();\n" +
+            "};\n" +
+            "var headers = [], rows = [], seen = 0;\n" +
+            "for (var r = 0; r < tableRows.length; r++) {\n" +
+            "  var row = tableRows[r], th = [], td = [];\n" +
+            "  for (var c = 0; c < row.cells.length; c++) {\n" +
+            "    var cell = row.cells[c];\n" +
+            "    (cell.tagName === 'TH' ? th : td).push(text(cell));\n" +
+            "  }\n" +
+            "  if (td.length) { rows.push(td); }\n" +
+            "  else if (th.length && (row.parentNode.tagName === 'THEAD' || seen === 0)) { headers = headers.concat(th); }\n" +
+            "  seen++;\n" +
+            "}\n" +
+            "return {headers: headers, rows: rows};";
+
+    @Override
+    public ScrapedTable extract(WebDriver driver) {
+        Object result = ((JavascriptExecutor) driver).executeScript(EXTRACT_SCRIPT);
+        if (!(result instanceof Map)) {
+            return new ScrapedTable(Collections.emptyList(), Collections.emptyList());
+        }
+        Map<?, ?> table = (Map<?, ?>) result;
+        ScrapedTable.Builder builder = ScrapedTable.builder();
+        builder.onHeaders(toStrings(table.get("headers")));
+        Object rows = table.get("rows");
+        if (rows instanceof List) {
+            for (Object row : (List<?>) rows) {
+                builder.onRow(toStrings(row));
+            }
+        }
+        return builder.build();
+    }
+
+    private static List<String> toStrings(Object value) {
+        if (!(value instanceof List)) {
+            return Collections.emptyList();
+        }
+        List<?> items = (List<?>) value;
+        List<String> strings = new ArrayList<>(items.size());
+        for (Object item : items) {
+            strings.add(item == null ? "" : item.toString());
+        }
+        return strings;
+    }
+}
@@ -0,0 +1,83 @@
+package com.junit.assignment.scraping;
+
+import java.util.List;
+
+/**
+ * One data row of the DSE "Latest Share Price" table. Column order follows the page:
+ * #, TRADING CODE, LTP*, HIGH, LOW, CLOSEP*, YCP*, CHANGE, TRADE, VALUE (mn), VOLUME.
+ * Cells that are empty or "--" are reported as {@link Double#NaN} or {@link #MISSING}.
+ */
+public record StockRow(int index, String tradingCode, double ltp, double high, double low,
+                       double closep, double ycp, double change, long trade, double value,
+                       long volume, List<String> cells) {
+
+    public static final long MISSING = -1L;
+
+    public static final int COLUMN_COUNT = 11;
+
+    public StockRow {
+        cells = List.copyOf(cells);
+    }
+
+    public static StockRow fromCells(List<String> cells) {
+        return new StockRow(
+                (int) parseCount(cell(cells, 0)),
+                cell(cells, 1),
+                parseDecimal(cell(cells, 2)),
+                parseDecimal(cell(cells, 3)),
+                parseDecimal(cell(cells, 4)),
+                parseDecimal(cell(cells, 5)),
+                parseDecimal(cell(cells, 6)),
+                parseDecimal(cell(cells, 7)),
+                parseCount(cell(cells, 8)),
+                parseDecimal(cell(cells, 9)),
+                parseCount(cell(cells, 10)),
+                cells);
+    }
+
+    // Rebuilds a row from stored values; cells are re-rendered without thousands separators
+    public static StockRow of(int index, String tradingCode, double ltp, double high, double low, double closep,
+                              double ycp, double change, long trade, double value, long volume) {
+        List<String> cells = List.of(Integer.toString(index), tradingCode, format(ltp), format(high), format(low),
+                format(closep), format(ycp), format(change), format(trade), format(value), format(volume));
+        return new StockRow(index, tradingCode, ltp, high, low, closep, ycp, change, trade, value, volume, cells);
+    }
+
+    // True when every price/volume field matches; the rank (#) and the raw cell text are ignored
+    public boolean sameValues(StockRow other) {
+        return tradingCode.equals(other.tradingCode)
+                && Double.compare(ltp, other.ltp) == 0
+                && Double.compare(high, other.high) == 0
+                && Double.compare(low, other.low) == 0
+                && Double.compare(closep, other.closep) == 0
+                && Double.compare(ycp, other.ycp) == 0
+                && Double.compare(change, other.change) == 0
+                && trade == other.trade
+                && Double.compare(value, other.value) == 0
+                && volume == other.volume;
+    }
+
+    public static double parseDecimal(String text) {
+        return CellDecoder.parseDecimal(text);
+    }
+
+    public static long parseCount(String text) {
+        return CellDecoder.parseCount(text);
+    }
+
+    private static String format(double number) {
+        if (Double.isNaN(number)) {
+            return "--";
+        }
+        return number == Math.rint(number) && Math.abs(number) < 1e15
+                ? Long.toString((long) number) : Double.toString(number);
+    }
+
+    private static String format(long number) {
+        return number == MISSING ? "--" : Long.toString(number);
+    }
+
+    private static String cell(List<String> cells, int column) {
+        return column < cells.size() ? cells.get(column) : "";
+    }
+}
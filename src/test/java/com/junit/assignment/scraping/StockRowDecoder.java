@@ -0,0 +1,72 @@
+package com.junit.assignment.scraping;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+
+/**
+ * Decodes the share price table straight into pooled {@link MutableStockRow}s: each cell is
+ * parsed from the parser's character buffer with {@link CellDecoder} and trading codes come from
+ * a {@link CodeDictionary}, so steady-state polling creates no per-cell strings or row objects.
+ */
+public final class StockRowDecoder implements HtmlTableParser.CellListener {
+
+    private final StockRowPool pool;
+    private final CodeDictionary codes;
+    private List<String> headers = List.of();
+    private MutableStockRow row;
+
+    public StockRowDecoder(StockRowPool pool, CodeDictionary codes) {
+        this.pool = pool;
+        this.codes = codes;
+    }
+
+    // Clears the pool and fills it with the page's rows; returns the row count
+    public int decode(Reader reader) throws IOException {
+        pool.clear();
+        headers = List.of();
+        row = null;
+        HtmlTableParser.stream(reader, this);
+        return pool.size();
+    }
+
+    public List<String> headers() {
+        return headers;
+    }
+
+    public StockRowPool pool() {
+        return pool;
+    }
+
+    @Override
+    public void onHeaders(List<String> headerCells) {
+        headers = List.copyOf(headerCells);
+    }
+
+    @Override
+    public void onCell(int column, CharSequence text) {
+        if (row == null) {
+            row = pool.next();
+        }
+        int length = text.length();
+        switch (column) {
+            case 0: row.index = (int) CellDecoder.parseCount(text, 0, length); break;
+            case 1: row.tradingCode = codes.intern(text, 0, length); break;
+            case 2: row.ltp = CellDecoder.parseDecimal(text, 0, length); break;
+            case 3: row.high = CellDecoder.parseDecimal(text, 0, length); break;
+            case 4: row.low = CellDecoder.parseDecimal(text, 0, length); break;
+            case 5: row.closep = CellDecoder.parseDecimal(text, 0, length); break;
+            case 6: row.ycp = CellDecoder.parseDecimal(text, 0, length); break;
+            case 7: row.change = CellDecoder.parseDecimal(text, 0, length); break;
+            case 8: row.trade = CellDecoder.parseCount(text, 0, length); break;
+            case 9: row.value = CellDecoder.parseDecimal(text, 0, length); break;
+            case 10: row.volume = CellDecoder.parseCount(text, 0, length); break;
+            default: break;
+        }
+    }
+
+    @Override
+    public void onRowEnd() {
+        row = null;
+    }
+}
@@ -0,0 +1,53 @@
+package com.junit.assignment.scraping;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Flyweight pool of {@link MutableStockRow}s. {@link #clear()} hands every row back at once, so
+ * a poller that decodes into the same pool each cycle allocates rows only the first time.
+ */
+public final class StockRowPool {
+
+    private final List<MutableStockRow> rows = new ArrayList<>();
+    private int size;
+
+    public StockRowPool() {
+        this(512);
+    }
+
+    public StockRowPool(int initialCapacity) {
+        for (int i = 0; i < initialCapacity; i++) {
+            rows.add(new MutableStockRow());
+        }
+    }
+
+    // Next free row, reset to sentinels
+    MutableStockRow next() {
+        if (size == rows.size()) {
+            rows.add(new MutableStockRow());
+        }
+        MutableStockRow row = rows.get(size++);
+        row.reset();
+        return row;
+    }
+
+    public MutableStockRow get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Row " + index + " of " + size);
+        }
+        return rows.get(index);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return rows.size();
+    }
+
+    public void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,11 @@
+package com.junit.assignment.scraping;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Pulls the data table out of the page currently loaded in a driver.
+ */
+public interface TableExtractor {
+
+    ScrapedTable extract(WebDriver driver);
+}
@@ -0,0 +1,27 @@
+package com.junit.assignment.scraping;
+
+import java.util.Locale;
+
+/**
+ * How much of the report reaches the console, from errors only up to every cell. Each level
+ * includes the ones before it. Set with {@code -Dscrape.console=summary}.
+ */
+public enum Verbosity {
+    ERRORS,
+    SUMMARY,
+    // One line per row instead of one per cell
+    ROWS,
+    CELLS;
+
+    public boolean includes(Verbosity level) {
+        return level.ordinal() <= ordinal();
+    }
+
+    public static Verbosity parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown verbosity '" + value + "', expected one of errors, summary, rows, cells");
+        }
+    }
+}
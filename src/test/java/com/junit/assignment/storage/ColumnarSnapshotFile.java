@@ -0,0 +1,184 @@
+package com.junit.assignment.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Layout shared by {@link ColumnarSnapshotWriter} and {@link ColumnarSnapshotReader}.
+ *
+ * <pre>
+ * header   : int MAGIC, int VERSION
+ * snapshot : long epochMillis, int rows, int newCodes,
+ *            int[rows] code ids, int[rows] ranks,
+ *            double[rows] for each double column, long[rows] for each long column,
+ *            UTF code... (the newCodes codes this snapshot added to the dictionary),
+ *            int CRC32C of the snapshot so far, padding to 8 bytes
+ * ...
+ * footer   : int codes, UTF code..., int snapshots, long offset...,
+ *            long footerOffset, int CRC32C of the footer, int MAGIC
+ * </pre>
+ *
+ * Every column is a contiguous primitive array, so one column of one snapshot is read without
+ * touching the others. Trading codes are stored once in the footer dictionary.
+ *
+ * <p>An append writes the new snapshot over the old footer, so a crash in between leaves no
+ * valid footer. Each snapshot therefore also carries the codes it introduced and a checksum,
+ * and a file without a valid footer is recovered by scanning its snapshots up to the first one
+ * that is incomplete: only that last snapshot is lost.
+ */
+public final class ColumnarSnapshotFile {
+
+    public static final int MAGIC = 0x44534543; // "DSEC"
+    public static final int VERSION = 2;
+
+    static final int HEADER_SIZE = 8;
+    static final int SNAPSHOT_HEADER_SIZE = 16;
+    static final int TRAILER_SIZE = 16;
+
+    public enum Column {
+        LTP, HIGH, LOW, CLOSEP, YCP, CHANGE, VALUE, TRADE, VOLUME;
+
+        static final int DOUBLE_COLUMNS = 7;
+
+        public boolean isDouble() {
+            return ordinal() < DOUBLE_COLUMNS;
+        }
+    }
+
+    private ColumnarSnapshotFile() {
+    }
+
+    // Bytes taken by the columns of one snapshot of the given row count, header included
+    static long snapshotSize(int rows) {
+        long intColumns = 2L * Integer.BYTES * rows;
+        long padded = (intColumns + 7) & ~7L;
+        return SNAPSHOT_HEADER_SIZE + padded + (long) Column.values().length * Long.BYTES * rows;
+    }
+
+    // The whole snapshot: columns, new codes and checksum; keeps every snapshot 8-byte aligned
+    static long blockSize(int rows, int dictionaryBytes) {
+        return (snapshotSize(rows) + dictionaryBytes + Integer.BYTES + 7) & ~7L;
+    }
+
+    static int checksum(ByteBuffer bytes) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+
+    // Offset of a column inside a snapshot, relative to the snapshot start
+    static long columnOffset(Column column, int rows) {
+        long intColumns = (2L * Integer.BYTES * rows + 7) & ~7L;
+        return SNAPSHOT_HEADER_SIZE + intColumns + (long) column.ordinal() * Long.BYTES * rows;
+    }
+
+    static final class Footer {
+        final List<String> codes;
+        final long[] offsets;
+        final long position;
+
+        Footer(List<String> codes, long[] offsets, long position) {
+            this.codes = codes;
+            this.offsets = offsets;
+            this.position = position;
+        }
+    }
+
+    // Decodes the footer, or rebuilds it from the snapshots when the file has no valid one
+    static Footer readFooter(FileChannel channel, String name) throws IOException {
+        long size = channel.size();
+        if (size < HEADER_SIZE) {
+            throw new IOException(name + " is too short to be a columnar snapshot file");
+        }
+        ByteBuffer header = read(channel, 0, HEADER_SIZE);
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            throw new IOException(name + " is not a version " + VERSION + " columnar snapshot file");
+        }
+        Footer footer = size >= HEADER_SIZE + TRAILER_SIZE ? readTrailer(channel, size) : null;
+        return footer != null ? footer : scan(channel, name, size);
+    }
+
+    private static Footer readTrailer(FileChannel channel, long size) throws IOException {
+        ByteBuffer trailer = read(channel, size - TRAILER_SIZE, TRAILER_SIZE);
+        long position = trailer.getLong();
+        int checksum = trailer.getInt();
+        if (trailer.getInt() != MAGIC || position < HEADER_SIZE || position > size - TRAILER_SIZE) {
+            return null;
+        }
+        ByteBuffer footer = read(channel, position, (int) (size - TRAILER_SIZE - position));
+        if (checksum(footer.duplicate()) != checksum) {
+            return null;
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(footer.array()));
+        int codeCount = in.readInt();
+        List<String> codes = new ArrayList<>(codeCount);
+        for (int i = 0; i < codeCount; i++) {
+            codes.add(in.readUTF());
+        }
+        long[] offsets = new long[in.readInt()];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = in.readLong();
+        }
+        return new Footer(codes, offsets, position);
+    }
+
+    // Walks the snapshots from the start and stops at the first one that is cut off or corrupt
+    private static Footer scan(FileChannel channel, String name, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException(name + " is larger than a single mapping allows");
+        }
+        ByteBuffer file = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        List<String> codes = new ArrayList<>();
+        long[] offsets = new long[16];
+        int snapshots = 0;
+        long position = HEADER_SIZE;
+        while (position + SNAPSHOT_HEADER_SIZE <= size) {
+            int rows = file.getInt((int) position + Long.BYTES);
+            int added = file.getInt((int) position + Long.BYTES + Integer.BYTES);
+            if (rows < 0 || added < 0 || added > rows || position + snapshotSize(rows) > size) {
+                break;
+            }
+            long dictionary = position + snapshotSize(rows);
+            long end = dictionary;
+            int lengths = 0;
+            while (lengths < added && end + Short.BYTES <= size) {
+                end += Short.BYTES + Short.toUnsignedInt(file.getShort((int) end));
+                lengths++;
+            }
+            if (lengths < added || end + Integer.BYTES > size
+                    || checksum(file.slice((int) position, (int) (end - position))) != file.getInt((int) end)) {
+                break;
+            }
+            byte[] bytes = new byte[(int) (end - dictionary)];
+            file.get((int) dictionary, bytes);
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            for (int i = 0; i < added; i++) {
+                codes.add(in.readUTF());
+            }
+            if (snapshots == offsets.length) {
+                offsets = Arrays.copyOf(offsets, snapshots * 2);
+            }
+            offsets[snapshots++] = position;
+            position = (end + Integer.BYTES + 7) & ~7L;
+        }
+        return new Footer(codes, Arrays.copyOf(offsets, snapshots), Math.min(position, size));
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of file at " + (position + buffer.position()));
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,167 @@
+package com.junit.assignment.storage;
+
+import com.junit.assignment.scraping.StockRow;
+import com.junit.assignment.storage.ColumnarSnapshotFile.Column;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads a columnar snapshot file through a read-only memory mapping. Values are read in place
+ * by offset: looking up one symbol touches its code id and the requested column of each
+ * snapshot, nothing else is decoded.
+ */
+public class ColumnarSnapshotReader implements Closeable {
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final List<String> codes;
+    private final Map<String, Integer> codeIds = new HashMap<>();
+    private final long[] offsets;
+
+    private ColumnarSnapshotReader(FileChannel channel, MappedByteBuffer buffer, ColumnarSnapshotFile.Footer footer) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.codes = List.copyOf(footer.codes);
+        this.offsets = footer.offsets;
+        for (int i = 0; i < codes.size(); i++) {
+            codeIds.put(codes.get(i), i);
+        }
+    }
+
+    public static ColumnarSnapshotReader open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ColumnarSnapshotFile.Footer footer = ColumnarSnapshotFile.readFooter(channel, path.toString());
+            if (footer.position > Integer.MAX_VALUE) {
+                throw new IOException(path + " is larger than a single mapping allows");
+            }
+            // Only the snapshot area is mapped; the footer has already been decoded
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, footer.position);
+            return new ColumnarSnapshotReader(channel, buffer, footer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int snapshotCount() {
+        return offsets.length;
+    }
+
+    public List<String> codes() {
+        return codes;
+    }
+
+    public Instant timestamp(int snapshot) {
+        return Instant.ofEpochMilli(buffer.getLong(offset(snapshot)));
+    }
+
+    public int rowCount(int snapshot) {
+        return buffer.getInt(offset(snapshot) + Long.BYTES);
+    }
+
+    public String code(int snapshot, int row) {
+        return codes.get(buffer.getInt(intColumn(snapshot, 0) + row * Integer.BYTES));
+    }
+
+    public int rank(int snapshot, int row) {
+        return buffer.getInt(intColumn(snapshot, 1) + row * Integer.BYTES);
+    }
+
+    public double getDouble(int snapshot, Column column, int row) {
+        if (!column.isDouble()) {
+            throw new IllegalArgumentException(column + " is a long column");
+        }
+        return buffer.getDouble(column(snapshot, column) + row * Double.BYTES);
+    }
+
+    public long getLong(int snapshot, Column column, int row) {
+        if (column.isDouble()) {
+            throw new IllegalArgumentException(column + " is a double column");
+        }
+        return buffer.getLong(column(snapshot, column) + row * Long.BYTES);
+    }
+
+    // Row of the code in the snapshot, or -1 if it was not listed
+    public int find(int snapshot, String code) {
+        Integer id = codeIds.get(code);
+        if (id == null) {
+            return -1;
+        }
+        int base = intColumn(snapshot, 0);
+        int rows = rowCount(snapshot);
+        for (int row = 0; row < rows; row++) {
+            if (buffer.getInt(base + row * Integer.BYTES) == id) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    // One value per snapshot for the code; NaN where the code was not listed or the cell was "--"
+    public double[] series(String code, Column column) {
+        double[] values = new double[offsets.length];
+        Arrays.fill(values, Double.NaN);
+        for (int snapshot = 0; snapshot < offsets.length; snapshot++) {
+            int row = find(snapshot, code);
+            if (row < 0) {
+                continue;
+            }
+            if (column.isDouble()) {
+                values[snapshot] = getDouble(snapshot, column, row);
+            } else {
+                long value = getLong(snapshot, column, row);
+                if (value != StockRow.MISSING) {
+                    values[snapshot] = value;
+                }
+            }
+        }
+        return values;
+    }
+
+    public StockRow row(int snapshot, int row) {
+        return StockRow.of(rank(snapshot, row), code(snapshot, row),
+                getDouble(snapshot, Column.LTP, row), getDouble(snapshot, Column.HIGH, row),
+                getDouble(snapshot, Column.LOW, row), getDouble(snapshot, Column.CLOSEP, row),
+                getDouble(snapshot, Column.YCP, row), getDouble(snapshot, Column.CHANGE, row),
+                getLong(snapshot, Column.TRADE, row), getDouble(snapshot, Column.VALUE, row),
+                getLong(snapshot, Column.VOLUME, row));
+    }
+
+    public List<StockRow> rows(int snapshot) {
+        int rows = rowCount(snapshot);
+        List<StockRow> result = new ArrayList<>(rows);
+        for (int row = 0; row < rows; row++) {
+            result.add(row(snapshot, row));
+        }
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int offset(int snapshot) {
+        return (int) offsets[snapshot];
+    }
+
+    private int intColumn(int snapshot, int index) {
+        return offset(snapshot) + ColumnarSnapshotFile.SNAPSHOT_HEADER_SIZE + index * rowCount(snapshot) * Integer.BYTES;
+    }
+
+    private int column(int snapshot, Column column) {
+        return offset(snapshot) + (int) ColumnarSnapshotFile.columnOffset(column, rowCount(snapshot));
+    }
+}
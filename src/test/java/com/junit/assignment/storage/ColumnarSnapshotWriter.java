@@ -0,0 +1,187 @@
+package com.junit.assignment.storage;
+
+import com.junit.assignment.metrics.Metrics;
+import com.junit.assignment.scraping.StockRow;
+import com.junit.assignment.storage.ColumnarSnapshotFile.Column;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends scraped tables to a columnar snapshot file (see {@link ColumnarSnapshotFile}).
+ *
+ * <p>The footer is rewritten after every snapshot, so the file is readable between appends and
+ * a later run can reopen it and keep appending to the same day file. If a run died during an
+ * append, reopening recovers the snapshots before it and overwrites the incomplete one.
+ */
+public class ColumnarSnapshotWriter implements Closeable {
+
+    private final Path path;
+    private final FileChannel channel;
+    private final List<String> codes;
+    private final Map<String, Integer> codeIds = new HashMap<>();
+    private long[] offsets;
+    private int snapshots;
+    private long end;
+
+    private ColumnarSnapshotWriter(Path path, FileChannel channel, List<String> codes, long[] offsets, long end) {
+        this.path = path;
+        this.channel = channel;
+        this.codes = codes;
+        this.offsets = Arrays.copyOf(offsets, Math.max(16, offsets.length * 2));
+        this.snapshots = offsets.length;
+        this.end = end;
+        for (int i = 0; i < codes.size(); i++) {
+            codeIds.put(codes.get(i), i);
+        }
+    }
+
+    // Creates the file, or reopens an existing one to append after its last snapshot
+    public static ColumnarSnapshotWriter open(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(ColumnarSnapshotFile.HEADER_SIZE);
+                header.putInt(ColumnarSnapshotFile.MAGIC).putInt(ColumnarSnapshotFile.VERSION).flip();
+                write(channel, header, 0);
+                ColumnarSnapshotWriter writer = new ColumnarSnapshotWriter(path, channel, new ArrayList<>(),
+                        new long[0], ColumnarSnapshotFile.HEADER_SIZE);
+                writer.writeFooter();
+                return writer;
+            }
+            ColumnarSnapshotFile.Footer footer = ColumnarSnapshotFile.readFooter(channel, path.toString());
+            return new ColumnarSnapshotWriter(path, channel, new ArrayList<>(footer.codes), footer.offsets,
+                    footer.position);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public synchronized void append(Instant timestamp, List<StockRow> rows) throws IOException {
+        int count = rows.size();
+        int known = codes.size();
+        for (StockRow row : rows) {
+            codeId(row.tradingCode());
+        }
+        // Codes first seen here travel with the snapshot, so it can be recovered without the footer
+        ByteArrayOutputStream dictionary = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(dictionary);
+        for (int i = known; i < codes.size(); i++) {
+            out.writeUTF(codes.get(i));
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) ColumnarSnapshotFile.blockSize(count, dictionary.size()));
+        buffer.putLong(timestamp.toEpochMilli()).putInt(count).putInt(codes.size() - known);
+        for (StockRow row : rows) {
+            buffer.putInt(codeId(row.tradingCode()));
+        }
+        for (StockRow row : rows) {
+            buffer.putInt(row.index());
+        }
+        buffer.position((int) ColumnarSnapshotFile.columnOffset(Column.LTP, count));
+        for (Column column : Column.values()) {
+            for (StockRow row : rows) {
+                if (column.isDouble()) {
+                    buffer.putDouble(doubleValue(row, column));
+                } else {
+                    buffer.putLong(column == Column.TRADE ? row.trade() : row.volume());
+                }
+            }
+        }
+        buffer.put(dictionary.toByteArray());
+        buffer.putInt(ColumnarSnapshotFile.checksum(ByteBuffer.wrap(buffer.array(), 0, buffer.position())));
+        buffer.rewind();
+
+        long offset = end;
+        try (Metrics.Span span = Metrics.span(Metrics.Kind.FILE_WRITE, "columnar snapshot").bytes(buffer.limit())) {
+            write(channel, buffer, offset);
+        }
+        if (snapshots == offsets.length) {
+            offsets = Arrays.copyOf(offsets, snapshots * 2);
+        }
+        offsets[snapshots++] = offset;
+        end = offset + buffer.limit();
+        writeFooter();
+    }
+
+    public synchronized int snapshotCount() {
+        return snapshots;
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    static double doubleValue(StockRow row, Column column) {
+        switch (column) {
+            case LTP: return row.ltp();
+            case HIGH: return row.high();
+            case LOW: return row.low();
+            case CLOSEP: return row.closep();
+            case YCP: return row.ycp();
+            case CHANGE: return row.change();
+            case VALUE: return row.value();
+            default: throw new IllegalArgumentException(column + " is not a double column");
+        }
+    }
+
+    private int codeId(String code) {
+        Integer id = codeIds.get(code);
+        if (id == null) {
+            id = codes.size();
+            codes.add(code);
+            codeIds.put(code, id);
+        }
+        return id;
+    }
+
+    private void writeFooter() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(codes.size() * 12 + snapshots * 8 + 32);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(codes.size());
+        for (String code : codes) {
+            out.writeUTF(code);
+        }
+        out.writeInt(snapshots);
+        for (int i = 0; i < snapshots; i++) {
+            out.writeLong(offsets[i]);
+        }
+        out.flush();
+        int checksum = ColumnarSnapshotFile.checksum(ByteBuffer.wrap(bytes.toByteArray()));
+        out.writeLong(end);
+        out.writeInt(checksum);
+        out.writeInt(ColumnarSnapshotFile.MAGIC);
+        out.flush();
+        write(channel, ByteBuffer.wrap(bytes.toByteArray()), end);
+        channel.truncate(end + bytes.size());
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package com.junit.assignment.storage;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * LZ4 block compression (the LZ4 block format: token, literals, 2-byte offset, match length)
+ * with a greedy single-probe hash table, plus a minimal framing of our own around it. It is not
+ * the {@code lz4} command-line frame format.
+ *
+ * <p>A stream is {@code "LZ4B"}, then blocks of up to {@value #BLOCK_SIZE} raw bytes, each
+ * {@code [raw length][stored length][CRC32C of the raw bytes][data]} (big-endian ints; a negative
+ * stored length means the block did not shrink and is stored as is), then a zero raw length.
+ * Blocks are independent, so a reader needs two block buffers whatever the file size, and
+ * streams can be concatenated: the reader continues at the next {@code "LZ4B"}.
+ */
+final class Lz4Block {
+
+    static final int BLOCK_SIZE = 64 * 1024;
+
+    private static final int MAGIC = 0x4C5A3442; // "LZ4B"
+    private static final int MIN_MATCH = 4;
+    // Format rules: the last 5 bytes are literals and no match starts in the last 12
+    private static final int LAST_LITERALS = 5;
+    private static final int MATCH_FIND_LIMIT = 12;
+    private static final int HASH_BITS = 12;
+    private static final int MAX_OFFSET = 65535;
+
+    private Lz4Block() {
+    }
+
+    static int maxCompressedLength(int length) {
+        return length + length / 255 + 16;
+    }
+
+    // Compresses src[0, length) into dst from dstOffset on, returns the end of the output
+    static int compress(byte[] src, int length, byte[] dst, int dstOffset, int[] table) {
+        Arrays.fill(table, -1);
+        int anchor = 0;
+        int out = dstOffset;
+        int position = 0;
+        int matchLimit = length - MATCH_FIND_LIMIT;
+        int matchEndLimit = length - LAST_LITERALS;
+        while (position < matchLimit) {
+            int sequence = readInt(src, position);
+            int hash = (sequence * -1640531535) >>> (32 - HASH_BITS);
+            int candidate = table[hash];
+            table[hash] = position;
+            if (candidate < 0 || position - candidate > MAX_OFFSET || readInt(src, candidate) != sequence) {
+                position++;
+                continue;
+            }
+            while (position > anchor && candidate > 0 && src[position - 1] == src[candidate - 1]) {
+                position--;
+                candidate--;
+            }
+            int matchLength = MIN_MATCH;
+            while (position + matchLength < matchEndLimit && src[position + matchLength] == src[candidate + matchLength]) {
+                matchLength++;
+            }
+            out = writeSequence(src, anchor, position - anchor, position - candidate, matchLength, dst, out);
+            position += matchLength;
+            anchor = position;
+        }
+        return writeSequence(src, anchor, length - anchor, 0, 0, dst, out);
+    }
+
+    // Decompresses src[offset, offset + length) into dst, which must receive exactly rawLength bytes
+    static void decompress(byte[] src, int offset, int length, byte[] dst, int rawLength) throws IOException {
+        int in = offset;
+        int end = offset + length;
+        int out = 0;
+        try {
+            while (true) {
+                int token = src[in++] & 0xFF;
+                int literals = token >>> 4;
+                if (literals == 15) {
+                    int next;
+                    do {
+                        next = src[in++] & 0xFF;
+                        literals += next;
+                    } while (next == 255);
+                }
+                System.arraycopy(src, in, dst, out, literals);
+                in += literals;
+                out += literals;
+                if (in >= end) {
+                    break;
+                }
+                int distance = (src[in] & 0xFF) | (src[in + 1] & 0xFF) << 8;
+                in += 2;
+                if (distance == 0 || distance > out) {
+                    throw new IOException("Corrupt LZ4 block: offset " + distance + " at output position " + out);
+                }
+                int matchLength = token & 0x0F;
+                if (matchLength == 15) {
+                    int next;
+                    do {
+                        next = src[in++] & 0xFF;
+                        matchLength += next;
+                    } while (next == 255);
+                }
+                matchLength += MIN_MATCH;
+                int from = out - distance;
+                if (distance >= matchLength) {
+                    System.arraycopy(dst, from, dst, out, matchLength);
+                } else {
+                    // Overlapping copy repeats the last bytes, e.g. a run of spaces
+                    for (int i = 0; i < matchLength; i++) {
+                        dst[out + i] = dst[from + i];
+                    }
+                }
+                out += matchLength;
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Corrupt LZ4 block: runs past its bounds", e);
+        }
+        if (out != rawLength) {
+            throw new IOException("Corrupt LZ4 block: " + out + " bytes instead of " + rawLength);
+        }
+    }
+
+    private static int writeSequence(byte[] src, int anchor, int literals, int distance, int matchLength, byte[] dst, int out) {
+        int token = out++;
+        int value = Math.min(literals, 15) << 4;
+        if (literals >= 15) {
+            out = writeLength(literals - 15, dst, out);
+        }
+        System.arraycopy(src, anchor, dst, out, literals);
+        out += literals;
+        if (matchLength > 0) {
+            dst[out++] = (byte) distance;
+            dst[out++] = (byte) (distance >>> 8);
+            int extra = matchLength - MIN_MATCH;
+            value |= Math.min(extra, 15);
+            if (extra >= 15) {
+                out = writeLength(extra - 15, dst, out);
+            }
+        }
+        dst[token] = (byte) value;
+        return out;
+    }
+
+    private static int writeLength(int length, byte[] dst, int out) {
+        while (length >= 255) {
+            dst[out++] = (byte) 255;
+            length -= 255;
+        }
+        dst[out++] = (byte) length;
+        return out;
+    }
+
+    private static int readInt(byte[] bytes, int position) {
+        return (bytes[position] & 0xFF) | (bytes[position + 1] & 0xFF) << 8
+                | (bytes[position + 2] & 0xFF) << 16 | (bytes[position + 3] & 0xFF) << 24;
+    }
+
+    private static void putInt(byte[] bytes, int position, int value) {
+        bytes[position] = (byte) (value >>> 24);
+        bytes[position + 1] = (byte) (value >>> 16);
+        bytes[position + 2] = (byte) (value >>> 8);
+        bytes[position + 3] = (byte) value;
+    }
+
+    private static int getInt(byte[] bytes, int position) {
+        return (bytes[position] & 0xFF) << 24 | (bytes[position + 1] & 0xFF) << 16
+                | (bytes[position + 2] & 0xFF) << 8 | (bytes[position + 3] & 0xFF);
+    }
+
+    static final class Output extends OutputStream {
+        private final OutputStream out;
+        private final byte[] block = new byte[BLOCK_SIZE];
+        private final byte[] compressed = new byte[12 + maxCompressedLength(BLOCK_SIZE)];
+        private final int[] table = new int[1 << HASH_BITS];
+        private final CRC32C crc = new CRC32C();
+        private int buffered;
+        private boolean finished;
+
+        Output(OutputStream out) throws IOException {
+            this.out = out;
+            byte[] magic = new byte[4];
+            putInt(magic, 0, MAGIC);
+            out.write(magic);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (buffered == BLOCK_SIZE) {
+                writeBlock();
+            }
+            block[buffered++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (buffered == BLOCK_SIZE) {
+                    writeBlock();
+                }
+                int n = Math.min(length, BLOCK_SIZE - buffered);
+                System.arraycopy(bytes, offset, block, buffered, n);
+                buffered += n;
+                offset += n;
+                length -= n;
+            }
+        }
+
+        // Ends the current block early, so everything written so far can be read back
+        @Override
+        public void flush() throws IOException {
+            if (buffered > 0) {
+                writeBlock();
+            }
+            out.flush();
+        }
+
+        // Writes the last block and the end marker without closing the underlying stream
+        void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            if (buffered > 0) {
+                writeBlock();
+            }
+            byte[] end = new byte[4];
+            out.write(end);
+            finished = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+            out.close();
+        }
+
+        private void writeBlock() throws IOException {
+            crc.reset();
+            crc.update(block, 0, buffered);
+            int length = compress(block, buffered, compressed, 12, table) - 12;
+            putInt(compressed, 0, buffered);
+            putInt(compressed, 8, (int) crc.getValue());
+            if (length < buffered) {
+                putInt(compressed, 4, length);
+                out.write(compressed, 0, 12 + length);
+            } else {
+                putInt(compressed, 4, -buffered);
+                out.write(compressed, 0, 12);
+                out.write(block, 0, buffered);
+            }
+            buffered = 0;
+        }
+    }
+
+    static final class Input extends InputStream {
+        private final InputStream in;
+        private final byte[] header = new byte[12];
+        private final byte[] stored = new byte[maxCompressedLength(BLOCK_SIZE)];
+        private final byte[] block = new byte[BLOCK_SIZE];
+        private final CRC32C crc = new CRC32C();
+        private int position;
+        private int limit;
+        private boolean eof;
+
+        Input(InputStream in) throws IOException {
+            this.in = in;
+            if (!readMagic(true)) {
+                throw new EOFException("Empty LZ4 block stream");
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (position == limit && !nextBlock()) {
+                return -1;
+            }
+            return block[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (position == limit && !nextBlock()) {
+                return -1;
+            }
+            int n = Math.min(length, limit - position);
+            System.arraycopy(block, position, bytes, offset, n);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return limit - position;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        private boolean nextBlock() throws IOException {
+            while (!eof) {
+                readFully(header, 0, 4);
+                int rawLength = getInt(header, 0);
+                if (rawLength == 0) {
+                    // End of this stream; another may follow when day files were appended to
+                    eof = !readMagic(false);
+                    continue;
+                }
+                readFully(header, 4, 8);
+                int storedLength = getInt(header, 4);
+                if (rawLength < 0 || rawLength > BLOCK_SIZE || Math.abs(storedLength) > stored.length) {
+                    throw new IOException("Corrupt LZ4 block header: " + rawLength + " / " + storedLength);
+                }
+                if (storedLength < 0) {
+                    readFully(block, 0, rawLength);
+                } else {
+                    readFully(stored, 0, storedLength);
+                    decompress(stored, 0, storedLength, block, rawLength);
+                }
+                crc.reset();
+                crc.update(block, 0, rawLength);
+                if ((int) crc.getValue() != getInt(header, 8)) {
+                    throw new IOException("Corrupt LZ4 block: checksum mismatch");
+                }
+                position = 0;
+                limit = rawLength;
+                return true;
+            }
+            return false;
+        }
+
+        // False at a clean end of input
+        private boolean readMagic(boolean first) throws IOException {
+            int n = in.readNBytes(header, 0, 4);
+            if (n == 0 && !first) {
+                return false;
+            }
+            if (n < 4 || getInt(header, 0) != MAGIC) {
+                throw new IOException("Not an LZ4 block stream");
+            }
+            return true;
+        }
+
+        private void readFully(byte[] bytes, int offset, int length) throws IOException {
+            if (in.readNBytes(bytes, offset, length) < length) {
+                throw new EOFException("Truncated LZ4 block stream");
+            }
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.junit.assignment.storage;
+
+import com.junit.assignment.metrics.Metrics;
+import com.junit.assignment.scraping.StockRow;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only price history keyed by trading code.
+ *
+ * <p>Each snapshot is one block in {@code prices.log} holding only the rows whose values
+ * changed since the previous snapshot (plus removals). Every {@code keyframeInterval}-th block
+ * is a full keyframe, so any snapshot is rebuilt from at most that many blocks. {@code prices.idx}
+ * holds one fixed-size entry per block (timestamp, offset, length, type) and is small enough
+ * to keep in memory; lookups by time are a binary search over it.
+ */
+public class PriceHistory implements Closeable {
+
+    public static final String LOG_FILE = "prices.log";
+    public static final String INDEX_FILE = "prices.idx";
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 64;
+
+    private static final byte KEYFRAME = 1;
+    private static final byte DELTA = 2;
+    private static final byte UPSERT = 1;
+    private static final byte REMOVE = 2;
+    // timestamp (8) + offset (8) + length (4) + type (1)
+    private static final int INDEX_ENTRY_SIZE = 21;
+
+    public static final class AppendResult {
+        private final int changed;
+        private final int removed;
+        private final int bytesWritten;
+        private final boolean keyframe;
+
+        AppendResult(int changed, int removed, int bytesWritten, boolean keyframe) {
+            this.changed = changed;
+            this.removed = removed;
+            this.bytesWritten = bytesWritten;
+            this.keyframe = keyframe;
+        }
+
+        public int getChanged() {
+            return changed;
+        }
+
+        public int getRemoved() {
+            return removed;
+        }
+
+        public int getBytesWritten() {
+            return bytesWritten;
+        }
+
+        public boolean isKeyframe() {
+            return keyframe;
+        }
+    }
+
+    private final FileChannel log;
+    private final FileChannel index;
+    private final int keyframeInterval;
+
+    private long[] timestamps = new long[64];
+    private long[] offsets = new long[64];
+    private int[] lengths = new int[64];
+    private byte[] types = new byte[64];
+    private int count;
+    private int sinceKeyframe;
+
+    private final Map<String, StockRow> current = new HashMap<>();
+
+    private PriceHistory(FileChannel log, FileChannel index, int keyframeInterval) {
+        this.log = log;
+        this.index = index;
+        this.keyframeInterval = keyframeInterval;
+    }
+
+    public static PriceHistory open(Path directory) throws IOException {
+        return open(directory, DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    public static PriceHistory open(Path directory, int keyframeInterval) throws IOException {
+        if (keyframeInterval < 1) {
+            throw new IllegalArgumentException("Keyframe interval must be at least 1 but was " + keyframeInterval);
+        }
+        Files.createDirectories(directory);
+        FileChannel log = FileChannel.open(directory.resolve(LOG_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileChannel index = FileChannel.open(directory.resolve(INDEX_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        PriceHistory history = new PriceHistory(log, index, keyframeInterval);
+        try {
+            history.load();
+        } catch (IOException | RuntimeException e) {
+            history.close();
+            throw e;
+        }
+        return history;
+    }
+
+    public synchronized AppendResult append(Instant timestamp, Collection<StockRow> rows) throws IOException {
+        long millis = timestamp.toEpochMilli();
+        if (count > 0 && millis < timestamps[count - 1]) {
+            throw new IllegalArgumentException("Snapshot at " + timestamp + " is older than the last stored snapshot");
+        }
+        boolean keyframe = count == 0 || sinceKeyframe + 1 >= keyframeInterval;
+
+        Map<String, StockRow> next = new LinkedHashMap<>();
+        for (StockRow row : rows) {
+            next.put(row.tradingCode(), row);
+        }
+        List<StockRow> upserts = new ArrayList<>();
+        for (StockRow row : next.values()) {
+            StockRow previous = current.get(row.tradingCode());
+            if (keyframe || previous == null || !previous.sameValues(row)) {
+                upserts.add(row);
+            }
+        }
+        List<String> removals = new ArrayList<>();
+        for (String code : current.keySet()) {
+            if (!next.containsKey(code)) {
+                removals.add(code);
+            }
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + upserts.size() * 96);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(keyframe ? KEYFRAME : DELTA);
+        out.writeLong(millis);
+        out.writeInt(upserts.size() + (keyframe ? 0 : removals.size()));
+        for (StockRow row : upserts) {
+            out.writeByte(UPSERT);
+            writeRow(out, row);
+        }
+        if (!keyframe) {
+            for (String code : removals) {
+                out.writeByte(REMOVE);
+                out.writeUTF(code);
+            }
+        }
+        out.flush();
+
+        // Block first, index entry second: a crash in between leaves a tail that load() trims
+        long offset = log.size();
+        try (Metrics.Span span = Metrics.span(Metrics.Kind.FILE_WRITE, "price history").bytes(bytes.size())) {
+            writeFully(log, ByteBuffer.wrap(bytes.toByteArray()), offset);
+            ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+            entry.putLong(millis).putLong(offset).putInt(bytes.size()).put(keyframe ? KEYFRAME : DELTA).flip();
+            writeFully(index, entry, (long) count * INDEX_ENTRY_SIZE);
+        }
+
+        addEntry(millis, offset, bytes.size(), keyframe ? KEYFRAME : DELTA);
+        sinceKeyframe = keyframe ? 0 : sinceKeyframe + 1;
+        current.clear();
+        current.putAll(next);
+        return new AppendResult(upserts.size(), keyframe ? 0 : removals.size(), bytes.size(), keyframe);
+    }
+
+    // Latest known state, keyed by trading code
+    public synchronized Map<String, StockRow> latest() {
+        return Collections.unmodifiableMap(new HashMap<>(current));
+    }
+
+    // State as of the last snapshot taken at or before the given time; empty if there is none
+    public synchronized Map<String, StockRow> snapshotAt(Instant timestamp) throws IOException {
+        int position = floorIndex(timestamp.toEpochMilli());
+        if (position < 0) {
+            return Collections.emptyMap();
+        }
+        return Collections.unmodifiableMap(rebuild(position));
+    }
+
+    public synchronized int snapshotCount() {
+        return count;
+    }
+
+    // Time of the newest snapshot, or null if there is none; append() accepts nothing older
+    public synchronized Instant lastTimestamp() {
+        return count == 0 ? null : Instant.ofEpochMilli(timestamps[count - 1]);
+    }
+
+    public synchronized List<Instant> timestamps() {
+        List<Instant> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(Instant.ofEpochMilli(timestamps[i]));
+        }
+        return result;
+    }
+
+    public synchronized long logSize() throws IOException {
+        return log.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            log.close();
+        } finally {
+            index.close();
+        }
+    }
+
+    private void load() throws IOException {
+        long entries = index.size() / INDEX_ENTRY_SIZE;
+        ByteBuffer buffer = ByteBuffer.allocate((int) (entries * INDEX_ENTRY_SIZE));
+        readFully(index, buffer, 0);
+        buffer.flip();
+        long logSize = log.size();
+        for (long i = 0; i < entries; i++) {
+            long millis = buffer.getLong();
+            long offset = buffer.getLong();
+            int length = buffer.getInt();
+            byte type = buffer.get();
+            if (offset + length > logSize || (type != KEYFRAME && type != DELTA)) {
+                break; // entry written but block lost: drop it and everything after
+            }
+            addEntry(millis, offset, length, type);
+        }
+        // Trim a half-written block or index entry left by a crash
+        index.truncate((long) count * INDEX_ENTRY_SIZE);
+        log.truncate(count == 0 ? 0 : offsets[count - 1] + lengths[count - 1]);
+
+        sinceKeyframe = 0;
+        for (int i = count - 1; i >= 0 && types[i] != KEYFRAME; i--) {
+            sinceKeyframe++;
+        }
+        if (count > 0) {
+            current.putAll(rebuild(count - 1));
+        }
+    }
+
+    private Map<String, StockRow> rebuild(int position) throws IOException {
+        int start = position;
+        while (start > 0 && types[start] != KEYFRAME) {
+            start--;
+        }
+        long from = offsets[start];
+        long to = offsets[position] + lengths[position];
+        ByteBuffer buffer = ByteBuffer.allocate((int) (to - from));
+        readFully(log, buffer, from);
+
+        Map<String, StockRow> state = new HashMap<>();
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.array()));
+        for (int block = start; block <= position; block++) {
+            byte type = in.readByte();
+            in.readLong();
+            int records = in.readInt();
+            if (type == KEYFRAME) {
+                state.clear();
+            }
+            for (int i = 0; i < records; i++) {
+                byte op = in.readByte();
+                if (op == UPSERT) {
+                    StockRow row = readRow(in);
+                    state.put(row.tradingCode(), row);
+                } else {
+                    state.remove(in.readUTF());
+                }
+            }
+        }
+        return state;
+    }
+
+    private int floorIndex(long millis) {
+        int position = Arrays.binarySearch(timestamps, 0, count, millis);
+        if (position < 0) {
+            return -position - 2;
+        }
+        // Several snapshots may share a timestamp: take the last one
+        while (position + 1 < count && timestamps[position + 1] == millis) {
+            position++;
+        }
+        return position;
+    }
+
+    private void addEntry(long millis, long offset, int length, byte type) {
+        if (count == timestamps.length) {
+            int capacity = count * 2;
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            offsets = Arrays.copyOf(offsets, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            types = Arrays.copyOf(types, capacity);
+        }
+        timestamps[count] = millis;
+        offsets[count] = offset;
+        lengths[count] = length;
+        types[count] = type;
+        count++;
+    }
+
+    private static void writeRow(DataOutputStream out, StockRow row) throws IOException {
+        out.writeUTF(row.tradingCode());
+        out.writeInt(row.index());
+        out.writeDouble(row.ltp());
+        out.writeDouble(row.high());
+        out.writeDouble(row.low());
+        out.writeDouble(row.closep());
+        out.writeDouble(row.ycp());
+        out.writeDouble(row.change());
+        out.writeLong(row.trade());
+        out.writeDouble(row.value());
+        out.writeLong(row.volume());
+    }
+
+    private static StockRow readRow(DataInputStream in) throws IOException {
+        String code = in.readUTF();
+        int rank = in.readInt();
+        return StockRow.of(rank, code, in.readDouble(), in.readDouble(), in.readDouble(), in.readDouble(),
+                in.readDouble(), in.readDouble(), in.readLong(), in.readDouble(), in.readLong());
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of " + channel);
+            }
+            position += read;
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package com.junit.assignment.storage;
+
+import com.junit.assignment.scraping.StockRow;
+import com.junit.assignment.storage.ColumnarSnapshotFile.Column;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory store of scraped snapshots for queries such as "top 20 by change", "volume above
+ * X" or "history of one code" without re-reading files.
+ *
+ * <p>Every snapshot keeps its values in primitive columns, a dense row-by-code index (codes get
+ * small ids through the store's hash index) and, for {@link #INDEXED} columns, row positions
+ * sorted by value, so top-N and range queries are a walk or binary search over a presorted
+ * array. Snapshots are immutable and the store's state is swapped copy-on-write in one volatile
+ * write, so readers never lock and never block the ingesting writer. Writes are serialized.
+ */
+public final class PriceStore {
+
+    public static final Set<Column> INDEXED = Collections.unmodifiableSet(EnumSet.of(Column.LTP, Column.CHANGE, Column.VOLUME));
+
+    private final Object writeLock = new Object();
+    private volatile State state = new State(new Snapshot[16], 0, Map.of(), List.of());
+
+    // Adds a snapshot; rows keep their order, and a repeated code keeps its first position with the last row's values
+    public Snapshot ingest(Instant timestamp, Collection<StockRow> rows) {
+        synchronized (writeLock) {
+            State current = state;
+            if (current.count > 0 && timestamp.isBefore(current.snapshots[current.count - 1].timestamp)) {
+                throw new IllegalArgumentException("Snapshot at " + timestamp + " is older than the latest one");
+            }
+            Map<String, Integer> symbols = current.symbols;
+            List<String> codes = current.codes;
+            for (StockRow row : rows) {
+                if (!symbols.containsKey(row.tradingCode())) {
+                    // Copied only when new codes appear, which after the first scrape is rare
+                    if (symbols == current.symbols) {
+                        symbols = new HashMap<>(current.symbols);
+                        codes = new ArrayList<>(current.codes);
+                    }
+                    symbols.put(row.tradingCode(), codes.size());
+                    codes.add(row.tradingCode());
+                }
+            }
+            if (symbols != current.symbols) {
+                symbols = Collections.unmodifiableMap(symbols);
+                codes = Collections.unmodifiableList(codes);
+            }
+
+            Snapshot snapshot = new Snapshot(timestamp, rows, symbols, codes);
+            Snapshot[] snapshots = current.snapshots;
+            if (current.count == snapshots.length) {
+                snapshots = Arrays.copyOf(snapshots, snapshots.length * 2);
+            }
+            // Slots past count are invisible to readers until the state below is published
+            snapshots[current.count] = snapshot;
+            state = new State(snapshots, current.count + 1, symbols, codes);
+            return snapshot;
+        }
+    }
+
+    public int snapshotCount() {
+        return state.count;
+    }
+
+    // Newest snapshot, or null before the first ingest
+    public Snapshot latest() {
+        State current = state;
+        return current.count == 0 ? null : current.snapshots[current.count - 1];
+    }
+
+    public Snapshot snapshot(int index) {
+        State current = state;
+        if (index < 0 || index >= current.count) {
+            throw new IndexOutOfBoundsException("Snapshot " + index + " of " + current.count);
+        }
+        return current.snapshots[index];
+    }
+
+    // Newest snapshot taken at or before the timestamp, or null if there is none
+    public Snapshot snapshotAt(Instant timestamp) {
+        State current = state;
+        int low = 0;
+        int high = current.count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (current.snapshots[mid].timestamp.isAfter(timestamp)) {
+                high = mid - 1;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return high < 0 ? null : current.snapshots[high];
+    }
+
+    public List<Instant> timestamps() {
+        State current = state;
+        List<Instant> timestamps = new ArrayList<>(current.count);
+        for (int i = 0; i < current.count; i++) {
+            timestamps.add(current.snapshots[i].timestamp);
+        }
+        return timestamps;
+    }
+
+    // Codes seen so far, in order of first appearance
+    public List<String> codes() {
+        return state.codes;
+    }
+
+    // One value per snapshot for the code; NaN where the code was not listed or had no value
+    public double[] history(String code, Column column) {
+        State current = state;
+        double[] values = new double[current.count];
+        Arrays.fill(values, Double.NaN);
+        Integer symbol = current.symbols.get(code);
+        if (symbol == null) {
+            return values;
+        }
+        for (int i = 0; i < current.count; i++) {
+            Snapshot snapshot = current.snapshots[i];
+            int row = snapshot.rowOf(symbol);
+            if (row >= 0) {
+                values[i] = snapshot.value(column, row);
+            }
+        }
+        return values;
+    }
+
+    private static final class State {
+        final Snapshot[] snapshots;
+        final int count;
+        final Map<String, Integer> symbols;
+        final List<String> codes;
+
+        State(Snapshot[] snapshots, int count, Map<String, Integer> symbols, List<String> codes) {
+            this.snapshots = snapshots;
+            this.count = count;
+            this.symbols = symbols;
+            this.codes = codes;
+        }
+    }
+
+    /**
+     * One immutable scrape. Query results are built as {@link StockRow}s; everything else reads
+     * the primitive columns directly.
+     */
+    public static final class Snapshot {
+        private final Instant timestamp;
+        private final int size;
+        private final int[] symbolIds;
+        private final int[] ranks;
+        private final double[][] doubles = new double[Column.values().length][];
+        private final long[][] longs = new long[Column.values().length][];
+        // Row positions sorted ascending by value, rows without a value left out
+        private final int[][] sorted = new int[Column.values().length][];
+        private final int[] rowBySymbol;
+        // Rows built for query results, kept so repeated queries do not re-render cells
+        private final StockRow[] materialized;
+        private final Map<String, Integer> symbols;
+        private final List<String> codes;
+
+        Snapshot(Instant timestamp, Collection<StockRow> rows, Map<String, Integer> symbols, List<String> codes) {
+            this.timestamp = timestamp;
+            this.symbols = symbols;
+            this.codes = codes;
+            int capacity = rows.size();
+            int[] symbolIds = new int[capacity];
+            int[] ranks = new int[capacity];
+            for (Column column : Column.values()) {
+                if (column.isDouble()) {
+                    doubles[column.ordinal()] = new double[capacity];
+                } else {
+                    longs[column.ordinal()] = new long[capacity];
+                }
+            }
+            this.rowBySymbol = new int[codes.size()];
+            Arrays.fill(rowBySymbol, -1);
+
+            int count = 0;
+            for (StockRow stockRow : rows) {
+                int symbol = symbols.get(stockRow.tradingCode());
+                // A repeated code overwrites its earlier row, so every code is in the indexes once
+                int row = rowBySymbol[symbol];
+                if (row < 0) {
+                    row = count++;
+                    rowBySymbol[symbol] = row;
+                }
+                symbolIds[row] = symbol;
+                ranks[row] = stockRow.index();
+                for (Column column : Column.values()) {
+                    if (column.isDouble()) {
+                        doubles[column.ordinal()][row] = ColumnarSnapshotWriter.doubleValue(stockRow, column);
+                    } else {
+                        longs[column.ordinal()][row] = column == Column.TRADE ? stockRow.trade() : stockRow.volume();
+                    }
+                }
+            }
+            if (count < capacity) {
+                symbolIds = Arrays.copyOf(symbolIds, count);
+                ranks = Arrays.copyOf(ranks, count);
+                for (Column column : Column.values()) {
+                    if (column.isDouble()) {
+                        doubles[column.ordinal()] = Arrays.copyOf(doubles[column.ordinal()], count);
+                    } else {
+                        longs[column.ordinal()] = Arrays.copyOf(longs[column.ordinal()], count);
+                    }
+                }
+            }
+            this.size = count;
+            this.symbolIds = symbolIds;
+            this.ranks = ranks;
+            this.materialized = new StockRow[count];
+            for (Column column : INDEXED) {
+                sorted[column.ordinal()] = sort(column);
+            }
+        }
+
+        public Instant timestamp() {
+            return timestamp;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public StockRow row(int row) {
+            // Racing readers may both build the row; StockRow is immutable, so either copy is fine
+            StockRow stockRow = materialized[row];
+            if (stockRow == null) {
+                stockRow = build(row);
+                materialized[row] = stockRow;
+            }
+            return stockRow;
+        }
+
+        private StockRow build(int row) {
+            return StockRow.of(ranks[row], codes.get(symbolIds[row]),
+                    doubles[Column.LTP.ordinal()][row], doubles[Column.HIGH.ordinal()][row],
+                    doubles[Column.LOW.ordinal()][row], doubles[Column.CLOSEP.ordinal()][row],
+                    doubles[Column.YCP.ordinal()][row], doubles[Column.CHANGE.ordinal()][row],
+                    longs[Column.TRADE.ordinal()][row], doubles[Column.VALUE.ordinal()][row],
+                    longs[Column.VOLUME.ordinal()][row]);
+        }
+
+        // Row of the code, or null if it was not listed in this snapshot
+        public StockRow find(String code) {
+            Integer symbol = symbols.get(code);
+            int row = symbol == null ? -1 : rowOf(symbol);
+            return row < 0 ? null : row(row);
+        }
+
+        // Long columns are widened; NaN where the row has no value
+        public double value(Column column, int row) {
+            if (column.isDouble()) {
+                return doubles[column.ordinal()][row];
+            }
+            long value = longs[column.ordinal()][row];
+            return value == StockRow.MISSING ? Double.NaN : value;
+        }
+
+        // Highest values first
+        public List<StockRow> top(Column column, int n) {
+            int[] order = index(column);
+            List<StockRow> result = new ArrayList<>(Math.min(n, order.length));
+            for (int i = order.length - 1; i >= 0 && result.size() < n; i--) {
+                result.add(row(order[i]));
+            }
+            return result;
+        }
+
+        // Lowest values first
+        public List<StockRow> bottom(Column column, int n) {
+            int[] order = index(column);
+            List<StockRow> result = new ArrayList<>(Math.min(n, order.length));
+            for (int i = 0; i < order.length && result.size() < n; i++) {
+                result.add(row(order[i]));
+            }
+            return result;
+        }
+
+        // Rows with min <= value <= max, ascending by value
+        public List<StockRow> range(Column column, double min, double max) {
+            int[] order = index(column);
+            List<StockRow> result = new ArrayList<>();
+            for (int i = lowerBound(column, order, min); i < order.length && value(column, order[i]) <= max; i++) {
+                result.add(row(order[i]));
+            }
+            return result;
+        }
+
+        // Rows with value > threshold, ascending by value
+        public List<StockRow> above(Column column, double threshold) {
+            int[] order = index(column);
+            int i = lowerBound(column, order, threshold);
+            while (i < order.length && value(column, order[i]) <= threshold) {
+                i++;
+            }
+            List<StockRow> result = new ArrayList<>(order.length - i);
+            for (; i < order.length; i++) {
+                result.add(row(order[i]));
+            }
+            return result;
+        }
+
+        int rowOf(int symbol) {
+            return symbol < rowBySymbol.length ? rowBySymbol[symbol] : -1;
+        }
+
+        private int[] index(Column column) {
+            int[] order = sorted[column.ordinal()];
+            if (order == null) {
+                throw new IllegalArgumentException(column + " is not indexed, expected one of " + INDEXED);
+            }
+            return order;
+        }
+
+        // First position in the sorted index whose value is >= min
+        private int lowerBound(Column column, int[] order, double min) {
+            int low = 0;
+            int high = order.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (value(column, order[mid]) < min) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private int[] sort(Column column) {
+            double[] keys = new double[size];
+            int[] order = new int[size];
+            int count = 0;
+            for (int row = 0; row < size; row++) {
+                keys[row] = value(column, row);
+                if (!Double.isNaN(keys[row])) {
+                    order[count++] = row;
+                }
+            }
+            order = Arrays.copyOf(order, count);
+            mergeSort(order, Arrays.copyOf(order, count), 0, count, keys);
+            return order;
+        }
+
+        // Stable, so equal values always come back in the same order; sorts rows in place by key
+        private static void mergeSort(int[] rows, int[] scratch, int from, int to, double[] keys) {
+            if (to - from < 2) {
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            mergeSort(scratch, rows, from, mid, keys);
+            mergeSort(scratch, rows, mid, to, keys);
+            int left = from;
+            int right = mid;
+            for (int i = from; i < to; i++) {
+                if (right >= to || (left < mid && Double.compare(keys[scratch[left]], keys[scratch[right]]) <= 0)) {
+                    rows[i] = scratch[left++];
+                } else {
+                    rows[i] = scratch[right++];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.junit.assignment.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Day files of compressed snapshots, e.g. {@code stock_prices-2024-01-01.txt.gz}: every snapshot
+ * of a day is appended to that day's file (see {@link SnapshotFileWriter#append}), a new day
+ * starts a new file, and {@link #prune} deletes the files that fell out of the retention window
+ * together with temp files left behind by killed runs.
+ */
+public final class SnapshotArchive {
+
+    // Temp files younger than this may belong to a run that is still writing
+    private static final Duration STALE_TEMP_AGE = Duration.ofHours(1);
+
+    private final Path directory;
+    private final String baseName;
+    private final String suffix;
+    private final SnapshotCompression compression;
+    private final int retentionDays;
+
+    private SnapshotArchive(Path directory, String baseName, String suffix, SnapshotCompression compression, int retentionDays) {
+        this.directory = directory;
+        this.baseName = baseName;
+        this.suffix = suffix;
+        this.compression = compression;
+        this.retentionDays = retentionDays;
+    }
+
+    // retentionDays counts today, so 1 keeps only today's file
+    public static SnapshotArchive open(Path directory, String baseName, String suffix, SnapshotCompression compression,
+                                       int retentionDays) {
+        if (retentionDays < 1) {
+            throw new IllegalArgumentException("Retention must be at least one day but was " + retentionDays);
+        }
+        return new SnapshotArchive(directory, baseName, suffix, compression, retentionDays);
+    }
+
+    public Path dayFile(LocalDate day) {
+        return directory.resolve(baseName + "-" + day + suffix + compression.extension());
+    }
+
+    // Adds one snapshot to the day's file; commit the writer to keep it
+    public SnapshotFileWriter append(LocalDate day) throws IOException {
+        return SnapshotFileWriter.append(dayFile(day), compression);
+    }
+
+    // Streams an uncompressed snapshot (e.g. the latest report) into the day's file
+    public Path append(LocalDate day, Path snapshot) throws IOException {
+        try (SnapshotFileWriter writer = append(day);
+             InputStream in = Files.newInputStream(snapshot)) {
+            in.transferTo(writer.stream());
+            writer.commit();
+            return writer.target();
+        }
+    }
+
+    // Day files of this archive, oldest first; other files in the directory are ignored
+    public List<Path> dayFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return files;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, baseName + "-*" + suffix + compression.extension())) {
+            for (Path file : stream) {
+                if (dayOf(file) != null) {
+                    files.add(file);
+                }
+            }
+        }
+        files.sort(null);
+        return files;
+    }
+
+    // Deletes day files older than the retention window and stale temp files; returns what was deleted
+    public List<Path> prune(LocalDate today) throws IOException {
+        List<Path> deleted = new ArrayList<>();
+        LocalDate oldestKept = today.minusDays(retentionDays - 1L);
+        for (Path file : dayFiles()) {
+            if (dayOf(file).isBefore(oldestKept) && Files.deleteIfExists(file)) {
+                deleted.add(file);
+            }
+        }
+        if (!Files.isDirectory(directory)) {
+            return deleted;
+        }
+        FileTime staleBefore = FileTime.from(Instant.now().minus(STALE_TEMP_AGE));
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+                "." + baseName + "-*" + SnapshotFileWriter.TEMP_SUFFIX)) {
+            for (Path temp : stream) {
+                if (Files.getLastModifiedTime(temp).compareTo(staleBefore) < 0 && Files.deleteIfExists(temp)) {
+                    deleted.add(temp);
+                }
+            }
+        }
+        return deleted;
+    }
+
+    private LocalDate dayOf(Path file) {
+        String name = file.getFileName().toString();
+        int start = baseName.length() + 1;
+        int end = name.length() - suffix.length() - compression.extension().length();
+        if (end - start != 10) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(name.substring(start, end));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
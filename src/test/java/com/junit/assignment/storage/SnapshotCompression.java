@@ -0,0 +1,90 @@
+package com.junit.assignment.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * How a snapshot file is stored, recognised by its extension. Every encoding can be appended
+ * to by concatenation (GZIP members, {@link Lz4Block} streams) and is read as a stream, so a
+ * day file is never inflated into memory as a whole.
+ *
+ * <p>On the text report GZIP shrinks a day file about 4x; LZ4 about 2.4x, but it compresses
+ * several times faster, so writing it costs little more than the fsync.
+ */
+public enum SnapshotCompression {
+    NONE(""),
+    GZIP(".gz"),
+    LZ4(".lz4b");
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private final String extension;
+
+    SnapshotCompression(String extension) {
+        this.extension = extension;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static SnapshotCompression parse(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown compression '" + name + "', expected none, gzip or lz4");
+        }
+    }
+
+    public static SnapshotCompression forFile(Path file) {
+        String name = file.getFileName().toString();
+        for (SnapshotCompression compression : values()) {
+            if (compression != NONE && name.endsWith(compression.extension)) {
+                return compression;
+            }
+        }
+        return NONE;
+    }
+
+    // Closing the returned stream writes the trailer and closes out
+    public OutputStream compress(OutputStream out) throws IOException {
+        switch (this) {
+            case GZIP: return new GZIPOutputStream(out, BUFFER_SIZE);
+            case LZ4: return new Lz4Block.Output(out);
+            default: return new BufferedOutputStream(out, BUFFER_SIZE);
+        }
+    }
+
+    public InputStream decompress(InputStream in) throws IOException {
+        switch (this) {
+            case GZIP: return new GZIPInputStream(in, BUFFER_SIZE);
+            case LZ4: return new Lz4Block.Input(new BufferedInputStream(in, BUFFER_SIZE));
+            default: return new BufferedInputStream(in, BUFFER_SIZE);
+        }
+    }
+
+    // Streams a snapshot file in whatever encoding its extension says
+    public static InputStream open(Path file) throws IOException {
+        InputStream in = Files.newInputStream(file);
+        try {
+            return forFile(file).decompress(in);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    public static BufferedReader openReader(Path file) throws IOException {
+        return new BufferedReader(new InputStreamReader(open(file), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,154 @@
+package com.junit.assignment.storage;
+
+import com.junit.assignment.metrics.Metrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a snapshot file so that it is either the old content or the complete new content,
+ * whenever the process dies. Everything goes to a temp file next to the target; {@link #commit()}
+ * finishes the compressed stream, fsyncs the temp file, renames it over the target with an
+ * atomic move and fsyncs the directory so the rename itself survives a power loss. Closing
+ * without committing deletes the temp file and leaves the target untouched.
+ *
+ * <p>{@link #append} starts from a copy of the existing file (compressed bytes are copied, not
+ * re-encoded) and adds a new GZIP member or LZ4 stream after it.
+ */
+public final class SnapshotFileWriter implements Closeable {
+
+    static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path target;
+    private final Path temp;
+    private final FileChannel channel;
+    private final OutputStream stream;
+    private boolean done;
+
+    private SnapshotFileWriter(Path target, Path temp, FileChannel channel, SnapshotCompression compression) throws IOException {
+        this.target = target;
+        this.temp = temp;
+        this.channel = channel;
+        this.stream = compression.compress(new ChannelOutput(channel));
+    }
+
+    // Replaces the target on commit
+    public static SnapshotFileWriter create(Path target, SnapshotCompression compression) throws IOException {
+        return open(target, compression, false);
+    }
+
+    // Keeps the target's content and adds to it on commit
+    public static SnapshotFileWriter append(Path target, SnapshotCompression compression) throws IOException {
+        return open(target, compression, true);
+    }
+
+    private static SnapshotFileWriter open(Path target, SnapshotCompression compression, boolean append) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        // Same directory, so the move is a rename on one file system; the dot hides it from listings
+        Path temp = Files.createTempFile(directory, "." + target.getFileName() + ".", TEMP_SUFFIX);
+        FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            if (append && Files.exists(target)) {
+                try (FileChannel existing = FileChannel.open(target, StandardOpenOption.READ)) {
+                    long size = existing.size();
+                    long copied = 0;
+                    while (copied < size) {
+                        copied += existing.transferTo(copied, size - copied, channel);
+                    }
+                }
+            }
+            return new SnapshotFileWriter(target, temp, channel, compression);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    // Compressing stream onto the temp file; buffered, and not closed by callers
+    public OutputStream stream() {
+        return stream;
+    }
+
+    public Path target() {
+        return target;
+    }
+
+    // Bytes in the temp file so far, i.e. compressed bytes not counting what is still buffered
+    public long size() throws IOException {
+        return channel.size();
+    }
+
+    public void commit() throws IOException {
+        if (done) {
+            throw new IllegalStateException("Snapshot " + target + " was already committed or discarded");
+        }
+        try (Metrics.Span span = Metrics.span(Metrics.Kind.FILE_WRITE, "snapshot commit")) {
+            stream.close();
+            span.bytes(channel.size());
+            channel.force(true);
+            channel.close();
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            done = true;
+            syncDirectory(temp.getParent());
+        } finally {
+            if (!done) {
+                discard();
+            }
+        }
+    }
+
+    // Discards the temp file unless commit() succeeded
+    @Override
+    public void close() throws IOException {
+        if (!done) {
+            discard();
+        }
+    }
+
+    private void discard() throws IOException {
+        done = true;
+        channel.close();
+        Files.deleteIfExists(temp);
+    }
+
+    // Makes the rename durable; not every platform can open a directory (Windows cannot)
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // The file content is already synced; only the rename might be lost on power failure
+        }
+    }
+
+    // Channels.newOutputStream without closing the channel, so commit() can still fsync it
+    private static final class ChannelOutput extends OutputStream {
+        private final OutputStream out;
+
+        private ChannelOutput(FileChannel channel) {
+            this.out = Channels.newOutputStream(channel);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.junit.assignment.support;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+/**
+ * Scriptable in-memory {@link WebDriver} for unit tests that need a driver but no browser.
+ * Records every call, answers {@code executeScript} through a pluggable handler and can be
+ * "killed" to simulate a crashed session.
+ */
+public final class FakeWebDriver implements InvocationHandler {
+
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    private final List<String> visited = new CopyOnWriteArrayList<>();
+    private volatile BiFunction<String, Object[], Object> scriptHandler = (script, args) -> null;
+    private volatile boolean alive = true;
+    private volatile String currentUrl = "about:blank";
+    private final WebDriver driver;
+
+    public FakeWebDriver() {
+        driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WebDriver.class, JavascriptExecutor.class}, this);
+    }
+
+    public WebDriver driver() {
+        return driver;
+    }
+
+    public FakeWebDriver onScript(BiFunction<String, Object[], Object> handler) {
+        this.scriptHandler = handler;
+        return this;
+    }
+
+    public void kill() {
+        alive = false;
+    }
+
+    public boolean isQuit() {
+        return calls("quit") > 0;
+    }
+
+    public int calls(String method) {
+        AtomicInteger count = calls.get(method);
+        return count == null ? 0 : count.get();
+    }
+
+    public List<String> visited() {
+        return visited;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        String name = method.getName();
+        switch (name) {
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "FakeWebDriver@" + Integer.toHexString(System.identityHashCode(proxy));
+            default:
+                break;
+        }
+        calls.computeIfAbsent(name, n -> new AtomicInteger()).incrementAndGet();
+        if (name.equals("quit")) {
+            alive = false;
+            return null;
+        }
+        if (!alive) {
+            throw new NoSuchSessionException("Session is gone");
+        }
+        switch (name) {
+            case "get":
+                currentUrl = (String) args[0];
+                visited.add(currentUrl);
+                return null;
+            case "getCurrentUrl":
+                return currentUrl;
+            case "getWindowHandle":
+                return "window-1";
+            case "executeScript":
+            case "executeAsyncScript":
+                return scriptHandler.apply((String) args[0], (Object[]) args[1]);
+            case "manage":
+                return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{WebDriver.Options.class},
+                        (p, m, a) -> {
+                            calls.computeIfAbsent(m.getName(), n -> new AtomicInteger()).incrementAndGet();
+                            return null;
+                        });
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.junit.assignment.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Local stand-in for the live sites: serves captured pages from test resources on an
+ * ephemeral loopback port so scraping code can be tested without network access.
+ */
+public final class FixtureServer implements AutoCloseable {
+
+    public static final String HTML = "text/html; charset=utf-8";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+
+    private FixtureServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    public static FixtureServer start() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.start();
+        return new FixtureServer(server, executor);
+    }
+
+    public static byte[] resource(String name) {
+        try (InputStream in = FixtureServer.class.getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Missing test resource: " + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public FixtureServer serveResource(String path, String resource) {
+        byte[] body = resource(resource);
+        return serve(path, HTML, () -> body);
+    }
+
+    // The supplier is called per request, so tests can change what a path returns between polls
+    public FixtureServer serve(String path, String contentType, Supplier<byte[]> body) {
+        return serve(path, exchange -> {
+            byte[] bytes = body.get();
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            send(exchange, 200, bytes);
+        });
+    }
+
+    public FixtureServer serve(String path, HttpHandler handler) {
+        AtomicInteger count = requestCounts.computeIfAbsent(path, p -> new AtomicInteger());
+        server.createContext(path, exchange -> {
+            count.incrementAndGet();
+            try {
+                handler.handle(exchange);
+            } finally {
+                exchange.close();
+            }
+        });
+        return this;
+    }
+
+    public static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    public URI uri(String path) {
+        InetSocketAddress address = server.getAddress();
+        return URI.create("http://" + address.getHostString() + ":" + address.getPort() + path);
+    }
+
+    public int requestCount(String path) {
+        AtomicInteger count = requestCounts.get(path);
+        return count == null ? 0 : count.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
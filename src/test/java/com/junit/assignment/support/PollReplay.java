@@ -0,0 +1,104 @@
+package com.junit.assignment.support;
+
+import com.junit.assignment.scraping.HtmlTableParser;
+import com.junit.assignment.scraping.StockRow;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A recorded sequence of polls: the captured DSE page as the first snapshot, then the edits and
+ * expected changes of each later poll from a sequence file (see
+ * {@code fixtures/dse_poll_sequence.txt} for the format).
+ */
+public final class PollReplay {
+
+    public static final String PAGE_FIXTURE = "/fixtures/dse_latest_share_price.html";
+    public static final String SEQUENCE_FIXTURE = "/fixtures/dse_poll_sequence.txt";
+
+    // expected holds "TYPE CODE [delta]" lines
+    public record Poll(int number, List<StockRow> rows, List<String> expected) {
+    }
+
+    private PollReplay() {
+    }
+
+    public static List<StockRow> firstSnapshot() {
+        return HtmlTableParser.parse(new String(FixtureServer.resource(PAGE_FIXTURE), StandardCharsets.UTF_8)).getRows();
+    }
+
+    // The first snapshot as poll 0 without expectations, then every poll of the sequence
+    public static List<Poll> load() {
+        List<Poll> polls = new ArrayList<>();
+        List<StockRow> rows = firstSnapshot();
+        polls.add(new Poll(0, rows, List.of()));
+
+        List<StockRow> current = null;
+        List<String> expected = null;
+        String sequence = new String(FixtureServer.resource(SEQUENCE_FIXTURE), StandardCharsets.UTF_8);
+        for (String raw : sequence.split("\n")) {
+            String line = raw.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            if (line.equals("poll")) {
+                if (current != null) {
+                    polls.add(new Poll(polls.size(), List.copyOf(current), List.copyOf(expected)));
+                    rows = current;
+                }
+                current = new ArrayList<>(rows);
+                expected = new ArrayList<>();
+            } else if (current == null) {
+                throw new IllegalArgumentException("Edit before the first poll: " + line);
+            } else if (line.startsWith("=>")) {
+                expected.add(line.substring(2).strip());
+            } else if (line.startsWith("-")) {
+                String code = line.substring(1);
+                if (!current.removeIf(row -> row.tradingCode().equals(code))) {
+                    throw new IllegalArgumentException("No row to remove: " + line);
+                }
+            } else if (line.startsWith("+")) {
+                String[] parts = line.substring(1).split("\\s+");
+                StockRow listed = StockRow.of(current.size() + 1, parts[0], Double.NaN, Double.NaN, Double.NaN,
+                        Double.NaN, Double.NaN, Double.NaN, 0, 0, 0);
+                current.add(edit(listed, parts));
+            } else {
+                String[] parts = line.split("\\s+");
+                int position = indexOf(current, parts[0]);
+                if (position < 0) {
+                    throw new IllegalArgumentException("No row to change: " + line);
+                }
+                current.set(position, edit(current.get(position), parts));
+            }
+        }
+        if (current != null) {
+            polls.add(new Poll(polls.size(), List.copyOf(current), List.copyOf(expected)));
+        }
+        return polls;
+    }
+
+    private static StockRow edit(StockRow row, String[] parts) {
+        double ltp = row.ltp();
+        long volume = row.volume();
+        for (int i = 1; i < parts.length; i++) {
+            String[] field = parts[i].split("=", 2);
+            switch (field[0]) {
+                case "ltp": ltp = StockRow.parseDecimal(field[1]); break;
+                case "volume": volume = StockRow.parseCount(field[1]); break;
+                default: throw new IllegalArgumentException("Unknown field: " + parts[i]);
+            }
+        }
+        return StockRow.of(row.index(), row.tradingCode(), ltp, row.high(), row.low(), row.closep(), row.ycp(),
+                row.change(), row.trade(), row.value(), volume);
+    }
+
+    private static int indexOf(List<StockRow> rows, String code) {
+        for (int i = 0; i < rows.size(); i++) {
+            if (rows.get(i).tradingCode().equals(code)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,164 @@
+package com.junit.assignment.support;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for the Digital Unite practice webform: same field ids and names as the Drupal
+ * webform, a form_build_id token, Drupal-style status and error messages and server-side
+ * validation (name, a valid email and the completion checkbox are required). Keeps every
+ * accepted submission so tests can check what arrived.
+ */
+public final class PracticeFormServer implements AutoCloseable {
+
+    public static final String PATH = "/practice-webform-learners";
+    public static final String FORM_ID = "webform_submission_practice_webform_learners_add_form";
+    public static final String BUILD_ID = "form-9fKx2yQ0c3bT7nYtE1sJmWgH5aVdLrUo";
+
+    private final FixtureServer server;
+    private final Duration latency;
+    private final Queue<Map<String, String>> accepted = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger rejected = new AtomicInteger();
+
+    private PracticeFormServer(FixtureServer server, Duration latency) {
+        this.server = server;
+        this.latency = latency;
+    }
+
+    public static PracticeFormServer start() throws IOException {
+        return start(Duration.ZERO);
+    }
+
+    // latency is added to every POST, like a CMS doing its work
+    public static PracticeFormServer start(Duration latency) throws IOException {
+        FixtureServer fixtures = FixtureServer.start();
+        PracticeFormServer server = new PracticeFormServer(fixtures, latency);
+        fixtures.serve(PATH, server::handle);
+        return server;
+    }
+
+    public URI formUri() {
+        return server.uri(PATH);
+    }
+
+    public List<Map<String, String>> accepted() {
+        return new ArrayList<>(accepted);
+    }
+
+    public int rejected() {
+        return rejected.get();
+    }
+
+    public int requests() {
+        return server.requestCount(PATH);
+    }
+
+    @Override
+    public void close() {
+        server.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", FixtureServer.HTML);
+        if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+            FixtureServer.send(exchange, 200, page("", "").getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        Map<String, String> values = parse(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        if (!latency.isZero()) {
+            try {
+                Thread.sleep(latency.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<String> errors = validate(values);
+        String body;
+        if (errors.isEmpty()) {
+            accepted.add(values);
+            body = page("<div class=\"messages messages--status\" role=\"contentinfo\">New submission added to "
+                    + "Practice webform learners. Thank you, " + escape(values.get("name")) + "</div>", null);
+        } else {
+            rejected.incrementAndGet();
+            body = page("<div class=\"messages messages--error\" role=\"alert\">"
+                    + escape(String.join(" ", errors)) + "</div>", "");
+        }
+        FixtureServer.send(exchange, 200, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> validate(Map<String, String> values) {
+        List<String> errors = new ArrayList<>();
+        if (!FORM_ID.equals(values.get("form_id")) || !BUILD_ID.equals(values.get("form_build_id"))) {
+            errors.add("The form has become outdated.");
+        }
+        if (values.getOrDefault("name", "").isBlank()) {
+            errors.add("Name field is required.");
+        }
+        String email = values.getOrDefault("email", "");
+        if (!email.matches("[^@\\s]+@[^@\\s]+\\.[^@\\s]+")) {
+            errors.add("The email address " + email + " is not valid.");
+        }
+        if (!"1".equals(values.get("i_have_completed_this_form"))) {
+            errors.add("I have completed this form field is required.");
+        }
+        return errors;
+    }
+
+    // Message first, then the form unless form is null (shown again after errors, like Drupal)
+    private static String page(String message, String form) {
+        StringBuilder html = new StringBuilder("<!DOCTYPE html>\n<html><head><title>Practice webform learners</title></head>\n"
+                + "<body><main>\n").append(message).append('\n');
+        if (form != null) {
+            html.append("<form class=\"webform-submission-form\" action=\"").append(PATH).append("\" method=\"post\"")
+                    .append(" id=\"webform-submission-practice-webform-learners-add-form\">\n")
+                    .append("<label for=\"edit-name\">Name</label>")
+                    .append("<input type=\"text\" id=\"edit-name\" name=\"name\" required>\n")
+                    .append("<label for=\"edit-number\">Number</label>")
+                    .append("<input type=\"tel\" id=\"edit-number\" name=\"number\">\n")
+                    .append("<label for=\"edit-date\">Date</label>")
+                    .append("<input type=\"text\" id=\"edit-date\" name=\"date\">\n")
+                    .append("<label for=\"edit-email\">Email</label>")
+                    .append("<input type=\"email\" id=\"edit-email\" name=\"email\" required>\n")
+                    .append("<label for=\"edit-tell-us-a-bit-about-yourself-\">Tell us a bit about yourself</label>")
+                    .append("<textarea id=\"edit-tell-us-a-bit-about-yourself-\" name=\"tell_us_a_bit_about_yourself_\"></textarea>\n")
+                    .append("<input type=\"checkbox\" id=\"edit-i-have-completed-this-form\" name=\"i_have_completed_this_form\" value=\"1\">")
+                    .append("<label for=\"edit-i-have-completed-this-form\">I have completed this form</label>\n")
+                    .append("<input type=\"hidden\" name=\"form_build_id\" value=\"").append(BUILD_ID).append("\">\n")
+                    .append("<input type=\"hidden\" name=\"form_id\" value=\"").append(FORM_ID).append("\">\n")
+                    .append("<input type=\"submit\" id=\"edit-submit\" name=\"op\" value=\"Submit\" class=\"button button--primary\">\n")
+                    .append("</form>\n");
+        }
+        return html.append("</main></body></html>\n").toString();
+    }
+
+    // application/x-www-form-urlencoded; the last value wins for repeated names
+    public static Map<String, String> parse(String body) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String pair : body.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int equals = pair.indexOf('=');
+            String name = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), StandardCharsets.UTF_8);
+            String value = equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+            values.put(name, value);
+        }
+        return values;
+    }
+
+    private static String escape(String text) {
+        return text == null ? "" : text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
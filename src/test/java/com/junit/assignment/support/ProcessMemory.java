@@ -0,0 +1,64 @@
+package com.junit.assignment.support;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Memory readings used by the benchmark tests: resident set size of child processes
+ * (chromedriver and the browser it spawns) and bytes allocated by the current thread.
+ */
+public final class ProcessMemory {
+
+    public static final long UNKNOWN = -1L;
+
+    private ProcessMemory() {
+    }
+
+    // Sum of VmRSS over all descendants of this JVM; only available on Linux
+    public static long descendantsRssBytes() {
+        long total = 0;
+        boolean found = false;
+        for (ProcessHandle process : (Iterable<ProcessHandle>) ProcessHandle.current().descendants()::iterator) {
+            long rss = rssBytes(process.pid());
+            if (rss != UNKNOWN) {
+                total += rss;
+                found = true;
+            }
+        }
+        return found ? total : UNKNOWN;
+    }
+
+    public static long rssBytes(long pid) {
+        try {
+            List<String> lines = Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"));
+            for (String line : lines) {
+                if (line.startsWith("VmRSS:")) {
+                    String kb = line.substring("VmRSS:".length()).replace("kB", "").trim();
+                    return Long.parseLong(kb) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // not Linux or the process already exited
+        }
+        return UNKNOWN;
+    }
+
+    public static long currentThreadAllocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getCurrentThreadAllocatedBytes();
+        }
+        return UNKNOWN;
+    }
+
+    public static String format(long bytes) {
+        if (bytes == UNKNOWN) {
+            return "n/a";
+        }
+        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+}
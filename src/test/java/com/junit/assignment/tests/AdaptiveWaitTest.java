@@ -0,0 +1,100 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.support.FakeWebDriver;
+import com.junit.assignment.wait.AdaptiveWait;
+import com.junit.assignment.wait.WaitRecorder;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.TimeoutException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Epic("Test Infrastructure")
+@Feature("Adaptive Waits")
+public class AdaptiveWaitTest {
+
+    @Test
+    @Story("Observer wait")
+    @Description("Page quiet detection runs in the browser in a single async script call when possible")
+    public void testQuietDetectedInBrowser() {
+        FakeWebDriver fake = new FakeWebDriver().onScript((script, args) -> {
+            Assertions.assertTrue(script.contains("MutationObserver"));
+            Assertions.assertEquals(250L, args[0], "quiet window passed to the browser");
+            return Boolean.TRUE;
+        });
+        AdaptiveWait wait = new AdaptiveWait(fake.driver());
+
+        Assertions.assertTrue(wait.forPageQuiet("page settled"));
+
+        Assertions.assertEquals(1, fake.calls("executeAsyncScript"));
+        Assertions.assertEquals(0, fake.calls("executeScript"));
+        WaitRecorder.Record record = wait.recorder().records().get(0);
+        Assertions.assertEquals("observer", record.getStrategy());
+        Assertions.assertTrue(record.isSatisfied());
+    }
+
+    @Test
+    @Story("Polling fallback")
+    @Description("When the async script fails, the same signals are polled with backoff until the page is quiet")
+    public void testFallsBackToPolling() {
+        AtomicInteger polls = new AtomicInteger();
+        FakeWebDriver fake = new FakeWebDriver();
+        fake.onScript((script, args) -> {
+            if (fake.calls("executeAsyncScript") > 0 && fake.calls("executeScript") == 0) {
+                throw new JavascriptException("async scripts unsupported");
+            }
+            int poll = polls.incrementAndGet();
+            if (poll == 1) {
+                return Map.of("ready", "loading", "pending", 0L, "idle", 0L);
+            }
+            if (poll == 2) {
+                return Map.of("ready", "complete", "pending", 1L, "idle", 500L);
+            }
+            return Map.of("ready", "complete", "pending", 0L, "idle", 400.5);
+        });
+        AdaptiveWait wait = new AdaptiveWait(fake.driver());
+
+        Assertions.assertTrue(wait.forPageQuiet("page settled", Duration.ofMillis(250), Duration.ofSeconds(5)));
+
+        Assertions.assertEquals(3, polls.get());
+        Assertions.assertEquals("polling", wait.recorder().records().get(0).getStrategy());
+    }
+
+    @Test
+    @Story("Condition wait")
+    @Description("until() returns as soon as the condition holds and records the real elapsed time")
+    public void testUntilReturnsFirstTruthyValue() {
+        AtomicInteger attempts = new AtomicInteger();
+        AdaptiveWait wait = new AdaptiveWait(new FakeWebDriver().driver());
+
+        String value = wait.until("value ready", driver -> attempts.incrementAndGet() < 3 ? null : "ready",
+                Duration.ofSeconds(5));
+
+        Assertions.assertEquals("ready", value);
+        Assertions.assertEquals(3, attempts.get());
+        WaitRecorder.Record record = wait.recorder().records().get(0);
+        // Backoff of 25 + 50 ms, nowhere near the fixed sleeps it replaces
+        Assertions.assertTrue(record.getElapsedMillis() < 1000, "took " + record.getElapsedMillis() + " ms");
+    }
+
+    @Test
+    @Story("Condition wait")
+    @Description("A condition that never holds times out; untilOrTimeout reports it without throwing")
+    public void testTimeoutIsRecorded() {
+        AdaptiveWait wait = new AdaptiveWait(new FakeWebDriver().driver());
+
+        Assertions.assertThrows(TimeoutException.class,
+                () -> wait.until("never", driver -> false, Duration.ofMillis(200)));
+        Assertions.assertFalse(wait.untilOrTimeout("never again", driver -> false, Duration.ofMillis(100)));
+
+        List<WaitRecorder.Record> records = wait.recorder().records();
+        Assertions.assertEquals(2, records.size());
+        Assertions.assertFalse(records.get(0).isSatisfied());
+        Assertions.assertTrue(records.get(0).getElapsedMillis() >= 200);
+        Assertions.assertTrue(wait.recorder().summary().contains("timed out"));
+    }
+}
@@ -0,0 +1,99 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.driver.DriverFactory;
+import com.junit.assignment.driver.DriverPool;
+import com.junit.assignment.forms.BatchFormSubmitter;
+import com.junit.assignment.forms.FieldMapping;
+import com.junit.assignment.forms.FormRecord;
+import com.junit.assignment.support.PracticeFormServer;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Tag("benchmark")
+@Isolated
+@Epic("Web Form Automation")
+@Feature("Batch Form Submission")
+public class BatchFormBenchmarkTest {
+
+    private static final int RECORDS = 200;
+    private static final int WORKERS = 4;
+
+    private PracticeFormServer server;
+
+    @BeforeEach
+    @Step("Start the local practice form")
+    public void setup() throws IOException {
+        server = PracticeFormServer.start();
+    }
+
+    @AfterEach
+    @Step("Stop local server")
+    public void tearDown() {
+        server.close();
+    }
+
+    @Test
+    @Story("Compare submission strategies")
+    @Description("Records per second of per-field sendKeys, one-script navigation and batched fetch submission")
+    public void testCompareSubmissionStrategies() throws Exception {
+        List<FormRecord> records = new ArrayList<>();
+        for (int i = 1; i <= RECORDS; i++) {
+            records.add(new FormRecord(i, Map.of("name", "Learner " + i, "number", "0171" + i, "date", "15/05/1990",
+                    "email", "learner" + i + "@example.com", "about", "QA engineer", "completed", "yes")));
+        }
+        FieldMapping mapping = FieldMapping.practiceWebform();
+
+        WebDriver driver = null;
+        try {
+            driver = DriverFactory.createDriver(true);
+        } catch (Exception e) {
+            Assumptions.abort("No local Chrome available for the benchmark: " + e.getMessage());
+        }
+        try {
+            // What WebFormTest does for one record: find, type and click field by field, then reload
+            long start = System.nanoTime();
+            for (FormRecord record : records.subList(0, RECORDS / 4)) {
+                driver.get(server.formUri().toString());
+                for (Map.Entry<String, String> field : mapping.values(record).entrySet()) {
+                    WebElement element = driver.findElement(By.cssSelector(field.getKey()));
+                    if ("checkbox".equals(element.getAttribute("type"))) {
+                        element.click();
+                    } else {
+                        element.sendKeys(field.getValue());
+                    }
+                }
+                driver.findElement(By.cssSelector(mapping.submitSelector())).click();
+                new WebDriverWait(driver, Duration.ofSeconds(10))
+                        .until(ExpectedConditions.visibilityOfElementLocated(By.cssSelector(mapping.successSelector())));
+            }
+            double perFieldRate = RECORDS / 4 / ((System.nanoTime() - start) / 1e9);
+            System.out.println(String.format("per-field sendKeys: %.1f records/s", perFieldRate));
+        } finally {
+            driver.quit();
+        }
+
+        try (DriverPool pool = new DriverPool(WORKERS, () -> DriverFactory.createDriver(true), Duration.ofSeconds(30))) {
+            BatchFormSubmitter.Report navigate = new BatchFormSubmitter(pool, server.formUri(), mapping, 1,
+                    BatchFormSubmitter.Mode.NAVIGATE, BatchFormSubmitter.DEFAULT_OUTCOME_TIMEOUT).submit(records);
+            BatchFormSubmitter.Report single = new BatchFormSubmitter(pool, server.formUri(), mapping, 1).submit(records);
+            BatchFormSubmitter.Report batch = new BatchFormSubmitter(pool, server.formUri(), mapping, WORKERS).submit(records);
+            for (BatchFormSubmitter.Report report : List.of(navigate, single, batch)) {
+                System.out.println(report);
+                Assertions.assertEquals(RECORDS, report.getSucceeded(), () -> report.getFailures().toString());
+            }
+            Allure.addAttachment("Submission strategies", "text/plain", navigate + "\n" + single + "\n" + batch);
+        }
+    }
+}
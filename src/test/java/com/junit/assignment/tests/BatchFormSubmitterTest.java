@@ -0,0 +1,268 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.driver.BrowserProfile;
+import com.junit.assignment.driver.DriverFactory;
+import com.junit.assignment.driver.DriverPool;
+import com.junit.assignment.forms.BatchFormSubmitter;
+import com.junit.assignment.forms.FieldMapping;
+import com.junit.assignment.forms.FormDataset;
+import com.junit.assignment.forms.FormRecord;
+import com.junit.assignment.support.FakeWebDriver;
+import com.junit.assignment.support.PracticeFormServer;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Epic("Web Form Automation")
+@Feature("Batch Form Submission")
+public class BatchFormSubmitterTest {
+
+    // Field names the practice form uses for the selectors of FieldMapping.practiceWebform()
+    private static final Map<String, String> FIELD_NAMES = Map.of(
+            "#edit-name", "name",
+            "#edit-number", "number",
+            "#edit-date", "date",
+            "input[type='email']", "email",
+            "#edit-tell-us-a-bit-about-yourself-", "tell_us_a_bit_about_yourself_",
+            "input[type='checkbox']", "i_have_completed_this_form");
+    private static final Pattern MESSAGE = Pattern.compile("<div class=\"messages (messages--\\w+)\"[^>]*>([^<]*)</div>");
+
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final List<FakeWebDriver> browsers = new CopyOnWriteArrayList<>();
+    private PracticeFormServer server;
+    private DriverPool pool;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    @Step("Start the local practice form and a pool of scripted browsers")
+    public void setup() throws IOException {
+        server = PracticeFormServer.start();
+        pool = new DriverPool(4, this::browser, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+        server.close();
+    }
+
+    @Test
+    @Story("Submit a dataset")
+    @Description("A thousand CSV records go through four sessions with one script call each and a result per record")
+    public void testSubmitsCsvDatasetWithWorkers() throws Exception {
+        Path csv = directory.resolve("records.csv");
+        Files.writeString(csv, csv(1_000, 50));
+        List<FormRecord> records = FormDataset.read(csv);
+        Assertions.assertEquals(1_000, records.size());
+
+        BatchFormSubmitter.Report report = new BatchFormSubmitter(pool, server.formUri(),
+                FieldMapping.practiceWebform(), 4).submit(records);
+        System.out.println(report);
+        Allure.addAttachment("Batch submission", "text/plain", report.toString());
+
+        Assertions.assertEquals(1_000, report.getRecords());
+        Assertions.assertEquals(980, report.getSucceeded());
+        Assertions.assertEquals(4, report.getWorkers());
+        Assertions.assertTrue(report.getRecordsPerSecond() > 0);
+        for (int i = 0; i < records.size(); i++) {
+            Assertions.assertSame(records.get(i), report.getResults().get(i).record(), "results in dataset order");
+        }
+        for (BatchFormSubmitter.Result failure : report.getFailures()) {
+            Assertions.assertEquals(0, failure.record().number() % 50, "only the bad emails should fail");
+            Assertions.assertTrue(failure.message().contains("is not valid"), failure.message());
+        }
+        Assertions.assertTrue(report.getResults().get(0).message().contains("Thank you, Learner 1"));
+
+        List<Map<String, String>> accepted = server.accepted();
+        Assertions.assertEquals(980, accepted.size());
+        Assertions.assertEquals(20, server.rejected());
+        Map<String, String> first = accepted.stream().filter(v -> v.get("name").equals("Learner 1")).findFirst().orElseThrow();
+        Assertions.assertEquals("QA engineer, \"tester\"\nLine two", first.get("tell_us_a_bit_about_yourself_"));
+
+        // One script call per record and one page load per session, however many records a session takes
+        int scripts = browsers.stream().mapToInt(b -> b.calls("executeAsyncScript")).sum();
+        long pageLoads = browsers.stream().flatMap(b -> b.visited().stream())
+                .filter(url -> url.equals(server.formUri().toString())).count();
+        Assertions.assertEquals(1_000, scripts);
+        Assertions.assertEquals(4, pageLoads);
+        Assertions.assertEquals(0, browsers.stream().mapToInt(b -> b.calls("findElement")).sum());
+    }
+
+    @Test
+    @Story("Crashed session")
+    @Description("A session that dies fails only its current record; the worker carries on with a fresh session")
+    public void testRecoversFromCrashedSession() throws Exception {
+        List<FormRecord> records = FormDataset.readCsv(new StringReader(csv(200, 0)));
+        AtomicInteger submissions = new AtomicInteger();
+        pool = new DriverPool(2, () -> {
+            FakeWebDriver fake = new FakeWebDriver();
+            fake.onScript((script, args) -> {
+                if (args.length > 0 && submissions.incrementAndGet() == 50) {
+                    fake.kill();
+                    throw new org.openqa.selenium.NoSuchSessionException("browser crashed");
+                }
+                return post(args);
+            });
+            browsers.add(fake);
+            return fake.driver();
+        }, Duration.ofSeconds(5));
+
+        BatchFormSubmitter.Report report = new BatchFormSubmitter(pool, server.formUri(),
+                FieldMapping.practiceWebform(), 2).submit(records);
+        System.out.println(report);
+
+        Assertions.assertEquals(199, report.getSucceeded());
+        Assertions.assertTrue(report.getFailures().get(0).message().startsWith("WebDriver error: browser crashed"),
+                report.getFailures().get(0).message());
+        Assertions.assertEquals(199, server.accepted().size());
+        Assertions.assertEquals(3, browsers.size(), "the crashed session should have been replaced");
+        Assertions.assertEquals(1, pool.stats().getRecycled());
+    }
+
+    @Test
+    @Story("Datasets")
+    @Description("CSV with quoting and the same records as JSON read the same")
+    public void testCsvAndJsonDatasetsMatch() throws Exception {
+        String csv = "name,email,completed,about\r\n"
+                + "Ann,ann@example.com,true,\"Likes \"\"quotes\"\", commas\"\r\n"
+                + "\r\n"
+                + "Bob,bob@example.com,false,\"two\nlines\"\n";
+        Path json = directory.resolve("records.json");
+        Files.writeString(json, "[{\"name\": \"Ann\", \"email\": \"ann@example.com\", \"completed\": true,"
+                + " \"about\": \"Likes \\\"quotes\\\", commas\"},"
+                + " {\"name\": \"Bob\", \"email\": \"bob@example.com\", \"completed\": false, \"about\": \"two\\nlines\"}]");
+
+        List<FormRecord> fromCsv = FormDataset.readCsv(new StringReader(csv));
+        List<FormRecord> fromJson = FormDataset.read(json);
+        Assertions.assertEquals(fromCsv, fromJson);
+        Assertions.assertEquals(List.of("name", "email", "completed", "about"), List.copyOf(fromCsv.get(0).values().keySet()),
+                "columns keep dataset order");
+        Assertions.assertEquals(2, fromCsv.get(1).number());
+        Assertions.assertEquals("Likes \"quotes\", commas", fromCsv.get(0).get("about"));
+        Assertions.assertEquals("", fromCsv.get(0).get("number"));
+
+        Map<String, String> values = FieldMapping.practiceWebform().values(fromCsv.get(1));
+        Assertions.assertEquals(List.of("#edit-name", "input[type='email']", "#edit-tell-us-a-bit-about-yourself-",
+                "input[type='checkbox']"), List.copyOf(values.keySet()));
+        Assertions.assertThrows(IOException.class, () -> FormDataset.readCsv(new StringReader("a,b\n1,2,3\n")));
+    }
+
+    @Test
+    @Story("Real browser")
+    @Description("The fetch and click scripts fill, validate and submit the practice form in a headless browser")
+    public void testScriptsSubmitInRealBrowser() throws Exception {
+        WebDriver first = null;
+        try {
+            first = DriverFactory.createDriver(BrowserProfile.FORMS);
+        } catch (Exception e) {
+            Assumptions.abort("No local Chrome to run the form scripts in: " + e.getMessage());
+        }
+        AtomicReference<WebDriver> unused = new AtomicReference<>(first);
+        List<FormRecord> records = FormDataset.readCsv(new StringReader(csv(20, 10)));
+        FieldMapping mapping = FieldMapping.practiceWebform();
+        try (DriverPool browsers = new DriverPool(2, () -> {
+            WebDriver driver = unused.getAndSet(null);
+            return driver != null ? driver : DriverFactory.createDriver(BrowserProfile.FORMS);
+        }, Duration.ofSeconds(30))) {
+            BatchFormSubmitter.Report fetched = new BatchFormSubmitter(browsers, server.formUri(), mapping, 2).submit(records);
+            System.out.println(fetched);
+
+            Assertions.assertEquals(18, fetched.getSucceeded(), () -> fetched.getFailures().toString());
+            Assertions.assertTrue(fetched.getResults().get(0).message().contains("Thank you, Learner 1"),
+                    fetched.getResults().get(0).message());
+            // The browser's own email validation stops the bad records before anything is posted
+            Assertions.assertEquals(List.of(10, 20), fetched.getFailures().stream().map(f -> f.record().number()).toList());
+            Assertions.assertEquals(18, server.accepted().size());
+            Assertions.assertEquals(0, server.rejected());
+            Map<String, String> learner = server.accepted().stream()
+                    .filter(v -> v.get("name").equals("Learner 1")).findFirst().orElseThrow();
+            Assertions.assertEquals("1", learner.get("i_have_completed_this_form"));
+            Assertions.assertEquals(PracticeFormServer.BUILD_ID, learner.get("form_build_id"));
+
+            BatchFormSubmitter.Report clicked = new BatchFormSubmitter(browsers, server.formUri(), mapping, 1,
+                    BatchFormSubmitter.Mode.NAVIGATE, BatchFormSubmitter.DEFAULT_OUTCOME_TIMEOUT).submit(records.subList(0, 3));
+            System.out.println(clicked);
+
+            Assertions.assertEquals(3, clicked.getSucceeded(), () -> clicked.getFailures().toString());
+            Assertions.assertEquals(21, server.accepted().size());
+        }
+    }
+
+    private WebDriver browser() {
+        FakeWebDriver fake = new FakeWebDriver().onScript((script, args) -> post(args));
+        browsers.add(fake);
+        return fake.driver();
+    }
+
+    // What the fetch script does in a browser: post the mapped fields plus the form's hidden inputs
+    private Object post(Object[] args) {
+        if (args.length == 0) {
+            // The pool clearing storage on release
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, String> fields = (Map<String, String>) args[0];
+        StringJoiner body = new StringJoiner("&");
+        body.add("form_build_id=" + PracticeFormServer.BUILD_ID).add("form_id=" + PracticeFormServer.FORM_ID).add("op=Submit");
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            String name = FIELD_NAMES.get(field.getKey());
+            String value = field.getValue();
+            if (name.startsWith("i_have")) {
+                if (!value.matches("(?i)true|yes|on|1")) {
+                    continue;
+                }
+                value = "1";
+            }
+            body.add(name + "=" + URLEncoder.encode(value, StandardCharsets.UTF_8));
+        }
+        try {
+            HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(server.formUri().toString()))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(body.toString())).build(), HttpResponse.BodyHandlers.ofString());
+            Matcher message = MESSAGE.matcher(response.body());
+            Assertions.assertTrue(message.find(), response.body());
+            return Map.of("status", message.group(1).equals("messages--status") ? "success" : "error",
+                    "message", message.group(2));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Every badEvery-th record has an invalid email (none when 0)
+    private static String csv(int records, int badEvery) {
+        StringBuilder csv = new StringBuilder("name,number,date,email,about,completed\n");
+        for (int i = 1; i <= records; i++) {
+            String email = badEvery > 0 && i % badEvery == 0 ? "learner" + i + "-at-example.com" : "learner" + i + "@example.com";
+            csv.append("Learner ").append(i).append(",0171").append(String.format("%07d", i)).append(",15/05/1990,")
+                    .append(email).append(",\"QA engineer, \"\"tester\"\"\nLine two\",yes\n");
+        }
+        return csv.toString();
+    }
+}
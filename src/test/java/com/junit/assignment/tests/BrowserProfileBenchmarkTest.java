@@ -0,0 +1,106 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.driver.BrowserProfile;
+import com.junit.assignment.driver.DriverFactory;
+import com.junit.assignment.support.FixtureServer;
+import com.junit.assignment.support.ProcessMemory;
+import com.sun.net.httpserver.HttpHandler;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+@Tag("benchmark")
+@Isolated
+@Epic("Test Infrastructure")
+@Feature("Browser Profiles")
+public class BrowserProfileBenchmarkTest {
+
+    private static final int IMAGES = 12;
+    private static final int LOADS = 5;
+    private static final long ASSET_DELAY_MILLIS = 150;
+
+    private FixtureServer server;
+
+    @BeforeEach
+    @Step("Start local page with images, web fonts and a tracker")
+    public void setup() throws IOException {
+        StringBuilder page = new StringBuilder("<!DOCTYPE html><html><head><title>Prices</title>\n"
+                + "<style>@font-face { font-family: Brand; src: url('/assets/brand.woff2') format('woff2'); }\n"
+                + "body { font-family: Brand, sans-serif; }</style>\n"
+                + "<script src=\"/assets/analytics.js\"></script>\n</head><body>\n<table id=\"prices\">\n");
+        for (int i = 0; i < IMAGES; i++) {
+            page.append("<tr><td><img src=\"/assets/logo-").append(i).append(".png\" width=\"64\" height=\"64\"></td><td>")
+                    .append(100 + i).append("</td></tr>\n");
+        }
+        byte[] html = page.append("</table></body></html>").toString().getBytes(StandardCharsets.UTF_8);
+        byte[] asset = new byte[64 * 1024];
+        Arrays.fill(asset, (byte) 7);
+
+        server = FixtureServer.start()
+                .serve("/prices", FixtureServer.HTML, () -> html)
+                .serve("/assets/", slow(asset));
+    }
+
+    @AfterEach
+    @Step("Stop local server")
+    public void tearDown() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    @Story("Compare browser profiles")
+    @Description("Page-load time, requests reaching the server and browser RSS of the full profile versus the scraping profile")
+    public void testCompareProfiles() {
+        String full = measure(BrowserProfile.FULL);
+        String scraping = measure(BrowserProfile.SCRAPING);
+        String summary = "full:     " + full + "\nscraping: " + scraping;
+        System.out.println(summary);
+        Allure.addAttachment("Browser profiles", "text/plain", summary);
+    }
+
+    private String measure(BrowserProfile profile) {
+        WebDriver driver;
+        try {
+            driver = DriverFactory.createDriver(profile);
+        } catch (Exception e) {
+            driver = Assumptions.abort("No local Chrome available for the benchmark: " + e.getMessage());
+        }
+        try {
+            String url = server.uri("/prices").toString();
+            driver.get(url); // warm-up
+            int assetsBefore = server.requestCount("/assets/");
+            long start = System.nanoTime();
+            for (int i = 0; i < LOADS; i++) {
+                driver.get(url + "?load=" + i);
+                Assertions.assertEquals(IMAGES, driver.findElements(By.cssSelector("#prices tr")).size());
+            }
+            double millis = (System.nanoTime() - start) / 1_000_000.0 / LOADS;
+            double assets = (double) (server.requestCount("/assets/") - assetsBefore) / LOADS;
+            return String.format("%.1f ms per load, %.1f asset requests per load, browser RSS %s (%s)",
+                    millis, assets, ProcessMemory.format(ProcessMemory.descendantsRssBytes()), profile);
+        } finally {
+            driver.quit();
+        }
+    }
+
+    // Not cacheable, so every load asks again unless the request is blocked
+    private static HttpHandler slow(byte[] body) {
+        return exchange -> {
+            try {
+                Thread.sleep(ASSET_DELAY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().set("Cache-Control", "no-store");
+            FixtureServer.send(exchange, 200, body);
+        };
+    }
+}
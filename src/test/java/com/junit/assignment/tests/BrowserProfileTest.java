@@ -0,0 +1,121 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.driver.BrowserBinary;
+import com.junit.assignment.driver.BrowserProfile;
+import com.junit.assignment.driver.UseBrowserProfile;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+
+@Epic("Test Infrastructure")
+@Feature("Browser Profiles")
+public class BrowserProfileTest {
+
+    @UseBrowserProfile("scraping")
+    private static class ScrapingClass {
+    }
+
+    private static class InheritingClass extends ScrapingClass {
+    }
+
+    private static class PlainClass {
+    }
+
+    @Test
+    @Story("Launch options")
+    @Description("The scraping profile runs headless in a small window, loads eagerly and switches images off")
+    @SuppressWarnings("unchecked")
+    public void testScrapingProfileOptions() {
+        ChromeOptions options = BrowserProfile.SCRAPING.toChromeOptions();
+        Map<String, Object> chrome = (Map<String, Object>) options.asMap().get("goog:chromeOptions");
+        List<String> args = (List<String>) chrome.get("args");
+        Map<String, Object> prefs = (Map<String, Object>) chrome.get("prefs");
+
+        Assertions.assertTrue(args.contains("--headless=new"), args.toString());
+        Assertions.assertTrue(args.contains("--window-size=1024,768"), args.toString());
+        Assertions.assertEquals("eager", options.asMap().get("pageLoadStrategy").toString());
+        Assertions.assertEquals(2, prefs.get("profile.managed_default_content_settings.images"));
+
+        ChromeOptions headed = BrowserProfile.FULL.withHeadless(false).toChromeOptions();
+        List<String> headedArgs = (List<String>) ((Map<String, Object>) headed.asMap().get("goog:chromeOptions")).get("args");
+        Assertions.assertTrue(headedArgs.contains("--start-maximized"), headedArgs.toString());
+        Assertions.assertFalse(headedArgs.contains("--headless=new"));
+        Assertions.assertEquals("normal", headed.asMap().get("pageLoadStrategy").toString());
+    }
+
+    @Test
+    @Story("Blocked requests")
+    @Description("Only profiles that block resources produce URL patterns, and they cover fonts and trackers")
+    public void testBlockedUrlPatterns() {
+        Assertions.assertTrue(BrowserProfile.FULL.blockedUrlPatterns().isEmpty());
+
+        List<String> scraping = BrowserProfile.SCRAPING.blockedUrlPatterns();
+        Assertions.assertTrue(scraping.contains("*.woff*"));
+        Assertions.assertTrue(scraping.contains("*google-analytics.com/*"));
+        Assertions.assertTrue(scraping.contains("*/analytics.js*"));
+        Assertions.assertEquals(scraping.size(), Set.copyOf(scraping).size(), "patterns should not repeat");
+
+        BrowserProfile custom = BrowserProfile.builder("custom")
+                .blockTrackers(true)
+                .blockUrls("*/ads/*")
+                .pageLoadStrategy(PageLoadStrategy.EAGER)
+                .build();
+        Assertions.assertTrue(custom.blockedUrlPatterns().contains("*/ads/*"));
+        Assertions.assertFalse(custom.blockedUrlPatterns().contains("*.woff*"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BrowserProfile.builder("tiny").windowSize(0, 600));
+    }
+
+    @Test
+    @Story("Profile per test class")
+    @Description("The system property wins over the class annotation, which wins over the full default")
+    public void testProfileForTestClass() {
+        Properties none = new Properties();
+        Assertions.assertSame(BrowserProfile.SCRAPING, BrowserProfile.forTestClass(ScrapingClass.class, none));
+        Assertions.assertSame(BrowserProfile.SCRAPING, BrowserProfile.forTestClass(InheritingClass.class, none));
+        Assertions.assertSame(BrowserProfile.FULL, BrowserProfile.forTestClass(PlainClass.class, none));
+
+        Properties forms = new Properties();
+        forms.setProperty(BrowserProfile.PROFILE_PROPERTY, "forms");
+        Assertions.assertSame(BrowserProfile.FORMS, BrowserProfile.forTestClass(ScrapingClass.class, forms));
+
+        Properties headed = new Properties();
+        headed.setProperty(BrowserProfile.HEADLESS_PROPERTY, "false");
+        BrowserProfile profile = BrowserProfile.forTestClass(ScrapingClass.class, headed);
+        Assertions.assertEquals("scraping", profile.name());
+        Assertions.assertFalse(profile.isHeadless());
+        Assertions.assertEquals(BrowserProfile.SCRAPING.blockedUrlPatterns(), profile.blockedUrlPatterns());
+
+        Properties unknown = new Properties();
+        unknown.setProperty(BrowserProfile.PROFILE_PROPERTY, "turbo");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BrowserProfile.forTestClass(PlainClass.class, unknown));
+    }
+
+    @Test
+    @Story("Browser binary")
+    @Description("Brave is preferred on Linux, Chrome is the fallback, and the version output gives the Chromium major")
+    public void testDetectsBinary() {
+        Set<Path> installed = Set.of(Path.of("/usr/bin/google-chrome"), Path.of("/usr/bin/brave-browser"));
+        Optional<BrowserBinary> brave = BrowserBinary.detect("Linux", null, installed::contains);
+        Assertions.assertEquals(new BrowserBinary(Path.of("/usr/bin/brave-browser"), BrowserBinary.Kind.BRAVE), brave.orElseThrow());
+
+        Optional<BrowserBinary> chrome = BrowserBinary.detect("Linux", null, Path.of("/usr/bin/google-chrome")::equals);
+        Assertions.assertEquals(BrowserBinary.Kind.CHROME, chrome.orElseThrow().kind());
+        Assertions.assertTrue(BrowserBinary.detect("Linux", null, path -> false).isEmpty());
+
+        Optional<BrowserBinary> override = BrowserBinary.detect("Mac OS X", "/opt/chromium/chrome", path -> true);
+        Assertions.assertEquals(BrowserBinary.Kind.CHROMIUM, override.orElseThrow().kind());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BrowserBinary.detect("Linux", "/missing", path -> false));
+
+        Assertions.assertEquals(Optional.of("140"), BrowserBinary.parseMajorVersion("Brave Browser 140.1.82.166"));
+        Assertions.assertEquals(Optional.of("141"), BrowserBinary.parseMajorVersion("Google Chrome 141.0.7390.54 "));
+        Assertions.assertTrue(BrowserBinary.parseMajorVersion("command not found").isEmpty());
+    }
+}
@@ -0,0 +1,149 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.scraping.CellDecoder;
+import com.junit.assignment.scraping.CodeDictionary;
+import com.junit.assignment.scraping.HtmlTableParser;
+import com.junit.assignment.scraping.MutableStockRow;
+import com.junit.assignment.scraping.ScrapedTable;
+import com.junit.assignment.scraping.StockRow;
+import com.junit.assignment.scraping.StockRowDecoder;
+import com.junit.assignment.scraping.StockRowPool;
+import com.junit.assignment.support.FixtureServer;
+import com.junit.assignment.support.ProcessMemory;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+@Epic("Web Scraping Automation")
+@Feature("Typed Row Decoding")
+public class CellDecoderTest {
+
+    private static final String FIXTURE = "/fixtures/dse_latest_share_price.html";
+
+    private String html;
+    private ScrapedTable table;
+
+    @BeforeEach
+    @Step("Parse the captured DSE page")
+    public void setup() {
+        html = new String(FixtureServer.resource(FIXTURE), StandardCharsets.UTF_8);
+        table = HtmlTableParser.parse(html);
+    }
+
+    @Test
+    @Story("Numeric parsing")
+    @Description("Decoded values match Double.parseDouble(s.replace(\",\", \"\")) bit for bit")
+    public void testMatchesDoubleParseDouble() {
+        List<String> samples = new ArrayList<>(List.of("0", "-0", "0.0", "1,234.50", "-73.7", "+5", ".5", "7.",
+                "3,416,062", "0.001", "99999999999999999999.5", "1e3", "  12.5 ", "1.2,3"));
+        for (StockRow row : table.getRows()) {
+            samples.addAll(row.cells().subList(2, row.cells().size()));
+        }
+        Random random = new Random(16);
+        for (int i = 0; i < 10_000; i++) {
+            samples.add(String.format("%,." + random.nextInt(6) + "f", (random.nextDouble() - 0.3) * Math.pow(10, random.nextInt(10))));
+        }
+
+        for (String sample : samples) {
+            if (sample.trim().equals("--")) {
+                continue;
+            }
+            double expected = Double.parseDouble(sample.replace(",", ""));
+            Assertions.assertEquals(Double.doubleToRawLongBits(expected),
+                    Double.doubleToRawLongBits(CellDecoder.parseDecimal(sample)), sample);
+        }
+    }
+
+    @Test
+    @Story("Numeric parsing")
+    @Description("'--', empty and malformed cells become sentinels instead of exceptions")
+    public void testSentinels() {
+        for (String blank : new String[]{"--", " -- ", "", "   ", "-", ".", "12a", "N/A", "1-2"}) {
+            Assertions.assertTrue(Double.isNaN(CellDecoder.parseDecimal(blank)), blank);
+            Assertions.assertEquals(StockRow.MISSING, CellDecoder.parseCount(blank), blank);
+        }
+        Assertions.assertEquals(3416062L, CellDecoder.parseCount("3,416,062"));
+        Assertions.assertEquals(StockRow.MISSING, CellDecoder.parseCount("12.5"));
+        Assertions.assertEquals(StockRow.MISSING, CellDecoder.parseCount("99,999,999,999,999,999,999"));
+        // Ranges inside a larger buffer, as the parser hands them over
+        Assertions.assertEquals(2283.2, CellDecoder.parseDecimal("LTP:2,283.2;", 4, 11));
+    }
+
+    @Test
+    @Story("Numeric parsing")
+    @Description("Parsing cells allocates no per-cell garbage, unlike parseDouble(replace(...))")
+    public void testParsingDoesNotAllocate() {
+        List<String> cells = new ArrayList<>();
+        for (StockRow row : table.getRows()) {
+            cells.addAll(row.cells().subList(2, row.cells().size()));
+        }
+        double sum = 0;
+        for (int round = 0; round < 50; round++) {
+            for (String cell : cells) {
+                sum += warm(cell); // JIT warm-up, so OSR compilation is not measured
+            }
+        }
+
+        long before = ProcessMemory.currentThreadAllocatedBytes();
+        Assumptions.assumeTrue(before != ProcessMemory.UNKNOWN, "thread allocation counter not available");
+        for (int round = 0; round < 20; round++) {
+            for (String cell : cells) {
+                double value = CellDecoder.parseDecimal(cell);
+                sum += Double.isNaN(value) ? 0 : value;
+            }
+        }
+        long allocated = ProcessMemory.currentThreadAllocatedBytes() - before;
+
+        long baselineBefore = ProcessMemory.currentThreadAllocatedBytes();
+        for (int round = 0; round < 20; round++) {
+            for (String cell : cells) {
+                sum += cell.trim().equals("--") ? 0 : Double.parseDouble(cell.replace(",", ""));
+            }
+        }
+        long baseline = ProcessMemory.currentThreadAllocatedBytes() - baselineBefore;
+        System.out.println("Parsed " + cells.size() * 20 + " cells, allocated " + allocated + " bytes vs " + baseline + " (checksum " + sum + ")");
+        // What remains is the test JVM's own noise (Allure weaving, the counter itself), not
+        // per-cell garbage, so compare against the string path rather than against zero
+        Assertions.assertTrue(allocated * 20 < baseline, "allocated " + allocated + " bytes vs " + baseline);
+    }
+
+    @Test
+    @Story("Pooled rows")
+    @Description("The page decodes into pooled rows equal to the parsed StockRows, and a second decode reuses them")
+    public void testDecodesIntoReusedRows() throws IOException {
+        StockRowPool pool = new StockRowPool();
+        CodeDictionary codes = new CodeDictionary();
+        StockRowDecoder decoder = new StockRowDecoder(pool, codes);
+
+        Assertions.assertEquals(400, decoder.decode(new StringReader(html)));
+        Assertions.assertEquals(table.getHeaders(), decoder.headers());
+        for (int i = 0; i < pool.size(); i++) {
+            StockRow expected = table.getRows().get(i);
+            MutableStockRow row = pool.get(i);
+            Assertions.assertEquals(expected.index(), row.index());
+            Assertions.assertTrue(row.sameValues(expected), "Row " + (i + 1));
+            Assertions.assertTrue(row.toStockRow().sameValues(expected), "Row " + (i + 1));
+        }
+
+        MutableStockRow first = pool.get(0);
+        String firstCode = first.tradingCode();
+        int capacity = pool.capacity();
+        decoder.decode(new StringReader(html));
+
+        Assertions.assertSame(first, pool.get(0), "row objects are reused");
+        Assertions.assertSame(firstCode, pool.get(0).tradingCode(), "codes come from the dictionary");
+        Assertions.assertEquals(capacity, pool.capacity());
+        Assertions.assertEquals(400, codes.size());
+    }
+
+    private static double warm(String cell) {
+        double value = CellDecoder.parseDecimal(cell);
+        return Double.isNaN(value) ? 0 : value;
+    }
+}
@@ -0,0 +1,133 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.scraping.HtmlTableParser;
+import com.junit.assignment.scraping.StockRow;
+import com.junit.assignment.storage.ColumnarSnapshotFile.Column;
+import com.junit.assignment.storage.ColumnarSnapshotReader;
+import com.junit.assignment.storage.ColumnarSnapshotWriter;
+import com.junit.assignment.support.FixtureServer;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Tag("benchmark")
+@Isolated
+@Epic("Web Scraping Automation")
+@Feature("Columnar Snapshot Storage")
+public class ColumnarFormatBenchmarkTest {
+
+    private static final String FIXTURE = "/fixtures/dse_latest_share_price.html";
+    // One-minute snapshots over a 10:00-14:30 trading session
+    private static final int SNAPSHOTS = 270;
+    private static final int MEASURED_RUNS = 5;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @Story("Compare storage formats")
+    @Description("File size and time to pull one symbol's LTP series from a day of text versus columnar snapshots")
+    public void testCompareTextAndColumnarFormats() throws IOException {
+        List<StockRow> rows = HtmlTableParser.parse(
+                new String(FixtureServer.resource(FIXTURE), StandardCharsets.UTF_8)).getRows();
+        String symbol = rows.get(rows.size() / 2).tradingCode();
+        Instant start = Instant.parse("2024-01-01T04:00:00Z");
+
+        Path text = directory.resolve("stock_prices.txt");
+        Path columnar = directory.resolve("stock_prices.col");
+        try (BufferedWriter out = Files.newBufferedWriter(text, StandardCharsets.UTF_8);
+             ColumnarSnapshotWriter writer = ColumnarSnapshotWriter.open(columnar)) {
+            for (int i = 0; i < SNAPSHOTS; i++) {
+                List<StockRow> snapshot = tick(rows, i);
+                writeText(out, snapshot);
+                writer.append(start.plusSeconds(60L * i), snapshot);
+            }
+        }
+
+        double[] expected = scanText(text, symbol); // warm-up
+        long begin = System.nanoTime();
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            expected = scanText(text, symbol);
+        }
+        double textMillis = (System.nanoTime() - begin) / 1_000_000.0 / MEASURED_RUNS;
+
+        double[] series;
+        try (ColumnarSnapshotReader reader = ColumnarSnapshotReader.open(columnar)) {
+            series = reader.series(symbol, Column.LTP); // warm-up
+            begin = System.nanoTime();
+            for (int i = 0; i < MEASURED_RUNS; i++) {
+                series = reader.series(symbol, Column.LTP);
+            }
+        }
+        double columnarMillis = (System.nanoTime() - begin) / 1_000_000.0 / MEASURED_RUNS;
+
+        long textBytes = Files.size(text);
+        long columnarBytes = Files.size(columnar);
+        System.out.println(String.format("%d snapshots x %d rows, series of %s", SNAPSHOTS, rows.size(), symbol));
+        System.out.println(String.format("Text:     %,d bytes, scan %.2f ms", textBytes, textMillis));
+        System.out.println(String.format("Columnar: %,d bytes, scan %.2f ms", columnarBytes, columnarMillis));
+
+        Assertions.assertArrayEquals(expected, series);
+        Assertions.assertTrue(columnarBytes < textBytes, "columnar file should be smaller than the text file");
+    }
+
+    // Moves every price a little so consecutive snapshots differ
+    private static List<StockRow> tick(List<StockRow> rows, int minute) {
+        List<StockRow> result = new ArrayList<>(rows.size());
+        for (StockRow row : rows) {
+            double ltp = Math.round((row.ltp() + (minute % 7 - 3) * 0.1) * 10) / 10.0;
+            result.add(StockRow.of(row.index(), row.tradingCode(), ltp, row.high(), row.low(), row.closep(),
+                    row.ycp(), row.change(), row.trade() + minute, row.value(), row.volume() + minute * 100L));
+        }
+        return result;
+    }
+
+    // Same layout TableScrapingTest writes to stock_prices.txt
+    private static void writeText(BufferedWriter out, List<StockRow> rows) throws IOException {
+        out.write("--- TABLE DATA ---\n");
+        out.write("Total rows: " + rows.size() + "\n\n");
+        int rowNumber = 0;
+        for (StockRow row : rows) {
+            out.write(String.format("\nRow %d:\n", ++rowNumber));
+            List<String> cells = row.cells();
+            for (int i = 0; i < cells.size(); i++) {
+                out.write(String.format("  Cell %d: %s\n", i + 1, cells.get(i)));
+            }
+        }
+    }
+
+    // What downstream code has to do with the text file: read every line and re-parse the number
+    private static double[] scanText(Path file, String symbol) throws IOException {
+        double[] values = new double[SNAPSHOTS];
+        Arrays.fill(values, Double.NaN);
+        String codeLine = "  Cell 2: " + symbol;
+        int snapshot = -1;
+        boolean found = false;
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith("--- TABLE DATA")) {
+                    snapshot++;
+                } else if (line.equals(codeLine)) {
+                    found = true;
+                } else if (found) {
+                    values[snapshot] = StockRow.parseDecimal(line.substring(line.indexOf(':') + 2));
+                    found = false;
+                }
+            }
+        }
+        return values;
+    }
+}
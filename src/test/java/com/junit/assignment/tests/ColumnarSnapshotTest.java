@@ -0,0 +1,155 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.scraping.HtmlTableParser;
+import com.junit.assignment.scraping.StockRow;
+import com.junit.assignment.storage.ColumnarSnapshotFile.Column;
+import com.junit.assignment.storage.ColumnarSnapshotReader;
+import com.junit.assignment.storage.ColumnarSnapshotWriter;
+import com.junit.assignment.support.FixtureServer;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Epic("Web Scraping Automation")
+@Feature("Columnar Snapshot Storage")
+public class ColumnarSnapshotTest {
+
+    private static final String FIXTURE = "/fixtures/dse_latest_share_price.html";
+    private static final Instant START = Instant.parse("2024-01-01T04:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private List<StockRow> rows;
+
+    @BeforeEach
+    @Step("Parse the captured DSE page")
+    public void setup() {
+        rows = HtmlTableParser.parse(new String(FixtureServer.resource(FIXTURE), StandardCharsets.UTF_8)).getRows();
+    }
+
+    @Test
+    @Story("Round trip")
+    @Description("Every value written to the columnar file reads back unchanged, including '--' sentinels")
+    public void testRoundTrip() throws IOException {
+        Path file = directory.resolve("prices.col");
+        List<StockRow> withGaps = List.of(
+                StockRow.fromCells(List.of("1", "NEWLISTING", "1,234.50", "--", "--", "1", "1", "0", "--", "0", "--")),
+                rows.get(0));
+        try (ColumnarSnapshotWriter writer = ColumnarSnapshotWriter.open(file)) {
+            writer.append(START, rows);
+            writer.append(START.plusSeconds(60), withGaps);
+        }
+
+        try (ColumnarSnapshotReader reader = ColumnarSnapshotReader.open(file)) {
+            Assertions.assertEquals(2, reader.snapshotCount());
+            Assertions.assertEquals(START, reader.timestamp(0));
+            List<StockRow> read = reader.rows(0);
+            Assertions.assertEquals(rows.size(), read.size());
+            for (int i = 0; i < rows.size(); i++) {
+                Assertions.assertEquals(rows.get(i).index(), read.get(i).index());
+                Assertions.assertTrue(rows.get(i).sameValues(read.get(i)), "Row " + (i + 1));
+            }
+
+            StockRow gaps = reader.row(1, 0);
+            Assertions.assertEquals(1234.5, gaps.ltp());
+            Assertions.assertTrue(Double.isNaN(gaps.high()));
+            Assertions.assertEquals(StockRow.MISSING, gaps.volume());
+            Assertions.assertEquals("--", gaps.cells().get(10));
+            Assertions.assertTrue(Double.isNaN(reader.series("NEWLISTING", Column.VOLUME)[1]), "'--' volume reads as a gap");
+            // LANKALIFE was already in the dictionary from the first snapshot
+            Assertions.assertEquals(rows.size() + 1, reader.codes().size());
+        }
+    }
+
+    @Test
+    @Story("Symbol scan")
+    @Description("A symbol's series is read column by column, with NaN where it was not listed")
+    public void testSeriesForSymbol() throws IOException {
+        Path file = directory.resolve("prices.col");
+        StockRow first = rows.get(0);
+        try (ColumnarSnapshotWriter writer = ColumnarSnapshotWriter.open(file)) {
+            writer.append(START, rows);
+            writer.append(START.plusSeconds(60), rows.subList(1, rows.size()));
+        }
+        // Reopening appends to the same file
+        try (ColumnarSnapshotWriter writer = ColumnarSnapshotWriter.open(file)) {
+            writer.append(START.plusSeconds(120), List.of(StockRow.of(1, first.tradingCode(), 2300.0, first.high(),
+                    first.low(), first.closep(), first.ycp(), first.change(), first.trade(), first.value(), 42L)));
+        }
+
+        try (ColumnarSnapshotReader reader = ColumnarSnapshotReader.open(file)) {
+            double[] ltp = reader.series(first.tradingCode(), Column.LTP);
+            Assertions.assertArrayEquals(new double[]{first.ltp(), Double.NaN, 2300.0}, ltp);
+            double[] volume = reader.series(first.tradingCode(), Column.VOLUME);
+            Assertions.assertEquals(42.0, volume[2]);
+            Assertions.assertEquals(-1, reader.find(0, "NOSUCHCODE"));
+        }
+    }
+
+    @Test
+    @Story("Crash recovery")
+    @Description("A day file cut off during an append loses only the snapshot being written")
+    public void testRecoversFromInterruptedAppend() throws IOException {
+        Path file = directory.resolve("prices.col");
+        long secondEnd;
+        try (ColumnarSnapshotWriter writer = ColumnarSnapshotWriter.open(file)) {
+            writer.append(START, rows);
+            writer.append(START.plusSeconds(60), rows.subList(1, rows.size()));
+            secondEnd = Files.size(file);
+            List<StockRow> third = new ArrayList<>(rows);
+            third.add(StockRow.fromCells(List.of("401", "NEWLISTING", "10", "10", "10", "10", "10", "0", "1", "0.1", "100")));
+            writer.append(START.plusSeconds(120), third);
+        }
+
+        // Footer torn off: every snapshot is still there
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(file) - 5);
+        }
+        try (ColumnarSnapshotReader reader = ColumnarSnapshotReader.open(file)) {
+            Assertions.assertEquals(3, reader.snapshotCount());
+            Assertions.assertEquals("NEWLISTING", reader.code(2, rows.size()));
+            Assertions.assertEquals(rows.size() + 1, reader.codes().size());
+        }
+
+        // Third snapshot half written over the second one's footer
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(secondEnd - 100);
+        }
+        try (ColumnarSnapshotReader reader = ColumnarSnapshotReader.open(file)) {
+            Assertions.assertEquals(2, reader.snapshotCount());
+            Assertions.assertEquals(START.plusSeconds(60), reader.timestamp(1));
+            Assertions.assertTrue(rows.get(1).sameValues(reader.row(1, 0)));
+        }
+        try (ColumnarSnapshotWriter writer = ColumnarSnapshotWriter.open(file)) {
+            Assertions.assertEquals(2, writer.snapshotCount());
+            writer.append(START.plusSeconds(180), rows);
+        }
+        try (ColumnarSnapshotReader reader = ColumnarSnapshotReader.open(file)) {
+            Assertions.assertEquals(3, reader.snapshotCount());
+            Assertions.assertEquals(START.plusSeconds(180), reader.timestamp(2));
+            Assertions.assertEquals(rows.size(), reader.rowCount(2));
+        }
+    }
+
+    @Test
+    @Story("File validation")
+    @Description("A file that is not a columnar snapshot file is rejected instead of misread")
+    public void testRejectsForeignFile() throws IOException {
+        Path file = directory.resolve("stock_prices.txt");
+        Files.writeString(file, "DSE Stock Price Data - Scraped on: 2024-01-01 10:00:00\n");
+
+        Assertions.assertThrows(IOException.class, () -> ColumnarSnapshotReader.open(file));
+        Assertions.assertThrows(IOException.class, () -> ColumnarSnapshotWriter.open(file));
+    }
+}
@@ -0,0 +1,96 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.scraping.ConcurrentTableFetcher;
+import com.junit.assignment.scraping.HttpTableScraper;
+import com.junit.assignment.support.FixtureServer;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+@Tag("benchmark")
+@Isolated
+@Epic("Web Scraping Automation")
+@Feature("Concurrent Page Fetching")
+public class ConcurrentFetchBenchmarkTest {
+
+    private static final String FIXTURE = "/fixtures/dse_latest_share_price.html";
+    // Simulated server latency per page, roughly what dsebd.org takes from outside Bangladesh
+    private static final long LATENCY_MILLIS = 100;
+    private static final int MAX_PAGES = 100;
+
+    private FixtureServer server;
+    private final List<URI> uris = new ArrayList<>();
+
+    @BeforeEach
+    @Step("Start local server with {MAX_PAGES} slow pages")
+    public void setup() throws IOException {
+        byte[] page = FixtureServer.resource(FIXTURE);
+        server = FixtureServer.start();
+        for (int i = 0; i < MAX_PAGES; i++) {
+            String path = "/listing-" + i;
+            server.serve(path, exchange -> {
+                try {
+                    Thread.sleep(LATENCY_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                exchange.getResponseHeaders().set("Content-Type", FixtureServer.HTML);
+                FixtureServer.send(exchange, 200, page);
+            });
+            uris.add(server.uri(path));
+        }
+    }
+
+    @Test
+    @Story("Compare fetch strategies")
+    @Description("Pages per second for 1, 10 and 100 pages: sequential versus virtual threads with per-host limits")
+    public void testThroughputByPageCount() throws Exception {
+        HttpTableScraper scraper = new HttpTableScraper();
+        scraper.scrape(uris.get(0)); // warm-up: connection, JIT
+
+        System.out.println(String.format("%-6s %14s %20s %20s", "pages", "sequential", "virtual (limit 6)", "virtual (limit 100)"));
+        for (int pages : new int[]{1, 10, 100}) {
+            List<URI> batch = uris.subList(0, pages);
+
+            long start = System.nanoTime();
+            for (URI uri : batch) {
+                Assertions.assertEquals(400, scraper.scrape(uri).getRows().size());
+            }
+            double sequential = pagesPerSecond(pages, start);
+
+            double limited = timeConcurrent(new ConcurrentTableFetcher(scraper, ConcurrentTableFetcher.DEFAULT_PER_HOST_LIMIT), batch);
+            double unlimited = timeConcurrent(new ConcurrentTableFetcher(scraper, MAX_PAGES), batch);
+
+            System.out.println(String.format("%-6d %10.1f p/s %16.1f p/s %16.1f p/s", pages, sequential, limited, unlimited));
+            if (pages > 1) {
+                Assertions.assertTrue(limited > sequential, "virtual threads should beat sequential fetching");
+            }
+        }
+    }
+
+    private static double timeConcurrent(ConcurrentTableFetcher fetcher, List<URI> batch) throws InterruptedException {
+        long start = System.nanoTime();
+        ConcurrentTableFetcher.MergedSnapshot snapshot = fetcher.fetchAll(batch);
+        double throughput = pagesPerSecond(batch.size(), start);
+        Assertions.assertTrue(snapshot.getFailures().isEmpty(), "failures: " + snapshot.getFailures());
+        Assertions.assertEquals(400, snapshot.getRows().size());
+        return throughput;
+    }
+
+    private static double pagesPerSecond(int pages, long startNanos) {
+        return pages / ((System.nanoTime() - startNanos) / 1_000_000_000.0);
+    }
+
+    @AfterEach
+    @Step("Stop local server")
+    public void tearDown() {
+        if (server != null) {
+            server.close();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.scraping.ConcurrentTableFetcher;
+import com.junit.assignment.scraping.HttpTableScraper;
+import com.junit.assignment.scraping.StockRow;
+import com.junit.assignment.support.FixtureServer;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Epic("Web Scraping Automation")
+@Feature("Concurrent Page Fetching")
+public class ConcurrentTableFetcherTest {
+
+    private static final String FIXTURE = "/fixtures/dse_latest_share_price.html";
+
+    private FixtureServer server;
+    private byte[] page;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @BeforeEach
+    @Step("Start local DSE stand-in server")
+    public void setup() throws IOException {
+        page = FixtureServer.resource(FIXTURE);
+        server = FixtureServer.start();
+    }
+
+    @Test
+    @Story("Per-host limit")
+    @Description("Many pages are fetched at once but never more than the per-host limit against one server")
+    public void testRespectsPerHostLimit() throws Exception {
+        List<URI> uris = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            uris.add(serveSlowly("/page-" + i, page));
+        }
+
+        ConcurrentTableFetcher.MergedSnapshot snapshot =
+                new ConcurrentTableFetcher(new HttpTableScraper(), 3).fetchAll(uris);
+
+        Assertions.assertEquals(3, maxInFlight.get(), "max concurrent requests");
+        Assertions.assertTrue(snapshot.getFailures().isEmpty());
+        Assertions.assertEquals(12, snapshot.getPages().size());
+        Assertions.assertEquals(uris.get(5), snapshot.getPages().get(5).uri(), "results stay in request order");
+        Assertions.assertEquals(400, snapshot.getRows().size());
+        Assertions.assertEquals(0, snapshot.getConflicts());
+    }
+
+    @Test
+    @Story("Merge by trading code")
+    @Description("Overlapping listings merge into one row per code; the first page wins and disagreements are counted")
+    public void testMergesPagesByTradingCode() throws Exception {
+        String html = new String(page, StandardCharsets.UTF_8);
+        // A second listing where the first row's price has already moved
+        URI byValue = serveSlowly("/by_value", page);
+        URI byVolume = serveSlowly("/by_volume",
+                html.replaceFirst(">2,283.2<", ">2,290.0<").getBytes(StandardCharsets.UTF_8));
+
+        ConcurrentTableFetcher.MergedSnapshot snapshot = new ConcurrentTableFetcher().fetchAll(List.of(byValue, byVolume));
+
+        StockRow lankaLife = snapshot.getRows().get("LANKALIFE");
+        Assertions.assertEquals(2283.2, lankaLife.ltp());
+        Assertions.assertEquals(400, snapshot.getRows().size());
+        Assertions.assertEquals(1, snapshot.getConflicts());
+    }
+
+    @Test
+    @Story("Partial failures")
+    @Description("A page that fails is reported on its own without losing the rows of the other pages")
+    public void testFailedPageIsReported() throws Exception {
+        URI good = serveSlowly("/good", page);
+        server.serve("/missing", exchange -> FixtureServer.send(exchange, 404, new byte[0]));
+        URI missing = server.uri("/missing");
+
+        ConcurrentTableFetcher.MergedSnapshot snapshot = new ConcurrentTableFetcher().fetchAll(List.of(missing, good));
+
+        Assertions.assertEquals(1, snapshot.getFailures().size());
+        ConcurrentTableFetcher.PageResult failure = snapshot.getFailures().get(0);
+        Assertions.assertEquals(missing, failure.uri());
+        Assertions.assertTrue(failure.error().getMessage().contains("404"), failure.error().getMessage());
+        Assertions.assertEquals(400, snapshot.getRows().size());
+    }
+
+    // Serves the page after a short delay and tracks how many requests overlap
+    private URI serveSlowly(String path, byte[] body) {
+        server.serve(path, exchange -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                // Before sending: the client only frees its permit once it has the response
+                inFlight.decrementAndGet();
+            }
+            exchange.getResponseHeaders().set("Content-Type", FixtureServer.HTML);
+            FixtureServer.send(exchange, 200, body);
+        });
+        return server.uri(path);
+    }
+
+    @AfterEach
+    @Step("Stop local server")
+    public void tearDown() {
+        if (server != null) {
+            server.close();
+        }
+    }
+}
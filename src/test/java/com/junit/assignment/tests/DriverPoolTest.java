@@ -0,0 +1,157 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.driver.DriverPool;
+import com.junit.assignment.driver.SessionBudget;
+import com.junit.assignment.support.FakeWebDriver;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@Epic("Test Infrastructure")
+@Feature("WebDriver Session Pool")
+public class DriverPoolTest {
+
+    private final List<FakeWebDriver> created = new CopyOnWriteArrayList<>();
+    private DriverPool pool;
+
+    @BeforeEach
+    @Step("Create pool over fake drivers")
+    public void setup() {
+        pool = new DriverPool(2, () -> {
+            FakeWebDriver fake = new FakeWebDriver();
+            created.add(fake);
+            return fake.driver();
+        }, Duration.ofSeconds(2));
+    }
+
+    @Test
+    @Story("Reuse sessions")
+    @Description("A released session is reset and handed out again instead of starting a new browser")
+    public void testReusesAndResetsReleasedSession() {
+        WebDriver first = pool.acquire();
+        pool.release(first);
+        WebDriver second = pool.acquire();
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, created.size());
+        FakeWebDriver fake = created.get(0);
+        Assertions.assertEquals(List.of("about:blank"), fake.visited());
+        Assertions.assertEquals(1, fake.calls("executeScript"), "storage should be cleared");
+        Assertions.assertEquals(1, fake.calls("deleteAllCookies"));
+
+        DriverPool.Stats stats = pool.stats();
+        Assertions.assertEquals(2, stats.getAcquires());
+        Assertions.assertEquals(1, stats.getHits());
+        Assertions.assertEquals(0.5, stats.getHitRate());
+    }
+
+    @Test
+    @Story("Recycle unhealthy sessions")
+    @Description("A session that died while idle is quit and replaced on the next acquire")
+    public void testRecyclesDeadSession() {
+        WebDriver first = pool.acquire();
+        pool.release(first);
+        created.get(0).kill();
+
+        WebDriver second = pool.acquire();
+
+        Assertions.assertNotSame(first, second);
+        Assertions.assertTrue(created.get(0).isQuit());
+        Assertions.assertEquals(1, pool.stats().getRecycled());
+        Assertions.assertEquals(1, pool.stats().getSessions());
+    }
+
+    @Test
+    @Story("Bounded size")
+    @Description("When all sessions are leased, acquire waits for a release instead of starting more browsers")
+    public void testWaitsWhenPoolIsExhausted() throws Exception {
+        WebDriver first = pool.acquire();
+        pool.acquire();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<WebDriver> waiting = executor.submit(pool::acquire);
+            Thread.sleep(200);
+            Assertions.assertFalse(waiting.isDone());
+
+            pool.release(first);
+            Assertions.assertSame(first, waiting.get(2, TimeUnit.SECONDS));
+            Assertions.assertEquals(2, created.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @Story("Bounded size")
+    @Description("Acquire gives up after the configured timeout")
+    public void testAcquireTimesOut() {
+        DriverPool single = new DriverPool(1, () -> new FakeWebDriver().driver(), Duration.ofMillis(300));
+        single.acquire();
+
+        Assertions.assertThrows(IllegalStateException.class, single::acquire);
+        single.close();
+    }
+
+    @Test
+    @Story("Bounded size")
+    @Description("Pools sharing a budget never exceed it together; an idle session of one pool makes room for the other")
+    public void testPoolsShareOneBudget() {
+        SessionBudget budget = new SessionBudget(2);
+        List<FakeWebDriver> forms = new CopyOnWriteArrayList<>();
+        List<FakeWebDriver> scraping = new CopyOnWriteArrayList<>();
+        DriverPool formsPool = new DriverPool(budget, () -> {
+            FakeWebDriver fake = new FakeWebDriver();
+            forms.add(fake);
+            return fake.driver();
+        }, Duration.ofMillis(300));
+        DriverPool scrapingPool = new DriverPool(budget, () -> {
+            FakeWebDriver fake = new FakeWebDriver();
+            scraping.add(fake);
+            return fake.driver();
+        }, Duration.ofMillis(300));
+        try {
+            WebDriver leased = formsPool.acquire();
+            formsPool.release(formsPool.acquire());
+
+            WebDriver other = scrapingPool.acquire();
+            Assertions.assertTrue(forms.get(1).isQuit(), "the idle forms session should make room");
+            Assertions.assertEquals(1, formsPool.stats().getSessions());
+            Assertions.assertEquals(1, scrapingPool.stats().getSessions());
+
+            // Both sessions are leased, so neither pool may start a third browser
+            Assertions.assertThrows(IllegalStateException.class, scrapingPool::acquire);
+            Assertions.assertThrows(IllegalStateException.class, formsPool::acquire);
+            Assertions.assertEquals(3, forms.size() + scraping.size());
+
+            formsPool.release(leased);
+            scrapingPool.release(other);
+        } finally {
+            formsPool.close();
+            scrapingPool.close();
+        }
+        for (FakeWebDriver fake : forms) {
+            Assertions.assertTrue(fake.isQuit());
+        }
+        for (FakeWebDriver fake : scraping) {
+            Assertions.assertTrue(fake.isQuit());
+        }
+    }
+
+    @AfterEach
+    @Step("Close pool")
+    public void tearDown() {
+        pool.close();
+        for (FakeWebDriver fake : created) {
+            Assertions.assertTrue(fake.isQuit(), "Pool must quit every session it started");
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.scraping.HtmlTableParser;
+import com.junit.assignment.scraping.ScrapedTable;
+import com.junit.assignment.scraping.StockRow;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@Epic("Web Scraping Automation")
+@Feature("Table Extraction Engine")
+public class HtmlTableParserTest {
+
+    private static final String FIXTURE = "/fixtures/dse_latest_share_price.html";
+
+    @Test
+    @Story("Parse captured DSE page")
+    @Description("The local parser finds the share price table behind layout tables, scripts and comments")
+    public void testParsesDseFixture() throws IOException {
+        ScrapedTable table;
+        try (InputStream in = getClass().getResourceAsStream(FIXTURE);
+             Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            table = HtmlTableParser.parse(reader);
+        }
+
+        Assertions.assertEquals(List.of("#", "TRADING CODE", "LTP*", "HIGH", "LOW", "CLOSEP*", "YCP*",
+                "CHANGE", "TRADE", "VALUE (mn)", "VOLUME"), table.getHeaders());
+        Assertions.assertEquals(400, table.getRows().size());
+
+        StockRow first = table.getRows().get(0);
+        Assertions.assertEquals(1, first.index());
+        Assertions.assertEquals("LANKALIFE", first.tradingCode());
+        Assertions.assertEquals(2283.2, first.ltp());
+        Assertions.assertEquals(-73.7, first.change());
+        Assertions.assertEquals(6144L, first.trade());
+        Assertions.assertEquals(3416062L, first.volume());
+        Assertions.assertEquals(StockRow.COLUMN_COUNT, first.cells().size());
+
+        for (StockRow row : table.getRows()) {
+            Assertions.assertEquals(StockRow.COLUMN_COUNT, row.cells().size(), "Row " + row.index());
+            Assertions.assertFalse(row.tradingCode().isEmpty(), "Row " + row.index());
+        }
+    }
+
+    @Test
+    @Story("Parse untraded rows")
+    @Description("Cells shown as '--' become sentinels instead of failing the parse")
+    public void testDashCellsBecomeSentinels() {
+        ScrapedTable table = HtmlTableParser.parse(
+                "<table><tr><th>#</th><th>TRADING CODE</th><th>LTP*</th><th>HIGH</th></tr>" +
+                "<tr><td>1<td>ACI<td>1,234.50<td>--<td>--<td>1<td>1<td>0<td>--<td>0<td>--</tr></table>");
+
+        StockRow row = table.getRows().get(0);
+        Assertions.assertEquals(4, table.getHeaders().size());
+        Assertions.assertEquals(1234.5, row.ltp());
+        Assertions.assertTrue(Double.isNaN(row.high()));
+        Assertions.assertEquals(StockRow.MISSING, row.trade());
+        Assertions.assertEquals(StockRow.MISSING, row.volume());
+    }
+
+    @Test
+    @Story("Table selection")
+    @Description("Single-row tables are skipped in favour of the first table with data rows; entities are decoded")
+    public void testSkipsSingleRowTables() {
+        ScrapedTable table = HtmlTableParser.parse(
+                "<table><tr><td>menu</td></tr></table>" +
+                "<!-- <table><tr><td>x</td></tr><tr><td>y</td></tr></table> -->" +
+                "<table><thead><tr><th>Name</th></tr></thead>" +
+                "<tbody><tr><td> A&amp;B&nbsp;Co </td></tr><tr><td>\n  C\n  D </td></tr></tbody></table>");
+
+        Assertions.assertEquals(List.of("Name"), table.getHeaders());
+        Assertions.assertEquals(2, table.getRows().size());
+        Assertions.assertEquals(List.of("A&B Co"), table.getRows().get(0).cells());
+        Assertions.assertEquals(List.of("C D"), table.getRows().get(1).cells());
+    }
+}
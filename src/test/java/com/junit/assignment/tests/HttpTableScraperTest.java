@@ -0,0 +1,97 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.scraping.HtmlTableParser;
+import com.junit.assignment.scraping.HttpTableScraper;
+import com.junit.assignment.scraping.ScrapedTable;
+import com.junit.assignment.support.FixtureServer;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+@Epic("Web Scraping Automation")
+@Feature("Browser-free HTTP Scraping")
+public class HttpTableScraperTest {
+
+    private static final String PAGE = "/latest_share_price_scroll_by_value.php";
+    private static final String FIXTURE = "/fixtures/dse_latest_share_price.html";
+
+    private FixtureServer server;
+    private final HttpTableScraper scraper = new HttpTableScraper();
+
+    @BeforeEach
+    @Step("Start local DSE stand-in server")
+    public void setup() throws IOException {
+        server = FixtureServer.start().serveResource(PAGE, FIXTURE);
+    }
+
+    @Test
+    @Story("Scrape over HTTP")
+    @Description("The HTTP mode returns the same table as parsing the captured page directly")
+    public void testScrapesTableOverHttp() throws Exception {
+        ScrapedTable table = scraper.scrape(server.uri(PAGE));
+        ScrapedTable expected = HtmlTableParser.parse(new String(FixtureServer.resource(FIXTURE), StandardCharsets.UTF_8));
+
+        Assertions.assertEquals(400, table.getRows().size());
+        Assertions.assertEquals(expected.getHeaders(), table.getHeaders());
+        Assertions.assertEquals(expected.getRows(), table.getRows());
+        Assertions.assertEquals(1, server.requestCount(PAGE));
+    }
+
+    @Test
+    @Story("Stream rows")
+    @Description("Rows reach the listener one by one while the body is read")
+    public void testStreamsRowsToListener() throws Exception {
+        List<String> codes = new ArrayList<>();
+        List<String> headers = new ArrayList<>();
+        scraper.stream(server.uri(PAGE), new HtmlTableParser.RowListener() {
+            @Override
+            public void onHeaders(List<String> headerCells) {
+                Assertions.assertTrue(codes.isEmpty(), "Headers must arrive before rows");
+                headers.addAll(headerCells);
+            }
+
+            @Override
+            public void onRow(List<String> cells) {
+                codes.add(cells.get(1));
+            }
+        });
+
+        Assertions.assertEquals(11, headers.size());
+        Assertions.assertEquals(400, codes.size());
+        Assertions.assertEquals("LANKALIFE", codes.get(0));
+    }
+
+    @Test
+    @Story("Error handling")
+    @Description("A non-2xx response is reported as an IOException so the test can fall back to the browser")
+    public void testHttpErrorIsReported() {
+        server.serve("/down", exchange -> FixtureServer.send(exchange, 503, new byte[0]));
+
+        IOException error = Assertions.assertThrows(IOException.class, () -> scraper.scrape(server.uri("/down")));
+        Assertions.assertTrue(error.getMessage().contains("503"), error.getMessage());
+    }
+
+    @Test
+    @Story("Character sets")
+    @Description("The response charset from Content-Type is honoured")
+    public void testHonoursResponseCharset() throws Exception {
+        byte[] latin1 = "<table><tr><th>Name</th></tr><tr><td>Caf\u00e9</td></tr></table>"
+                .getBytes(StandardCharsets.ISO_8859_1);
+        server.serve("/latin1", "text/html; charset=ISO-8859-1", () -> latin1);
+
+        ScrapedTable table = scraper.scrape(server.uri("/latin1"));
+        Assertions.assertEquals("Caf\u00e9", table.getRows().get(0).cells().get(0));
+    }
+
+    @AfterEach
+    @Step("Stop local server")
+    public void tearDown() {
+        if (server != null) {
+            server.close();
+        }
+    }
+}
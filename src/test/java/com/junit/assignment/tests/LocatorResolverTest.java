@@ -0,0 +1,208 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.locators.FieldLocator;
+import com.junit.assignment.locators.LocatorCache;
+import com.junit.assignment.locators.LocatorResolver;
+import com.junit.assignment.support.FakeWebDriver;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+@Epic("Web Form Automation")
+@Feature("Locator Resolution")
+public class LocatorResolverTest {
+
+    private static final List<FieldLocator> FIELDS = List.of(
+            FieldLocator.named("Name").css("#edit-name").keywords("name"),
+            FieldLocator.named("Email").css("input[type='email']", "input[name*='mail']").keywords("mail"),
+            FieldLocator.named("About").css("textarea[name*='yourself']").keywords("yourself"),
+            FieldLocator.named("Upload").css("#edit-upload").optional());
+
+    @TempDir
+    Path directory;
+
+    private FakePage page;
+    private WebDriver driver;
+    private FakeWebDriver fake;
+
+    @BeforeEach
+    @Step("Set up a scripted practice form page")
+    public void setup() {
+        page = new FakePage("a1b2c3d4e5f60718");
+        page.selectors.put("#edit-name", element("name"));
+        page.selectors.put("input[name*='mail']", element("email"));
+        page.exact.put("input[name*='mail']", "#edit-contact-mail");
+        page.keywords.put("yourself", element("about"));
+        page.keywordSelectors.put("yourself", "#edit-tell-us-a-bit-about-yourself-");
+        fake = new FakeWebDriver().onScript((script, args) -> page.resolve(args));
+        driver = fake.driver();
+    }
+
+    @Test
+    @Story("One round trip")
+    @Description("Selector chains and the keyword scan resolve in a single script call; optional fields do not wait")
+    public void testResolvesAllFieldsInOneCall() {
+        LocatorResolver resolver = new LocatorResolver(LocatorCache.inMemory());
+        LocatorResolver.Resolution resolution = resolver.resolve(driver, FIELDS, Duration.ofSeconds(5));
+        System.out.println(resolution);
+
+        Assertions.assertEquals(1, fake.calls("executeScript"));
+        Assertions.assertEquals(Set.of("Upload"), resolution.getMissing());
+        Assertions.assertEquals("name", resolution.element("Name").getTagName());
+        Assertions.assertEquals("email", resolution.element("Email").getTagName());
+        Assertions.assertEquals("about", resolution.element("About").getTagName());
+        Assertions.assertNull(resolution.element("Upload"));
+        Assertions.assertEquals(Map.of("Name", "#edit-name", "Email", "#edit-contact-mail",
+                "About", "#edit-tell-us-a-bit-about-yourself-"), resolution.getSelectors());
+        Assertions.assertTrue(resolution.getCached().isEmpty());
+        Assertions.assertTrue(resolution.getElapsedMillis() < 1_000, "a missing optional field must not be waited for");
+    }
+
+    @Test
+    @Story("Persistent cache")
+    @Description("Winning selectors survive a restart and are tried first on a page with the same fingerprint")
+    public void testLearnedSelectorsPersistAcrossRuns() throws Exception {
+        Path file = directory.resolve("locators.properties");
+        new LocatorResolver(LocatorCache.open(file)).resolve(driver, FIELDS);
+        Assertions.assertTrue(Files.isRegularFile(file));
+        Assertions.assertTrue(Files.readString(file).contains("a1b2c3d4e5f60718/Email=\\#edit-contact-mail"),
+                Files.readString(file));
+
+        // Next run: the page answers the learned selectors directly
+        page.selectors.put("#edit-contact-mail", page.selectors.get("input[name*='mail']"));
+        page.selectors.put("#edit-tell-us-a-bit-about-yourself-", page.keywords.get("yourself"));
+        page.candidatesTried.clear();
+        LocatorCache reopened = LocatorCache.open(file);
+        Assertions.assertEquals(3, reopened.size());
+        LocatorResolver.Resolution resolution = new LocatorResolver(reopened).resolve(driver, FIELDS);
+        System.out.println(resolution);
+        Assertions.assertEquals(Set.of("Name", "Email", "About"), resolution.getCached());
+        Assertions.assertEquals(List.of("Upload"), page.candidatesTried, "cached fields should not touch the candidate chains");
+        long modified = Files.getLastModifiedTime(file).toMillis();
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modified - 10_000));
+        new LocatorResolver(reopened).resolve(driver, FIELDS);
+        Assertions.assertEquals(modified - 10_000, Files.getLastModifiedTime(file).toMillis(),
+                "nothing new was learned, so the file should not be rewritten");
+
+        // A different page structure gets its own entries
+        page.fingerprint = "ffffffff00000000";
+        page.selectors.remove("#edit-contact-mail");
+        resolution = new LocatorResolver(reopened).resolve(driver, FIELDS);
+        Assertions.assertTrue(resolution.getCached().isEmpty());
+        Assertions.assertEquals("#edit-contact-mail", reopened.lookup("ffffffff00000000", "Email"));
+        Assertions.assertEquals("#edit-contact-mail", reopened.lookup("a1b2c3d4e5f60718", "Email"));
+        Assertions.assertEquals(6, reopened.size());
+    }
+
+    @Test
+    @Story("Stale cache")
+    @Description("A remembered selector that no longer matches falls back to the candidates and is replaced")
+    public void testStaleSelectorIsReplaced() {
+        LocatorCache cache = LocatorCache.inMemory();
+        cache.remember(page.fingerprint, "Name", "#old-name");
+        LocatorResolver.Resolution resolution = new LocatorResolver(cache).resolve(driver, FIELDS);
+
+        Assertions.assertFalse(resolution.getCached().contains("Name"));
+        Assertions.assertEquals("name", resolution.element("Name").getTagName());
+        Assertions.assertEquals("#edit-name", cache.lookup(page.fingerprint, "Name"));
+    }
+
+    @Test
+    @Story("Late fields")
+    @Description("Required fields that render late are polled for with the same single script")
+    public void testPollsUntilRequiredFieldsAppear() {
+        WebElement name = page.selectors.remove("#edit-name");
+        page.onCall = calls -> {
+            if (calls == 3) {
+                page.selectors.put("#edit-name", name);
+            }
+        };
+        LocatorResolver.Resolution resolution = new LocatorResolver(LocatorCache.inMemory())
+                .resolve(driver, FIELDS, Duration.ofSeconds(5));
+
+        Assertions.assertEquals(3, resolution.getScriptCalls());
+        Assertions.assertEquals(3, fake.calls("executeScript"));
+        Assertions.assertEquals(Set.of("Upload"), resolution.getMissing());
+
+        page.selectors.remove("#edit-name");
+        page.onCall = calls -> { };
+        resolution = new LocatorResolver(LocatorCache.inMemory()).resolve(driver, FIELDS, Duration.ofMillis(300));
+        Assertions.assertEquals(Set.of("Name", "Upload"), resolution.getMissing());
+    }
+
+    private static WebElement element(String tag) {
+        return (WebElement) Proxy.newProxyInstance(LocatorResolverTest.class.getClassLoader(),
+                new Class<?>[]{WebElement.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getTagName", "toString" -> tag;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+    }
+
+    /**
+     * What the resolve script sees in a browser: which selectors and keywords match which
+     * element, and the exact selector the script derives for each match.
+     */
+    private static final class FakePage {
+
+        final Map<String, WebElement> selectors = new HashMap<>();
+        final Map<String, String> exact = new HashMap<>();
+        final Map<String, WebElement> keywords = new HashMap<>();
+        final Map<String, String> keywordSelectors = new HashMap<>();
+        final List<String> candidatesTried = new ArrayList<>();
+        IntConsumer onCall = calls -> { };
+        String fingerprint;
+        int calls;
+
+        FakePage(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        @SuppressWarnings("unchecked")
+        Object resolve(Object[] args) {
+            onCall.accept(++calls);
+            List<Map<String, Object>> fields = (List<Map<String, Object>>) args[0];
+            Map<String, String> known = ((Map<String, Map<String, String>>) args[1]).getOrDefault(fingerprint, Map.of());
+            Map<String, Object> found = new LinkedHashMap<>();
+            for (Map<String, Object> field : fields) {
+                String name = (String) field.get("name");
+                String learned = known.get(name);
+                if (learned != null && selectors.containsKey(learned)) {
+                    found.put(name, Map.of("element", selectors.get(learned), "selector", learned, "cached", true));
+                    continue;
+                }
+                candidatesTried.add(name);
+                for (String selector : (List<String>) field.get("selectors")) {
+                    if (selectors.containsKey(selector)) {
+                        found.put(name, Map.of("element", selectors.get(selector),
+                                "selector", exact.getOrDefault(selector, selector), "cached", false));
+                        break;
+                    }
+                }
+                for (String keyword : (List<String>) field.get("keywords")) {
+                    if (!found.containsKey(name) && keywords.containsKey(keyword)) {
+                        found.put(name, Map.of("element", keywords.get(keyword),
+                                "selector", keywordSelectors.get(keyword), "cached", false));
+                    }
+                }
+            }
+            return Map.of("fingerprint", fingerprint, "found", found);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.metrics.Histogram;
+import com.junit.assignment.metrics.Metrics;
+import com.junit.assignment.metrics.MetricsRegistry;
+import com.junit.assignment.support.FakeWebDriver;
+import io.qameta.allure.*;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+// Switches the process-wide metrics on and off, so nothing else may run meanwhile
+@Isolated
+@Epic("Web Scraping Automation")
+@Feature("Instrumentation")
+public class MetricsTest {
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    public void tearDown() {
+        Metrics.setEnabled(false);
+        Metrics.unbind();
+    }
+
+    @Test
+    @Story("Histograms")
+    @Description("p50/p95/p99 from the bucketed histogram stay within 2% of the exact percentiles")
+    public void testPercentilesMatchExactValues() {
+        Histogram histogram = new Histogram();
+        Random random = new Random(42);
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            // Log-normal-ish durations from microseconds to seconds
+            values[i] = (long) Math.exp(7 + random.nextGaussian() * 3);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double fraction : new double[]{0.5, 0.95, 0.99}) {
+            long exact = values[(int) Math.ceil(fraction * values.length) - 1];
+            long estimate = histogram.percentile(fraction);
+            Assertions.assertEquals(exact, estimate, exact * 0.02 + 1, "p" + (int) (fraction * 100));
+        }
+        Assertions.assertEquals(values.length, histogram.count());
+        Assertions.assertEquals(values[values.length - 1], histogram.maxNanos());
+        Assertions.assertEquals(values[values.length - 1], histogram.percentile(1.0));
+        Assertions.assertEquals(0, new Histogram().percentile(0.99));
+    }
+
+    @Test
+    @Story("Disabled")
+    @Description("Without metrics or a recording, spans are a shared no-op and drivers are not wrapped")
+    public void testDisabledSpansRecordNothing() {
+        Assumptions.assumeFalse(Metrics.isActive(), "a JFR recording or -Dmetrics.enabled is on");
+        MetricsRegistry registry = new MetricsRegistry();
+        Metrics.bind(registry);
+        Metrics.Span first = Metrics.span(Metrics.Kind.COMMAND, "WebElement.getText");
+        Metrics.Span second = Metrics.span(Metrics.Kind.FILE_WRITE, "report close");
+        first.close();
+        second.bytes(10).close();
+
+        Assertions.assertSame(first, second, "disabled spans should not allocate");
+        Assertions.assertTrue(registry.isEmpty());
+        WebDriver driver = new FakeWebDriver().driver();
+        Assertions.assertSame(driver, Metrics.instrument(driver));
+    }
+
+    @Test
+    @Story("Per-test registry")
+    @Description("Commands and page loads of an instrumented driver land in the test's registry with their names")
+    public void testInstrumentedDriverRecordsCommands() {
+        Metrics.setEnabled(true);
+        MetricsRegistry registry = new MetricsRegistry();
+        Metrics.bind(registry);
+        FakeWebDriver fake = new FakeWebDriver().onScript((script, args) -> 42L);
+        WebDriver driver = Metrics.instrument(fake.driver());
+
+        driver.get("http://example.test/");
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals(42L, ((JavascriptExecutor) driver).executeScript("return 42"));
+        }
+        try (Metrics.Span span = Metrics.span(Metrics.Kind.FILE_WRITE, "report close")) {
+            span.bytes(100);
+        }
+
+        Map<String, MetricsRegistry.Timer> timers = registry.timers().stream()
+                .collect(Collectors.toMap(t -> t.getKind() + " " + t.getName(), t -> t));
+        Assertions.assertEquals(1, timers.get("PAGE_LOAD WebDriver.get").getCount());
+        Assertions.assertEquals(3, timers.get("COMMAND JavascriptExecutor.executeScript").getCount());
+        Assertions.assertEquals(1, timers.get("FILE_WRITE report close").getCount());
+        Assertions.assertEquals(List.of("http://example.test/"), fake.visited());
+        Assertions.assertTrue(Metrics.global().timer(Metrics.Kind.COMMAND, "JavascriptExecutor.executeScript").getCount() >= 3);
+
+        String summary = registry.summary();
+        System.out.println(summary);
+        Assertions.assertTrue(summary.contains("p95 ms") && summary.contains("JavascriptExecutor.executeScript"), summary);
+    }
+
+    @Test
+    @Story("Flight Recorder")
+    @Description("While a recording runs, spans become custom JFR events with their name and byte count")
+    public void testSpansBecomeJfrEvents() throws Exception {
+        Path file = directory.resolve("metrics.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.junit.assignment.FileWrite");
+            recording.enable("com.junit.assignment.Wait");
+            recording.start();
+            Assertions.assertTrue(Metrics.isActive(), "a running recording should activate spans");
+            try (Metrics.Span span = Metrics.span(Metrics.Kind.FILE_WRITE, "price history")) {
+                span.bytes(1234);
+            }
+            try (Metrics.Span span = Metrics.span(Metrics.Kind.WAIT, "submission processed")) {
+                Thread.sleep(5);
+            }
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().startsWith("com.junit.assignment."))
+                .collect(Collectors.toList());
+        Assertions.assertEquals(2, events.size(), events::toString);
+        RecordedEvent write = events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.junit.assignment.FileWrite")).findFirst().orElseThrow();
+        Assertions.assertEquals("price history", write.getString("name"));
+        Assertions.assertEquals(1234, write.getLong("bytes"));
+        RecordedEvent wait = events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.junit.assignment.Wait")).findFirst().orElseThrow();
+        Assertions.assertEquals("submission processed", wait.getString("name"));
+        Assertions.assertTrue(wait.getDuration().toMillis() >= 5, wait.getDuration().toString());
+        Assertions.assertFalse(Metrics.isActive(), "spans should go quiet once the recording stops");
+    }
+}
@@ -0,0 +1,101 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.driver.DriverFactory;
+import com.junit.assignment.forms.FieldMapping;
+import com.junit.assignment.forms.OutcomeDetector;
+import com.junit.assignment.support.PracticeFormServer;
+import com.junit.assignment.support.ProcessMemory;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+@Tag("benchmark")
+@Isolated
+@Epic("Web Form Automation")
+@Feature("Submission Outcome")
+public class OutcomeDetectionBenchmarkTest {
+
+    private static final int SUBMISSIONS = 20;
+    private static final String FILL_SCRIPT =
+            "document.querySelector('#edit-name').value = 'Learner';\n" +
+            "document.querySelector('#edit-email').value = 'learner@example.com';\n" +
+            "document.querySelector('#edit-i-have-completed-this-form').checked = true;\n" +
+            "document.querySelector('#edit-submit').click();";
+
+    private PracticeFormServer server;
+
+    @BeforeEach
+    @Step("Start the local practice form")
+    public void setup() throws IOException {
+        // Some server time, so the wait is not over before it starts
+        server = PracticeFormServer.start(Duration.ofMillis(50));
+    }
+
+    @AfterEach
+    @Step("Stop local server")
+    public void tearDown() {
+        server.close();
+    }
+
+    @Test
+    @Story("Compare outcome detection")
+    @Description("Latency and client-side allocation per submission: polling plus a page-source scan versus the in-browser detector")
+    public void testCompareOutcomeDetection() {
+        WebDriver driver = startBrowser();
+        try {
+            String form = server.formUri().toString();
+            OutcomeDetector detector = OutcomeDetector.of(FieldMapping.practiceWebform());
+
+            // What WebFormTest did: poll URL and elements, then lowercase and search the page source
+            double[] polling = measure(driver, form, () -> {
+                new WebDriverWait(driver, Duration.ofSeconds(15)).until(d -> !d.getCurrentUrl().equals(form)
+                        || d.findElements(By.id("edit-submit")).isEmpty()
+                        || !d.findElements(By.cssSelector(".messages--status")).isEmpty());
+                String pageSource = driver.getPageSource().toLowerCase();
+                return pageSource.contains("thank") || pageSource.contains("success") || pageSource.contains("submitted")
+                        || pageSource.contains("received") || pageSource.contains("confirmation");
+            });
+            double[] detected = measure(driver, form, () -> detector.await(driver, form, Duration.ofSeconds(15)).succeeded());
+
+            String summary = String.format("polling + page source: %.1f ms, %s per submission%n"
+                            + "in-browser detector:   %.1f ms, %s per submission",
+                    polling[0], ProcessMemory.format((long) polling[1]), detected[0], ProcessMemory.format((long) detected[1]));
+            System.out.println(summary);
+            Allure.addAttachment("Outcome detection", "text/plain", summary);
+        } finally {
+            driver.quit();
+        }
+    }
+
+    // Average milliseconds and allocated bytes of the wait after each submit
+    private static double[] measure(WebDriver driver, String form, BooleanSupplier awaitOutcome) {
+        long nanos = 0;
+        long bytes = 0;
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            driver.get(form);
+            ((JavascriptExecutor) driver).executeScript(FILL_SCRIPT);
+            long allocated = ProcessMemory.currentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            Assertions.assertTrue(awaitOutcome.getAsBoolean());
+            nanos += System.nanoTime() - start;
+            bytes += ProcessMemory.currentThreadAllocatedBytes() - allocated;
+        }
+        return new double[]{nanos / 1_000_000.0 / SUBMISSIONS, (double) bytes / SUBMISSIONS};
+    }
+
+    private static WebDriver startBrowser() {
+        try {
+            return DriverFactory.createDriver(true);
+        } catch (Exception e) {
+            return Assumptions.abort("No local Chrome available for the benchmark: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.forms.FieldMapping;
+import com.junit.assignment.forms.KeywordMatcher;
+import com.junit.assignment.forms.OutcomeDetector;
+import com.junit.assignment.support.FakeWebDriver;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.openqa.selenium.JavascriptException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Epic("Web Form Automation")
+@Feature("Submission Outcome")
+public class OutcomeDetectorTest {
+
+    private static final String FORM = "https://www.digitalunite.com/practice-webform-learners";
+
+    @Test
+    @Story("Keyword matching")
+    @Description("One Aho-Corasick pass finds the same keywords, case-insensitively, as lowercasing and indexOf")
+    public void testMatcherAgreesWithNaiveSearch() {
+        List<String> keywords = List.of("he", "she", "his", "hers", "thank", "success");
+        KeywordMatcher matcher = KeywordMatcher.of(keywords.toArray(new String[0]));
+        Random random = new Random(7);
+        String alphabet = "heRSiSthankucTHE <>/";
+        for (int round = 0; round < 2_000; round++) {
+            StringBuilder text = new StringBuilder();
+            for (int i = random.nextInt(40); i > 0; i--) {
+                text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String lower = text.toString().toLowerCase();
+            List<KeywordMatcher.Match> expected = new ArrayList<>();
+            for (int end = 1; end <= lower.length(); end++) {
+                // Longest keyword first at each end position, as the suffix links report them
+                List<String> bySize = new ArrayList<>(keywords);
+                bySize.sort((a, b) -> b.length() - a.length());
+                for (String keyword : bySize) {
+                    if (lower.startsWith(keyword, end - keyword.length()) && end >= keyword.length()) {
+                        expected.add(new KeywordMatcher.Match(keyword, end - keyword.length()));
+                    }
+                }
+            }
+            Assertions.assertEquals(expected, matcher.findAll(text, Integer.MAX_VALUE), text::toString);
+            Assertions.assertEquals(expected.isEmpty() ? null : expected.get(0), matcher.first(text), text::toString);
+        }
+
+        Assertions.assertEquals(new KeywordMatcher.Match("thank", 12), OutcomeDetector.scan("<div class=\"Thank-you\">"));
+        Assertions.assertNull(OutcomeDetector.scan("<form><input name=\"op\" value=\"Submit\"></form>"));
+        Assertions.assertEquals(2, matcher.findAll("she sells", 2).size());
+        Assertions.assertEquals(new KeywordMatcher.Match("grüße", 4), KeywordMatcher.of("grüße").first("Hi, GRÜßE"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> KeywordMatcher.of("ok", ""));
+    }
+
+    @Test
+    @Story("In-browser signals")
+    @Description("A document unloading mid-wait is retried on the new page, which reports its status message at once")
+    public void testSurvivesNavigationAndReturnsFirstSignal() {
+        AtomicInteger calls = new AtomicInteger();
+        List<Object[]> arguments = new ArrayList<>();
+        FakeWebDriver fake = new FakeWebDriver().onScript((script, args) -> {
+            arguments.add(args);
+            if (calls.incrementAndGet() == 1) {
+                throw new JavascriptException("javascript error: document unloaded while waiting for result");
+            }
+            return Map.of("signal", "SUCCESS_MESSAGE", "message", "New submission added. Thank you", "url", FORM);
+        });
+        OutcomeDetector detector = OutcomeDetector.of(FieldMapping.practiceWebform());
+
+        OutcomeDetector.Outcome outcome = detector.await(fake.driver(), FORM, Duration.ofSeconds(15));
+        System.out.println(outcome);
+
+        Assertions.assertEquals(OutcomeDetector.Signal.SUCCESS_MESSAGE, outcome.signal());
+        Assertions.assertTrue(outcome.succeeded());
+        Assertions.assertEquals("New submission added. Thank you", outcome.message());
+        Assertions.assertEquals(2, fake.calls("executeAsyncScript"));
+        Assertions.assertTrue(outcome.millis() < 5_000, outcome::toString);
+        Object[] first = arguments.get(0);
+        Assertions.assertEquals(List.of(FORM, ".messages--status, .alert-success, .success-message",
+                ".messages--error, .alert-danger", "#edit-submit"), List.of(first).subList(0, 4));
+        Assertions.assertEquals(10_000L, ((Number) first[4]).longValue(), "waits are cut into slices below the script timeout");
+
+        fake.onScript((script, args) -> Map.of("signal", "ERROR_MESSAGE", "message", "Name field is required.", "url", FORM));
+        OutcomeDetector.Outcome error = detector.await(fake.driver(), FORM, Duration.ofSeconds(15));
+        Assertions.assertFalse(error.succeeded());
+        Assertions.assertEquals("Name field is required.", error.message());
+
+        fake.onScript((script, args) -> Map.of("signal", "URL_CHANGED", "message", "", "url", FORM + "/confirmation"));
+        OutcomeDetector.Outcome redirect = detector.await(fake.driver(), FORM, Duration.ofSeconds(15));
+        Assertions.assertTrue(redirect.succeeded());
+        Assertions.assertEquals(FORM + "/confirmation", redirect.url());
+    }
+
+    @Test
+    @Story("Timeout")
+    @Description("Without any signal the detector gives up at the deadline instead of hanging on the script")
+    public void testTimesOutWithoutSignal() {
+        List<Long> budgets = new ArrayList<>();
+        FakeWebDriver fake = new FakeWebDriver().onScript((script, args) -> {
+            long budget = ((Number) args[4]).longValue();
+            budgets.add(budget);
+            try {
+                Thread.sleep(budget);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Map.of("signal", "TIMEOUT", "message", "", "url", FORM);
+        });
+
+        OutcomeDetector.Outcome outcome = OutcomeDetector.of(FieldMapping.practiceWebform())
+                .await(fake.driver(), FORM, Duration.ofMillis(300));
+
+        Assertions.assertEquals(OutcomeDetector.Signal.TIMEOUT, outcome.signal());
+        Assertions.assertFalse(outcome.succeeded());
+        Assertions.assertTrue(outcome.millis() >= 300 && outcome.millis() < 2_000, outcome::toString);
+        Assertions.assertTrue(budgets.get(0) <= 300, budgets::toString);
+    }
+
+    @Test
+    @Story("Debug excerpts")
+    @Description("Excerpts around the debugging keywords come from one scan, without splitting the page into lines")
+    public void testExcerptsAroundKeywords() {
+        String html = "<html>\n<body>" + "x".repeat(500)
+                + "<div class=\"messages messages--error\">\n  Error: email is not valid</div>" + "y".repeat(500) + "</body>";
+        String excerpts = OutcomeDetector.excerpts(html, 10, 40);
+        System.out.println(excerpts);
+
+        String[] lines = excerpts.split("\n");
+        Assertions.assertEquals(1, lines.length, excerpts);
+        Assertions.assertTrue(lines[0].startsWith(html.indexOf("messages") + ": "), excerpts);
+        Assertions.assertTrue(lines[0].contains("messages--error\">   Error: email"), excerpts);
+        Assertions.assertEquals("", OutcomeDetector.excerpts("<p>nothing here</p>", 10, 20));
+    }
+}
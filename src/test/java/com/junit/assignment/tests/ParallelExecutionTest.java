@@ -0,0 +1,117 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.driver.DriverSession;
+import com.junit.assignment.driver.MemoryAwareParallelism;
+import com.junit.assignment.support.FakeWebDriver;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@Epic("Test Infrastructure")
+@Feature("Parallel Execution")
+public class ParallelExecutionTest {
+
+    @Test
+    @Story("Concurrency cap")
+    @Description("Worker count is bounded by cores, by free memory per browser session and by the explicit cap")
+    public void testParallelismIsBoundedByCoresMemoryAndCap() {
+        Assertions.assertEquals(8, MemoryAwareParallelism.compute(8, 16_000, 512, Integer.MAX_VALUE));
+        Assertions.assertEquals(3, MemoryAwareParallelism.compute(8, 1_600, 512, Integer.MAX_VALUE));
+        Assertions.assertEquals(2, MemoryAwareParallelism.compute(8, 16_000, 512, 2));
+        Assertions.assertEquals(1, MemoryAwareParallelism.compute(8, 100, 512, Integer.MAX_VALUE),
+                "At least one worker must always run");
+    }
+
+    @Test
+    @Story("Concurrency cap")
+    @Description("The strategy reads its settings through the prefixed view JUnit hands to custom strategies")
+    public void testStrategyReadsPrefixedParameters() {
+        // A system property would win over the file entries
+        Assumptions.assumeTrue(System.getProperty(MemoryAwareParallelism.MAX_PROPERTY) == null
+                && System.getProperty(MemoryAwareParallelism.SESSION_MEMORY_PROPERTY) == null);
+        MemoryAwareParallelism strategy = new MemoryAwareParallelism();
+        Map<String, String> capped = Map.of(
+                "junit.jupiter.execution.parallel.config.driver.parallel.max", "1",
+                "junit.jupiter.execution.parallel.config.driver.session.memory.mb", "1");
+        Map<String, String> hungry = Map.of(
+                "junit.jupiter.execution.parallel.config.driver.session.memory.mb", String.valueOf(Long.MAX_VALUE));
+
+        Assertions.assertEquals(1, strategy.createConfiguration(prefixedView(capped)).getParallelism());
+        Assertions.assertEquals(1, strategy.createConfiguration(prefixedView(hungry)).getParallelism());
+    }
+
+    @Test
+    @Story("Thread-confined drivers")
+    @Description("Each worker thread sees only the driver bound to it")
+    public void testDriverSessionIsThreadConfined() throws Exception {
+        WebDriver mine = new FakeWebDriver().driver();
+        WebDriver theirs = new FakeWebDriver().driver();
+        CountDownLatch bothBound = new CountDownLatch(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<WebDriver> first = executor.submit(() -> bindAndRead(mine, bothBound));
+            Future<WebDriver> second = executor.submit(() -> bindAndRead(theirs, bothBound));
+
+            Assertions.assertSame(mine, first.get(5, TimeUnit.SECONDS));
+            Assertions.assertSame(theirs, second.get(5, TimeUnit.SECONDS));
+            Assertions.assertFalse(DriverSession.isBound(), "Nothing should leak into the test thread");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @Story("Thread-confined drivers")
+    @Description("Using the session without a bound driver fails fast instead of returning another test's driver")
+    public void testUnboundThreadFailsFast() {
+        Assertions.assertThrows(IllegalStateException.class, DriverSession::driver);
+        Assertions.assertNull(DriverSession.unbind());
+    }
+
+    // What JUnit passes a custom strategy: the configured parameters seen through the strategy prefix
+    private static ConfigurationParameters prefixedView(Map<String, String> properties) {
+        return new ConfigurationParameters() {
+            @Override
+            public Optional<String> get(String key) {
+                return Optional.ofNullable(properties.get(MemoryAwareParallelism.CONFIG_PREFIX + key));
+            }
+
+            @Override
+            public Optional<Boolean> getBoolean(String key) {
+                return get(key).map(Boolean::valueOf);
+            }
+
+            @Override
+            @SuppressWarnings("deprecation")
+            public int size() {
+                return properties.size();
+            }
+
+            @Override
+            public Set<String> keySet() {
+                return properties.keySet();
+            }
+        };
+    }
+
+    private static WebDriver bindAndRead(WebDriver driver, CountDownLatch bothBound) throws InterruptedException {
+        DriverSession.bind(driver);
+        try {
+            bothBound.countDown();
+            bothBound.await(5, TimeUnit.SECONDS);
+            return DriverSession.driver();
+        } finally {
+            DriverSession.unbind();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.polling.MarketHours;
+import com.junit.assignment.polling.PollingScraper;
+import com.junit.assignment.scraping.ScrapedTable;
+import com.junit.assignment.storage.PriceHistory;
+import com.junit.assignment.support.FixtureServer;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+@Epic("Web Scraping Automation")
+@Feature("Intraday Polling")
+public class PollingScraperTest {
+
+    private static final String PAGE = "/latest_share_price_scroll_by_value.php";
+    private static final String FIXTURE = "/fixtures/dse_latest_share_price.html";
+    // LTP cell of the first row (LANKALIFE) in the captured page
+    private static final String FIRST_LTP = ">2,283.2<";
+
+    private FixtureServer server;
+    private final AtomicInteger served = new AtomicInteger();
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    @Step("Start local DSE stand-in that moves the first price on every request")
+    public void setup() throws IOException {
+        String page = new String(FixtureServer.resource(FIXTURE), StandardCharsets.UTF_8);
+        server = FixtureServer.start().serve(PAGE, FixtureServer.HTML, () -> {
+            int request = served.incrementAndGet();
+            return page.replaceFirst(FIRST_LTP, ">" + (2283 + request) + ".0<").getBytes(StandardCharsets.UTF_8);
+        });
+    }
+
+    @Test
+    @Story("Continuous polling")
+    @Description("Each cycle fetches the changing page and the sink sees every snapshot in order")
+    public void testPollsChangingPage() throws Exception {
+        List<PollingScraper.Snapshot> snapshots = new CopyOnWriteArrayList<>();
+        try (PriceHistory history = PriceHistory.open(directory)) {
+            PollingScraper poller = PollingScraper.builder()
+                    .uri(server.uri(PAGE))
+                    .interval(Duration.ofMillis(100))
+                    .jitter(Duration.ofMillis(20))
+                    .sink(snapshot -> {
+                        snapshots.add(snapshot);
+                        history.append(snapshot.fetchedAt(), snapshot.rows());
+                    })
+                    .build()
+                    .start();
+            waitFor(() -> snapshots.size() >= 4, Duration.ofSeconds(10));
+            poller.stop(Duration.ofSeconds(5));
+            System.out.println("Poller: " + poller.stats());
+
+            Assertions.assertNull(poller.lastError());
+            Assertions.assertEquals(poller.stats().getFetches(), snapshots.size());
+            for (int i = 0; i < snapshots.size(); i++) {
+                Assertions.assertEquals(400, snapshots.get(i).rows().size());
+                Assertions.assertEquals(2284.0 + i, snapshots.get(i).rows().get(0).ltp(), "snapshot " + i);
+                if (i > 0) {
+                    Assertions.assertTrue(snapshots.get(i).cycle() > snapshots.get(i - 1).cycle());
+                }
+            }
+            // Only the moving price was written after the first snapshot
+            Assertions.assertEquals(2284.0 + snapshots.size() - 1,
+                    history.latest().get("LANKALIFE").ltp());
+        }
+    }
+
+    @Test
+    @Story("Overrunning fetches")
+    @Description("A fetch slower than the interval skips the missed cycles instead of overlapping or bursting")
+    public void testSkipsCyclesWhenFetchOverruns() throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        PollingScraper poller = PollingScraper.builder()
+                .source(() -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(250);
+                        return ScrapedTable.builder().build();
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                })
+                .interval(Duration.ofMillis(100))
+                .build()
+                .start();
+        Thread.sleep(1100);
+        poller.stop(Duration.ofSeconds(5));
+        PollingScraper.Stats stats = poller.stats();
+        System.out.println("Poller: " + stats);
+
+        Assertions.assertEquals(1, maxInFlight.get());
+        Assertions.assertTrue(stats.getFetches() <= 5, "fetches: " + stats.getFetches());
+        Assertions.assertTrue(stats.getOverrunSkips() >= stats.getFetches() - 1, "skipped: " + stats.getOverrunSkips());
+    }
+
+    @Test
+    @Story("Backpressure")
+    @Description("A slow sink fills the bounded queue and the poller waits instead of buffering snapshots")
+    public void testSlowSinkAppliesBackpressure() throws Exception {
+        AtomicInteger consumed = new AtomicInteger();
+        PollingScraper poller = PollingScraper.builder()
+                .uri(server.uri(PAGE))
+                .interval(Duration.ofMillis(20))
+                .queueCapacity(1)
+                .sink(snapshot -> {
+                    Thread.sleep(200);
+                    consumed.incrementAndGet();
+                })
+                .build()
+                .start();
+        Thread.sleep(1000);
+        PollingScraper.Stats stats = poller.stats();
+        poller.stop(Duration.ofSeconds(5));
+        System.out.println("Poller: " + stats);
+
+        // At most one snapshot in the sink, one in the queue and one waiting to be queued
+        Assertions.assertTrue(stats.getFetches() <= stats.getDelivered() + 3, stats.toString());
+        Assertions.assertTrue(stats.getBackpressureMillis() > 0, stats.toString());
+        Assertions.assertTrue(stats.getOverrunSkips() > 0, stats.toString());
+        // One HTTP request per fetch, even with cycles being skipped
+        Assertions.assertEquals(served.get(), poller.stats().getFetches());
+    }
+
+    @Test
+    @Story("Rate limiting")
+    @Description("Requests are never started closer together than the configured spacing")
+    public void testRateLimitSpacesRequests() throws Exception {
+        PollingScraper poller = PollingScraper.builder()
+                .uri(server.uri(PAGE))
+                .interval(Duration.ofMillis(10))
+                .minRequestSpacing(Duration.ofMillis(150))
+                .build()
+                .start();
+        Thread.sleep(700);
+        poller.stop(Duration.ofSeconds(5));
+        System.out.println("Poller: " + poller.stats());
+
+        Assertions.assertTrue(server.requestCount(PAGE) <= 5, "requests: " + server.requestCount(PAGE));
+        Assertions.assertTrue(poller.stats().getRateLimited() > 0);
+    }
+
+    @Test
+    @Story("Market hours")
+    @Description("Outside DSE trading hours cycles are skipped without sending a request")
+    public void testNoRequestsOutsideMarketHours() throws Exception {
+        // Friday: no trading session
+        Clock friday = Clock.fixed(Instant.parse("2024-01-05T06:00:00Z"), ZoneOffset.UTC);
+        PollingScraper poller = PollingScraper.builder()
+                .uri(server.uri(PAGE))
+                .interval(Duration.ofMillis(20))
+                .marketHours(MarketHours.DSE)
+                .clock(friday)
+                .build()
+                .start();
+        Thread.sleep(200);
+        poller.stop(Duration.ofSeconds(5));
+
+        Assertions.assertEquals(0, server.requestCount(PAGE));
+        Assertions.assertTrue(poller.stats().getClosedSkips() > 0);
+        Assertions.assertTrue(MarketHours.DSE.isOpen(Clock.fixed(Instant.parse("2024-01-07T06:00:00Z"), ZoneOffset.UTC)),
+                "Sunday 12:00 Dhaka time is a trading session");
+    }
+
+    @Test
+    @Story("Stopping")
+    @Description("Stopping does not wait for the next cycle to come due")
+    public void testStopDoesNotWaitForNextCycle() throws Exception {
+        PollingScraper poller = PollingScraper.builder()
+                .uri(server.uri(PAGE))
+                .interval(Duration.ofSeconds(60))
+                .build()
+                .start();
+        waitFor(() -> poller.stats().getDelivered() == 1, Duration.ofSeconds(5));
+
+        long start = System.nanoTime();
+        poller.stop(Duration.ofSeconds(5));
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        Assertions.assertTrue(millis < 1000, "stop took " + millis + " ms");
+        Assertions.assertEquals(1, server.requestCount(PAGE));
+    }
+
+    private static void waitFor(BooleanSupplier condition, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                Assertions.fail("Condition not met within " + timeout.toMillis() + " ms");
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    @AfterEach
+    @Step("Stop local server")
+    public void tearDown() {
+        if (server != null) {
+            server.close();
+        }
+    }
+}
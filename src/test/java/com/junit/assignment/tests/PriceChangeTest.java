@@ -0,0 +1,248 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.changes.PriceChange;
+import com.junit.assignment.changes.PriceChangePublisher;
+import com.junit.assignment.changes.SnapshotDiffer;
+import com.junit.assignment.polling.PollingScraper;
+import com.junit.assignment.scraping.ScrapedTable;
+import com.junit.assignment.scraping.StockRow;
+import com.junit.assignment.support.PollReplay;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+@Epic("Web Scraping Automation")
+@Feature("Price Change Stream")
+public class PriceChangeTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T04:00:00Z");
+
+    private final List<PollReplay.Poll> polls = PollReplay.load();
+
+    @Test
+    @Story("Replay recorded polls")
+    @Description("Each recorded poll produces exactly the expected typed changes, in table order")
+    public void testReplaysRecordedPolls() {
+        SnapshotDiffer differ = new SnapshotDiffer();
+        differ.seed(polls.get(0).rows());
+
+        for (PollReplay.Poll poll : polls.subList(1, polls.size())) {
+            List<String> actual = new ArrayList<>();
+            int count = differ.diff(START.plusSeconds(poll.number()), poll.rows(), change -> actual.add(describe(change)));
+            Assertions.assertEquals(poll.expected(), actual, "poll " + poll.number());
+            Assertions.assertEquals(actual.size(), count);
+            Assertions.assertEquals(poll.rows().size(), differ.size(), "poll " + poll.number());
+        }
+    }
+
+    @Test
+    @Story("First snapshot")
+    @Description("Without a seed the first snapshot lists every code once, and an identical one reports nothing")
+    public void testFirstSnapshotListsEveryCode() {
+        SnapshotDiffer differ = new SnapshotDiffer();
+        List<PriceChange> changes = new ArrayList<>();
+        List<StockRow> rows = polls.get(0).rows();
+
+        differ.diff(START, rows, changes::add);
+
+        Assertions.assertEquals(rows.size(), changes.size());
+        Assertions.assertTrue(changes.stream().allMatch(change -> change.type() == PriceChange.Type.LISTED));
+        Assertions.assertEquals(rows.get(0).tradingCode(), changes.get(0).tradingCode());
+        Assertions.assertEquals(0, differ.diff(START.plusSeconds(1), rows, changes::add));
+        Assertions.assertEquals(2, differ.cycle());
+    }
+
+    @Test
+    @Story("Publish to subscribers")
+    @Description("Every subscriber gets the same changes in order and is completed when the publisher closes")
+    public void testSubscribersReceiveChangesInOrder() throws InterruptedException {
+        Collector first = new Collector(Long.MAX_VALUE, 0);
+        Collector second = new Collector(Long.MAX_VALUE, 0);
+        int expected = 0;
+        try (PriceChangePublisher publisher = PriceChangePublisher.builder().build()) {
+            publisher.subscribe(first);
+            publisher.subscribe(second);
+            for (PollReplay.Poll poll : polls) {
+                expected += publisher.publish(START.plusSeconds(poll.number()), poll.rows());
+            }
+            Assertions.assertEquals(polls.size(), publisher.stats().getSnapshots());
+            Assertions.assertEquals(0, publisher.stats().getDropped());
+        }
+
+        Assertions.assertTrue(first.completed.await(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(second.completed.await(5, TimeUnit.SECONDS));
+        int listed = polls.get(0).rows().size();
+        Assertions.assertEquals(listed + polls.stream().mapToInt(poll -> poll.expected().size()).sum(), expected);
+        Assertions.assertEquals(expected, first.received.size());
+        Assertions.assertEquals(first.received, second.received);
+        Assertions.assertEquals(polls.get(1).expected().get(0), describe(first.received.get(listed)));
+    }
+
+    @Test
+    @Story("Bounded buffering")
+    @Description("A slow subscriber is waited for within maxWait; one that stops requesting loses changes instead of blocking")
+    public void testBuffersAreBounded() throws InterruptedException {
+        List<StockRow> rows = polls.get(0).rows();
+
+        Collector slow = new Collector(Long.MAX_VALUE, 1);
+        try (PriceChangePublisher publisher = PriceChangePublisher.builder()
+                .bufferCapacity(8)
+                .maxWait(Duration.ofSeconds(2))
+                .build()) {
+            publisher.subscribe(slow);
+            publisher.publish(START, rows);
+            Assertions.assertEquals(0, publisher.stats().getDropped());
+        }
+        Assertions.assertTrue(slow.completed.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(rows.size(), slow.received.size());
+
+        Collector stalled = new Collector(1, 0);
+        try (PriceChangePublisher publisher = PriceChangePublisher.builder()
+                .bufferCapacity(8)
+                .maxWait(Duration.ZERO)
+                .build()) {
+            publisher.subscribe(stalled);
+            waitFor(() -> publisher.subscriberCount() == 1 && stalled.subscribed.getCount() == 0, Duration.ofSeconds(5));
+            long start = System.nanoTime();
+            publisher.publish(START, rows);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+
+            PriceChangePublisher.Stats stats = publisher.stats();
+            Assertions.assertTrue(millis < 1000, "publishing took " + millis + " ms");
+            Assertions.assertTrue(stats.getMaxLag() <= 8, stats.toString());
+            Assertions.assertTrue(stats.getDropped() >= rows.size() - 9, stats.toString());
+        }
+    }
+
+    @Test
+    @Story("Bounded buffering")
+    @Description("maxWait bounds the whole snapshot: a stalled subscriber holds up a full-table publish once, not per change")
+    public void testMaxWaitCoversWholeSnapshot() throws InterruptedException {
+        List<StockRow> rows = polls.get(0).rows();
+        Collector stalled = new Collector(1, 0);
+        // Default maxWait of 500 ms
+        try (PriceChangePublisher publisher = PriceChangePublisher.builder().bufferCapacity(8).build()) {
+            publisher.subscribe(stalled);
+            waitFor(() -> publisher.subscriberCount() == 1 && stalled.subscribed.getCount() == 0, Duration.ofSeconds(5));
+            long start = System.nanoTime();
+            publisher.publish(START, rows);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+
+            PriceChangePublisher.Stats stats = publisher.stats();
+            Assertions.assertTrue(millis >= 400 && millis < 1500, "publishing took " + millis + " ms");
+            Assertions.assertTrue(stats.getDropped() >= rows.size() - 9, stats.toString());
+        }
+    }
+
+    @Test
+    @Story("Poller integration")
+    @Description("The poller feeds the publisher directly and the stream replays the recorded polls")
+    public void testPollerFeedsPublisher() throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        Collector collector = new Collector(Long.MAX_VALUE, 0);
+        int total = polls.get(0).rows().size() + polls.stream().mapToInt(poll -> poll.expected().size()).sum();
+        try (PriceChangePublisher publisher = PriceChangePublisher.builder().build()) {
+            publisher.subscribe(collector);
+            // Stays on the last poll once the recording runs out
+            PollingScraper poller = PollingScraper.builder()
+                    .source(() -> new ScrapedTable(List.of(),
+                            polls.get(Math.min(next.getAndIncrement(), polls.size() - 1)).rows()))
+                    .interval(Duration.ofMillis(20))
+                    .sink(publisher)
+                    .build()
+                    .start();
+            try {
+                waitFor(() -> next.get() > polls.size() + 2 && collector.received.size() >= total, Duration.ofSeconds(10));
+            } finally {
+                poller.stop(Duration.ofSeconds(2));
+            }
+            Assertions.assertEquals(0, poller.stats().getSinkFailures());
+        }
+
+        Assertions.assertTrue(collector.completed.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(total, collector.received.size());
+        List<String> replayed = new ArrayList<>();
+        for (PriceChange change : collector.received.subList(polls.get(0).rows().size(), total)) {
+            replayed.add(describe(change));
+        }
+        Assertions.assertEquals(polls.stream().flatMap(poll -> poll.expected().stream()).toList(), replayed);
+    }
+
+    // Same form as the "=>" lines of the sequence fixture
+    private static String describe(PriceChange change) {
+        switch (change.type()) {
+            case PRICE_UP:
+            case PRICE_DOWN:
+                return String.format("%s %s %.1f", change.type(), change.tradingCode(), change.ltpDelta());
+            case VOLUME:
+                return change.type() + " " + change.tradingCode() + " " + change.volumeDelta();
+            default:
+                return change.type() + " " + change.tradingCode();
+        }
+    }
+
+    private static void waitFor(BooleanSupplier condition, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                Assertions.fail("Condition not met within " + timeout.toMillis() + " ms");
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private static final class Collector implements Flow.Subscriber<PriceChange> {
+        private final List<PriceChange> received = new CopyOnWriteArrayList<>();
+        private final CountDownLatch subscribed = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final long demand;
+        private final long delayMillis;
+        private Flow.Subscription subscription;
+
+        // Requests demand items once (Long.MAX_VALUE: unbounded) and sleeps delayMillis per item
+        private Collector(long demand, long delayMillis) {
+            this.demand = demand;
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(demand);
+            subscribed.countDown();
+        }
+
+        @Override
+        public void onNext(PriceChange item) {
+            received.add(item);
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    subscription.cancel();
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+    }
+}
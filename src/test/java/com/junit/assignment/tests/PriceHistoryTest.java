@@ -0,0 +1,157 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.scraping.HtmlTableParser;
+import com.junit.assignment.scraping.StockRow;
+import com.junit.assignment.storage.PriceHistory;
+import com.junit.assignment.support.FixtureServer;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Epic("Web Scraping Automation")
+@Feature("Price History")
+public class PriceHistoryTest {
+
+    private static final String FIXTURE = "/fixtures/dse_latest_share_price.html";
+    private static final Instant START = Instant.parse("2024-01-01T04:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private List<StockRow> rows;
+
+    @BeforeEach
+    @Step("Parse the captured DSE page")
+    public void setup() {
+        rows = HtmlTableParser.parse(new String(FixtureServer.resource(FIXTURE), StandardCharsets.UTF_8)).getRows();
+    }
+
+    @Test
+    @Story("Change-only persistence")
+    @Description("After the first full snapshot only rows whose values moved are written")
+    public void testOnlyChangedRowsAreWritten() throws IOException {
+        try (PriceHistory history = PriceHistory.open(directory)) {
+            PriceHistory.AppendResult first = history.append(START, rows);
+            Assertions.assertTrue(first.isKeyframe());
+            Assertions.assertEquals(rows.size(), first.getChanged());
+
+            PriceHistory.AppendResult unchanged = history.append(START.plusSeconds(60), rows);
+            Assertions.assertEquals(0, unchanged.getChanged());
+            Assertions.assertFalse(unchanged.isKeyframe());
+
+            PriceHistory.AppendResult moved = history.append(START.plusSeconds(120), withPrice(rows, 3, 99.9));
+            Assertions.assertEquals(3, moved.getChanged());
+            Assertions.assertTrue(moved.getBytesWritten() * 50 < first.getBytesWritten(),
+                    moved.getBytesWritten() + " bytes vs " + first.getBytesWritten() + " for the full snapshot");
+            System.out.println("Full snapshot " + first.getBytesWritten() + " bytes, 3-row delta "
+                    + moved.getBytesWritten() + " bytes");
+
+            Assertions.assertEquals(99.9, history.latest().get(rows.get(0).tradingCode()).ltp());
+        }
+    }
+
+    @Test
+    @Story("Change-only persistence")
+    @Description("Reopening the history restores the latest state and continues appending deltas")
+    public void testReopenRestoresLatestState() throws IOException {
+        try (PriceHistory history = PriceHistory.open(directory)) {
+            history.append(START, rows);
+            history.append(START.plusSeconds(60), withPrice(rows, 10, 1.5));
+        }
+        try (PriceHistory history = PriceHistory.open(directory)) {
+            Assertions.assertEquals(2, history.snapshotCount());
+            Assertions.assertEquals(START.plusSeconds(60), history.lastTimestamp());
+            Assertions.assertThrows(IllegalArgumentException.class, () -> history.append(START, rows),
+                    "callers clamp to lastTimestamp() instead");
+            Map<String, StockRow> latest = history.latest();
+            Assertions.assertEquals(rows.size(), latest.size());
+            Assertions.assertEquals(1.5, latest.get(rows.get(9).tradingCode()).ltp());
+            Assertions.assertTrue(latest.get(rows.get(10).tradingCode()).sameValues(rows.get(10)));
+
+            Assertions.assertEquals(0, history.append(START.plusSeconds(120), withPrice(rows, 10, 1.5)).getChanged());
+        }
+    }
+
+    @Test
+    @Story("Historical snapshots")
+    @Description("Any past snapshot is rebuilt from the nearest keyframe and the deltas after it")
+    public void testSnapshotAtAcrossKeyframes() throws IOException {
+        try (PriceHistory history = PriceHistory.open(directory, 4)) {
+            for (int i = 0; i < 10; i++) {
+                history.append(START.plusSeconds(60L * i), withPrice(rows, i + 1, 100 + i));
+            }
+
+            Assertions.assertTrue(history.snapshotAt(START.minusSeconds(1)).isEmpty());
+            for (int i = 0; i < 10; i++) {
+                // Half a minute later still resolves to the snapshot taken at minute i
+                Map<String, StockRow> snapshot = history.snapshotAt(START.plusSeconds(60L * i + 30));
+                Assertions.assertEquals(rows.size(), snapshot.size());
+                Assertions.assertEquals(100.0 + i, snapshot.get(rows.get(i).tradingCode()).ltp(), "snapshot " + i);
+                Assertions.assertTrue(snapshot.get(rows.get(i + 1).tradingCode()).sameValues(rows.get(i + 1)),
+                        "snapshot " + i);
+            }
+        }
+    }
+
+    @Test
+    @Story("Change-only persistence")
+    @Description("Codes that disappear from the table are recorded as removals")
+    public void testRemovedRows() throws IOException {
+        try (PriceHistory history = PriceHistory.open(directory)) {
+            history.append(START, rows);
+            PriceHistory.AppendResult result = history.append(START.plusSeconds(60), rows.subList(2, rows.size()));
+
+            Assertions.assertEquals(0, result.getChanged());
+            Assertions.assertEquals(2, result.getRemoved());
+            Assertions.assertFalse(history.latest().containsKey(rows.get(0).tradingCode()));
+            Assertions.assertTrue(history.snapshotAt(START).containsKey(rows.get(0).tradingCode()));
+        }
+    }
+
+    @Test
+    @Story("Crash recovery")
+    @Description("A half-written block at the end of the log is discarded on open")
+    public void testTornWriteIsTrimmed() throws IOException {
+        long cleanSize;
+        try (PriceHistory history = PriceHistory.open(directory)) {
+            history.append(START, rows);
+            history.append(START.plusSeconds(60), withPrice(rows, 5, 7.0));
+            cleanSize = history.logSize();
+        }
+        // Simulate a crash after the block bytes hit the disk but before its index entry did
+        try (FileChannel log = FileChannel.open(directory.resolve(PriceHistory.LOG_FILE), StandardOpenOption.APPEND)) {
+            log.write(ByteBuffer.wrap(new byte[]{2, 0, 0, 1, 2, 3}));
+        }
+        Files.write(directory.resolve(PriceHistory.INDEX_FILE), new byte[]{0, 0, 0},
+                StandardOpenOption.APPEND);
+
+        try (PriceHistory history = PriceHistory.open(directory)) {
+            Assertions.assertEquals(2, history.snapshotCount());
+            Assertions.assertEquals(cleanSize, history.logSize());
+            Assertions.assertEquals(7.0, history.latest().get(rows.get(4).tradingCode()).ltp());
+        }
+    }
+
+    // Copies the rows with a new LTP for the first n of them
+    private static List<StockRow> withPrice(List<StockRow> rows, int n, double ltp) {
+        List<StockRow> result = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            StockRow row = rows.get(i);
+            result.add(i < n ? StockRow.of(row.index(), row.tradingCode(), ltp, row.high(), row.low(), row.closep(),
+                    row.ycp(), row.change(), row.trade(), row.value(), row.volume()) : row);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,108 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.scraping.HtmlTableParser;
+import com.junit.assignment.scraping.StockRow;
+import com.junit.assignment.storage.ColumnarSnapshotFile.Column;
+import com.junit.assignment.storage.PriceStore;
+import com.junit.assignment.support.FixtureServer;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Tag("benchmark")
+@Isolated
+@Epic("Web Scraping Automation")
+@Feature("Price Store")
+public class PriceStoreBenchmarkTest {
+
+    private static final String FIXTURE = "/fixtures/dse_latest_share_price.html";
+    // One-minute snapshots over a 10:00-14:30 trading session
+    private static final int SNAPSHOTS = 270;
+    private static final int RUNS = 2_000;
+
+    @Test
+    @Story("Query latency")
+    @Description("Top-N, range and history queries over a trading day of snapshots, indexed store versus scanning the rows")
+    public void testQueryLatency() {
+        List<StockRow> rows = HtmlTableParser.parse(
+                new String(FixtureServer.resource(FIXTURE), StandardCharsets.UTF_8)).getRows();
+        String code = rows.get(rows.size() / 2).tradingCode();
+        Instant start = Instant.parse("2024-01-01T04:00:00Z");
+
+        PriceStore store = new PriceStore();
+        List<List<StockRow>> day = new ArrayList<>();
+        for (int i = 0; i < SNAPSHOTS; i++) {
+            day.add(tick(rows, i));
+        }
+        long ingestStart = System.nanoTime();
+        for (int i = 0; i < SNAPSHOTS; i++) {
+            store.ingest(start.plusSeconds(60L * i), day.get(i));
+        }
+        double ingestMillis = (System.nanoTime() - ingestStart) / 1_000_000.0 / SNAPSHOTS;
+        List<StockRow> latest = day.get(day.size() - 1);
+
+        double storeTop = micros(() -> store.latest().top(Column.CHANGE, 20));
+        double scanTop = micros(() -> latest.stream().filter(r -> !Double.isNaN(r.change()))
+                .sorted(Comparator.comparingDouble(StockRow::change).reversed()).limit(20).collect(Collectors.toList()));
+        double storeRange = micros(() -> store.latest().above(Column.VOLUME, 1_000_000));
+        double scanRange = micros(() -> latest.stream().filter(r -> r.volume() > 1_000_000)
+                .sorted(Comparator.comparingLong(StockRow::volume)).collect(Collectors.toList()));
+        double storeHistory = micros(() -> store.history(code, Column.LTP));
+        double scanHistory = micros(() -> {
+            double[] values = new double[day.size()];
+            for (int i = 0; i < day.size(); i++) {
+                values[i] = Double.NaN;
+                for (StockRow row : day.get(i)) {
+                    if (row.tradingCode().equals(code)) {
+                        values[i] = row.ltp();
+                        break;
+                    }
+                }
+            }
+            return values;
+        });
+
+        System.out.println(String.format("%d snapshots x %d rows, ingest %.3f ms per snapshot", SNAPSHOTS, rows.size(), ingestMillis));
+        System.out.println(String.format("Top 20 by change:   store %7.1f us, scan %7.1f us", storeTop, scanTop));
+        System.out.println(String.format("Volume > 1,000,000: store %7.1f us, scan %7.1f us", storeRange, scanRange));
+        System.out.println(String.format("LTP history of %s: store %7.1f us, scan %7.1f us", code, storeHistory, scanHistory));
+
+        Assertions.assertTrue(storeTop < 1_000, "top-N should take well under a millisecond");
+        Assertions.assertTrue(storeRange < 1_000, "range should take well under a millisecond");
+        Assertions.assertTrue(storeHistory < 1_000, "history should take well under a millisecond");
+    }
+
+    // Average microseconds per call after a warm-up
+    private static double micros(Supplier<Object> query) {
+        Object sink = null;
+        for (int i = 0; i < RUNS; i++) {
+            sink = query.get();
+        }
+        long begin = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            sink = query.get();
+        }
+        double micros = (System.nanoTime() - begin) / 1_000.0 / RUNS;
+        Assertions.assertNotNull(sink);
+        return micros;
+    }
+
+    // Moves prices and volumes a little so consecutive snapshots differ
+    private static List<StockRow> tick(List<StockRow> rows, int minute) {
+        List<StockRow> result = new ArrayList<>(rows.size());
+        for (StockRow row : rows) {
+            double ltp = Math.round((row.ltp() + (minute % 7 - 3) * 0.1) * 10) / 10.0;
+            result.add(StockRow.of(row.index(), row.tradingCode(), ltp, row.high(), row.low(), row.closep(),
+                    row.ycp(), row.change(), row.trade() + minute, row.value(), row.volume() + minute * 100L));
+        }
+        return result;
+    }
+}
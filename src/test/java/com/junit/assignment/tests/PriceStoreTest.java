@@ -0,0 +1,165 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.scraping.HtmlTableParser;
+import com.junit.assignment.scraping.StockRow;
+import com.junit.assignment.storage.ColumnarSnapshotFile.Column;
+import com.junit.assignment.storage.PriceStore;
+import com.junit.assignment.support.FixtureServer;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+@Epic("Web Scraping Automation")
+@Feature("Price Store")
+public class PriceStoreTest {
+
+    private static final String FIXTURE = "/fixtures/dse_latest_share_price.html";
+    private static final Instant START = Instant.parse("2024-01-01T04:00:00Z");
+
+    private List<StockRow> rows;
+
+    @BeforeEach
+    @Step("Parse the captured DSE page")
+    public void setup() {
+        rows = HtmlTableParser.parse(new String(FixtureServer.resource(FIXTURE), StandardCharsets.UTF_8)).getRows();
+    }
+
+    @Test
+    @Story("Indexed queries")
+    @Description("Top-N, bottom-N, range and lookup by code match a brute-force scan of the page")
+    public void testQueriesMatchBruteForce() {
+        PriceStore store = new PriceStore();
+        PriceStore.Snapshot snapshot = store.ingest(START, rows);
+
+        List<Double> expectedTop = rows.stream().filter(r -> !Double.isNaN(r.change()))
+                .sorted(Comparator.comparingDouble(StockRow::change).reversed())
+                .limit(20).map(StockRow::change).collect(Collectors.toList());
+        Assertions.assertEquals(expectedTop, snapshot.top(Column.CHANGE, 20).stream().map(StockRow::change).collect(Collectors.toList()));
+
+        List<Double> expectedBottom = rows.stream().filter(r -> !Double.isNaN(r.ltp()))
+                .map(StockRow::ltp).sorted().limit(5).collect(Collectors.toList());
+        Assertions.assertEquals(expectedBottom, snapshot.bottom(Column.LTP, 5).stream().map(StockRow::ltp).collect(Collectors.toList()));
+
+        long threshold = 1_000_000;
+        List<String> expectedAbove = rows.stream().filter(r -> r.volume() > threshold)
+                .map(StockRow::tradingCode).sorted().collect(Collectors.toList());
+        List<StockRow> above = snapshot.above(Column.VOLUME, threshold);
+        Assertions.assertEquals(expectedAbove, above.stream().map(StockRow::tradingCode).sorted().collect(Collectors.toList()));
+        for (int i = 1; i < above.size(); i++) {
+            Assertions.assertTrue(above.get(i - 1).volume() <= above.get(i).volume(), "ascending by volume");
+        }
+
+        long inRange = rows.stream().filter(r -> r.ltp() >= 10 && r.ltp() <= 20).count();
+        Assertions.assertEquals(inRange, snapshot.range(Column.LTP, 10, 20).size());
+
+        StockRow first = rows.get(0);
+        Assertions.assertTrue(snapshot.find(first.tradingCode()).sameValues(first));
+        Assertions.assertNull(snapshot.find("NEWLISTING"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> snapshot.top(Column.HIGH, 5));
+    }
+
+    @Test
+    @Story("History")
+    @Description("History of one code spans every snapshot, with NaN where it was not listed")
+    public void testHistoryAcrossSnapshots() {
+        PriceStore store = new PriceStore();
+        String code = rows.get(0).tradingCode();
+        store.ingest(START, rows);
+        store.ingest(START.plusSeconds(60), rows.subList(1, rows.size()));
+        List<StockRow> moved = new ArrayList<>(rows);
+        StockRow row = rows.get(0);
+        moved.set(0, StockRow.of(row.index(), row.tradingCode(), 2300.0, row.high(), row.low(), row.closep(),
+                row.ycp(), row.change(), row.trade(), row.value(), row.volume()));
+        moved.add(StockRow.of(401, "NEWLISTING", 10.0, 10.0, 10.0, 10.0, 10.0, 0.0, 1, 0.01, 100));
+        store.ingest(START.plusSeconds(120), moved);
+
+        double[] ltp = store.history(code, Column.LTP);
+        Assertions.assertEquals(3, ltp.length);
+        Assertions.assertEquals(row.ltp(), ltp[0]);
+        Assertions.assertTrue(Double.isNaN(ltp[1]));
+        Assertions.assertEquals(2300.0, ltp[2]);
+        Assertions.assertArrayEquals(new double[]{Double.NaN, Double.NaN, 100}, store.history("NEWLISTING", Column.VOLUME));
+        Assertions.assertEquals(rows.size() + 1, store.codes().size());
+        Assertions.assertSame(store.snapshot(1), store.snapshotAt(START.plusSeconds(90)));
+        Assertions.assertNull(store.snapshotAt(START.minusSeconds(1)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> store.ingest(START, rows));
+    }
+
+    @Test
+    @Story("Duplicate codes")
+    @Description("A code listed twice is indexed once, at its first position with the last row's values")
+    public void testRepeatedCodeIsIndexedOnce() {
+        StockRow first = rows.get(0);
+        List<StockRow> repeated = new ArrayList<>(rows);
+        repeated.add(StockRow.of(401, first.tradingCode(), 9999.0, first.high(), first.low(), first.closep(),
+                first.ycp(), 500.0, first.trade(), first.value(), first.volume()));
+        PriceStore.Snapshot snapshot = new PriceStore().ingest(START, repeated);
+
+        Assertions.assertEquals(rows.size(), snapshot.size());
+        Assertions.assertEquals(9999.0, snapshot.find(first.tradingCode()).ltp());
+        Assertions.assertSame(snapshot.find(first.tradingCode()), snapshot.row(0));
+        List<StockRow> top = snapshot.top(Column.CHANGE, rows.size() + 1);
+        Assertions.assertEquals(rows.size(), top.size());
+        Assertions.assertEquals(first.tradingCode(), top.get(0).tradingCode());
+        Assertions.assertEquals(1, top.stream().filter(row -> row.tradingCode().equals(first.tradingCode())).count());
+        Assertions.assertEquals(1, snapshot.range(Column.LTP, 9000, 10000).size());
+    }
+
+    @Test
+    @Story("Concurrent access")
+    @Description("Readers querying while a writer ingests always see complete snapshots and never hold up the writer")
+    public void testReadersDoNotBlockTheWriter() throws InterruptedException {
+        PriceStore store = new PriceStore();
+        int snapshots = 300;
+        AtomicInteger queries = new AtomicInteger();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 4; r++) {
+            Thread reader = new Thread(() -> {
+                try {
+                    while (done.getCount() > 0) {
+                        PriceStore.Snapshot latest = store.latest();
+                        if (latest == null) {
+                            continue;
+                        }
+                        Assertions.assertEquals(rows.size(), latest.size());
+                        Assertions.assertEquals(20, latest.top(Column.VOLUME, 20).size());
+                        double[] history = store.history(rows.get(0).tradingCode(), Column.LTP);
+                        Assertions.assertFalse(Double.isNaN(history[history.length - 1]));
+                        queries.incrementAndGet();
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < snapshots; i++) {
+            store.ingest(START.plusSeconds(60L * i), rows);
+        }
+        double ingestMillis = (System.nanoTime() - start) / 1_000_000.0;
+        done.countDown();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        System.out.println(String.format("Ingested %d snapshots in %.1f ms while readers ran %d queries",
+                snapshots, ingestMillis, queries.get()));
+        Assertions.assertNull(failure.get(), () -> "reader failed: " + failure.get());
+        Assertions.assertEquals(snapshots, store.snapshotCount());
+        Assertions.assertEquals(snapshots, store.history(rows.get(0).tradingCode(), Column.LTP).length);
+    }
+}
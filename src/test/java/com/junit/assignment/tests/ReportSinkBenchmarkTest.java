@@ -0,0 +1,159 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.scraping.AsyncConsoleSink;
+import com.junit.assignment.scraping.FileReportSink;
+import com.junit.assignment.scraping.HtmlTableParser;
+import com.junit.assignment.scraping.ScrapeReport;
+import com.junit.assignment.scraping.ScrapedTable;
+import com.junit.assignment.scraping.StockRow;
+import com.junit.assignment.scraping.Verbosity;
+import com.junit.assignment.support.FixtureServer;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+@Tag("benchmark")
+@Isolated
+@Epic("Web Scraping Automation")
+@Feature("Report Output")
+public class ReportSinkBenchmarkTest {
+
+    private static final String FIXTURE = "/fixtures/dse_latest_share_price.html";
+    private static final String RULE = "=".repeat(80);
+    private static final int ROWS = 5_000;
+    private static final int MEASURED_RUNS = 3;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @Story("Compare report output")
+    @Description("Writing a 5,000-row report: println per line plus a StringBuilder saved at the end, versus the async console and streaming file sinks")
+    public void testCompareReportOutput() throws IOException {
+        ScrapedTable table = bigTable();
+        Path legacyFile = directory.resolve("legacy.txt");
+        Path legacyConsole = directory.resolve("legacy-console.txt");
+        Path sinkFile = directory.resolve("sink.txt");
+        Path sinkConsole = directory.resolve("sink-console.txt");
+        Path rowsConsole = directory.resolve("rows-console.txt");
+
+        long retained = 0;
+        double legacyMillis = 0;
+        double cellsMillis = 0;
+        double rowsMillis = 0;
+        for (int run = 0; run <= MEASURED_RUNS; run++) {
+            long start = System.nanoTime();
+            retained = writeLegacy(table, legacyConsole, legacyFile);
+            double legacy = (System.nanoTime() - start) / 1_000_000.0;
+
+            start = System.nanoTime();
+            writeWithSinks(table, sinkConsole, sinkFile, Verbosity.CELLS);
+            double cells = (System.nanoTime() - start) / 1_000_000.0;
+
+            start = System.nanoTime();
+            writeWithSinks(table, rowsConsole, sinkFile, Verbosity.ROWS);
+            double rows = (System.nanoTime() - start) / 1_000_000.0;
+
+            if (run > 0) { // first run is warm-up
+                legacyMillis += legacy / MEASURED_RUNS;
+                cellsMillis += cells / MEASURED_RUNS;
+                rowsMillis += rows / MEASURED_RUNS;
+            }
+        }
+
+        System.out.println(String.format("%,d rows, %,d byte report", ROWS, Files.size(sinkFile)));
+        System.out.println(String.format("println + StringBuilder + save: %8.1f ms, %,d chars held until saved",
+                legacyMillis, retained));
+        System.out.println(String.format("Async console (cells) + file:  %8.1f ms, %,d chars buffered, %,d console bytes",
+                cellsMillis, FileReportSink.DEFAULT_BUFFER_CHARS, Files.size(sinkConsole)));
+        System.out.println(String.format("Async console (rows) + file:   %8.1f ms, %,d console bytes",
+                rowsMillis, Files.size(rowsConsole)));
+
+        Assertions.assertEquals(Files.readString(legacyFile), Files.readString(sinkFile));
+        Assertions.assertEquals(Files.readString(legacyConsole), Files.readString(sinkConsole));
+        Assertions.assertTrue(Files.size(rowsConsole) < Files.size(sinkConsole));
+    }
+
+    // The fixture's 400 rows repeated with distinct codes
+    private static ScrapedTable bigTable() {
+        ScrapedTable fixture = HtmlTableParser.parse(new String(FixtureServer.resource(FIXTURE), StandardCharsets.UTF_8));
+        List<StockRow> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            List<String> cells = new ArrayList<>(fixture.getRows().get(i % fixture.getRows().size()).cells());
+            cells.set(0, Integer.toString(i + 1));
+            cells.set(1, cells.get(1) + (i / fixture.getRows().size()));
+            rows.add(StockRow.fromCells(cells));
+        }
+        return new ScrapedTable(fixture.getHeaders(), rows);
+    }
+
+    // A console that flushes every println, as System.out does on a terminal
+    private static PrintStream console(Path file) throws IOException {
+        return new PrintStream(new FileOutputStream(file.toFile()), true, StandardCharsets.UTF_8);
+    }
+
+    private static void writeWithSinks(ScrapedTable table, Path consoleFile, Path file, Verbosity verbosity) throws IOException {
+        try (PrintStream console = console(consoleFile);
+             ScrapeReport report = new ScrapeReport(new AsyncConsoleSink(console, console, verbosity), FileReportSink.open(file))) {
+            report.header("2024-01-01 10:00:00");
+            report.table(table);
+        }
+    }
+
+    // What TableScrapingTest did before the sinks; returns the size of the StringBuilder
+    private static long writeLegacy(ScrapedTable table, Path consoleFile, Path file) throws IOException {
+        StringBuilder content = new StringBuilder();
+        try (PrintStream console = console(consoleFile)) {
+            String header = RULE + "\n" + "DSE Stock Price Data - Scraped on: 2024-01-01 10:00:00\n" + RULE + "\n\n";
+            content.append(header);
+            console.println(header);
+
+            console.println("\n--- TABLE HEADERS ---");
+            content.append("--- TABLE HEADERS ---\n");
+            List<String> headers = table.getHeaders();
+            for (int i = 0; i < headers.size(); i++) {
+                String headerLine = String.format("Column %d: %s", i + 1, headers.get(i));
+                console.println(headerLine);
+                content.append(headerLine).append("\n");
+            }
+            content.append("\n");
+
+            console.println("\n--- TABLE DATA ---");
+            console.println("Total rows found: " + table.getRows().size());
+            content.append("--- TABLE DATA ---\n");
+            content.append("Total rows: ").append(table.getRows().size()).append("\n\n");
+            int rowNumber = 0;
+            for (StockRow row : table.getRows()) {
+                String rowHeader = String.format("\nRow %d:", ++rowNumber);
+                console.println(rowHeader);
+                content.append(rowHeader).append("\n");
+                List<String> cells = row.cells();
+                for (int i = 0; i < cells.size(); i++) {
+                    String cellLine = String.format("  Cell %d: %s", i + 1, cells.get(i));
+                    console.println(cellLine);
+                    content.append(cellLine).append("\n");
+                }
+            }
+            console.println("\n" + RULE);
+            console.println("Total data rows scraped: " + rowNumber);
+            content.append("\n").append(RULE).append("\n");
+            content.append("Total data rows scraped: ").append(rowNumber).append("\n");
+        }
+        try (PrintWriter writer = new PrintWriter(new FileWriter(file.toFile(), StandardCharsets.UTF_8))) {
+            writer.print(content);
+        }
+        return content.length();
+    }
+}
@@ -0,0 +1,202 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.scraping.AsyncConsoleSink;
+import com.junit.assignment.scraping.FileReportSink;
+import com.junit.assignment.scraping.ScrapeReport;
+import com.junit.assignment.scraping.ScrapedTable;
+import com.junit.assignment.scraping.StockRow;
+import com.junit.assignment.scraping.Verbosity;
+import com.junit.assignment.storage.SnapshotCompression;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Epic("Web Scraping Automation")
+@Feature("Report Output")
+public class ReportSinkTest {
+
+    private static final String NL = System.lineSeparator();
+
+    @TempDir
+    Path directory;
+
+    private final ScrapedTable table = new ScrapedTable(List.of("#", "TRADING CODE", "LTP*"), List.of(
+            StockRow.fromCells(List.of("1", "LANKALIFE", "2,283.2")),
+            StockRow.fromCells(List.of("2", "ACI", "--"))));
+
+    @Test
+    @Story("Stream the report")
+    @Description("The file gets the full report and a cell-level console echoes every line in order")
+    public void testFileAndConsoleContent() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Path file = directory.resolve("stock_prices.txt");
+        try (ScrapeReport report = new ScrapeReport(console(out, Verbosity.CELLS), FileReportSink.open(file))) {
+            report.header("2024-01-01 10:00:00");
+            report.table(table);
+            Assertions.assertEquals(0, Files.readString(file).length(), "small reports stay in the buffer until flushed");
+            report.flush();
+            Assertions.assertEquals(report.length(), Files.readString(file).length());
+        }
+
+        String rule = "=".repeat(80);
+        Assertions.assertEquals(rule + "\nDSE Stock Price Data - Scraped on: 2024-01-01 10:00:00\n" + rule + "\n\n"
+                + "--- TABLE HEADERS ---\nColumn 1: #\nColumn 2: TRADING CODE\nColumn 3: LTP*\n\n"
+                + "--- TABLE DATA ---\nTotal rows: 2\n\n"
+                + "\nRow 1:\n  Cell 1: 1\n  Cell 2: LANKALIFE\n  Cell 3: 2,283.2\n"
+                + "\nRow 2:\n  Cell 1: 2\n  Cell 2: ACI\n  Cell 3: --\n"
+                + "\n" + rule + "\nTotal data rows scraped: 2\n", Files.readString(file));
+
+        String console = out.toString(StandardCharsets.UTF_8);
+        Assertions.assertTrue(console.contains("Total rows found: 2" + NL + NL + "Row 1:" + NL + "  Cell 1: 1" + NL), console);
+        Assertions.assertTrue(console.indexOf("Cell 3: 2,283.2") < console.indexOf("Row 2:"), console);
+        Assertions.assertTrue(console.endsWith("Total data rows scraped: 2" + NL), console);
+    }
+
+    @Test
+    @Story("Console verbosity")
+    @Description("Rows verbosity prints one line per row, summary none, and the file is unaffected")
+    public void testVerbosityOnlyAffectsTheConsole() throws IOException {
+        ByteArrayOutputStream rows = new ByteArrayOutputStream();
+        ByteArrayOutputStream summary = new ByteArrayOutputStream();
+        Path rowsFile = directory.resolve("rows.txt");
+        Path summaryFile = directory.resolve("summary.txt");
+        try (ScrapeReport rowsReport = new ScrapeReport(console(rows, Verbosity.ROWS), FileReportSink.open(rowsFile));
+             ScrapeReport summaryReport = new ScrapeReport(console(summary, Verbosity.SUMMARY), FileReportSink.open(summaryFile))) {
+            rowsReport.table(table);
+            summaryReport.table(table);
+        }
+
+        String rowsText = rows.toString(StandardCharsets.UTF_8);
+        String summaryText = summary.toString(StandardCharsets.UTF_8);
+        Assertions.assertTrue(rowsText.contains(NL + "Row 1: 1 | LANKALIFE | 2,283.2" + NL), rowsText);
+        Assertions.assertFalse(rowsText.contains("Cell 1"), rowsText);
+        Assertions.assertFalse(summaryText.contains("Row 1"), summaryText);
+        Assertions.assertTrue(summaryText.contains("Total data rows scraped: 2"), summaryText);
+        Assertions.assertEquals(Files.readString(rowsFile), Files.readString(summaryFile));
+    }
+
+    @Test
+    @Story("Console verbosity")
+    @Description("A slow console blocks the producer instead of dropping lines, and prints in batches")
+    public void testBackpressureKeepsEveryLine() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        OutputStream slow = new OutputStream() {
+            @Override
+            public void write(int b) {
+                out.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                out.write(b, off, len);
+            }
+        };
+        PrintStream stream = new PrintStream(slow, true, StandardCharsets.UTF_8);
+        AsyncConsoleSink sink = new AsyncConsoleSink(stream, stream, Verbosity.CELLS, 8);
+        for (int i = 0; i < 500; i++) {
+            sink.write(Verbosity.CELLS, "line " + i + "\n");
+        }
+        sink.close();
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        System.out.println(String.format("%d lines in %d batches, producer blocked %d ms",
+                sink.linesPrinted(), sink.batches(), sink.blockedMillis()));
+        Assertions.assertEquals(500, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            Assertions.assertEquals("line " + i, lines[i]);
+        }
+        Assertions.assertEquals(500, sink.linesPrinted());
+        Assertions.assertTrue(sink.batches() < 500, "lines should be printed in batches");
+        Assertions.assertTrue(sink.blockedMillis() > 0, "producer should have waited for the console");
+        Assertions.assertThrows(IOException.class, () -> sink.write(Verbosity.CELLS, "late\n"));
+    }
+
+    @Test
+    @Story("Console verbosity")
+    @Description("A write racing with close either fails or is printed; it is never silently lost")
+    public void testWriteRacingCloseIsNeverLost() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 50; round++) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                AsyncConsoleSink sink = console(out, Verbosity.CELLS);
+                AtomicInteger accepted = new AtomicInteger();
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> writers = new ArrayList<>();
+                for (int w = 0; w < 3; w++) {
+                    writers.add(executor.submit(() -> {
+                        start.await();
+                        try {
+                            while (true) {
+                                sink.write(Verbosity.CELLS, "x\n");
+                                accepted.incrementAndGet();
+                            }
+                        } catch (IOException closed) {
+                            return null;
+                        }
+                    }));
+                }
+                start.countDown();
+                Thread.sleep(1);
+                sink.close();
+                for (Future<?> writer : writers) {
+                    writer.get(5, TimeUnit.SECONDS);
+                }
+
+                Assertions.assertEquals(accepted.get(), sink.linesPrinted(), "round " + round);
+                Assertions.assertEquals(accepted.get(), out.toString(StandardCharsets.UTF_8).length() / 2, "round " + round);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @Story("Stream the report")
+    @Description("An aborted atomic report leaves the previous file untouched and no temp file behind")
+    public void testAbortKeepsPreviousReport() throws IOException {
+        Path file = directory.resolve("stock_prices.txt");
+        try (ScrapeReport report = new ScrapeReport(null, FileReportSink.atomic(file, SnapshotCompression.NONE))) {
+            report.header("2024-01-01 10:00:00");
+            report.table(table);
+        }
+        String previous = Files.readString(file);
+
+        ScrapeReport failed = new ScrapeReport(console(new ByteArrayOutputStream(), Verbosity.ERRORS),
+                FileReportSink.atomic(file, SnapshotCompression.NONE));
+        failed.header("2024-01-01 10:05:00");
+        failed.error("Error while scraping table: timed out");
+        failed.abort();
+
+        Assertions.assertEquals(previous, Files.readString(file));
+        try (var files = Files.list(directory)) {
+            Assertions.assertEquals(List.of(file), files.toList());
+        }
+    }
+
+    private static AsyncConsoleSink console(ByteArrayOutputStream out, Verbosity verbosity) {
+        PrintStream stream = new PrintStream(out, true, StandardCharsets.UTF_8);
+        return new AsyncConsoleSink(stream, stream, verbosity);
+    }
+}
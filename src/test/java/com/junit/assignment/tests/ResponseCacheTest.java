@@ -0,0 +1,328 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.http.CachingFetcher;
+import com.junit.assignment.http.CachingProxy;
+import com.junit.assignment.http.ResponseCache;
+import com.junit.assignment.scraping.HttpTableScraper;
+import com.junit.assignment.scraping.ScrapedTable;
+import com.junit.assignment.support.FixtureServer;
+import com.sun.net.httpserver.HttpExchange;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ProxySelector;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+@Epic("Web Scraping Automation")
+@Feature("HTTP Response Cache")
+public class ResponseCacheTest {
+
+    private static final String PAGE = "/latest_share_price_scroll_by_value.php";
+    private static final String FIXTURE = "/fixtures/dse_latest_share_price.html";
+    private static final String LAST_MODIFIED = "Mon, 01 Jan 2024 04:00:00 GMT";
+
+    private FixtureServer server;
+    private final AtomicReference<byte[]> page = new AtomicReference<>(FixtureServer.resource(FIXTURE));
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    @Step("Start local DSE stand-in server with ETag and Last-Modified support")
+    public void setup() throws IOException {
+        server = FixtureServer.start()
+                .serve(PAGE, exchange -> conditional(exchange, true, true))
+                .serve("/modified", exchange -> conditional(exchange, false, true))
+                .serve("/gzip", this::negotiated)
+                .serve("/plain", FixtureServer.HTML, page::get);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.close();
+    }
+
+    @Test
+    @Story("ETag revalidation")
+    @Description("An unchanged page is answered with 304, served from disk and not parsed again")
+    public void testEtagRevalidationSkipsParsing() throws Exception {
+        ResponseCache cache = ResponseCache.open(directory);
+        HttpTableScraper scraper = new HttpTableScraper(cache);
+
+        ScrapedTable first = scraper.scrape(server.uri(PAGE));
+        ScrapedTable second = scraper.scrape(server.uri(PAGE));
+        Assertions.assertEquals(400, first.getRows().size());
+        Assertions.assertSame(first, second, "unchanged page should not be parsed again");
+        Assertions.assertEquals(1, scraper.parsesSkipped());
+
+        ResponseCache.Stats stats = cache.stats();
+        Assertions.assertEquals(1, stats.getHits());
+        Assertions.assertEquals(1, stats.getMisses());
+        Assertions.assertEquals(page.get().length, stats.getBytesSaved());
+
+        page.set(changed(page.get()));
+        ScrapedTable third = scraper.scrape(server.uri(PAGE));
+        Assertions.assertNotSame(first, third);
+        Assertions.assertEquals("LANKALIFE", third.getRows().get(0).tradingCode());
+        Assertions.assertEquals(2299.9, third.getRows().get(0).ltp());
+        Assertions.assertEquals(2, cache.stats().getMisses());
+        Assertions.assertEquals(3, server.requestCount(PAGE));
+    }
+
+    @Test
+    @Story("Last-Modified revalidation")
+    @Description("Without an ETag the cache revalidates with If-Modified-Since")
+    public void testLastModifiedRevalidation() throws Exception {
+        CachingFetcher fetcher = new CachingFetcher(HttpClient.newHttpClient(), ResponseCache.open(directory));
+
+        CachingFetcher.Response first = fetcher.fetch(HttpRequest.newBuilder(server.uri("/modified")).build());
+        CachingFetcher.Response second = fetcher.fetch(HttpRequest.newBuilder(server.uri("/modified")).build());
+
+        Assertions.assertEquals(CachingFetcher.Outcome.MISS, first.outcome());
+        Assertions.assertEquals(CachingFetcher.Outcome.REVALIDATED, second.outcome());
+        Assertions.assertArrayEquals(first.body(), second.body());
+        Assertions.assertEquals(first.contentHash(), second.contentHash());
+        Assertions.assertEquals(FixtureServer.HTML, second.contentType());
+    }
+
+    @Test
+    @Story("Content hashing")
+    @Description("A server without validators still lets callers skip parsing when the body hashes the same")
+    public void testContentHashWithoutValidators() throws Exception {
+        ResponseCache cache = ResponseCache.open(directory);
+        CachingFetcher fetcher = new CachingFetcher(HttpClient.newHttpClient(), cache);
+        HttpRequest request = HttpRequest.newBuilder(server.uri("/plain")).build();
+
+        Assertions.assertEquals(CachingFetcher.Outcome.MISS, fetcher.fetch(request).outcome());
+        CachingFetcher.Response same = fetcher.fetch(request);
+        Assertions.assertEquals(CachingFetcher.Outcome.UNCHANGED, same.outcome());
+        Assertions.assertTrue(same.isUnchanged());
+
+        page.set(changed(page.get()));
+        Assertions.assertEquals(CachingFetcher.Outcome.MISS, fetcher.fetch(request).outcome());
+        Assertions.assertEquals(1, cache.stats().getUnchanged());
+        Assertions.assertEquals(0, cache.stats().getHits());
+        Assertions.assertFalse(cache.get(server.uri("/plain")).hasValidators());
+    }
+
+    @Test
+    @Story("Eviction and persistence")
+    @Description("Least recently used entries go first, the cache reopens from disk and corrupt bodies are dropped")
+    public void testLruEvictionAndReopen() throws Exception {
+        byte[] body = new byte[1_000];
+        ResponseCache cache = ResponseCache.open(directory, 2_500);
+        URI a = URI.create("http://example.test/a");
+        URI b = URI.create("http://example.test/b");
+        URI c = URI.create("http://example.test/c");
+        cache.put(a, body, "\"a\"", null, "text/html");
+        Thread.sleep(10);
+        cache.put(b, body, "\"b\"", null, "text/html");
+        Thread.sleep(10);
+        Assertions.assertNotNull(cache.get(a), "a becomes the most recently used");
+        Thread.sleep(10);
+        cache.put(c, body, "\"c\"", null, "text/html");
+
+        Assertions.assertTrue(cache.contains(a));
+        Assertions.assertFalse(cache.contains(b), "b was least recently used");
+        Assertions.assertTrue(cache.contains(c));
+        Assertions.assertEquals(1, cache.stats().getEvictions());
+        Assertions.assertEquals(2_000, cache.totalBytes());
+
+        ResponseCache reopened = ResponseCache.open(directory, 2_500);
+        Assertions.assertEquals(2, reopened.size());
+        Assertions.assertEquals("\"a\"", reopened.get(a).etag());
+
+        byte[] corrupt = new byte[1_000];
+        Arrays.fill(corrupt, (byte) 1);
+        Files.write(bodyFile(reopened.get(c)), corrupt);
+        Assertions.assertNotNull(reopened.read(reopened.get(a)));
+        Assertions.assertNull(reopened.read(reopened.get(c)), "body no longer matches its hash");
+        Assertions.assertFalse(reopened.contains(c));
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            int count = 0;
+            for (Path ignored : files) {
+                count++;
+            }
+            Assertions.assertEquals(2, count, "only a.body and a.meta should remain");
+        }
+    }
+
+    @Test
+    @Story("Eviction and persistence")
+    @Description("Reopening deletes bodies without metadata and temp files left by an interrupted write")
+    public void testReopenRemovesLeftovers() throws Exception {
+        ResponseCache cache = ResponseCache.open(directory);
+        ResponseCache.Entry kept = cache.put(URI.create("http://example.test/a"), new byte[100], "\"a\"", null, "text/html");
+        Path orphan = directory.resolve("0123456789abcdef0123456789abcdef.body");
+        Path temp = directory.resolve("0123456789abcdef0123456789abcdef.meta.tmp");
+        Files.write(orphan, new byte[5_000]);
+        Files.write(temp, new byte[10]);
+
+        ResponseCache reopened = ResponseCache.open(directory);
+
+        Assertions.assertFalse(Files.exists(orphan));
+        Assertions.assertFalse(Files.exists(temp));
+        Assertions.assertTrue(Files.exists(bodyFile(kept)));
+        Assertions.assertEquals(1, reopened.size());
+        Assertions.assertEquals(100, reopened.totalBytes());
+    }
+
+    @Test
+    @Story("Caching proxy")
+    @Description("A client configured with the local proxy gets revalidated pages from the shared cache")
+    public void testProxyRevalidatesPlainHttp() throws Exception {
+        try (CachingProxy proxy = CachingProxy.start(ResponseCache.open(directory))) {
+            HttpClient client = HttpClient.newBuilder()
+                    .proxy(ProxySelector.of(new InetSocketAddress("127.0.0.1", proxy.port())))
+                    .build();
+            HttpRequest request = HttpRequest.newBuilder(server.uri(PAGE)).timeout(Duration.ofSeconds(10)).build();
+
+            HttpResponse<byte[]> first = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            HttpResponse<byte[]> second = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+            Assertions.assertEquals(200, second.statusCode());
+            Assertions.assertEquals("MISS", first.headers().firstValue("X-Cache").orElse(null));
+            Assertions.assertEquals("REVALIDATED", second.headers().firstValue("X-Cache").orElse(null));
+            Assertions.assertArrayEquals(page.get(), second.body());
+            Assertions.assertEquals(FixtureServer.HTML, second.headers().firstValue("Content-Type").orElse(null));
+            Assertions.assertEquals(page.get().length, proxy.cache().stats().getBytesSaved());
+        }
+    }
+
+    @Test
+    @Story("Caching proxy")
+    @Description("A revalidated page reaches the browser as identity even when the browser accepts gzip")
+    public void testProxyRevalidatesCompressiblePage() throws Exception {
+        try (CachingProxy proxy = CachingProxy.start(ResponseCache.open(directory))) {
+            HttpClient client = HttpClient.newBuilder()
+                    .proxy(ProxySelector.of(new InetSocketAddress("127.0.0.1", proxy.port())))
+                    .build();
+            HttpRequest request = HttpRequest.newBuilder(server.uri("/gzip"))
+                    .header("Accept-Encoding", "gzip, deflate, br")
+                    .timeout(Duration.ofSeconds(10))
+                    .build();
+
+            HttpResponse<byte[]> first = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            HttpResponse<byte[]> second = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+            Assertions.assertEquals("MISS", first.headers().firstValue("X-Cache").orElse(null));
+            Assertions.assertEquals("REVALIDATED", second.headers().firstValue("X-Cache").orElse(null));
+            Assertions.assertArrayEquals(page.get(), first.body());
+            Assertions.assertArrayEquals(page.get(), second.body());
+            Assertions.assertTrue(second.headers().firstValue("Content-Encoding").isEmpty());
+        }
+    }
+
+    @Test
+    @Story("Caching proxy")
+    @Description("CONNECT requests are tunnelled byte for byte and never cached")
+    public void testProxyTunnelsConnect() throws Exception {
+        try (ServerSocket echo = new ServerSocket(0);
+             CachingProxy proxy = CachingProxy.start(ResponseCache.open(directory))) {
+            Thread echoThread = new Thread(() -> {
+                try (Socket socket = echo.accept()) {
+                    socket.getInputStream().transferTo(socket.getOutputStream());
+                } catch (IOException e) {
+                    // test fails on the client side
+                }
+            });
+            echoThread.start();
+
+            try (Socket client = new Socket("127.0.0.1", proxy.port())) {
+                client.setSoTimeout(10_000);
+                OutputStream out = client.getOutputStream();
+                InputStream in = client.getInputStream();
+                String target = "127.0.0.1:" + echo.getLocalPort();
+                out.write(("CONNECT " + target + " HTTP/1.1\r\nHost: " + target + "\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1));
+                out.flush();
+                String established = "HTTP/1.1 200 Connection Established\r\n\r\n";
+                Assertions.assertEquals(established, new String(in.readNBytes(established.length()), StandardCharsets.ISO_8859_1));
+
+                byte[] payload = "opaque TLS bytes".getBytes(StandardCharsets.ISO_8859_1);
+                out.write(payload);
+                out.flush();
+                client.shutdownOutput();
+                Assertions.assertArrayEquals(payload, in.readAllBytes());
+            }
+            echoThread.join(10_000);
+            Assertions.assertEquals(1, proxy.tunnels());
+            Assertions.assertEquals(0, proxy.cache().size());
+        }
+    }
+
+    // Serves the current page with a content-derived ETag and/or a fixed Last-Modified and honours validators
+    private void conditional(HttpExchange exchange, boolean etag, boolean lastModified) throws IOException {
+        byte[] body = page.get();
+        String tag = "\"" + Integer.toHexString(Arrays.hashCode(body)) + "\"";
+        String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        String ifModifiedSince = exchange.getRequestHeaders().getFirst("If-Modified-Since");
+        if (etag) {
+            exchange.getResponseHeaders().set("ETag", tag);
+        }
+        if (lastModified) {
+            exchange.getResponseHeaders().set("Last-Modified", LAST_MODIFIED);
+        }
+        boolean notModified = etag && ifNoneMatch != null
+                ? ifNoneMatch.equals(tag)
+                : lastModified && LAST_MODIFIED.equals(ifModifiedSince);
+        if (notModified) {
+            FixtureServer.send(exchange, 304, new byte[0]);
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", FixtureServer.HTML);
+        FixtureServer.send(exchange, 200, body);
+    }
+
+    // Like the ETag page, but gzip-encoded whenever the request accepts it; a 304 carries no Content-Encoding
+    private void negotiated(HttpExchange exchange) throws IOException {
+        byte[] body = page.get();
+        String tag = "\"" + Integer.toHexString(Arrays.hashCode(body)) + "\"";
+        exchange.getResponseHeaders().set("ETag", tag);
+        exchange.getResponseHeaders().set("Vary", "Accept-Encoding");
+        if (tag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            FixtureServer.send(exchange, 304, new byte[0]);
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", FixtureServer.HTML);
+        String accepted = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (accepted != null && accepted.contains("gzip")) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(body);
+            }
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            body = compressed.toByteArray();
+        }
+        FixtureServer.send(exchange, 200, body);
+    }
+
+    // Same page with the first row's LTP moved
+    private static byte[] changed(byte[] body) {
+        String html = new String(body, StandardCharsets.UTF_8);
+        Assertions.assertTrue(html.contains("<td width=\"9%\">2,283.2</td>"), "fixture LTP not found");
+        return html.replaceFirst("2,283\\.2", "2,299.9").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Path bodyFile(ResponseCache.Entry entry) {
+        return directory.resolve(entry.key() + ".body");
+    }
+}
@@ -0,0 +1,104 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.driver.DriverFactory;
+import com.junit.assignment.scraping.HttpTableScraper;
+import com.junit.assignment.scraping.ScrapedTable;
+import com.junit.assignment.scraping.ScriptTableExtractor;
+import com.junit.assignment.support.FixtureServer;
+import com.junit.assignment.support.ProcessMemory;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.net.URI;
+
+@Tag("benchmark")
+@Isolated
+@Epic("Web Scraping Automation")
+@Feature("Browser-free HTTP Scraping")
+public class ScrapeModeBenchmarkTest {
+
+    private static final String PAGE = "/latest_share_price_scroll_by_value.php";
+    private static final int MEASURED_RUNS = 5;
+
+    private FixtureServer server;
+
+    @BeforeEach
+    @Step("Start local DSE stand-in server")
+    public void setup() throws IOException {
+        server = FixtureServer.start().serveResource(PAGE, "/fixtures/dse_latest_share_price.html");
+    }
+
+    @Test
+    @Story("Compare scrape modes")
+    @Description("Startup, per-scrape latency and memory of the HTTP mode versus the WebDriver mode")
+    public void testCompareHttpAndWebDriverModes() throws Exception {
+        URI uri = server.uri(PAGE);
+
+        // HTTP mode
+        long start = System.nanoTime();
+        HttpTableScraper scraper = new HttpTableScraper();
+        double httpStartupMillis = millisSince(start);
+        ScrapedTable httpTable = scraper.scrape(uri); // warm-up
+        long allocatedBefore = ProcessMemory.currentThreadAllocatedBytes();
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            httpTable = scraper.scrape(uri);
+        }
+        double httpLatencyMillis = millisSince(start) / MEASURED_RUNS;
+        long httpAllocated = (ProcessMemory.currentThreadAllocatedBytes() - allocatedBefore) / MEASURED_RUNS;
+
+        System.out.println("HTTP mode:      startup " + format(httpStartupMillis) + ", scrape " + format(httpLatencyMillis)
+                + ", allocated per scrape " + ProcessMemory.format(httpAllocated)
+                + ", rows " + httpTable.getRows().size());
+        Assertions.assertEquals(400, httpTable.getRows().size());
+
+        // WebDriver mode
+        WebDriver driver = null;
+        try {
+            start = System.nanoTime();
+            try {
+                driver = DriverFactory.createDriver(true);
+            } catch (Exception e) {
+                Assumptions.abort("No local Chrome for the WebDriver mode: " + e.getMessage());
+            }
+            double driverStartupMillis = millisSince(start);
+            ScriptTableExtractor extractor = new ScriptTableExtractor();
+            driver.get(uri.toString());
+            ScrapedTable browserTable = extractor.extract(driver); // warm-up
+            start = System.nanoTime();
+            for (int i = 0; i < MEASURED_RUNS; i++) {
+                driver.get(uri.toString());
+                browserTable = extractor.extract(driver);
+            }
+            double driverLatencyMillis = millisSince(start) / MEASURED_RUNS;
+
+            System.out.println("WebDriver mode: startup " + format(driverStartupMillis) + ", scrape " + format(driverLatencyMillis)
+                    + ", browser RSS " + ProcessMemory.format(ProcessMemory.descendantsRssBytes())
+                    + ", rows " + browserTable.getRows().size());
+            Assertions.assertEquals(httpTable.getRows(), browserTable.getRows());
+        } finally {
+            if (driver != null) {
+                driver.quit();
+            }
+        }
+    }
+
+    private static double millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000.0;
+    }
+
+    private static String format(double millis) {
+        return String.format("%.1f ms", millis);
+    }
+
+    @AfterEach
+    @Step("Stop local server")
+    public void tearDown() {
+        if (server != null) {
+            server.close();
+        }
+    }
+}
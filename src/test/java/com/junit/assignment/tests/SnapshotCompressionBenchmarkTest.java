@@ -0,0 +1,93 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.scraping.FileReportSink;
+import com.junit.assignment.scraping.HtmlTableParser;
+import com.junit.assignment.scraping.ScrapeReport;
+import com.junit.assignment.scraping.ScrapedTable;
+import com.junit.assignment.storage.SnapshotArchive;
+import com.junit.assignment.storage.SnapshotCompression;
+import com.junit.assignment.support.FixtureServer;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+@Tag("benchmark")
+@Isolated
+@Epic("Web Scraping Automation")
+@Feature("Snapshot Files")
+public class SnapshotCompressionBenchmarkTest {
+
+    private static final String FIXTURE = "/fixtures/dse_latest_share_price.html";
+    // Half-hourly scrapes over a trading session
+    private static final int SNAPSHOTS = 10;
+    private static final int MEASURED_RUNS = 5;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @Story("Compare compression")
+    @Description("Write time, day-file size and streaming read time of the text report uncompressed, GZIP and LZ4")
+    public void testCompareCompression() throws IOException {
+        ScrapedTable table = HtmlTableParser.parse(new String(FixtureServer.resource(FIXTURE), StandardCharsets.UTF_8));
+        Path latest = directory.resolve("stock_prices.txt");
+        try (ScrapeReport report = new ScrapeReport(null, FileReportSink.atomic(latest, SnapshotCompression.NONE))) {
+            report.header("2024-01-01 10:00:00");
+            report.table(table);
+        }
+        long reportBytes = Files.size(latest);
+
+        StringBuilder summary = new StringBuilder(String.format("%d reports of %,d bytes per day file%n", SNAPSHOTS, reportBytes));
+        long plainLines = -1;
+        for (SnapshotCompression compression : SnapshotCompression.values()) {
+            double writeMillis = 0;
+            double readMillis = 0;
+            long size = 0;
+            for (int run = 0; run <= MEASURED_RUNS; run++) {
+                Path runDirectory = Files.createDirectories(directory.resolve(compression + "-" + run));
+                SnapshotArchive archive = SnapshotArchive.open(runDirectory, "stock_prices", ".txt", compression, 30);
+                LocalDate day = LocalDate.of(2024, 1, 1);
+                long start = System.nanoTime();
+                for (int i = 0; i < SNAPSHOTS; i++) {
+                    archive.append(day, latest);
+                }
+                double write = (System.nanoTime() - start) / 1_000_000.0;
+                start = System.nanoTime();
+                long lines = countLines(archive.dayFile(day));
+                double read = (System.nanoTime() - start) / 1_000_000.0;
+
+                if (plainLines < 0) {
+                    plainLines = lines;
+                }
+                Assertions.assertEquals(plainLines, lines, compression.name());
+                size = Files.size(archive.dayFile(day));
+                if (run > 0) { // the first run is a warm-up
+                    writeMillis += write / MEASURED_RUNS;
+                    readMillis += read / MEASURED_RUNS;
+                }
+            }
+            summary.append(String.format("%-5s %,10d bytes (%4.1fx), write %6.1f ms, read %6.1f ms%n", compression,
+                    size, (double) reportBytes * SNAPSHOTS / size, writeMillis, readMillis));
+        }
+        System.out.print(summary);
+        Allure.addAttachment("Snapshot compression", "text/plain", summary.toString());
+    }
+
+    private static long countLines(Path file) throws IOException {
+        long lines = 0;
+        try (BufferedReader reader = SnapshotCompression.openReader(file)) {
+            while (reader.readLine() != null) {
+                lines++;
+            }
+        }
+        return lines;
+    }
+}
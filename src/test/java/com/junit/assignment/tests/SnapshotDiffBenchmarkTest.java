@@ -0,0 +1,138 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.changes.PriceChange;
+import com.junit.assignment.changes.SnapshotDiffer;
+import com.junit.assignment.scraping.StockRow;
+import com.junit.assignment.support.PollReplay;
+import com.junit.assignment.support.ProcessMemory;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+
+@Tag("benchmark")
+@Isolated
+@Epic("Web Scraping Automation")
+@Feature("Price Change Stream")
+public class SnapshotDiffBenchmarkTest {
+
+    // Distinct snapshots cycled through, each moving about 5% of the prices against the one before
+    private static final int SNAPSHOTS = 64;
+    private static final int CYCLES = 20_000;
+
+    @Test
+    @Story("Compare diff strategies")
+    @Description("Time and allocation per poll of a map rebuilt per snapshot versus the in-place differ")
+    public void testCompareDiffStrategies() {
+        List<List<StockRow>> snapshots = ticks(PollReplay.firstSnapshot());
+        Instant at = Instant.parse("2024-01-01T04:00:00Z");
+        long[] events = new long[1];
+
+        MapPerPoll rebuilt = new MapPerPoll(snapshots.get(SNAPSHOTS - 1), at);
+
+        SnapshotDiffer differ = new SnapshotDiffer();
+        differ.seed(snapshots.get(SNAPSHOTS - 1));
+        Consumer<PriceChange> count = change -> events[0]++;
+        Consumer<List<StockRow>> inPlace = rows -> differ.diff(at, rows, count);
+
+        double[] map = measure(snapshots, rebuilt);
+        double[] slots = measure(snapshots, inPlace);
+
+        String summary = String.format("%d symbols, %d polls, %.0f changes per poll%n"
+                        + "map per poll:    %6.1f us, %,8.0f bytes per poll%n"
+                        + "in-place slots:  %6.1f us, %,8.0f bytes per poll",
+                snapshots.get(0).size(), CYCLES, (double) events[0] / (2 * CYCLES), map[0], map[1], slots[0], slots[1]);
+        System.out.println(summary);
+        Allure.addAttachment("Snapshot diff", "text/plain", summary);
+        Assertions.assertEquals(rebuilt.events, events[0], "both strategies should report the same changes");
+    }
+
+    // Average microseconds and bytes per poll after one warm-up pass of the same length
+    private static double[] measure(List<List<StockRow>> snapshots, Consumer<List<StockRow>> poll) {
+        for (int i = 0; i < CYCLES; i++) {
+            poll.accept(snapshots.get(i % SNAPSHOTS));
+        }
+        long allocated = ProcessMemory.currentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < CYCLES; i++) {
+            poll.accept(snapshots.get(i % SNAPSHOTS));
+        }
+        double micros = (System.nanoTime() - start) / 1_000.0 / CYCLES;
+        return new double[]{micros, (double) (ProcessMemory.currentThreadAllocatedBytes() - allocated) / CYCLES};
+    }
+
+    private static List<List<StockRow>> ticks(List<StockRow> first) {
+        Random random = new Random(42);
+        List<List<StockRow>> snapshots = new ArrayList<>();
+        List<StockRow> rows = first;
+        for (int s = 0; s < SNAPSHOTS; s++) {
+            List<StockRow> next = new ArrayList<>(rows.size());
+            for (StockRow row : rows) {
+                if (random.nextInt(20) == 0) {
+                    double ltp = Math.round((row.ltp() + (random.nextBoolean() ? 0.1 : -0.1)) * 10) / 10.0;
+                    next.add(StockRow.of(row.index(), row.tradingCode(), ltp, row.high(), row.low(), row.closep(),
+                            row.ycp(), row.change(), row.trade() + 1, row.value(), row.volume() + 100));
+                } else {
+                    next.add(row);
+                }
+            }
+            snapshots.add(next);
+            rows = next;
+        }
+        return snapshots;
+    }
+
+    // The straightforward way: index every snapshot in a new map and compare it with the last one
+    private static final class MapPerPoll implements Consumer<List<StockRow>> {
+        private final Instant at;
+        private Map<String, StockRow> previous;
+        private long events;
+
+        private MapPerPoll(List<StockRow> seed, Instant at) {
+            this.previous = index(seed);
+            this.at = at;
+        }
+
+        @Override
+        public void accept(List<StockRow> rows) {
+            Map<String, StockRow> next = index(rows);
+            List<PriceChange> changes = new ArrayList<>();
+            for (StockRow row : rows) {
+                StockRow before = previous.get(row.tradingCode());
+                if (before == null) {
+                    changes.add(new PriceChange(PriceChange.Type.LISTED, row.tradingCode(), 0, at, null, row));
+                    continue;
+                }
+                if (before.ltp() != row.ltp()) {
+                    changes.add(new PriceChange(row.ltp() > before.ltp() ? PriceChange.Type.PRICE_UP
+                            : PriceChange.Type.PRICE_DOWN, row.tradingCode(), 0, at, before, row));
+                }
+                if (before.volume() != row.volume()) {
+                    changes.add(new PriceChange(PriceChange.Type.VOLUME, row.tradingCode(), 0, at, before, row));
+                }
+            }
+            for (Map.Entry<String, StockRow> entry : previous.entrySet()) {
+                if (!next.containsKey(entry.getKey())) {
+                    changes.add(new PriceChange(PriceChange.Type.DELISTED, entry.getKey(), 0, at, entry.getValue(), null));
+                }
+            }
+            previous = next;
+            events += changes.size();
+        }
+    }
+
+    private static Map<String, StockRow> index(List<StockRow> rows) {
+        Map<String, StockRow> map = new HashMap<>();
+        for (StockRow row : rows) {
+            map.put(row.tradingCode(), row);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,204 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.scraping.FileReportSink;
+import com.junit.assignment.scraping.ScrapeReport;
+import com.junit.assignment.scraping.ScrapedTable;
+import com.junit.assignment.scraping.StockRow;
+import com.junit.assignment.storage.SnapshotArchive;
+import com.junit.assignment.storage.SnapshotCompression;
+import com.junit.assignment.storage.SnapshotFileWriter;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+@Epic("Web Scraping Automation")
+@Feature("Snapshot Files")
+public class SnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @Story("Atomic replace")
+    @Description("The old snapshot stays readable until commit, and an abandoned write leaves no trace")
+    public void testCommitReplacesAndCloseDiscards() throws IOException {
+        Path file = directory.resolve("stock_prices.txt");
+        Files.writeString(file, "previous snapshot\n");
+
+        try (SnapshotFileWriter writer = SnapshotFileWriter.create(file, SnapshotCompression.NONE)) {
+            writer.stream().write("half a snap".getBytes(StandardCharsets.UTF_8));
+            writer.stream().flush();
+            // Killed here: the target still holds the last good snapshot
+            Assertions.assertEquals("previous snapshot\n", Files.readString(file));
+        }
+        Assertions.assertEquals("previous snapshot\n", Files.readString(file));
+        Assertions.assertEquals(List.of(file), listing(), "the temp file should be gone");
+
+        try (SnapshotFileWriter writer = SnapshotFileWriter.create(file, SnapshotCompression.NONE)) {
+            writer.stream().write("new snapshot\n".getBytes(StandardCharsets.UTF_8));
+            writer.commit();
+            Assertions.assertThrows(IllegalStateException.class, writer::commit);
+        }
+        Assertions.assertEquals("new snapshot\n", Files.readString(file));
+        Assertions.assertEquals(List.of(file), listing());
+    }
+
+    @Test
+    @Story("Compressed snapshots")
+    @Description("GZIP and LZ4 day files round-trip several appended snapshots, including incompressible data")
+    public void testCompressedAppendsRoundTrip() throws IOException {
+        String report = report(3000);
+        byte[] noise = new byte[100_000];
+        new Random(7).nextBytes(noise);
+
+        for (SnapshotCompression compression : SnapshotCompression.values()) {
+            Path file = directory.resolve("day.txt" + compression.extension());
+            append(file, compression, report.getBytes(StandardCharsets.UTF_8));
+            append(file, compression, noise);
+            append(file, compression, report.getBytes(StandardCharsets.UTF_8));
+
+            byte[] expected = concat(report.getBytes(StandardCharsets.UTF_8), noise, report.getBytes(StandardCharsets.UTF_8));
+            byte[] actual;
+            try (InputStream in = SnapshotCompression.open(file)) {
+                actual = in.readAllBytes();
+            }
+            Assertions.assertArrayEquals(expected, actual, compression.name());
+            if (compression != SnapshotCompression.NONE) {
+                long size = Files.size(file);
+                Assertions.assertTrue(size < expected.length / 2, compression + " file is " + size + " bytes");
+            }
+        }
+    }
+
+    @Test
+    @Story("Streaming reads")
+    @Description("A compressed report is read line by line, and a damaged LZ4 block is reported instead of returned")
+    public void testStreamsLinesAndDetectsCorruption() throws IOException {
+        Path file = directory.resolve("stock_prices.txt.lz4b");
+        append(file, SnapshotCompression.LZ4, report(2000).getBytes(StandardCharsets.UTF_8));
+
+        long lines = 0;
+        String last = null;
+        try (BufferedReader reader = SnapshotCompression.openReader(file)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines++;
+                last = line;
+            }
+        }
+        Assertions.assertEquals(2000 * 4L, lines);
+        Assertions.assertEquals("  Cell 3: 2,283.2", last);
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x55;
+        Files.write(file, bytes);
+        Assertions.assertThrows(IOException.class, () -> {
+            try (InputStream in = SnapshotCompression.open(file)) {
+                in.readAllBytes();
+            }
+        });
+    }
+
+    @Test
+    @Story("Day rotation and retention")
+    @Description("Each day gets its own file and pruning removes days outside the window and stale temp files")
+    public void testRotationAndRetention() throws IOException {
+        SnapshotArchive archive = SnapshotArchive.open(directory, "stock_prices", ".txt", SnapshotCompression.GZIP, 3);
+        Path latest = directory.resolve("stock_prices.txt");
+        Files.writeString(latest, "snapshot\n");
+        LocalDate today = LocalDate.of(2024, 3, 10);
+        for (int day = 5; day >= 0; day--) {
+            archive.append(today.minusDays(day), latest);
+        }
+        archive.append(today, latest);
+        Path stale = directory.resolve(".stock_prices-2024-03-10.txt.gz.123.tmp");
+        Files.writeString(stale, "partial");
+        Files.setLastModifiedTime(stale, FileTime.from(Instant.now().minus(2, ChronoUnit.HOURS)));
+
+        List<Path> deleted = archive.prune(today);
+
+        Assertions.assertEquals(4, deleted.size(), deleted.toString());
+        Assertions.assertEquals(List.of(archive.dayFile(today.minusDays(2)), archive.dayFile(today.minusDays(1)),
+                archive.dayFile(today)), archive.dayFiles());
+        Assertions.assertTrue(Files.exists(latest), "other files in the directory are left alone");
+        try (InputStream in = SnapshotCompression.open(archive.dayFile(today))) {
+            Assertions.assertEquals("snapshot\nsnapshot\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> SnapshotArchive.open(directory, "stock_prices", ".txt", SnapshotCompression.GZIP, 0));
+    }
+
+    @Test
+    @Story("Atomic report")
+    @Description("An atomic report sink only replaces the report file when it is closed")
+    public void testAtomicReportSink() throws IOException {
+        Path file = directory.resolve("stock_prices.txt");
+        Files.writeString(file, "last run\n");
+        ScrapedTable table = new ScrapedTable(List.of("#", "TRADING CODE"), List.of(StockRow.fromCells(List.of("1", "ACI"))));
+
+        try (ScrapeReport report = new ScrapeReport(null, FileReportSink.atomic(file, SnapshotCompression.NONE))) {
+            report.header("2024-01-01 10:00:00");
+            report.table(table);
+            report.flush();
+            Assertions.assertEquals("last run\n", Files.readString(file));
+        }
+        String written = Files.readString(file);
+        Assertions.assertTrue(written.contains("Cell 2: ACI"), written);
+        Assertions.assertEquals(List.of(file), listing());
+    }
+
+    private static void append(Path file, SnapshotCompression compression, byte[] content) throws IOException {
+        try (SnapshotFileWriter writer = SnapshotFileWriter.append(file, compression)) {
+            OutputStream out = writer.stream();
+            // Uneven chunks, so block boundaries fall in the middle of writes
+            for (int offset = 0; offset < content.length; offset += 7_777) {
+                out.write(content, offset, Math.min(7_777, content.length - offset));
+            }
+            writer.commit();
+        }
+    }
+
+    private static String report(int rows) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 1; i <= rows; i++) {
+            builder.append("\nRow ").append(i).append(":\n  Cell 1: ").append(i)
+                    .append("\n  Cell 3: 2,283.2\n");
+        }
+        return builder.toString();
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] result = new byte[length];
+        int offset = 0;
+        for (byte[] part : parts) {
+            System.arraycopy(part, 0, result, offset, part.length);
+            offset += part.length;
+        }
+        return result;
+    }
+
+    private List<Path> listing() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.junit.assignment.tests;
+
+import com.junit.assignment.driver.DriverFactory;
+import com.junit.assignment.scraping.PageSourceTableExtractor;
+import com.junit.assignment.scraping.PerCellTableExtractor;
+import com.junit.assignment.scraping.ScrapedTable;
+import com.junit.assignment.scraping.ScriptTableExtractor;
+import com.junit.assignment.scraping.TableExtractor;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URISyntaxException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Tag("benchmark")
+@Isolated
+@Epic("Web Scraping Automation")
+@Feature("Table Extraction Engine")
+public class TableExtractionBenchmarkTest {
+
+    private static final int MEASURED_RUNS = 3;
+
+    private WebDriver driver;
+
+    @BeforeEach
+    @Step("Open local DSE fixture in headless browser")
+    public void setup() throws URISyntaxException {
+        try {
+            driver = DriverFactory.createDriver(true);
+        } catch (Exception e) {
+            Assumptions.abort("No local Chrome available for the benchmark: " + e.getMessage());
+        }
+        driver.get(getClass().getResource("/fixtures/dse_latest_share_price.html").toURI().toString());
+    }
+
+    @Test
+    @Story("Compare extraction strategies")
+    @Description("Per-cell getText() loop versus single executeScript call versus local page source parsing")
+    public void testCompareExtractionStrategies() {
+        Map<String, TableExtractor> extractors = new LinkedHashMap<>();
+        extractors.put("per-cell loop", new PerCellTableExtractor());
+        extractors.put("single script", new ScriptTableExtractor());
+        extractors.put("page source", new PageSourceTableExtractor());
+
+        ScrapedTable baseline = null;
+        Map<String, Double> averages = new LinkedHashMap<>();
+        for (Map.Entry<String, TableExtractor> entry : extractors.entrySet()) {
+            ScrapedTable table = entry.getValue().extract(driver); // warm-up
+            long start = System.nanoTime();
+            for (int i = 0; i < MEASURED_RUNS; i++) {
+                table = entry.getValue().extract(driver);
+            }
+            double averageMillis = (System.nanoTime() - start) / 1_000_000.0 / MEASURED_RUNS;
+            averages.put(entry.getKey(), averageMillis);
+
+            if (baseline == null) {
+                baseline = table;
+            } else {
+                Assertions.assertEquals(baseline.getHeaders(), table.getHeaders(), entry.getKey());
+                Assertions.assertEquals(baseline.getRows(), table.getRows(), entry.getKey());
+            }
+        }
+
+        double perCell = averages.get("per-cell loop");
+        System.out.println("Extraction of " + baseline.getRows().size() + " rows (avg of " + MEASURED_RUNS + " runs):");
+        averages.forEach((name, millis) -> System.out.println(String.format(
+                "  %-14s %10.1f ms  (%.1fx vs per-cell)", name, millis, perCell / millis)));
+        Assertions.assertEquals(400, baseline.getRows().size());
+    }
+
+    @AfterEach
+    @Step("Close browser")
+    public void tearDown() {
+        if (driver != null) {
+            driver.quit();
+        }
+    }
+}
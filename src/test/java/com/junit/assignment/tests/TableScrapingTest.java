@@ -1,226 +1,311 @@
 package com.junit.assignment.tests;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.junit.assignment.changes.PriceChange;
+import com.junit.assignment.changes.SnapshotDiffer;
+import com.junit.assignment.driver.DriverPool;
+import com.junit.assignment.driver.DriverPoolExtension;
+import com.junit.assignment.driver.DriverSession;
+import com.junit.assignment.driver.UseBrowserProfile;
+import com.junit.assignment.http.ResponseCache;
+import com.junit.assignment.metrics.MetricsExtension;
+import com.junit.assignment.scraping.AsyncConsoleSink;
+import com.junit.assignment.scraping.FileReportSink;
+import com.junit.assignment.scraping.HttpTableScraper;
+import com.junit.assignment.scraping.ScrapeReport;
+import com.junit.assignment.scraping.ScrapedTable;
+import com.junit.assignment.scraping.ScriptTableExtractor;
+import com.junit.assignment.scraping.StockRow;
+import com.junit.assignment.scraping.TableExtractor;
+import com.junit.assignment.scraping.Verbosity;
+import com.junit.assignment.storage.ColumnarSnapshotFile.Column;
+import com.junit.assignment.storage.ColumnarSnapshotWriter;
+import com.junit.assignment.storage.PriceHistory;
+import com.junit.assignment.storage.PriceStore;
+import com.junit.assignment.storage.SnapshotArchive;
+import com.junit.assignment.storage.SnapshotCompression;
+import com.junit.assignment.wait.AdaptiveWait;
 import io.qameta.allure.*;
 import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.ResourceLock;
 import org.openqa.selenium.By;
-import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.nio.charset.StandardCharsets;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+
+import static com.junit.assignment.driver.DriverSession.adaptiveWait;
+import static com.junit.assignment.driver.DriverSession.driver;
 
 @Epic("Web Scraping Automation")
 @Feature("DSE Stock Price Table Scraping")
+@ExtendWith({DriverPoolExtension.class, MetricsExtension.class})
+@UseBrowserProfile("scraping")
 public class TableScrapingTest {
 
-    private WebDriver driver;
-    private WebDriverWait wait;
+    private DriverPool driverPool;
+    private ScrapeReport report;
+    private final TableExtractor tableExtractor = new ScriptTableExtractor();
+    private static final String DSE_URL = "https://dsebd.org/latest_share_price_scroll_by_value.php";
     private static final String OUTPUT_DIR = "scraped-data";
     private static final String OUTPUT_FILE = OUTPUT_DIR + "/stock_prices.txt";
+    // "http" fetches the page without a browser and falls back to WebDriver; "browser" always uses WebDriver
+    private static final String SCRAPE_MODE = System.getProperty("scrape.mode", "http");
+    // Also append each scrape to a per-day columnar file for analytics
+    private static final boolean COLUMNAR_OUTPUT = Boolean.getBoolean("scrape.columnar");
+    // Also keep every report in a compressed per-day file (none, gzip or lz4), for this many days
+    private static final SnapshotCompression ARCHIVE = SnapshotCompression.parse(System.getProperty("scrape.archive", "none"));
+    private static final int ARCHIVE_DAYS = Integer.getInteger("scrape.archive.days", 30);
+    // Every scrape in this JVM, queryable by code, LTP, change and volume
+    private static final PriceStore PRICE_STORE = new PriceStore();
+    private static final String HTTP_CACHE_DIR = OUTPUT_DIR + "/http-cache";
+    private static HttpTableScraper httpScraper;
+    // How much of the report is echoed to the console: errors, summary, rows or cells
+    private static final Verbosity CONSOLE_VERBOSITY = Verbosity.parse(System.getProperty("scrape.console", "cells"));
 
     @BeforeEach
-    @Step("Setup WebDriver and navigate to DSE website")
-    public void setup() {
-        // Configure WebDriverManager to use Brave's version
-        WebDriverManager.chromedriver().browserVersion("140").setup();
-        
-        ChromeOptions options = new ChromeOptions();
-        // Set Brave browser binary path
-        options.setBinary("/Applications/Brave Browser.app/Contents/MacOS/Brave Browser");
-        options.addArguments("--start-maximized");
-        options.addArguments("--disable-blink-features=AutomationControlled");
-        options.addArguments("--remote-allow-origins=*");
-        
-        driver = new ChromeDriver(options);
-        wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-        
+    @Step("Prepare output directory")
+    public void setup(DriverPool driverPool) {
+        // Browser sessions are only taken from the pool when the HTTP mode cannot be used
+        this.driverPool = driverPool;
+
         // Create output directory
         File directory = new File(OUTPUT_DIR);
         if (!directory.exists()) {
             directory.mkdirs();
             System.out.println("Created output directory: " + OUTPUT_DIR);
         }
+    }
+
+    @Step("Setup WebDriver and navigate to DSE website")
+    private void openBrowser() {
+        DriverSession.bind(driverPool.acquire());
         
-        driver.get("https://dsebd.org/latest_share_price_scroll_by_value.php");
-        System.out.println("Navigated to: " + driver.getCurrentUrl());
+        driver().get(DSE_URL);
+        note("Navigated to: " + driver().getCurrentUrl());
     }
 
     @Test
     @Story("Scrape Stock Price Table")
     @Description("Extract all stock price data from DSE table, print to console, and save to file")
     @Severity(SeverityLevel.CRITICAL)
+    @ResourceLock(OUTPUT_DIR)
     public void testScrapeStockPriceTable() throws InterruptedException, IOException {
-        // Wait for page to load
-        Thread.sleep(3000);
+        // Rows stream to a temp file and to a background console writer as they are produced;
+        // the previous report is only replaced once the new one is complete
+        report = new ScrapeReport(AsyncConsoleSink.system(CONSOLE_VERBOSITY),
+                FileReportSink.atomic(Path.of(OUTPUT_FILE), SnapshotCompression.NONE));
 
-        StringBuilder scrapedData = new StringBuilder();
-        
         // Add header with timestamp
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-        String header = "=".repeat(80) + "\n" +
-                       "DSE Stock Price Data - Scraped on: " + timestamp + "\n" +
-                       "=".repeat(80) + "\n\n";
-        
-        scrapedData.append(header);
-        System.out.println(header);
+        report.header(timestamp);
 
+        ScrapedTable table;
         try {
-            // Find the table - try multiple selectors
-            WebElement table = null;
-            
-            // Try different table selectors
-            List<WebElement> tables = driver.findElements(By.tagName("table"));
-            
-            if (tables.isEmpty()) {
-                System.out.println("No tables found on the page!");
-                // Try to find data in div or other containers
-                List<WebElement> dataContainers = driver.findElements(By.cssSelector("[class*='table'], [id*='table']"));
-                System.out.println("Found " + dataContainers.size() + " potential data containers");
-            } else {
-                // Use the first table or the one that looks like it has data
-                for (WebElement t : tables) {
-                    List<WebElement> rows = t.findElements(By.tagName("tr"));
-                    if (rows.size() > 1) { // Has header + data rows
-                        table = t;
-                        System.out.println("Found table with " + rows.size() + " rows");
-                        break;
-                    }
-                }
-                
-                if (table == null && !tables.isEmpty()) {
-                    table = tables.get(0);
-                }
-            }
+            table = scrapeTable();
 
-            if (table != null) {
-                // Extract table headers
-                List<WebElement> headers = table.findElements(By.cssSelector("thead tr th, tr:first-child th, tr:first-child td"));
-                
-                if (!headers.isEmpty()) {
-                    System.out.println("\n--- TABLE HEADERS ---");
-                    scrapedData.append("--- TABLE HEADERS ---\n");
-                    
-                    for (int i = 0; i < headers.size(); i++) {
-                        String headerText = headers.get(i).getText().trim();
-                        String headerLine = String.format("Column %d: %s", i + 1, headerText);
-                        System.out.println(headerLine);
-                        scrapedData.append(headerLine).append("\n");
-                    }
-                    scrapedData.append("\n");
-                }
+            if (!table.isEmpty()) {
+                report.table(table);
 
-                // Extract table rows
-                List<WebElement> rows = table.findElements(By.cssSelector("tbody tr, tr"));
-                System.out.println("\n--- TABLE DATA ---");
-                System.out.println("Total rows found: " + rows.size());
-                scrapedData.append("--- TABLE DATA ---\n");
-                scrapedData.append("Total rows: ").append(rows.size()).append("\n\n");
-
-                int rowNumber = 0;
-                for (WebElement row : rows) {
-                    // Skip if this is the header row
-                    List<WebElement> headerCells = row.findElements(By.tagName("th"));
-                    if (!headerCells.isEmpty() && rowNumber == 0) {
-                        rowNumber++;
-                        continue;
-                    }
-
-                    List<WebElement> cells = row.findElements(By.tagName("td"));
-                    
-                    if (!cells.isEmpty()) {
-                        rowNumber++;
-                        String rowHeader = String.format("\nRow %d:", rowNumber);
-                        System.out.println(rowHeader);
-                        scrapedData.append(rowHeader).append("\n");
-
-                        for (int i = 0; i < cells.size(); i++) {
-                            String cellValue = cells.get(i).getText().trim();
-                            String cellLine = String.format("  Cell %d: %s", i + 1, cellValue);
-                            System.out.println(cellLine);
-                            scrapedData.append(cellLine).append("\n");
-                        }
-                    }
+                List<StockRow> rows = table.getRows();
+                recordHistory(rows);
+                indexPrices(rows);
+                if (COLUMNAR_OUTPUT) {
+                    saveColumnar(rows);
                 }
-
-                System.out.println("\n" + "=".repeat(80));
-                System.out.println("Total data rows scraped: " + rowNumber);
-                scrapedData.append("\n").append("=".repeat(80)).append("\n");
-                scrapedData.append("Total data rows scraped: ").append(rowNumber).append("\n");
-
             } else {
-                String noTableMsg = "No suitable table found on the page!";
-                System.out.println(noTableMsg);
-                scrapedData.append(noTableMsg).append("\n");
+                report.message("No suitable table found on the page!");
                 
                 // Try to capture any visible text as fallback
-                WebElement body = driver.findElement(By.tagName("body"));
-                String bodyText = body.getText();
-                System.out.println("\nPage content preview (first 500 chars):\n" + 
-                    bodyText.substring(0, Math.min(500, bodyText.length())));
+                if (DriverSession.isBound()) {
+                    WebElement body = driver().findElement(By.tagName("body"));
+                    String bodyText = body.getText();
+                    report.note("\nPage content preview (first 500 chars):\n" + 
+                        bodyText.substring(0, Math.min(500, bodyText.length())));
+                }
             }
 
         } catch (Exception e) {
-            String errorMsg = "Error while scraping table: " + e.getMessage();
-            System.err.println(errorMsg);
-            scrapedData.append("\n").append(errorMsg).append("\n");
-            e.printStackTrace();
+            // Show the error, keep the last good report, then fail with the real cause
+            report.error("Error while scraping table: " + e);
+            discardReport();
+            throw e;
         }
 
-        // Save to file
-        saveToFile(scrapedData.toString());
+        // Only a report with rows replaces the previous one
+        if (table.getRows().isEmpty()) {
+            discardReport();
+        } else {
+            saveToFile();
+        }
 
-        // Assert that we scraped some data
-        Assertions.assertTrue(scrapedData.length() > header.length(), 
-            "Expected to scrape some data, but the output only contains the header");
+        // Assert that we scraped some data; an error or "no table" message alone does not count
+        Assertions.assertFalse(table.getRows().isEmpty(),
+            "Expected to scrape some rows, but no table with data was found");
         
         System.out.println("\n✓ Test completed successfully!");
     }
 
+    private ScrapedTable scrapeTable() throws InterruptedException {
+        if (!"browser".equalsIgnoreCase(SCRAPE_MODE)) {
+            try {
+                ScrapedTable table = scrapeOverHttp();
+                if (!table.isEmpty()) {
+                    return table;
+                }
+                note("HTTP scrape found no table, falling back to browser");
+            } catch (IOException e) {
+                note("HTTP scrape failed (" + e + "), falling back to browser");
+            }
+        }
+        return scrapeInBrowser();
+    }
+
+    @Step("Fetch and parse the table over HTTP without a browser")
+    private ScrapedTable scrapeOverHttp() throws IOException, InterruptedException {
+        ScrapedTable table = httpScraper().scrape(URI.create(DSE_URL));
+        note("Fetched over HTTP: " + DSE_URL);
+        note("Response cache: " + httpScraper().cacheStats() + ", parses skipped=" + httpScraper().parsesSkipped());
+        return table;
+    }
+
+    // One scraper per JVM, so repeated runs revalidate against the cache instead of re-parsing
+    private static synchronized HttpTableScraper httpScraper() throws IOException {
+        if (httpScraper == null) {
+            httpScraper = new HttpTableScraper(ResponseCache.open(Path.of(HTTP_CACHE_DIR)));
+        }
+        return httpScraper;
+    }
+
+    @Step("Extract the table in the browser")
+    private ScrapedTable scrapeInBrowser() {
+        openBrowser();
+        // Wait until the table has data rows, then for the page to stop changing
+        adaptiveWait().untilOrTimeout("stock table rendered", d -> ((Number) ((JavascriptExecutor) d).executeScript(
+            "return document.querySelectorAll('table tr').length;")).intValue() > 1, Duration.ofSeconds(15));
+        adaptiveWait().forPageQuiet("table page settled", AdaptiveWait.DEFAULT_QUIET_WINDOW, Duration.ofSeconds(2));
+        // Pull headers and every cell in one script round trip instead of a remote call per cell
+        return tableExtractor.extract(driver());
+    }
+
+    @Step("Append changed prices to the history in {OUTPUT_DIR}")
+    private void recordHistory(List<StockRow> rows) throws IOException {
+        // Only rows whose values moved since the last run are written
+        try (PriceHistory history = PriceHistory.open(Path.of(OUTPUT_DIR))) {
+            noteChangesSinceLastRun(history.latest().values(), rows);
+            // A clock stepped back or a history copied from another machine must not fail the scrape
+            Instant now = Instant.now();
+            Instant last = history.lastTimestamp();
+            if (last != null && now.isBefore(last)) {
+                report.note("Clock is " + Duration.between(now, last).toMillis() + " ms behind the price history, "
+                        + "storing the snapshot at " + last);
+                now = last;
+            }
+            PriceHistory.AppendResult result = history.append(now, rows);
+            report.note(String.format("Price history: %d of %d rows changed, %d removed, %d bytes appended%s",
+                    result.getChanged(), rows.size(), result.getRemoved(), result.getBytesWritten(),
+                    result.isKeyframe() ? " (keyframe)" : ""));
+        }
+    }
+
+    // What a change subscriber would have seen: moves since the last recorded snapshot
+    private void noteChangesSinceLastRun(Collection<StockRow> last, List<StockRow> rows) throws IOException {
+        if (last.isEmpty()) {
+            return;
+        }
+        SnapshotDiffer differ = new SnapshotDiffer();
+        differ.seed(last);
+        Map<PriceChange.Type, Integer> counts = new EnumMap<>(PriceChange.Type.class);
+        differ.diff(Instant.now(), rows, change -> counts.merge(change.type(), 1, Integer::sum));
+        report.note("Changes since last run: " + (counts.isEmpty() ? "none" : counts.toString()));
+    }
+
+    @Step("Index prices in the in-memory store")
+    private void indexPrices(List<StockRow> rows) throws IOException {
+        PriceStore.Snapshot snapshot = PRICE_STORE.ingest(Instant.now(), rows);
+        StringBuilder gainers = new StringBuilder();
+        for (StockRow row : snapshot.top(Column.CHANGE, 5)) {
+            gainers.append(gainers.length() == 0 ? "" : ", ").append(row.tradingCode()).append(' ').append(row.change());
+        }
+        report.note("Top gainers by change: " + gainers);
+        report.note("Symbols with volume above 1,000,000: " + snapshot.above(Column.VOLUME, 1_000_000).size());
+    }
+
+    @Step("Append snapshot to the columnar day file")
+    private void saveColumnar(List<StockRow> rows) throws IOException {
+        Path file = Path.of(OUTPUT_DIR, "stock_prices-" + LocalDate.now() + ".col");
+        try (ColumnarSnapshotWriter writer = ColumnarSnapshotWriter.open(file)) {
+            writer.append(Instant.now(), rows);
+            report.note("Columnar snapshot " + writer.snapshotCount() + " appended to " + file);
+        }
+    }
+
     @Step("Save scraped data to file: {OUTPUT_FILE}")
-    private void saveToFile(String content) throws IOException {
-        FileWriter fileWriter = null;
-        PrintWriter writer = null;
+    private void saveToFile() throws IOException {
         try {
-            fileWriter = new FileWriter(OUTPUT_FILE, StandardCharsets.UTF_8);
-            writer = new PrintWriter(fileWriter);
-            writer.print(content);
+            // Renames the finished file into place and waits for the console to catch up
+            report.close();
             System.out.println("\n✓ Data saved to file: " + OUTPUT_FILE);
+            if (ARCHIVE != SnapshotCompression.NONE) {
+                archiveReport();
+            }
         } catch (IOException e) {
             System.err.println("Error saving to file: " + e.getMessage());
             throw e;
-        } finally {
-            if (writer != null) {
-                writer.close();
-            }
-            if (fileWriter != null) {
-                fileWriter.close();
-            }
+        }
+    }
+
+    @Step("Keep the previous report in {OUTPUT_FILE}")
+    private void discardReport() throws IOException {
+        // Waits for the console to catch up; the temp file is deleted instead of renamed
+        report.abort();
+        System.out.println("\nNo rows scraped, previous report kept: " + OUTPUT_FILE);
+    }
+
+    @Step("Append the report to the compressed day file")
+    private void archiveReport() throws IOException {
+        SnapshotArchive archive = SnapshotArchive.open(Path.of(OUTPUT_DIR), "stock_prices", ".txt", ARCHIVE, ARCHIVE_DAYS);
+        LocalDate today = LocalDate.now();
+        Path file = archive.append(today, Path.of(OUTPUT_FILE));
+        System.out.println("Report appended to " + file + " (" + Files.size(file) + " bytes)");
+        for (Path deleted : archive.prune(today)) {
+            System.out.println("Removed old snapshot file: " + deleted);
+        }
+    }
+
+    // Goes through the report's console so it stays in order with the echoed rows
+    private void note(String message) {
+        try {
+            report.note(message);
+        } catch (IOException e) {
+            System.out.println(message);
         }
     }
 
     @AfterEach
-    @Step("Cleanup and close browser")
+    @Step("Cleanup and return browser to pool")
     public void tearDown() {
-        if (driver != null) {
-            try {
-                Thread.sleep(2000); // Wait to see the result
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-            driver.quit();
-            System.out.println("Browser closed");
+        if (DriverSession.isBound()) {
+            // Report how long each wait really took instead of the fixed sleep used before
+            String waitTimings = adaptiveWait().recorder().summary();
+            System.out.println("\nWait timings:\n" + waitTimings);
+            Allure.addAttachment("Wait timings", "text/plain", waitTimings);
+            driverPool.release(DriverSession.unbind());
+            System.out.println("Browser returned to pool");
         }
     }
 }
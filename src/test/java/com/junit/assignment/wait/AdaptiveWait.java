@@ -0,0 +1,191 @@
+package com.junit.assignment.wait;
+
+import com.junit.assignment.metrics.Metrics;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Waits for what the page actually needs instead of sleeping for a fixed time.
+ *
+ * <p>{@link #forPageQuiet} injects a MutationObserver plus fetch/XHR counters and lets the
+ * browser itself wait (one async script call) until the document is complete, no request is
+ * in flight and the DOM has not changed for a quiet window. If the async call is not possible
+ * it falls back to polling the same signals with exponential backoff. {@link #until} polls an
+ * arbitrary condition with the same backoff. Every wait is recorded in a {@link WaitRecorder}
+ * and timed as a {@link Metrics} span.
+ */
+public class AdaptiveWait {
+
+    public static final Duration DEFAULT_QUIET_WINDOW = Duration.ofMillis(250);
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+
+    private static final long INITIAL_BACKOFF_MILLIS = 25;
+    private static final long MAX_BACKOFF_MILLIS = 400;
+    // Stay below the W3C default script timeout (30 s) so the async call never needs reconfiguring
+    private static final Duration MAX_ASYNC_WAIT = Duration.ofSeconds(25);
+
+    // Installs the observers once per document and reports readyState, in-flight requests and idle time
+    private static final String STATUS_FUNCTION =
+            "var status = function () {\n" +
+            "  var w = window;\n" +
+            "  if (!w.__adaptiveWait) {\n" +
+            "    var s = w.__adaptiveWait = {pending: 0, last: performance.now(), resources: -1};\n" +
+            "    var touch = function () { s.last = performance.now(); };\n" +
+            "    try {\n" +
+            "      new MutationObserver(touch).observe(document,\n" +
+            "        {childList: true, subtree: true, attributes: true, characterData: true});\n" +
+            "    } catch (e) {}\n" +
+            "    var send = XMLHttpRequest.prototype.send;\n" +
+            "    XMLHttpRequest.prototype.send = function () {\n" +
+            "      s.pending++; touch();\n" +
+            "      this.addEventListener('loadend', function () { s.pending--; touch(); });\n" +
+            "      return send.apply(this, arguments);\n" +
+            "    };\n" +
+            "    if (w.fetch) {\n" +
+            "      var fetch = w.fetch;\n" +
+            "      w.fetch = function () {\n" +
+            "        s.pending++; touch();\n" +
+            "        var done = function () { s.pending--; touch(); };\n" +
+            "        var p = fetch.apply(this, arguments);\n" +
+            "        p.then(done, done);\n" +
+            "        return p;\n" +
+            "      };\n" +
+            "    }\n" +
+            "  }\n" +
+            "  var st = w.__adaptiveWait;\n" +
+            "  var resources = performance.getEntriesByType('resource').length;\n" +
+            "  if (resources !== st.resources) { st.resources = resources; st.last = performance.now(); }\n" +
+            "  return {ready: document.readyState, pending: st.pending, idle: performance.now() - st.last};\n" +
+            "};\n";
+
+    static final String STATUS_SCRIPT = STATUS_FUNCTION + "return status();";
+
+    static final String QUIET_SCRIPT = STATUS_FUNCTION +
+            "var done = arguments[arguments.length - 1], quiet = arguments[0], timeout = arguments[1];\n" +
+            "var start = performance.now();\n" +
+            "(function check() {\n" +
+            "  var st = status();\n" +
+            "  if (st.ready === 'complete' && st.pending <= 0 && st.idle >= quiet) { done(true); return; }\n" +
+            "  if (performance.now() - start >= timeout) { done(false); return; }\n" +
+            "  setTimeout(check, 50);\n" +
+            "})();";
+
+    private final WebDriver driver;
+    private final WaitRecorder recorder;
+
+    public AdaptiveWait(WebDriver driver) {
+        this(driver, new WaitRecorder());
+    }
+
+    public AdaptiveWait(WebDriver driver, WaitRecorder recorder) {
+        this.driver = driver;
+        this.recorder = recorder;
+    }
+
+    public WaitRecorder recorder() {
+        return recorder;
+    }
+
+    public boolean forPageQuiet(String label) {
+        return forPageQuiet(label, DEFAULT_QUIET_WINDOW, DEFAULT_TIMEOUT);
+    }
+
+    // Returns false if the page did not settle in time; never throws for a slow page
+    public boolean forPageQuiet(String label, Duration quietWindow, Duration timeout) {
+        try (Metrics.Span span = Metrics.span(Metrics.Kind.WAIT, label)) {
+            long start = System.nanoTime();
+            if (timeout.compareTo(MAX_ASYNC_WAIT) <= 0) {
+                try {
+                    Object result = ((JavascriptExecutor) driver).executeAsyncScript(
+                            QUIET_SCRIPT, quietWindow.toMillis(), timeout.toMillis());
+                    boolean quiet = Boolean.TRUE.equals(result);
+                    recorder.record(label, "observer", System.nanoTime() - start, quiet);
+                    return quiet;
+                } catch (WebDriverException e) {
+                    // e.g. the page navigated away mid-script; fall back to polling
+                }
+            }
+            Duration remaining = timeout.minusNanos(System.nanoTime() - start);
+            boolean quiet = poll(page -> isQuiet(page, quietWindow), remaining);
+            recorder.record(label, "polling", System.nanoTime() - start, quiet);
+            return quiet;
+        }
+    }
+
+    // Polls with exponential backoff and returns the first non-null, non-false value
+    public <T> T until(String label, Function<? super WebDriver, T> condition, Duration timeout) {
+        try (Metrics.Span span = Metrics.span(Metrics.Kind.WAIT, label)) {
+            long start = System.nanoTime();
+            Object[] result = new Object[1];
+            boolean satisfied = poll(page -> {
+                T value = condition.apply(page);
+                result[0] = value;
+                return value != null && !Boolean.FALSE.equals(value);
+            }, timeout);
+            recorder.record(label, "polling", System.nanoTime() - start, satisfied);
+            if (!satisfied) {
+                throw new TimeoutException("Timed out after " + timeout.toMillis() + " ms waiting for " + label);
+            }
+            @SuppressWarnings("unchecked")
+            T value = (T) result[0];
+            return value;
+        }
+    }
+
+    // Like until(), but a timeout just means "carry on"
+    public boolean untilOrTimeout(String label, Function<? super WebDriver, ?> condition, Duration timeout) {
+        try {
+            until(label, condition, timeout);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    private boolean poll(Function<WebDriver, Boolean> check, Duration timeout) {
+        long deadline = System.nanoTime() + Math.max(0, timeout.toNanos());
+        long backoff = INITIAL_BACKOFF_MILLIS;
+        while (true) {
+            try {
+                if (Boolean.TRUE.equals(check.apply(driver))) {
+                    return true;
+                }
+            } catch (WebDriverException e) {
+                // element not there yet, stale, page navigating: keep polling
+            }
+            long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                return false;
+            }
+            try {
+                // Round up so the last check never happens before the deadline
+                Thread.sleep(Math.min(backoff, (remainingNanos + 999_999) / 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+
+    private static boolean isQuiet(WebDriver driver, Duration quietWindow) {
+        Object status = ((JavascriptExecutor) driver).executeScript(STATUS_SCRIPT);
+        if (!(status instanceof Map)) {
+            return false;
+        }
+        Map<?, ?> values = (Map<?, ?>) status;
+        return "complete".equals(values.get("ready"))
+                && number(values.get("pending")) <= 0
+                && number(values.get("idle")) >= quietWindow.toMillis();
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : Double.NaN;
+    }
+}
@@ -0,0 +1,69 @@
+package com.junit.assignment.wait;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps how long every adaptive wait of a test really took, so the report shows what the
+ * page needed instead of what a fixed sleep assumed.
+ */
+public class WaitRecorder {
+
+    public static final class Record {
+        private final String label;
+        private final String strategy;
+        private final long elapsedNanos;
+        private final boolean satisfied;
+
+        Record(String label, String strategy, long elapsedNanos, boolean satisfied) {
+            this.label = label;
+            this.strategy = strategy;
+            this.elapsedNanos = elapsedNanos;
+            this.satisfied = satisfied;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public String getStrategy() {
+            return strategy;
+        }
+
+        public double getElapsedMillis() {
+            return elapsedNanos / 1_000_000.0;
+        }
+
+        public boolean isSatisfied() {
+            return satisfied;
+        }
+    }
+
+    private final List<Record> records = new ArrayList<>();
+
+    public synchronized void record(String label, String strategy, long elapsedNanos, boolean satisfied) {
+        records.add(new Record(label, strategy, elapsedNanos, satisfied));
+    }
+
+    public synchronized List<Record> records() {
+        return new ArrayList<>(records);
+    }
+
+    public synchronized double totalMillis() {
+        double total = 0;
+        for (Record record : records) {
+            total += record.getElapsedMillis();
+        }
+        return total;
+    }
+
+    public synchronized String summary() {
+        StringBuilder summary = new StringBuilder();
+        for (Record record : records) {
+            summary.append(String.format("%-32s %-9s %8.1f ms  %s%n", record.label, record.strategy,
+                    record.getElapsedMillis(), record.satisfied ? "ok" : "timed out"));
+        }
+        summary.append(String.format("%-32s %-9s %8.1f ms%n", "total", "", totalMillis()));
+        return summary.toString();
+    }
+}